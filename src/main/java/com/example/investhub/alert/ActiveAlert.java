@@ -0,0 +1,15 @@
+package com.example.investhub.alert;
+
+import com.example.investhub.model.enumeration.AlertDirection;
+
+/**
+ * What the alert index needs of an active alert to know when it fires and whom to tell.
+ *
+ * @param id Alert id
+ * @param userId Owner of the alert
+ * @param symbol Asset symbol
+ * @param direction ABOVE or BELOW
+ * @param threshold Price to cross
+ */
+public record ActiveAlert(Long id, Long userId, String symbol, AlertDirection direction, double threshold) {
+}
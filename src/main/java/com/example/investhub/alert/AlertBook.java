@@ -0,0 +1,162 @@
+package com.example.investhub.alert;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Active alerts of one symbol, sorted by threshold.
+ * <p>
+ * ABOVE alerts and BELOW alerts are kept in two trees of threshold levels, each level a FIFO list.
+ * Every alert left in the book is on the far side of the last price it saw, so the alerts a tick fires
+ * are exactly those between the previous and the current price: the lowest ABOVE levels up to a rising
+ * price, or the highest BELOW levels down to a falling one. Finding them costs O(log n) plus O(k) for
+ * the k alerts fired.
+ * <p>
+ * The nearest threshold on each side is also published in volatile fields, so a tick that crosses
+ * nothing is rejected by {@link #crossedBy} with two comparisons and without taking the book's lock.
+ * Everything else is not thread-safe; callers guard the book with its monitor.
+ */
+final class AlertBook {
+
+    /** Fired by a price at or above the level; the lowest level is reached first. */
+    private final TreeMap<Double, Level> above = new TreeMap<>();
+    /** Fired by a price at or below the level; the highest level is reached first. */
+    private final TreeMap<Double, Level> below = new TreeMap<>();
+    private int size;
+
+    private volatile double lowestAbove = Double.POSITIVE_INFINITY;
+    private volatile double highestBelow = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Whether the price reaches any threshold in the book. Lock-free; a price NaN reaches nothing.
+     */
+    boolean crossedBy(double price) {
+        return price >= lowestAbove || price <= highestBelow;
+    }
+
+    /** Number of alerts in the book. */
+    int size() {
+        return size;
+    }
+
+    void add(ArmedAlert alert) {
+        (alert.above ? above : below).computeIfAbsent(alert.threshold, Level::new).append(alert);
+        size++;
+        publishBounds();
+    }
+
+    /**
+     * Take an alert out of the book.
+     *
+     * @return False if it was not in the book, e.g. it already fired
+     */
+    boolean remove(ArmedAlert alert) {
+        Level level = alert.level;
+        if (level == null) {
+            return false;
+        }
+        level.unlink(alert);
+        if (level.isEmpty()) {
+            (alert.above ? above : below).remove(level.threshold);
+        }
+        size--;
+        publishBounds();
+        return true;
+    }
+
+    /**
+     * Take every alert the price has reached out of the book, oldest first within a level.
+     *
+     * @param price The latest price; NaN fires nothing
+     * @param fired Receives the fired alerts
+     * @return Number of alerts fired
+     */
+    int match(double price, Consumer<ArmedAlert> fired) {
+        if (!crossedBy(price)) {
+            return 0;
+        }
+
+        int count = 0;
+        Map.Entry<Double, Level> entry;
+        while ((entry = above.firstEntry()) != null && entry.getKey() <= price) {
+            above.pollFirstEntry();
+            count += drain(entry.getValue(), fired);
+        }
+        while ((entry = below.lastEntry()) != null && entry.getKey() >= price) {
+            below.pollLastEntry();
+            count += drain(entry.getValue(), fired);
+        }
+        publishBounds();
+        return count;
+    }
+
+    private int drain(Level level, Consumer<ArmedAlert> fired) {
+        int count = 0;
+        ArmedAlert alert = level.head;
+        while (alert != null) {
+            ArmedAlert next = alert.next;
+            alert.level = null;
+            alert.prev = null;
+            alert.next = null;
+            size--;
+            count++;
+            fired.accept(alert);
+            alert = next;
+        }
+        level.head = null;
+        level.tail = null;
+        return count;
+    }
+
+    private void publishBounds() {
+        lowestAbove = above.isEmpty() ? Double.POSITIVE_INFINITY : above.firstKey();
+        highestBelow = below.isEmpty() ? Double.NEGATIVE_INFINITY : below.lastKey();
+    }
+
+    /**
+     * Alerts at one threshold, in creation order.
+     */
+    static final class Level {
+
+        final double threshold;
+        ArmedAlert head;
+        ArmedAlert tail;
+
+        Level(Double threshold) {
+            this.threshold = threshold;
+        }
+
+        void append(ArmedAlert alert) {
+            alert.level = this;
+            alert.prev = tail;
+            alert.next = null;
+            if (tail == null) {
+                head = alert;
+            } else {
+                tail.next = alert;
+            }
+            tail = alert;
+        }
+
+        void unlink(ArmedAlert alert) {
+            if (alert.prev == null) {
+                head = alert.next;
+            } else {
+                alert.prev.next = alert.next;
+            }
+            if (alert.next == null) {
+                tail = alert.prev;
+            } else {
+                alert.next.prev = alert.prev;
+            }
+            alert.level = null;
+            alert.prev = null;
+            alert.next = null;
+        }
+
+        boolean isEmpty() {
+            return head == null;
+        }
+    }
+}
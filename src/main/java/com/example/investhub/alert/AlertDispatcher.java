@@ -0,0 +1,190 @@
+package com.example.investhub.alert;
+
+import com.example.investhub.service.PriceAlertService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records fired alerts and delivers them to their owners, off the ingest path.
+ * <p>
+ * {@link #offer} only enqueues, so the ingest thread that fired an alert never waits on the database
+ * or a client. The queue is unbounded but holds at most one entry per active alert, since an alert
+ * fires once. A dispatcher thread drains it in batches, marks the batch TRIGGERED in one transaction
+ * and pushes each alert whose row was still active to its owner's {@code alert} event streams, each
+ * send on its own virtual thread. An alert cancelled while it was queued is not delivered.
+ */
+@Component
+public class AlertDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertDispatcher.class);
+
+    @Value("${alerts.dispatch-batch-size:1000}")
+    private int batchSize = 1_000;
+
+    private final PriceAlertService alertService;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<FiredAlert> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+
+    private Thread thread;
+    private volatile boolean running;
+
+    public AlertDispatcher(PriceAlertService alertService, ObjectMapper objectMapper) {
+        this.alertService = alertService;
+        this.objectMapper = objectMapper;
+    }
+
+    // ==================== Lifecycle ====================
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::run, "alert-dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        for (Set<SseEmitter> emitters : streams.values()) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==================== Streams ====================
+
+    /**
+     * Deliver the user's alerts to an event stream until it completes.
+     *
+     * @param userId The user
+     * @param emitter The stream
+     */
+    public void subscribe(Long userId, SseEmitter emitter) {
+        streams.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        Runnable unsubscribe = () -> unsubscribe(userId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+    }
+
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    // ==================== Dispatch ====================
+
+    /**
+     * Queue a fired alert for recording and delivery. Never blocks.
+     */
+    public void offer(FiredAlert alert) {
+        fired.increment();
+        queue.add(alert);
+    }
+
+    private void run() {
+        List<FiredAlert> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                FiredAlert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Still ACTIVE in the database, so they are armed again on the next start
+                log.error("Error dispatching {} fired price alerts", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void dispatch(List<FiredAlert> batch) {
+        for (FiredAlert alert : alertService.recordTriggered(batch)) {
+            Set<SseEmitter> emitters = streams.get(alert.userId());
+            if (emitters == null) {
+                continue;
+            }
+            String json = render(alert);
+            for (SseEmitter emitter : emitters) {
+                senders.execute(() -> send(alert.userId(), emitter, json));
+            }
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, String json) {
+        try {
+            // One emitter may receive several alerts at once
+            synchronized (emitter) {
+                emitter.send(SseEmitter.event().name("alert").data(json, MediaType.APPLICATION_JSON));
+            }
+            delivered.increment();
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(userId, emitter);
+        }
+    }
+
+    private String render(FiredAlert alert) {
+        try {
+            return objectMapper.writeValueAsString(alert);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render price alert " + alert.alertId(), e);
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    public long getFired() {
+        return fired.sum();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+}
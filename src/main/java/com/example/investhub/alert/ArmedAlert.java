@@ -0,0 +1,37 @@
+package com.example.investhub.alert;
+
+import com.example.investhub.model.enumeration.AlertDirection;
+
+/**
+ * An active alert as held in an {@link AlertBook}: its threshold and its links within the level it rests at.
+ * Guarded by the book it is in.
+ */
+final class ArmedAlert {
+
+    final long id;
+    final long userId;
+    final int slot;
+    final boolean above;
+    final double threshold;
+
+    AlertBook.Level level;
+    ArmedAlert prev;
+    ArmedAlert next;
+
+    ArmedAlert(long id, long userId, int slot, boolean above, double threshold) {
+        this.id = id;
+        this.userId = userId;
+        this.slot = slot;
+        this.above = above;
+        this.threshold = threshold;
+    }
+
+    static ArmedAlert of(ActiveAlert alert, int slot) {
+        return new ArmedAlert(alert.id(), alert.userId(), slot, alert.direction() == AlertDirection.ABOVE,
+                alert.threshold());
+    }
+
+    AlertDirection direction() {
+        return above ? AlertDirection.ABOVE : AlertDirection.BELOW;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.investhub.alert;
+
+import com.example.investhub.model.enumeration.AlertDirection;
+
+/**
+ * An alert whose threshold a tick crossed, on its way to the {@link AlertDispatcher}.
+ *
+ * @param alertId Alert id
+ * @param userId Owner of the alert
+ * @param symbol Asset symbol
+ * @param direction ABOVE or BELOW
+ * @param threshold The threshold that was crossed
+ * @param price Price of the tick that crossed it
+ * @param eventTime Exchange time of that tick, epoch millis
+ */
+public record FiredAlert(long alertId, long userId, String symbol, AlertDirection direction, double threshold,
+                         double price, long eventTime) {
+}
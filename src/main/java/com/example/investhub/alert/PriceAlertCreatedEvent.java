@@ -0,0 +1,9 @@
+package com.example.investhub.alert;
+
+/**
+ * Published when an alert is created; the index starts watching it once the creating transaction commits.
+ *
+ * @param alert The new alert
+ */
+public record PriceAlertCreatedEvent(ActiveAlert alert) {
+}
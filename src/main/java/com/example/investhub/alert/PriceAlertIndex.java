@@ -0,0 +1,153 @@
+package com.example.investhub.alert;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.service.PriceAlertService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fires price alerts as ticks arrive.
+ * <p>
+ * Active alerts are held in memory in one {@link AlertBook} per {@link PriceTable} slot. The ingest
+ * threads call {@link #onTick} for every decoded tick, before conflation, so a threshold crossed and
+ * recrossed within one batch still fires. A tick that crosses no threshold of its symbol costs two
+ * volatile reads; one that does takes the fired alerts out of the book under its lock and hands them to
+ * the {@link AlertDispatcher}, which records and delivers them off the ingest path.
+ * <p>
+ * Active alerts are loaded from the database on start, and creations and cancellations reach the
+ * books through events after commit.
+ */
+@Component
+public class PriceAlertIndex implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceAlertIndex.class);
+
+    @Value("${alerts.load-batch-size:10000}")
+    private int loadBatchSize = 10_000;
+
+    private final PriceTable priceTable;
+    private final PriceAlertService alertService;
+    private final AlertDispatcher dispatcher;
+
+    private final AlertBook[] books;
+    private final Map<Long, ArmedAlert> armed = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public PriceAlertIndex(PriceTable priceTable, PriceAlertService alertService, AlertDispatcher dispatcher) {
+        this.priceTable = priceTable;
+        this.alertService = alertService;
+        this.dispatcher = dispatcher;
+        this.books = new AlertBook[priceTable.capacity()];
+        for (int i = 0; i < books.length; i++) {
+            books[i] = new AlertBook();
+        }
+    }
+
+    // ==================== Lifecycle ====================
+
+    @Override
+    public synchronized void start() {
+        long afterId = 0;
+        List<ActiveAlert> batch;
+        do {
+            batch = alertService.findActiveAlerts(afterId, loadBatchSize);
+            for (ActiveAlert alert : batch) {
+                add(alert);
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == loadBatchSize);
+        log.info("Loaded {} active price alerts", armed.size());
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Number of alerts waiting for their threshold. */
+    public int activeCount() {
+        return armed.size();
+    }
+
+    // ==================== Creations and cancellations ====================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertCreated(PriceAlertCreatedEvent event) {
+        add(event.alert());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertsCancelled(PriceAlertsCancelledEvent event) {
+        for (Long alertId : event.alertIds()) {
+            ArmedAlert alert = armed.remove(alertId);
+            if (alert != null) {
+                AlertBook book = books[alert.slot];
+                synchronized (book) {
+                    book.remove(alert);
+                }
+            }
+        }
+    }
+
+    /**
+     * Start watching an alert. An alert the latest price already reaches fires right away.
+     */
+    void add(ActiveAlert alert) {
+        int slot = priceTable.register(alert.symbol());
+        ArmedAlert armedAlert = ArmedAlert.of(alert, slot);
+        if (armed.putIfAbsent(armedAlert.id, armedAlert) != null) {
+            // Loaded on start and announced by its creation as well
+            return;
+        }
+
+        AlertBook book = books[slot];
+        double price = priceTable.price(slot);
+        synchronized (book) {
+            book.add(armedAlert);
+            book.match(price, fired -> fire(fired, price, System.currentTimeMillis()));
+        }
+    }
+
+    // ==================== Ticks ====================
+
+    /**
+     * Fire the alerts of a symbol whose threshold the tick reached. Called on an ingest thread for every tick.
+     *
+     * @param id Price table id of the symbol
+     * @param price Price of the tick
+     * @param eventTime Exchange time of the tick, epoch millis
+     */
+    public void onTick(int id, double price, long eventTime) {
+        AlertBook book = books[id];
+        if (!book.crossedBy(price)) {
+            return;
+        }
+        synchronized (book) {
+            book.match(price, fired -> fire(fired, price, eventTime));
+        }
+    }
+
+    /** Called under the book's lock with an alert just taken out of it. */
+    private void fire(ArmedAlert alert, double price, long eventTime) {
+        armed.remove(alert.id);
+        dispatcher.offer(new FiredAlert(alert.id, alert.userId, priceTable.symbol(alert.slot), alert.direction(),
+                alert.threshold, price, eventTime));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.investhub.alert;
+
+import java.util.List;
+
+/**
+ * Published when alerts are cancelled, one at a time or with their asset's watchlist entry; the index
+ * stops watching them once the cancelling transaction commits.
+ *
+ * @param alertIds The cancelled alerts
+ */
+public record PriceAlertsCancelledEvent(List<Long> alertIds) {
+}
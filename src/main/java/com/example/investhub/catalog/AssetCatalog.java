@@ -0,0 +1,201 @@
+package com.example.investhub.catalog;
+
+import com.example.investhub.model.Asset;
+import com.example.investhub.repository.AssetRepository;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory copy of the asset table, keyed by symbol and by id.
+ * <p>
+ * The catalog is loaded once at startup and published as an immutable {@link Snapshot}, so lookups
+ * are a map read without a database round-trip or lock. Every committed write to {@code assets}
+ * (seeding, admin changes, tests) raises an {@link AssetCatalogChangedEvent}; the catalog then
+ * copies the current snapshot with the change applied and swaps it in. A symbol or id that is not
+ * in the snapshot is read through from the repository and added the same way.
+ * <p>
+ * Cached assets are detached copies shared by all callers and must not be modified.
+ */
+@Component
+public class AssetCatalog {
+
+    private final AssetRepository assetRepository;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Null until loaded. */
+    private volatile Snapshot snapshot;
+
+    public AssetCatalog(AssetRepository assetRepository) {
+        this.assetRepository = assetRepository;
+    }
+
+    // ==================== Lookups ====================
+
+    /**
+     * Find an asset by its exact symbol.
+     *
+     * @param symbol The asset symbol
+     * @return The asset, empty if neither the catalog nor the database has it
+     */
+    public Optional<Asset> findBySymbol(String symbol) {
+        Asset asset = snapshot().bySymbol.get(symbol);
+        if (asset != null) {
+            hits.increment();
+            return Optional.of(asset);
+        }
+        misses.increment();
+        return assetRepository.findBySymbol(symbol).map(this::add);
+    }
+
+    /**
+     * Find an asset by id.
+     *
+     * @param id The asset id
+     * @return The asset, empty if neither the catalog nor the database has it
+     */
+    public Optional<Asset> findById(Long id) {
+        Asset asset = snapshot().byId.get(id);
+        if (asset != null) {
+            hits.increment();
+            return Optional.of(asset);
+        }
+        misses.increment();
+        return assetRepository.findById(id).map(this::add);
+    }
+
+    /**
+     * All assets, ordered by id.
+     */
+    public List<Asset> findAll() {
+        return snapshot().assets;
+    }
+
+    /**
+     * The current catalog.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    // ==================== Updates ====================
+
+    /**
+     * Load the catalog from the database. Runs at startup, before the application runners seed data.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized Snapshot load() {
+        if (snapshot == null) {
+            snapshot = Snapshot.of(1, assetRepository.findAll());
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(AssetCatalogChangedEvent event) {
+        if (snapshot == null) {
+            // Not loaded yet; the load will read the committed change
+            return;
+        }
+
+        Map<Long, Asset> assets = new HashMap<>(snapshot.byId);
+        if (event.removed()) {
+            assets.remove(event.id());
+        } else {
+            assets.put(event.id(), copyOf(event.id(), event.symbol(), event.name()));
+        }
+        snapshot = Snapshot.of(snapshot.version + 1, assets.values());
+    }
+
+    private synchronized Asset add(Asset asset) {
+        Snapshot current = snapshot();
+        Asset cached = current.byId.get(asset.getId());
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Asset> assets = new ArrayList<>(current.assets);
+        assets.add(asset);
+        snapshot = Snapshot.of(current.version + 1, assets);
+        return snapshot.byId.get(asset.getId());
+    }
+
+    // ==================== Metrics ====================
+
+    /** Lookups answered from memory. */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** Lookups that went to the database. */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static Asset copyOf(Long id, String symbol, String name) {
+        Asset copy = new Asset();
+        copy.setId(id);
+        copy.setSymbol(symbol);
+        copy.setName(name);
+        return copy;
+    }
+
+    /**
+     * Immutable state of the catalog. The version grows with every change.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final List<Asset> assets;
+        private final Map<String, Asset> bySymbol;
+        private final Map<Long, Asset> byId;
+
+        private Snapshot(long version, List<Asset> assets, Map<String, Asset> bySymbol, Map<Long, Asset> byId) {
+            this.version = version;
+            this.assets = assets;
+            this.bySymbol = bySymbol;
+            this.byId = byId;
+        }
+
+        static Snapshot of(long version, Collection<Asset> source) {
+            List<Asset> assets = new ArrayList<>(source.size());
+            for (Asset asset : source) {
+                assets.add(copyOf(asset.getId(), asset.getSymbol(), asset.getName()));
+            }
+            assets.sort(Comparator.comparing(Asset::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+            Map<String, Asset> bySymbol = new HashMap<>(assets.size() * 4 / 3 + 1);
+            Map<Long, Asset> byId = new HashMap<>(assets.size() * 4 / 3 + 1);
+            for (Asset asset : assets) {
+                bySymbol.put(asset.getSymbol(), asset);
+                byId.put(asset.getId(), asset);
+            }
+            return new Snapshot(version, List.copyOf(assets), bySymbol, byId);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public List<Asset> assets() {
+            return assets;
+        }
+
+        public int size() {
+            return assets.size();
+        }
+    }
+}
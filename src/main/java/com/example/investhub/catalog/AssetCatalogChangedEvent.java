@@ -0,0 +1,12 @@
+package com.example.investhub.catalog;
+
+/**
+ * Published when an asset is added, changed or removed, carrying its state at the time of the write.
+ *
+ * @param id Asset id
+ * @param symbol Asset symbol
+ * @param name Asset name
+ * @param removed Whether the asset was deleted
+ */
+public record AssetCatalogChangedEvent(Long id, String symbol, String name, boolean removed) {
+}
@@ -0,0 +1,34 @@
+package com.example.investhub.catalog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the asset catalog's lookup counters as {@code asset.catalog.*} meters.
+ */
+@Component
+public class AssetCatalogMetrics implements MeterBinder {
+
+    private final AssetCatalog assetCatalog;
+
+    public AssetCatalogMetrics(AssetCatalog assetCatalog) {
+        this.assetCatalog = assetCatalog;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("asset.catalog.size", assetCatalog, catalog -> catalog.snapshot().size())
+                .description("Assets held in memory")
+                .register(registry);
+
+        FunctionCounter.builder("asset.catalog.hits", assetCatalog, AssetCatalog::getHits)
+                .description("Asset lookups answered from memory")
+                .register(registry);
+        FunctionCounter.builder("asset.catalog.misses", assetCatalog, AssetCatalog::getMisses)
+                .description("Asset lookups read through from the database")
+                .register(registry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.investhub.catalog;
+
+import com.example.investhub.model.Asset;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Asset} that announces every write as an {@link AssetCatalogChangedEvent},
+ * whichever code path made it.
+ */
+@Component
+public class AssetChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AssetChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Asset asset) {
+        eventPublisher.publishEvent(new AssetCatalogChangedEvent(asset.getId(), asset.getSymbol(), asset.getName(), false));
+    }
+
+    @PostRemove
+    void onRemove(Asset asset) {
+        eventPublisher.publishEvent(new AssetCatalogChangedEvent(asset.getId(), asset.getSymbol(), asset.getName(), true));
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.investhub.catalog;
+
+import com.example.investhub.model.Asset;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory search over the symbol and name of every asset.
+ * <p>
+ * The catalog is held in an immutable {@link Index}: upper-cased symbols and names plus posting
+ * lists of every 1-, 2- and 3-character gram. A query of up to three characters is answered by its
+ * own posting list; a longer one intersects the posting lists of its trigrams and verifies the few
+ * candidates left. Nothing is scanned per asset, so search cost follows the number of matches,
+ * not the size of the catalog.
+ * <p>
+ * Matches are ranked: exact symbol, symbol prefix, exact name, name prefix, symbol substring, name
+ * substring; ties go to the shorter, then alphabetically first symbol.
+ * <p>
+ * The index is built from an {@link AssetCatalog} snapshot. When the catalog version moves on, the
+ * next search rebuilds the index and swaps it in atomically; concurrent searches keep using the
+ * previous index until then.
+ */
+@Component
+public class AssetSearchIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final AssetCatalog assetCatalog;
+
+    private volatile Index index = Index.build(0, List.of());
+
+    public AssetSearchIndex(AssetCatalog assetCatalog) {
+        this.assetCatalog = assetCatalog;
+    }
+
+    /**
+     * Search assets by symbol or name, case-insensitive.
+     *
+     * @param query Text contained in the symbol or name; blank returns every asset
+     * @return Matching assets, best match first
+     */
+    public List<Asset> search(String query) {
+        return current().search(query.trim().toUpperCase());
+    }
+
+    /** Number of assets in the current index. */
+    public int size() {
+        return current().assets.length;
+    }
+
+    private Index current() {
+        Index current = index;
+        AssetCatalog.Snapshot catalog = assetCatalog.snapshot();
+        return current.version == catalog.version() ? current : rebuild(catalog);
+    }
+
+    private synchronized Index rebuild(AssetCatalog.Snapshot catalog) {
+        // Never swap in an index older than the one a concurrent search already built
+        if (index.version >= catalog.version()) {
+            return index;
+        }
+        Index rebuilt = Index.build(catalog.version(), catalog.assets());
+        index = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Immutable snapshot of the catalog with its gram postings.
+     */
+    static final class Index {
+
+        private static final int TIERS = 6;
+
+        final long version;
+        /** Ordered by symbol length, then symbol, so that the entry index breaks ranking ties. */
+        final Asset[] assets;
+        final String[] symbols;
+        final String[] names;
+        /** Gram to the ascending entry indexes whose symbol or name contains it. */
+        final Map<Long, int[]> postings;
+
+        private Index(long version, Asset[] assets, String[] symbols, String[] names, Map<Long, int[]> postings) {
+            this.version = version;
+            this.assets = assets;
+            this.symbols = symbols;
+            this.names = names;
+            this.postings = postings;
+        }
+
+        static Index build(long version, Collection<Asset> catalog) {
+            Asset[] assets = catalog.toArray(Asset[]::new);
+            Arrays.sort(assets, Comparator.comparingInt((Asset asset) -> upper(asset.getSymbol()).length())
+                    .thenComparing(asset -> upper(asset.getSymbol())));
+
+            String[] symbols = new String[assets.length];
+            String[] names = new String[assets.length];
+            Map<Long, IntList> grams = new HashMap<>();
+            for (int i = 0; i < assets.length; i++) {
+                symbols[i] = upper(assets[i].getSymbol());
+                names[i] = upper(assets[i].getName());
+                addGrams(grams, symbols[i], i);
+                addGrams(grams, names[i], i);
+            }
+
+            Map<Long, int[]> postings = new HashMap<>(grams.size() * 4 / 3 + 1);
+            grams.forEach((gram, entries) -> postings.put(gram, entries.toArray()));
+            return new Index(version, assets, symbols, names, postings);
+        }
+
+        List<Asset> search(String query) {
+            if (query.isEmpty()) {
+                return List.of(assets);
+            }
+
+            int[] candidates = candidates(query);
+            long[] ranked = new long[candidates.length];
+            int matches = 0;
+            for (int entry : candidates) {
+                int tier = tier(query, symbols[entry], names[entry]);
+                if (tier < TIERS) {
+                    ranked[matches++] = (long) tier << 32 | entry;
+                }
+            }
+            Arrays.sort(ranked, 0, matches);
+
+            List<Asset> result = new ArrayList<>(matches);
+            for (int i = 0; i < matches; i++) {
+                result.add(assets[(int) ranked[i]]);
+            }
+            return result;
+        }
+
+        /**
+         * Entries that may contain the query: exact for up to three characters, a superset otherwise.
+         */
+        private int[] candidates(String query) {
+            if (query.length() <= 3) {
+                return postings.getOrDefault(gram(query, 0, query.length()), NONE);
+            }
+
+            int[] result = null;
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                int[] list = postings.get(gram(query, i, 3));
+                if (list == null) {
+                    return NONE;
+                }
+                result = result == null ? list : intersect(result, list);
+                if (result.length == 0) {
+                    return NONE;
+                }
+            }
+            return result;
+        }
+
+        /** Rank of a match, lower is better; {@link #TIERS} if the entry does not match. */
+        private static int tier(String query, String symbol, String name) {
+            if (symbol.equals(query)) {
+                return 0;
+            }
+            if (symbol.startsWith(query)) {
+                return 1;
+            }
+            if (name.equals(query)) {
+                return 2;
+            }
+            if (name.startsWith(query)) {
+                return 3;
+            }
+            if (symbol.contains(query)) {
+                return 4;
+            }
+            if (name.contains(query)) {
+                return 5;
+            }
+            return TIERS;
+        }
+
+        private static void addGrams(Map<Long, IntList> grams, String text, int entry) {
+            for (int length = 1; length <= 3; length++) {
+                for (int i = 0; i + length <= text.length(); i++) {
+                    grams.computeIfAbsent(gram(text, i, length), k -> new IntList()).addOnce(entry);
+                }
+            }
+        }
+
+        /** Pack up to three chars and the gram length into one key. */
+        private static long gram(String text, int from, int length) {
+            long key = length;
+            for (int i = 0; i < length; i++) {
+                key = key << 16 | text.charAt(from + i);
+            }
+            return key;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int n = 0;
+            for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return n == result.length ? result : Arrays.copyOf(result, n);
+        }
+
+        private static String upper(String text) {
+            return text == null ? "" : text.toUpperCase();
+        }
+    }
+
+    /**
+     * Growable ascending posting list; entries are added in order, so a duplicate is always the last one.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
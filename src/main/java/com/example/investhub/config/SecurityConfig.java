@@ -1,6 +1,7 @@
 package com.example.investhub.config;
 
 import com.example.investhub.config.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -36,7 +37,9 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**", "/h2-console/**", "/ws/**", "/api/market/**").permitAll()
+                // Completion of an event stream (e.g. /api/watchlist/alerts/stream) authorized on its REQUEST dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/api/auth/**", "/h2-console/**", "/ws/**", "/api/market/**", "/actuator/health/**").permitAll()
                 .anyRequest().authenticated()
             )
             .headers(headers -> headers
@@ -0,0 +1,24 @@
+package com.example.investhub.config;
+
+import com.example.investhub.stream.PriceStreamWebSocketHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final PriceStreamWebSocketHandler priceStreamWebSocketHandler;
+
+    public WebSocketConfig(PriceStreamWebSocketHandler priceStreamWebSocketHandler) {
+        this.priceStreamWebSocketHandler = priceStreamWebSocketHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(priceStreamWebSocketHandler, "/ws/prices")
+                .setAllowedOrigins("http://localhost:8005");
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.investhub.controller;
 
 import com.example.investhub.mapper.DtoMapper;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.dto.response.AssetResponse;
+import com.example.investhub.model.dto.response.CandleResponse;
 import com.example.investhub.model.dto.response.PriceResponse;
 import com.example.investhub.service.MarketDataService;
+import com.example.investhub.stream.PriceStreamCommand;
+import com.example.investhub.stream.PriceStreamHub;
+import com.example.investhub.stream.SsePriceSink;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,38 +29,107 @@ public class MarketDataController {
 
     private final MarketDataService marketDataService;
     private final DtoMapper dtoMapper;
+    private final PriceStreamHub priceStreamHub;
 
-    public MarketDataController(MarketDataService marketDataService, DtoMapper dtoMapper) {
+    public MarketDataController(MarketDataService marketDataService, DtoMapper dtoMapper, PriceStreamHub priceStreamHub) {
         this.marketDataService = marketDataService;
         this.dtoMapper = dtoMapper;
+        this.priceStreamHub = priceStreamHub;
     }
 
     /**
      * Get current prices for all tracked cryptocurrencies.
+     * <p>
+     * The ETag is the global price version. A matching If-None-Match is answered with
+     * 304 Not Modified; {@code since} (a previous ETag value) limits the list to symbols
+     * updated after that version.
      *
-     * @return List of PriceResponse (symbol + price)
+     * @param since Only return symbols changed after this version
+     * @return List of PriceResponse (symbol + price), or 304 if nothing changed
      */
     @GetMapping("/prices")
-    public ResponseEntity<List<PriceResponse>> getCurrentPrices() {
-        var pricesMap = marketDataService.getCurrentPrices();
-
-        List<PriceResponse> response = pricesMap.entrySet().stream()
-                .map(e -> new PriceResponse(e.getKey(), e.getValue()))
-                .toList();
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<PriceResponse>> getCurrentPrices(@RequestParam(required = false) Long since,
+                                                                WebRequest request) {
+        PriceTable.Snapshot prices = marketDataService.getCurrentPrices();
+
+        String etag = etag(prices.globalVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        long after = since != null ? since : 0;
+        List<PriceResponse> response = new ArrayList<>(prices.size());
+        for (int id = 0; id < prices.size(); id++) {
+            if (prices.hasPrice(id) && prices.changeVersion(id) > after) {
+                response.add(new PriceResponse(prices.symbol(id), prices.price(id),
+                        prices.changeVersion(id), prices.eventTime(id), prices.receiveTime(id)));
+            }
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     /**
      * Get the current price of a specific cryptocurrency.
+     * <p>
+     * The ETag is the symbol's version; a matching If-None-Match is answered with 304.
      *
      * @param symbol The cryptocurrency symbol
-     * @return PriceResponse (symbol + price)
+     * @return PriceResponse (symbol + price), or 304 if it did not change
      */
     @GetMapping("/prices/{symbol}")
-    public ResponseEntity<PriceResponse> getPriceBySymbol(@PathVariable String symbol) {
-        Double price = marketDataService.getPriceBySymbol(symbol);
-        return ResponseEntity.ok(new PriceResponse(symbol.toUpperCase(), price));
+    public ResponseEntity<PriceResponse> getPriceBySymbol(@PathVariable String symbol, WebRequest request) {
+        PriceTable.Quote quote = marketDataService.getQuote(symbol);
+
+        String etag = etag(quote.changeVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(new PriceResponse(quote.symbol(), quote.price(),
+                quote.changeVersion(), quote.eventTime(), quote.receiveTime()));
+    }
+
+    /**
+     * Stream price updates as server-sent events. Each {@code prices} event is a JSON array of
+     * PriceResponse with the latest price of every followed symbol that changed since the
+     * previous event; the first event carries the current prices.
+     *
+     * @param symbols Comma separated symbols to follow; all symbols if omitted
+     * @return The event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPrices(@RequestParam(required = false) String symbols) {
+        SseEmitter emitter = new SseEmitter(0L);
+        PriceStreamHub.Subscription subscription =
+                priceStreamHub.subscribe(new SsePriceSink(emitter), PriceStreamCommand.parseSymbols(symbols));
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    /**
+     * Get recent candles of a cryptocurrency, aggregated from the live ticker stream.
+     *
+     * @param symbol The cryptocurrency symbol
+     * @param interval Candle interval: 1s, 1m, 5m, 1h or 1d
+     * @param limit Maximum number of candles
+     * @return List of CandleResponse, oldest first
+     */
+    @GetMapping("/candles/{symbol}")
+    public ResponseEntity<List<CandleResponse>> getCandles(@PathVariable String symbol,
+                                                           @RequestParam(defaultValue = "1m") String interval,
+                                                           @RequestParam(defaultValue = "100") int limit) {
+        List<CandleStore.Candle> candles = marketDataService.getCandles(symbol, interval, limit);
+
+        List<CandleResponse> response = candles.stream()
+                .map(candle -> new CandleResponse(candle.openTime(), candle.open(), candle.high(), candle.low(),
+                        candle.close(), candle.ticks()))
+                .toList();
+
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -97,4 +176,8 @@ public class MarketDataController {
 
         return ResponseEntity.ok(response);
     }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.investhub.controller;
+
+import com.example.investhub.mapper.DtoMapper;
+import com.example.investhub.model.TradeOrder;
+import com.example.investhub.model.dto.request.CreateOrderRequest;
+import com.example.investhub.model.dto.response.OrderResponse;
+import com.example.investhub.model.enumeration.OrderStatus;
+import com.example.investhub.service.OrderService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private final OrderService orderService;
+    private final DtoMapper dtoMapper;
+
+    public OrderController(OrderService orderService, DtoMapper dtoMapper) {
+        this.orderService = orderService;
+        this.dtoMapper = dtoMapper;
+    }
+
+    /**
+     * Place a LIMIT, STOP or STOP_LIMIT order. It rests until the price reaches it and is then filled
+     * at that price, provided the balance or holding still covers it.
+     */
+    @PostMapping
+    public ResponseEntity<OrderResponse> placeOrder(@RequestBody CreateOrderRequest request,
+                                                    @AuthenticationPrincipal UserDetails userDetails) {
+        TradeOrder order = orderService.placeOrder(
+                userDetails.getUsername(),
+                request.getSide(),
+                request.getType(),
+                request.getAssetSymbol(),
+                request.getQuantity(),
+                request.getLimitPrice(),
+                request.getStopPrice()
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(dtoMapper.toOrderResponse(order));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<OrderResponse>> getOrders(@RequestParam(required = false) OrderStatus status,
+                                                         @AuthenticationPrincipal UserDetails userDetails) {
+        List<OrderResponse> response = orderService.getOrders(userDetails.getUsername(), status).stream()
+                .map(dtoMapper::toOrderResponse)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{orderId}")
+    public ResponseEntity<OrderResponse> cancelOrder(@PathVariable Long orderId,
+                                                     @AuthenticationPrincipal UserDetails userDetails) {
+        TradeOrder order = orderService.cancelOrder(orderId, userDetails.getUsername());
+        return ResponseEntity.ok(dtoMapper.toOrderResponse(order));
+    }
+}
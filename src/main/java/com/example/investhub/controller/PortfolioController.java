@@ -6,6 +6,7 @@ import com.example.investhub.model.dto.response.BalanceResponse;
 import com.example.investhub.model.dto.response.HoldingResponse;
 import com.example.investhub.model.dto.response.PortfolioResponse;
 import com.example.investhub.model.dto.response.PortfolioStatsResponse;
+import com.example.investhub.portfolio.PortfolioSnapshot;
 import com.example.investhub.service.PortfolioService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -34,16 +35,13 @@ public class PortfolioController {
      */
     @GetMapping
     public ResponseEntity<PortfolioResponse> getPortfolio(@AuthenticationPrincipal UserDetails userDetails) {
-        String username = userDetails.getUsername();
+        PortfolioSnapshot portfolio = portfolioService.readPortfolio(userDetails.getUsername());
 
-        BigDecimal balance = portfolioService.getUserBalance(username);
-        List<Holding> holdings = portfolioService.getUserHoldings(username);
-
-        List<HoldingResponse> holdingDtos = holdings.stream()
+        List<HoldingResponse> holdingDtos = portfolio.holdings().stream()
                 .map(dtoMapper::toHoldingResponse)
                 .toList();
 
-        return ResponseEntity.ok(new PortfolioResponse(balance, holdingDtos));
+        return ResponseEntity.ok(new PortfolioResponse(portfolio.balance(), holdingDtos));
     }
 
     /**
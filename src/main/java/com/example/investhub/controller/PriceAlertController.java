@@ -0,0 +1,78 @@
+package com.example.investhub.controller;
+
+import com.example.investhub.alert.AlertDispatcher;
+import com.example.investhub.mapper.DtoMapper;
+import com.example.investhub.model.PriceAlert;
+import com.example.investhub.model.dto.request.CreatePriceAlertRequest;
+import com.example.investhub.model.dto.response.PriceAlertResponse;
+import com.example.investhub.model.enumeration.AlertStatus;
+import com.example.investhub.service.PriceAlertService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/watchlist/alerts")
+public class PriceAlertController {
+
+    private final PriceAlertService priceAlertService;
+    private final AlertDispatcher alertDispatcher;
+    private final DtoMapper dtoMapper;
+
+    public PriceAlertController(PriceAlertService priceAlertService,
+                                AlertDispatcher alertDispatcher,
+                                DtoMapper dtoMapper) {
+        this.priceAlertService = priceAlertService;
+        this.alertDispatcher = alertDispatcher;
+        this.dtoMapper = dtoMapper;
+    }
+
+    /**
+     * Set a one-shot alert on an asset of the watchlist, fired by the first tick at or beyond its threshold.
+     */
+    @PostMapping
+    public ResponseEntity<PriceAlertResponse> createAlert(@RequestBody CreatePriceAlertRequest request,
+                                                          @AuthenticationPrincipal UserDetails userDetails) {
+        PriceAlert alert = priceAlertService.createAlert(
+                userDetails.getUsername(),
+                request.getAssetSymbol(),
+                request.getDirection(),
+                request.getThreshold()
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(dtoMapper.toPriceAlertResponse(alert));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PriceAlertResponse>> getAlerts(@RequestParam(required = false) AlertStatus status,
+                                                              @AuthenticationPrincipal UserDetails userDetails) {
+        List<PriceAlertResponse> response = priceAlertService.getAlerts(userDetails.getUsername(), status).stream()
+                .map(dtoMapper::toPriceAlertResponse)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{alertId}")
+    public ResponseEntity<PriceAlertResponse> cancelAlert(@PathVariable Long alertId,
+                                                          @AuthenticationPrincipal UserDetails userDetails) {
+        PriceAlert alert = priceAlertService.cancelAlert(alertId, userDetails.getUsername());
+        return ResponseEntity.ok(dtoMapper.toPriceAlertResponse(alert));
+    }
+
+    /**
+     * Stream the user's alerts as server-sent events, one {@code alert} event per alert fired from now on.
+     *
+     * @return The event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(@AuthenticationPrincipal UserDetails userDetails) {
+        SseEmitter emitter = new SseEmitter(0L);
+        alertDispatcher.subscribe(priceAlertService.userIdOf(userDetails.getUsername()), emitter);
+        return emitter;
+    }
+}
@@ -1,22 +1,33 @@
 package com.example.investhub.controller;
 
 import com.example.investhub.mapper.DtoMapper;
+import com.example.investhub.model.AuthenticatedUser;
 import com.example.investhub.model.Transaction;
+import com.example.investhub.model.dto.request.CreateTransactionBatchRequest;
 import com.example.investhub.model.dto.request.CreateTransactionRequest;
 import com.example.investhub.model.dto.response.TotalAmountResponse;
+import com.example.investhub.model.dto.response.TransactionBatchResponse;
 import com.example.investhub.model.dto.response.TransactionCountResponse;
+import com.example.investhub.model.dto.response.TransactionPageResponse;
 import com.example.investhub.model.dto.response.TransactionResponse;
+import com.example.investhub.model.enumeration.ExportFormat;
 import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.service.TransactionBatchService;
+import com.example.investhub.service.TransactionExportService;
 import com.example.investhub.service.TransactionService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -24,33 +35,60 @@ public class TransactionController {
 
     private static final Logger log = LoggerFactory.getLogger(TransactionController.class);
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionBatchService transactionBatchService;
     private final DtoMapper dtoMapper;
 
-    public TransactionController(TransactionService transactionService, DtoMapper dtoMapper) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionExportService transactionExportService,
+                                 TransactionBatchService transactionBatchService,
+                                 DtoMapper dtoMapper) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.transactionBatchService = transactionBatchService;
         this.dtoMapper = dtoMapper;
     }
 
+    /**
+     * Page through the authenticated user's transactions, newest first.
+     * Filters are optional; {@code before}/{@code after} take the {@code nextCursor} of a previous page.
+     */
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getUserTransactions(@RequestParam(required = false) TransactionType type, @AuthenticationPrincipal UserDetails userDetails) {
-
-        List<TransactionResponse> transactions;
-
-        if (type != null) {
-            transactions = transactionService
-                    .getUserTransactionsByType(userDetails.getUsername(), type)
-                    .stream()
-                    .map(dtoMapper::toTransactionResponse)
-                    .toList();
-        } else {
-            transactions = transactionService
-                    .getUserTransactions(userDetails.getUsername())
-                    .stream()
-                    .map(dtoMapper::toTransactionResponse)
-                    .toList();
+    public ResponseEntity<TransactionPageResponse> getUserTransactions(@RequestParam(required = false) TransactionType type,
+                                                                       @RequestParam(required = false) String asset,
+                                                                       @RequestParam(required = false) Instant from,
+                                                                       @RequestParam(required = false) Instant to,
+                                                                       @RequestParam(required = false) String before,
+                                                                       @RequestParam(required = false) String after,
+                                                                       @RequestParam(required = false) Integer limit,
+                                                                       @AuthenticationPrincipal UserDetails userDetails) {
+        TransactionPageResponse page = transactionService.getTransactionPage(
+                userDetails.getUsername(), type, asset, from, to, before, after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Export the authenticated user's full history as {@code csv} or {@code ndjson}, oldest first.
+     * Rows are streamed to the response as they are read from the database.
+     */
+    @GetMapping("/export")
+    public void exportTransactions(@RequestParam(defaultValue = "ndjson") String format,
+                                   @AuthenticationPrincipal UserDetails userDetails,
+                                   HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromCode(format);
+        // From the token; only a principal without an id costs a lookup
+        Long userId = userIdOf(userDetails);
+        if (userId == null) {
+            userId = transactionService.userIdOf(userDetails.getUsername());
         }
 
-        return ResponseEntity.ok(transactions);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + exportFormat.getCode() + "\"");
+
+        long rows = transactionExportService.export(userId, exportFormat, response.getOutputStream());
+        log.info("Exported {} transactions of {} as {}", rows, userDetails.getUsername(), exportFormat);
     }
 
     @GetMapping("/{transactionId}")
@@ -76,21 +114,52 @@ public class TransactionController {
                 request.getType(),
                 request.getAssetSymbol(),
                 request.getQuantity(),
-                userDetails.getUsername()
+                userDetails.getUsername(),
+                userIdOf(userDetails)
         );
 
         return ResponseEntity.ok(dtoMapper.toTransactionResponse(created));
     }
 
+    /**
+     * Execute many market orders at once, priced from one price snapshot and written in one database
+     * transaction. {@code ALL_OR_NOTHING} (the default) rejects the batch if any order cannot be filled;
+     * {@code BEST_EFFORT} rejects only that order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResponse> createTransactionBatch(@RequestBody CreateTransactionBatchRequest request,
+                                                                           @AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        TransactionBatchResponse response = transactionBatchService.executeBatch(request, userDetails.getUsername(),
+                userIdOf(userDetails));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * The user id carried by the token, so trades need not look the user up before waiting for their lane;
+     * null for principals without one.
+     */
+    private static Long userIdOf(UserDetails userDetails) {
+        return userDetails instanceof AuthenticatedUser principal ? principal.id() : null;
+    }
+
+    /**
+     * Page through the authenticated user's transactions in one asset, newest first.
+     */
     @GetMapping("/asset/{symbol}")
-    public ResponseEntity<List<TransactionResponse>> getTransactionsByAsset(@PathVariable String symbol, @AuthenticationPrincipal UserDetails userDetails) {
-        List<TransactionResponse> transactions = transactionService
-                .getTransactionsByAsset(symbol, userDetails.getUsername())
-                .stream()
-                .map(dtoMapper::toTransactionResponse)
-                .toList();
-
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<TransactionPageResponse> getTransactionsByAsset(@PathVariable String symbol,
+                                                                          @RequestParam(required = false) Instant from,
+                                                                          @RequestParam(required = false) Instant to,
+                                                                          @RequestParam(required = false) String before,
+                                                                          @RequestParam(required = false) String after,
+                                                                          @RequestParam(required = false) Integer limit,
+                                                                          @AuthenticationPrincipal UserDetails userDetails) {
+        TransactionPageResponse page = transactionService.getTransactionsByAsset(
+                symbol, userDetails.getUsername(), from, to, before, after, limit);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/total")
@@ -0,0 +1,24 @@
+package com.example.investhub.exception;
+
+/**
+ * Exception thrown when an order of an all-or-nothing batch cannot be filled, so none of the batch is.
+ */
+public class BatchRejectedException extends RuntimeException {
+
+    private final int index;
+    private final String reason;
+
+    public BatchRejectedException(int index, String reason) {
+        super(String.format("Order %d of the batch was rejected, no order was filled: %s", index, reason));
+        this.index = index;
+        this.reason = reason;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
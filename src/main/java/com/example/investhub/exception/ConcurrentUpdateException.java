@@ -0,0 +1,24 @@
+package com.example.investhub.exception;
+
+/**
+ * Exception thrown when a trade kept losing to concurrent updates of the same account and gave up.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private final long userId;
+    private final int attempts;
+
+    public ConcurrentUpdateException(long userId, int attempts, Throwable cause) {
+        super(String.format("Account was updated concurrently %d times in a row, try again", attempts), cause);
+        this.userId = userId;
+        this.attempts = attempts;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -79,6 +79,42 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, "Validation error", e.getMessage(), details.isEmpty() ? null : details);
     }
 
+    @ExceptionHandler(BatchRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleBatchRejected(BatchRejectedException e) {
+        log.warn("Batch rejected: index={}, reason={}", e.getIndex(), e.getReason());
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("index", e.getIndex());
+        details.put("reason", e.getReason());
+
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Batch rejected", e.getMessage(), details);
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdate(ConcurrentUpdateException e) {
+        log.warn("Concurrent update: user={}, attempts={}", e.getUserId(), e.getAttempts());
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("attempts", e.getAttempts());
+
+        return buildErrorResponse(HttpStatus.CONFLICT, "Concurrent update", e.getMessage(), details);
+    }
+
+    @ExceptionHandler(MarketDataUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleMarketDataUnavailable(MarketDataUnavailableException e) {
+        log.warn("Market data unavailable: state={}, sinceLastTickMs={}", e.getFeedState(), e.getMillisSinceLastTick());
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("feedState", e.getFeedState());
+        details.put("warmingUp", e.isWarmingUp());
+        if (!e.isWarmingUp()) {
+            details.put("millisSinceLastTick", e.getMillisSinceLastTick());
+        }
+
+        String error = e.isWarmingUp() ? "Market data warming up" : "Market data unavailable";
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, error, e.getMessage(), details);
+    }
+
     // ==================== Security Exceptions ====================
 
     @ExceptionHandler(AuthenticationException.class)
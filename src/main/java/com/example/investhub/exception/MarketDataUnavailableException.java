@@ -0,0 +1,35 @@
+package com.example.investhub.exception;
+
+import com.example.investhub.model.enumeration.FeedConnectionState;
+
+/**
+ * Exception thrown when prices cannot be trusted because the market data feed is down or stalled.
+ */
+public class MarketDataUnavailableException extends RuntimeException {
+
+    private final FeedConnectionState feedState;
+    private final long millisSinceLastTick;
+
+    public MarketDataUnavailableException(FeedConnectionState feedState, long millisSinceLastTick) {
+        super(millisSinceLastTick == Long.MAX_VALUE
+                ? String.format("Market data feed is warming up (%s), no prices received yet", feedState)
+                : String.format("Market data feed is %s, last price update %d ms ago", feedState, millisSinceLastTick));
+        this.feedState = feedState;
+        this.millisSinceLastTick = millisSinceLastTick;
+    }
+
+    public FeedConnectionState getFeedState() {
+        return feedState;
+    }
+
+    public long getMillisSinceLastTick() {
+        return millisSinceLastTick;
+    }
+
+    /**
+     * @return true if the feed has not delivered its first price yet
+     */
+    public boolean isWarmingUp() {
+        return millisSinceLastTick == Long.MAX_VALUE;
+    }
+}
@@ -2,9 +2,13 @@ package com.example.investhub.mapper;
 
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.Holding;
+import com.example.investhub.model.PriceAlert;
+import com.example.investhub.model.TradeOrder;
 import com.example.investhub.model.Transaction;
 import com.example.investhub.model.dto.response.AssetResponse;
 import com.example.investhub.model.dto.response.HoldingResponse;
+import com.example.investhub.model.dto.response.OrderResponse;
+import com.example.investhub.model.dto.response.PriceAlertResponse;
 import com.example.investhub.model.dto.response.TransactionResponse;
 import com.example.investhub.model.dto.response.WatchlistAssetResponse;
 import org.springframework.stereotype.Component;
@@ -68,4 +72,44 @@ public class DtoMapper {
                 transaction.getTimestamp()
         );
     }
+
+    public OrderResponse toOrderResponse(TradeOrder order) {
+        if (order == null) {
+            return null;
+        }
+
+        OrderResponse dto = new OrderResponse();
+        dto.setId(order.getId());
+        dto.setSide(order.getSide() != null ? order.getSide().name() : null);
+        dto.setType(order.getType() != null ? order.getType().name() : null);
+        dto.setAssetSymbol(order.getAssetSymbol());
+        dto.setQuantity(order.getQuantity());
+        dto.setLimitPrice(order.getLimitPrice());
+        dto.setStopPrice(order.getStopPrice());
+        dto.setTriggered(order.isTriggered());
+        dto.setStatus(order.getStatus() != null ? order.getStatus().name() : null);
+        dto.setFillPrice(order.getFillPrice());
+        dto.setTransactionId(order.getTransactionId());
+        dto.setRejectReason(order.getRejectReason());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setUpdatedAt(order.getUpdatedAt());
+        return dto;
+    }
+
+    public PriceAlertResponse toPriceAlertResponse(PriceAlert alert) {
+        if (alert == null) {
+            return null;
+        }
+
+        PriceAlertResponse dto = new PriceAlertResponse();
+        dto.setId(alert.getId());
+        dto.setAssetSymbol(alert.getAssetSymbol());
+        dto.setDirection(alert.getDirection() != null ? alert.getDirection().name() : null);
+        dto.setThreshold(alert.getThreshold());
+        dto.setStatus(alert.getStatus() != null ? alert.getStatus().name() : null);
+        dto.setTriggeredPrice(alert.getTriggeredPrice());
+        dto.setTriggeredAt(alert.getTriggeredAt());
+        dto.setCreatedAt(alert.getCreatedAt());
+        return dto;
+    }
 }
@@ -0,0 +1,188 @@
+package com.example.investhub.marketdata;
+
+import com.example.investhub.model.enumeration.CandleInterval;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * OHLC bars per symbol at every {@link CandleInterval}, built from the tick stream.
+ * <p>
+ * Each symbol gets a {@link Series} on its first tick: for every interval a fixed ring of
+ * {@code market.candles.bars} bars kept in primitive arrays, so memory is bounded by the number
+ * of symbols, not by uptime. A tick touches one bar per interval, in O(1). Intervals without any
+ * tick have no bar.
+ * <p>
+ * The ticker stream carries no per-trade quantity, so instead of traded volume a bar counts the
+ * ticks folded into it.
+ * <p>
+ * Like {@link PriceTable}, a symbol must have a single writer at a time. Each interval ring carries
+ * a sequence lock, so readers copy bars without blocking the writer and retry if a write overlapped.
+ */
+@Component
+public class CandleStore {
+
+    private static final CandleInterval[] INTERVALS = CandleInterval.values();
+    private static final VarHandle VERSIONS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final PriceTable priceTable;
+    private final int bars;
+    private final AtomicReferenceArray<Series> series;
+
+    public CandleStore(PriceTable priceTable, @Value("${market.candles.bars:720}") int bars) {
+        if (bars <= 0) {
+            throw new IllegalArgumentException("Candle ring size must be positive");
+        }
+        this.priceTable = priceTable;
+        this.bars = bars;
+        this.series = new AtomicReferenceArray<>(priceTable.capacity());
+    }
+
+    /** Bars kept per symbol and interval. */
+    public int bars() {
+        return bars;
+    }
+
+    // ==================== Writes ====================
+
+    /**
+     * Fold a tick into the current bar of every interval. Ticks older than the current bar of an
+     * interval are ignored for that interval.
+     *
+     * @param id Price table id of the symbol
+     * @param price The price
+     * @param eventTime Exchange event time, epoch millis
+     */
+    public void onTick(int id, double price, long eventTime) {
+        Series s = series.get(id);
+        if (s == null) {
+            s = new Series(bars);
+            series.set(id, s);
+        }
+
+        for (int interval = 0; interval < INTERVALS.length; interval++) {
+            long openTime = INTERVALS[interval].openTimeOf(eventTime);
+            long count = s.counts[interval];
+            int base = interval * bars;
+            int slot = base + (int) ((count - 1) % bars);
+
+            if (count > 0 && openTime < s.openTimes[slot]) {
+                continue;
+            }
+
+            long version = (long) VERSIONS.getOpaque(s.versions, interval);
+            VERSIONS.setOpaque(s.versions, interval, version + 1);
+            VarHandle.storeStoreFence();
+
+            if (count > 0 && openTime == s.openTimes[slot]) {
+                s.highs[slot] = Math.max(s.highs[slot], price);
+                s.lows[slot] = Math.min(s.lows[slot], price);
+                s.closes[slot] = price;
+                s.ticks[slot]++;
+            } else {
+                slot = base + (int) (count % bars);
+                s.openTimes[slot] = openTime;
+                s.opens[slot] = price;
+                s.highs[slot] = price;
+                s.lows[slot] = price;
+                s.closes[slot] = price;
+                s.ticks[slot] = 1;
+                s.counts[interval] = count + 1;
+            }
+
+            VERSIONS.setRelease(s.versions, interval, version + 2);
+        }
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * Most recent bars of a symbol, oldest first.
+     *
+     * @param id Price table id of the symbol
+     * @param interval Bar interval
+     * @param limit Maximum number of bars
+     * @return Up to {@code limit} bars, empty if the symbol has no ticks yet
+     */
+    public List<Candle> candles(int id, CandleInterval interval, int limit) {
+        Series s = series.get(id);
+        if (s == null || limit <= 0) {
+            return List.of();
+        }
+
+        int i = interval.ordinal();
+        int base = i * bars;
+        while (true) {
+            long before = (long) VERSIONS.getAcquire(s.versions, i);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            long count = s.counts[i];
+            int n = (int) Math.min(Math.min(count, bars), limit);
+            List<Candle> result = new ArrayList<>(n);
+            for (long bar = count - n; bar < count; bar++) {
+                int slot = base + (int) (bar % bars);
+                result.add(new Candle(s.openTimes[slot], s.opens[slot], s.highs[slot], s.lows[slot],
+                        s.closes[slot], s.ticks[slot]));
+            }
+
+            VarHandle.loadLoadFence();
+            if ((long) VERSIONS.getOpaque(s.versions, i) == before) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Most recent bars of a symbol, oldest first.
+     *
+     * @return Up to {@code limit} bars, empty if the symbol is unknown or has no ticks yet
+     */
+    public List<Candle> candles(String symbol, CandleInterval interval, int limit) {
+        int id = priceTable.idOf(symbol);
+        return id < 0 ? List.of() : candles(id, interval, limit);
+    }
+
+    /**
+     * One bar.
+     *
+     * @param openTime Start of the bar, epoch millis
+     * @param ticks Number of ticks folded into the bar
+     */
+    public record Candle(long openTime, double open, double high, double low, double close, long ticks) {
+    }
+
+    /**
+     * Bar rings of one symbol, all intervals in the same flat arrays: interval {@code i} owns
+     * slots {@code i * bars .. (i + 1) * bars - 1}.
+     */
+    private static final class Series {
+
+        final long[] versions = new long[INTERVALS.length];
+        /** Bars ever opened per interval; the newest is at {@code (count - 1) % bars}. */
+        final long[] counts = new long[INTERVALS.length];
+        final long[] openTimes;
+        final double[] opens;
+        final double[] highs;
+        final double[] lows;
+        final double[] closes;
+        final long[] ticks;
+
+        Series(int bars) {
+            int slots = INTERVALS.length * bars;
+            openTimes = new long[slots];
+            opens = new double[slots];
+            highs = new double[slots];
+            lows = new double[slots];
+            closes = new double[slots];
+            ticks = new long[slots];
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.investhub.marketdata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Latest price per symbol, stored as primitive doubles in a flat array.
+ * <p>
+ * Every symbol gets a dense integer id (its slot) on first registration. Prices are written
+ * without allocation and read in O(1) by id; lookups by symbol go through an open-addressed
+ * index that reuses {@link String#hashCode()}, which Strings cache, and can also be done on a
+ * character range of a raw frame without creating a String.
+ * <p>
+ * Each slot carries a version that works as a sequence lock: it is odd while a write is in
+ * progress and advances by two per update, so readers always see a price together with the
+ * version it was written under. A slot must have a single writer at a time (each symbol is fed
+ * by one connection); any number of threads may read.
+ * <p>
+ * Alongside the price, a slot keeps the exchange event time and local receive time of its last
+ * update and the {@linkplain #globalVersion() global version} it was written at. The global
+ * version counts updates across all symbols, so "what changed since version N" is a scan for
+ * slots whose change version exceeds N.
+ */
+@Component
+public class PriceTable {
+
+    private static final VarHandle PRICES = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle VERSIONS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle INDEX = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int capacity;
+    private final String[] symbols;
+    private final double[] prices;
+    private final long[] versions;
+    private final long[] eventTimes;
+    private final long[] receiveTimes;
+    /** Global version at each slot's last update. */
+    private final long[] changes;
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    /** Open-addressed symbol index holding {@code id + 1}; 0 marks an empty bucket. */
+    private final int[] index;
+    private final int indexMask;
+
+    private volatile int size;
+
+    public PriceTable(@Value("${market.price-table.capacity:4096}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Price table capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.symbols = new String[capacity];
+        this.prices = new double[capacity];
+        this.versions = new long[capacity];
+        this.eventTimes = new long[capacity];
+        this.receiveTimes = new long[capacity];
+        this.changes = new long[capacity];
+
+        int buckets = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.index = new int[buckets];
+        this.indexMask = buckets - 1;
+    }
+
+    // ==================== Registration ====================
+
+    /**
+     * Get or assign the id of a symbol.
+     *
+     * @param symbol The symbol
+     * @return The id of the symbol
+     * @throws IllegalStateException if the table is full
+     */
+    public int register(String symbol) {
+        int id = idOf(symbol);
+        if (id >= 0) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = idOf(symbol);
+            if (id >= 0) {
+                return id;
+            }
+            if (size == capacity) {
+                throw new IllegalStateException("Price table is full (" + capacity + " symbols)");
+            }
+
+            id = size;
+            symbols[id] = symbol;
+
+            // Grow the table before the index can hand the id out, so a reader that finds the id
+            // never checks it against the old size
+            size = id + 1;
+
+            int bucket = spread(symbol.hashCode()) & indexMask;
+            while ((int) INDEX.getAcquire(index, bucket) != 0) {
+                bucket = (bucket + 1) & indexMask;
+            }
+            INDEX.setRelease(index, bucket, id + 1);
+            return id;
+        }
+    }
+
+    /**
+     * Id of a symbol.
+     *
+     * @param symbol The symbol
+     * @return The id, or -1 if the symbol was never registered
+     */
+    public int idOf(String symbol) {
+        return find(symbol, 0, symbol.length(), symbol.hashCode());
+    }
+
+    /**
+     * Id of the symbol spelled by a character range, e.g. inside a raw frame.
+     *
+     * @return The id, or -1 if the symbol was never registered
+     */
+    public int idOf(CharSequence chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return find(chars, start, end, hash);
+    }
+
+    public String symbol(int id) {
+        checkId(id);
+        return symbols[id];
+    }
+
+    /** Number of registered symbols; ids are {@code 0 .. size() - 1}. */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // ==================== Writes ====================
+
+    /**
+     * Publish a new price for a slot.
+     *
+     * @param id The symbol id
+     * @param price The price
+     * @param eventTime Exchange event time, epoch millis
+     * @param receiveTime Local receive time, epoch millis
+     */
+    public void update(int id, double price, long eventTime, long receiveTime) {
+        checkId(id);
+
+        long version = (long) VERSIONS.getOpaque(versions, id);
+        VERSIONS.setOpaque(versions, id, version + 1);
+        VarHandle.storeStoreFence();
+        // Claimed while the slot is odd: a reader that saw this global version waits for the write
+        long change = globalVersion.incrementAndGet();
+        PRICES.setOpaque(prices, id, price);
+        LONGS.setOpaque(eventTimes, id, eventTime);
+        LONGS.setOpaque(receiveTimes, id, receiveTime);
+        LONGS.setOpaque(changes, id, change);
+        VERSIONS.setRelease(versions, id, version + 2);
+    }
+
+    /**
+     * Publish a new price for a slot, received now.
+     */
+    public void update(int id, double price) {
+        long now = System.currentTimeMillis();
+        update(id, price, now, now);
+    }
+
+    /**
+     * Publish a new price for a symbol, registering it if needed.
+     */
+    public void update(String symbol, double price) {
+        update(register(symbol), price);
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * Latest price of a slot.
+     *
+     * @param id The symbol id
+     * @return The price, or NaN if no price was published yet
+     */
+    public double price(int id) {
+        checkId(id);
+
+        while (true) {
+            long before = (long) VERSIONS.getAcquire(versions, id);
+            double price = (double) PRICES.getOpaque(prices, id);
+            VarHandle.loadLoadFence();
+            long after = (long) VERSIONS.getOpaque(versions, id);
+
+            if (before == after && (before & 1) == 0) {
+                return before == 0 ? Double.NaN : price;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Latest price of a symbol.
+     *
+     * @param symbol The symbol
+     * @return The price, or NaN if the symbol is unknown or has no price yet
+     */
+    public double price(String symbol) {
+        int id = idOf(symbol);
+        return id < 0 ? Double.NaN : price(id);
+    }
+
+    /**
+     * Number of updates published for a slot; 0 means it has never been priced.
+     */
+    public long version(int id) {
+        checkId(id);
+
+        long version;
+        while (((version = (long) VERSIONS.getAcquire(versions, id)) & 1) != 0) {
+            Thread.onSpinWait();
+        }
+        return version >>> 1;
+    }
+
+    /**
+     * Number of updates published across all symbols. Every update advances it by one and stamps
+     * the updated slot with the new value.
+     */
+    public long globalVersion() {
+        return globalVersion.get();
+    }
+
+    /**
+     * Consistent read of one slot.
+     *
+     * @param id The symbol id
+     * @return The quote; its price is NaN if no price was published yet
+     */
+    public Quote quote(int id) {
+        checkId(id);
+
+        while (true) {
+            long before = (long) VERSIONS.getAcquire(versions, id);
+            double price = (double) PRICES.getOpaque(prices, id);
+            long eventTime = (long) LONGS.getOpaque(eventTimes, id);
+            long receiveTime = (long) LONGS.getOpaque(receiveTimes, id);
+            long change = (long) LONGS.getOpaque(changes, id);
+            VarHandle.loadLoadFence();
+            long after = (long) VERSIONS.getOpaque(versions, id);
+
+            if (before == after && (before & 1) == 0) {
+                return new Quote(symbols[id], before == 0 ? Double.NaN : price, eventTime, receiveTime, change);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Copy the current prices into a read-only snapshot. Costs one array copy of the registered
+     * slots and no per-symbol allocation.
+     * <p>
+     * The snapshot's {@linkplain Snapshot#globalVersion() global version} is read before any slot,
+     * so every update up to it is in the snapshot; updates after it may be too.
+     */
+    public Snapshot snapshot() {
+        long global = globalVersion.get();
+        int count = size;
+        double[] pricesCopy = new double[count];
+        long[] versionsCopy = new long[count];
+        long[] eventTimesCopy = new long[count];
+        long[] receiveTimesCopy = new long[count];
+        long[] changesCopy = new long[count];
+
+        for (int id = 0; id < count; id++) {
+            while (true) {
+                long before = (long) VERSIONS.getAcquire(versions, id);
+                double price = (double) PRICES.getOpaque(prices, id);
+                long eventTime = (long) LONGS.getOpaque(eventTimes, id);
+                long receiveTime = (long) LONGS.getOpaque(receiveTimes, id);
+                long change = (long) LONGS.getOpaque(changes, id);
+                VarHandle.loadLoadFence();
+                long after = (long) VERSIONS.getOpaque(versions, id);
+
+                if (before == after && (before & 1) == 0) {
+                    pricesCopy[id] = price;
+                    versionsCopy[id] = before >>> 1;
+                    eventTimesCopy[id] = eventTime;
+                    receiveTimesCopy[id] = receiveTime;
+                    changesCopy[id] = change;
+                    break;
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        return new Snapshot(this, count, global, pricesCopy, versionsCopy, eventTimesCopy, receiveTimesCopy, changesCopy);
+    }
+
+    // ==================== Internals ====================
+
+    private int find(CharSequence chars, int start, int end, int hash) {
+        int bucket = spread(hash) & indexMask;
+        while (true) {
+            int entry = (int) INDEX.getAcquire(index, bucket);
+            if (entry == 0) {
+                return -1;
+            }
+            int id = entry - 1;
+            if (matches(symbols[id], chars, start, end)) {
+                return id;
+            }
+            bucket = (bucket + 1) & indexMask;
+        }
+    }
+
+    private static boolean matches(String symbol, CharSequence chars, int start, int end) {
+        if (symbol.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < symbol.length(); i++) {
+            if (symbol.charAt(i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown price slot: " + id);
+        }
+    }
+
+    /**
+     * One slot read consistently.
+     *
+     * @param symbol The symbol
+     * @param price The price, or NaN if none was published yet
+     * @param eventTime Exchange event time of the last update, epoch millis
+     * @param receiveTime Local receive time of the last update, epoch millis
+     * @param changeVersion Global version of the last update; 0 if none
+     */
+    public record Quote(String symbol, double price, long eventTime, long receiveTime, long changeVersion) {
+
+        public boolean hasPrice() {
+            return changeVersion != 0;
+        }
+    }
+
+    /**
+     * Read-only copy of the price table at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final PriceTable table;
+        private final int size;
+        private final long globalVersion;
+        private final double[] prices;
+        private final long[] versions;
+        private final long[] eventTimes;
+        private final long[] receiveTimes;
+        private final long[] changes;
+
+        private Snapshot(PriceTable table, int size, long globalVersion, double[] prices, long[] versions,
+                         long[] eventTimes, long[] receiveTimes, long[] changes) {
+            this.table = table;
+            this.size = size;
+            this.globalVersion = globalVersion;
+            this.prices = prices;
+            this.versions = versions;
+            this.eventTimes = eventTimes;
+            this.receiveTimes = receiveTimes;
+            this.changes = changes;
+        }
+
+        /**
+         * Global version of the table when the snapshot was taken.
+         */
+        public long globalVersion() {
+            return globalVersion;
+        }
+
+        /** Number of registered symbols at snapshot time, priced or not. */
+        public int size() {
+            return size;
+        }
+
+        public String symbol(int id) {
+            return table.symbols[id];
+        }
+
+        public boolean hasPrice(int id) {
+            return versions[id] != 0;
+        }
+
+        /**
+         * @return The price, or NaN if the slot had no price yet
+         */
+        public double price(int id) {
+            return versions[id] == 0 ? Double.NaN : prices[id];
+        }
+
+        /**
+         * @return The price, or NaN if the symbol is unknown or had no price yet
+         */
+        public double price(String symbol) {
+            int id = table.idOf(symbol);
+            return id < 0 || id >= size ? Double.NaN : price(id);
+        }
+
+        public long version(int id) {
+            return versions[id];
+        }
+
+        public long eventTime(int id) {
+            return eventTimes[id];
+        }
+
+        public long receiveTime(int id) {
+            return receiveTimes[id];
+        }
+
+        /**
+         * Global version at the slot's last update; 0 if it had no price.
+         */
+        public long changeVersion(int id) {
+            return changes[id];
+        }
+
+        /**
+         * Visit every symbol that has a price, in id order.
+         */
+        public void forEach(ObjDoubleConsumer<String> consumer) {
+            for (int id = 0; id < size; id++) {
+                if (versions[id] != 0) {
+                    consumer.accept(table.symbols[id], prices[id]);
+                }
+            }
+        }
+    }
+}
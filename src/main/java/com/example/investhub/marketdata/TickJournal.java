@@ -0,0 +1,271 @@
+package com.example.investhub.marketdata;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only binary journal of every accepted tick, stored in memory-mapped segment files.
+ * <p>
+ * Each tick is a fixed {@value #RECORD_SIZE}-byte little-endian record:
+ * <pre>
+ *   0  int    journal symbol id + 1 (0 marks the end of the journal)
+ *   4  int    reserved
+ *   8  long   exchange event time, epoch millis
+ *  16  long   receive time, epoch millis
+ *  24  double price
+ * </pre>
+ * Writers claim a slot with a single atomic add and fill it with absolute puts into the mapped
+ * segment, publishing the header last, so appends take no lock and make no system call; the OS
+ * writes the pages back. Only rolling to a new segment maps a file: the first writer to reach it maps
+ * it under the journal's lock and publishes segment index and buffer together, so a writer never pairs
+ * its index with another segment's buffer.
+ * <p>
+ * Journal symbol ids are stable across restarts and are listed in {@code symbols.txt}, which is
+ * appended once per new symbol. Read a journal back with {@link TickJournalReader}.
+ * <p>
+ * With {@code market.journal.max-segments} set, rolling to a new segment deletes the segments older
+ * than the last that many, so the journal keeps a bounded window of the most recent ticks.
+ */
+@Component
+public class TickJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(TickJournal.class);
+
+    public static final int RECORD_SIZE = 32;
+    static final String SYMBOLS_FILE = "symbols.txt";
+
+    private static final VarHandle HEADER = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final PriceTable priceTable;
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean enabled;
+
+    /** Segment files kept on disk, the current one included; 0 keeps them all. */
+    @Value("${market.journal.max-segments:0}")
+    int maxSegments = 0;
+
+    /** Journal id of each price table slot, or -1 until the symbol was journaled. */
+    private final int[] journalIds;
+    private final Map<String, Integer> journalIdBySymbol = new ConcurrentHashMap<>();
+    private final Map<Long, MappedByteBuffer> segments = new ConcurrentHashMap<>();
+    private final AtomicLong position = new AtomicLong();
+
+    private volatile boolean open;
+    /** The newest segment, replaced as a whole under the journal's lock. */
+    private volatile Current current;
+
+    public TickJournal(PriceTable priceTable,
+                       @Value("${market.journal.directory:data/journal}") Path directory,
+                       @Value("${market.journal.segment-size:67108864}") long segmentSize,
+                       @Value("${market.journal.enabled:false}") boolean enabled) {
+        if (segmentSize < RECORD_SIZE || segmentSize % RECORD_SIZE != 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size must be a multiple of " + RECORD_SIZE + " below 2 GB");
+        }
+        this.priceTable = priceTable;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.enabled = enabled;
+        this.journalIds = new int[priceTable.capacity()];
+        Arrays.fill(journalIds, -1);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // ==================== Writes ====================
+
+    /**
+     * Append a tick.
+     *
+     * @param id Price table id of the symbol
+     * @param eventTime Exchange event time, epoch millis
+     * @param receiveTime Local receive time, epoch millis
+     * @param price The price
+     */
+    public void append(int id, long eventTime, long receiveTime, double price) {
+        if (!enabled) {
+            return;
+        }
+        if (!open) {
+            open();
+        }
+
+        int journalId = journalIds[id];
+        if (journalId < 0) {
+            journalId = journalSymbol(id);
+        }
+
+        long pos = position.getAndAdd(RECORD_SIZE);
+        MappedByteBuffer buffer = segment(pos / segmentSize);
+        int offset = (int) (pos % segmentSize);
+
+        buffer.putLong(offset + 8, eventTime);
+        buffer.putLong(offset + 16, receiveTime);
+        buffer.putDouble(offset + 24, price);
+        HEADER.setRelease(buffer, offset, journalId + 1);
+    }
+
+    /** Number of records in the journal, including those of earlier runs. */
+    public long size() {
+        return position.get() / RECORD_SIZE;
+    }
+
+    /**
+     * Flush mapped segments to disk.
+     */
+    @PreDestroy
+    public void force() {
+        for (MappedByteBuffer buffer : segments.values()) {
+            buffer.force();
+        }
+    }
+
+    // ==================== Internals ====================
+
+    private synchronized void open() {
+        if (open) {
+            return;
+        }
+        if (maxSegments == 1 || maxSegments < 0) {
+            // The previous segment stays mapped while writers that claimed a slot in it finish
+            throw new IllegalStateException("market.journal.max-segments must be 0 or at least 2, got " + maxSegments);
+        }
+        try {
+            Files.createDirectories(directory);
+
+            Path symbols = directory.resolve(SYMBOLS_FILE);
+            if (Files.exists(symbols)) {
+                for (String line : Files.readAllLines(symbols, StandardCharsets.UTF_8)) {
+                    int tab = line.indexOf('\t');
+                    if (tab > 0) {
+                        journalIdBySymbol.put(line.substring(tab + 1), Integer.parseInt(line.substring(0, tab)));
+                    }
+                }
+            }
+
+            long last = TickJournalReader.lastSegment(directory);
+            if (last >= 0) {
+                MappedByteBuffer buffer = segment(last);
+                int offset = 0;
+                while (offset < segmentSize && (int) HEADER.getAcquire(buffer, offset) != 0) {
+                    offset += RECORD_SIZE;
+                }
+                position.set(last * segmentSize + offset);
+            }
+
+            open = true;
+            log.info("Tick journal at {} continues at record {}", directory.toAbsolutePath(), size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open tick journal " + directory, e);
+        }
+    }
+
+    private synchronized int journalSymbol(int id) {
+        if (journalIds[id] >= 0) {
+            return journalIds[id];
+        }
+
+        String symbol = priceTable.symbol(id);
+        Integer existing = journalIdBySymbol.get(symbol);
+        int journalId = existing != null ? existing : journalIdBySymbol.size();
+
+        if (existing == null) {
+            try {
+                Files.writeString(directory.resolve(SYMBOLS_FILE), journalId + "\t" + symbol + "\n", StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot journal symbol " + symbol, e);
+            }
+            journalIdBySymbol.put(symbol, journalId);
+        }
+
+        journalIds[id] = journalId;
+        return journalId;
+    }
+
+    private MappedByteBuffer segment(long index) {
+        Current latest = current;
+        if (latest != null && latest.index == index) {
+            return latest.buffer;
+        }
+        return roll(index);
+    }
+
+    /**
+     * Map a segment other than the current one: the next one, which becomes current, or the previous
+     * one for a writer that claimed its slot before another writer rolled over.
+     */
+    private synchronized MappedByteBuffer roll(long index) {
+        Current latest = current;
+        if (latest != null && latest.index == index) {
+            return latest.buffer;
+        }
+
+        MappedByteBuffer buffer = segments.computeIfAbsent(index, this::map);
+        if (latest == null || index > latest.index) {
+            current = new Current(index, buffer);
+            segments.keySet().removeIf(older -> older < index - 1);
+            if (maxSegments > 0) {
+                deleteSegmentsBefore(index - maxSegments + 1);
+            }
+        }
+        return buffer;
+    }
+
+    /** Delete the segment files below {@code first}, newest first, stopping at the first one already gone. */
+    private void deleteSegmentsBefore(long first) {
+        for (long index = first - 1; index >= 0; index--) {
+            Path file = TickJournalReader.segmentFile(directory, index);
+            try {
+                if (!Files.deleteIfExists(file)) {
+                    return;
+                }
+                log.debug("Deleted tick journal segment {}", file);
+            } catch (IOException e) {
+                log.warn("Cannot delete tick journal segment {}", file, e);
+                return;
+            }
+        }
+    }
+
+    private MappedByteBuffer map(long index) {
+        Path file = TickJournalReader.segmentFile(directory, index);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            // Mapped buffers start big-endian; the record body must match the header and the reader
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal segment " + file, e);
+        }
+    }
+
+    private record Current(long index, MappedByteBuffer buffer) {
+    }
+}
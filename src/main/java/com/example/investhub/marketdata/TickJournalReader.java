@@ -0,0 +1,126 @@
+package com.example.investhub.marketdata;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Sequential reader of a {@link TickJournal} directory.
+ */
+public class TickJournalReader {
+
+    private static final String SEGMENT_PREFIX = "ticks-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final List<String> symbols = new ArrayList<>();
+
+    public TickJournalReader(Path directory) throws IOException {
+        this.directory = directory;
+
+        Path symbolsFile = directory.resolve(TickJournal.SYMBOLS_FILE);
+        if (Files.exists(symbolsFile)) {
+            for (String line : Files.readAllLines(symbolsFile, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    int id = Integer.parseInt(line.substring(0, tab));
+                    while (symbols.size() <= id) {
+                        symbols.add(null);
+                    }
+                    symbols.set(id, line.substring(tab + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Symbol of a journal symbol id.
+     */
+    public String symbol(int journalId) {
+        return symbols.get(journalId);
+    }
+
+    /** Number of symbols in the journal; ids are {@code 0 .. symbolCount() - 1}. */
+    public int symbolCount() {
+        return symbols.size();
+    }
+
+    /**
+     * Visit every record in journal order.
+     *
+     * @return Number of records read
+     */
+    public long forEach(TickVisitor visitor) throws IOException {
+        long count = 0;
+        long last = lastSegment(directory);
+
+        for (long index = 0; index <= last; index++) {
+            Path file = segmentFile(directory, index);
+            if (!Files.exists(file)) {
+                continue;
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+                for (int offset = 0; offset + TickJournal.RECORD_SIZE <= buffer.capacity(); offset += TickJournal.RECORD_SIZE) {
+                    int header = buffer.getInt(offset);
+                    if (header == 0) {
+                        break;
+                    }
+                    count++;
+                    if (!visitor.visit(header - 1, buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                            buffer.getDouble(offset + 24))) {
+                        return count;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    static Path segmentFile(Path directory, long index) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * @return Index of the last segment file, or -1 if there is none
+     */
+    static long lastSegment(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return -1;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .mapToLong(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .max()
+                    .orElse(-1);
+        }
+    }
+
+    /**
+     * Receives journal records.
+     */
+    @FunctionalInterface
+    public interface TickVisitor {
+
+        /**
+         * @param journalId Journal symbol id, see {@link TickJournalReader#symbol(int)}
+         * @param eventTime Exchange event time, epoch millis
+         * @param receiveTime Local receive time, epoch millis
+         * @param price The price
+         * @return false to stop reading
+         */
+        boolean visit(int journalId, long eventTime, long receiveTime, double price);
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.investhub.model;
 
+import com.example.investhub.catalog.AssetChangeListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "assets")
+@EntityListeners(AssetChangeListener.class)
 public class Asset {
 
     @Id
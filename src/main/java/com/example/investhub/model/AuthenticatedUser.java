@@ -0,0 +1,32 @@
+package com.example.investhub.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal of a request authenticated by a JWT. Built from the token's claims alone, so it carries
+ * no password and needs no database lookup.
+ *
+ * @param id User id, null for tokens issued without the {@code uid} claim
+ * @param username Username, the token subject
+ */
+public record AuthenticatedUser(Long id, String username) implements UserDetails {
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+}
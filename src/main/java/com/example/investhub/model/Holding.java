@@ -1,5 +1,6 @@
 package com.example.investhub.model;
 
+import com.example.investhub.portfolio.HoldingChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
@@ -7,6 +8,7 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "holdings",
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "asset_id"}))
+@EntityListeners(HoldingChangeListener.class)
 public class Holding {
 
     @Id
@@ -29,6 +31,10 @@ public class Holding {
     @Column(nullable = false)
     private double avgBuyPrice = 0.0;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -48,4 +54,7 @@ public class Holding {
 
     public double getAvgBuyPrice() { return avgBuyPrice; }
     public void setAvgBuyPrice(double avgBuyPrice) { this.avgBuyPrice = avgBuyPrice; }
+
+    @JsonIgnore
+    public Long getVersion() { return version; }
 }
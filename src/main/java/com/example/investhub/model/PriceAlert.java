@@ -0,0 +1,94 @@
+package com.example.investhub.model;
+
+import com.example.investhub.model.enumeration.AlertDirection;
+import com.example.investhub.model.enumeration.AlertStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A one-shot notification set on a watchlist asset, fired when the price crosses its threshold.
+ */
+@Entity
+@Table(name = "price_alerts",
+       indexes = {
+               @Index(name = "idx_price_alerts_status_id", columnList = "status, id"),
+               @Index(name = "idx_price_alerts_user_asset", columnList = "user_id, asset_id, status")
+       })
+public class PriceAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    private User user;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "asset_id")
+    @JsonIgnore
+    private Asset asset;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private AlertDirection direction;
+
+    @Column(nullable = false)
+    private double threshold;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private AlertStatus status = AlertStatus.ACTIVE;
+
+    /** The price of the tick that crossed the threshold. */
+    private Double triggeredPrice;
+
+    private Instant triggeredAt;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Asset getAsset() { return asset; }
+    public void setAsset(Asset asset) { this.asset = asset; }
+
+    public AlertDirection getDirection() { return direction; }
+    public void setDirection(AlertDirection direction) { this.direction = direction; }
+
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    public AlertStatus getStatus() { return status; }
+    public void setStatus(AlertStatus status) { this.status = status; }
+
+    public Double getTriggeredPrice() { return triggeredPrice; }
+    public void setTriggeredPrice(Double triggeredPrice) { this.triggeredPrice = triggeredPrice; }
+
+    public Instant getTriggeredAt() { return triggeredAt; }
+    public void setTriggeredAt(Instant triggeredAt) { this.triggeredAt = triggeredAt; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Long getUserId() {
+        return user != null ? user.getId() : null;
+    }
+
+    @JsonProperty("assetSymbol")
+    public String getAssetSymbol() {
+        return asset != null ? asset.getSymbol() : null;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.investhub.model;
+
+import com.example.investhub.model.enumeration.OrderStatus;
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A LIMIT, STOP or STOP_LIMIT order resting until the price reaches it.
+ */
+@Entity
+@Table(name = "orders",
+       indexes = {
+               @Index(name = "idx_orders_status_id", columnList = "status, id"),
+               @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id")
+       })
+public class TradeOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    private User user;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "asset_id")
+    @JsonIgnore
+    private Asset asset;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private TransactionType side;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private OrderType type;
+
+    @Column(nullable = false)
+    private double quantity;
+
+    private Double limitPrice;
+
+    private Double stopPrice;
+
+    /** Whether the stop of a STOP_LIMIT order was reached, turning it into a limit order. */
+    @Column(nullable = false)
+    private boolean triggered;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private OrderStatus status = OrderStatus.OPEN;
+
+    private Double fillPrice;
+
+    /** The transaction that filled the order. */
+    private Long transactionId;
+
+    private String rejectReason;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Asset getAsset() { return asset; }
+    public void setAsset(Asset asset) { this.asset = asset; }
+
+    public TransactionType getSide() { return side; }
+    public void setSide(TransactionType side) { this.side = side; }
+
+    public OrderType getType() { return type; }
+    public void setType(OrderType type) { this.type = type; }
+
+    public double getQuantity() { return quantity; }
+    public void setQuantity(double quantity) { this.quantity = quantity; }
+
+    public Double getLimitPrice() { return limitPrice; }
+    public void setLimitPrice(Double limitPrice) { this.limitPrice = limitPrice; }
+
+    public Double getStopPrice() { return stopPrice; }
+    public void setStopPrice(Double stopPrice) { this.stopPrice = stopPrice; }
+
+    public boolean isTriggered() { return triggered; }
+    public void setTriggered(boolean triggered) { this.triggered = triggered; }
+
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public Double getFillPrice() { return fillPrice; }
+    public void setFillPrice(Double fillPrice) { this.fillPrice = fillPrice; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public String getRejectReason() { return rejectReason; }
+    public void setRejectReason(String rejectReason) { this.rejectReason = rejectReason; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getUserId() {
+        return user != null ? user.getId() : null;
+    }
+
+    @JsonProperty("assetSymbol")
+    public String getAssetSymbol() {
+        return asset != null ? asset.getSymbol() : null;
+    }
+}
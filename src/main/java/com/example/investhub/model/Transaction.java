@@ -4,10 +4,17 @@ import com.example.investhub.model.enumeration.TransactionType;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.Instant;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+       indexes = {
+               @Index(name = "idx_transactions_user_time", columnList = "user_id, timestamp, id"),
+               @Index(name = "idx_transactions_user_asset_time", columnList = "user_id, asset_id, timestamp, id"),
+               @Index(name = "idx_transactions_user_type_time", columnList = "user_id, type, timestamp, quantity, price_per_unit")
+       })
 public class Transaction {
 
     @Id
@@ -25,7 +32,8 @@ public class Transaction {
     private Asset asset;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
     private TransactionType type;
 
     @Column(nullable = false)
@@ -62,6 +70,10 @@ public class Transaction {
         return user != null ? user.getId() : null;
     }
 
+    /**
+     * Reference the user by id alone. The reference carries no version, so Hibernate takes it for a new
+     * user; transactions to be saved take the loaded user through {@link #setUser}.
+     */
     public void setUserId(Long userId) {
         if (this.user == null) {
             this.user = new User();
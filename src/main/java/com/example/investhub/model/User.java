@@ -25,6 +25,11 @@ public class User implements UserDetails {
     @Column(nullable = false, precision = 19, scale = 8, columnDefinition = "DECIMAL(19,8) DEFAULT 30000")
     private BigDecimal usdBalance = new BigDecimal("30000.00");
 
+    /** Bumped by every update; a concurrent update of the balance fails instead of being lost. */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -40,6 +45,9 @@ public class User implements UserDetails {
     public BigDecimal getUsdBalance() { return usdBalance; }
     public void setUsdBalance(BigDecimal usdBalance) { this.usdBalance = usdBalance; }
 
+    @JsonIgnore
+    public Long getVersion() { return version; }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of();
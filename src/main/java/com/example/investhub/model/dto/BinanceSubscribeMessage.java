@@ -23,17 +23,27 @@ public class BinanceSubscribeMessage {
         this.id = id;
     }
 
-    public static BinanceSubscribeMessage createDefaultSubscription() {
-        List<String> streams = List.of(
-                "btcusdt@ticker",
-                "ethusdt@ticker",
-                "bnbusdt@ticker",
-                "adausdt@ticker",
-                "dogeusdt@ticker",
-                "xrpusdt@ticker",
-                "solusdt@ticker"
-        );
-
-        return new BinanceSubscribeMessage("SUBSCRIBE", streams, 1);
+    /**
+     * Subscribe to the 24hr ticker streams of the given symbols.
+     */
+    public static BinanceSubscribeMessage subscribe(List<String> symbols, int id) {
+        return new BinanceSubscribeMessage("SUBSCRIBE", tickerStreams(symbols), id);
+    }
+
+    /**
+     * Unsubscribe from the 24hr ticker streams of the given symbols.
+     */
+    public static BinanceSubscribeMessage unsubscribe(List<String> symbols, int id) {
+        return new BinanceSubscribeMessage("UNSUBSCRIBE", tickerStreams(symbols), id);
+    }
+
+    public static String tickerStream(String symbol) {
+        return symbol.toLowerCase() + "@ticker";
+    }
+
+    private static List<String> tickerStreams(List<String> symbols) {
+        return symbols.stream()
+                .map(BinanceSubscribeMessage::tickerStream)
+                .toList();
     }
 }
@@ -0,0 +1,68 @@
+package com.example.investhub.model.dto.request;
+
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+
+/**
+ * DTO for placing a LIMIT, STOP or STOP_LIMIT order.
+ */
+public class CreateOrderRequest {
+
+    private TransactionType side;
+    private OrderType type;
+    private String assetSymbol;
+    private double quantity;
+    private Double limitPrice;
+    private Double stopPrice;
+
+    public CreateOrderRequest() {
+    }
+
+    public TransactionType getSide() {
+        return side;
+    }
+
+    public void setSide(TransactionType side) {
+        this.side = side;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public void setType(OrderType type) {
+        this.type = type;
+    }
+
+    public String getAssetSymbol() {
+        return assetSymbol;
+    }
+
+    public void setAssetSymbol(String assetSymbol) {
+        this.assetSymbol = assetSymbol;
+    }
+
+    public double getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(double quantity) {
+        this.quantity = quantity;
+    }
+
+    public Double getLimitPrice() {
+        return limitPrice;
+    }
+
+    public void setLimitPrice(Double limitPrice) {
+        this.limitPrice = limitPrice;
+    }
+
+    public Double getStopPrice() {
+        return stopPrice;
+    }
+
+    public void setStopPrice(Double stopPrice) {
+        this.stopPrice = stopPrice;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.investhub.model.dto.request;
+
+import com.example.investhub.model.enumeration.AlertDirection;
+
+/**
+ * DTO for setting a price alert on a watchlist asset.
+ */
+public class CreatePriceAlertRequest {
+
+    private String assetSymbol;
+    private AlertDirection direction;
+    private double threshold;
+
+    public CreatePriceAlertRequest() {
+    }
+
+    public String getAssetSymbol() {
+        return assetSymbol;
+    }
+
+    public void setAssetSymbol(String assetSymbol) {
+        this.assetSymbol = assetSymbol;
+    }
+
+    public AlertDirection getDirection() {
+        return direction;
+    }
+
+    public void setDirection(AlertDirection direction) {
+        this.direction = direction;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+}
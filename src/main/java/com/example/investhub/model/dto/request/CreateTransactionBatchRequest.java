@@ -0,0 +1,33 @@
+package com.example.investhub.model.dto.request;
+
+import com.example.investhub.model.enumeration.BatchMode;
+
+import java.util.List;
+
+/**
+ * DTO for submitting several market orders at once.
+ */
+public class CreateTransactionBatchRequest {
+
+    private BatchMode mode;
+    private List<CreateTransactionRequest> orders;
+
+    public CreateTransactionBatchRequest() {
+    }
+
+    public BatchMode getMode() {
+        return mode;
+    }
+
+    public void setMode(BatchMode mode) {
+        this.mode = mode;
+    }
+
+    public List<CreateTransactionRequest> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<CreateTransactionRequest> orders) {
+        this.orders = orders;
+    }
+}
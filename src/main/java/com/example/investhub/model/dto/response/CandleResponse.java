@@ -0,0 +1,39 @@
+package com.example.investhub.model.dto.response;
+
+public class CandleResponse {
+    private long openTime;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long ticks;
+
+    public CandleResponse() {}
+
+    public CandleResponse(long openTime, double open, double high, double low, double close, long ticks) {
+        this.openTime = openTime;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.ticks = ticks;
+    }
+
+    public long getOpenTime() { return openTime; }
+    public void setOpenTime(long openTime) { this.openTime = openTime; }
+
+    public double getOpen() { return open; }
+    public void setOpen(double open) { this.open = open; }
+
+    public double getHigh() { return high; }
+    public void setHigh(double high) { this.high = high; }
+
+    public double getLow() { return low; }
+    public void setLow(double low) { this.low = low; }
+
+    public double getClose() { return close; }
+    public void setClose(double close) { this.close = close; }
+
+    public long getTicks() { return ticks; }
+    public void setTicks(long ticks) { this.ticks = ticks; }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.investhub.model.dto.response;
+
+import java.time.Instant;
+
+public class OrderResponse {
+    private Long id;
+    private String side;
+    private String type;
+    private String assetSymbol;
+    private double quantity;
+    private Double limitPrice;
+    private Double stopPrice;
+    private boolean triggered;
+    private String status;
+    private Double fillPrice;
+    private Long transactionId;
+    private String rejectReason;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public OrderResponse() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSide() { return side; }
+    public void setSide(String side) { this.side = side; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getAssetSymbol() { return assetSymbol; }
+    public void setAssetSymbol(String assetSymbol) { this.assetSymbol = assetSymbol; }
+
+    public double getQuantity() { return quantity; }
+    public void setQuantity(double quantity) { this.quantity = quantity; }
+
+    public Double getLimitPrice() { return limitPrice; }
+    public void setLimitPrice(Double limitPrice) { this.limitPrice = limitPrice; }
+
+    public Double getStopPrice() { return stopPrice; }
+    public void setStopPrice(Double stopPrice) { this.stopPrice = stopPrice; }
+
+    public boolean isTriggered() { return triggered; }
+    public void setTriggered(boolean triggered) { this.triggered = triggered; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Double getFillPrice() { return fillPrice; }
+    public void setFillPrice(Double fillPrice) { this.fillPrice = fillPrice; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public String getRejectReason() { return rejectReason; }
+    public void setRejectReason(String rejectReason) { this.rejectReason = rejectReason; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
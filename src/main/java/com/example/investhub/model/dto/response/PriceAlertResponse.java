@@ -0,0 +1,40 @@
+package com.example.investhub.model.dto.response;
+
+import java.time.Instant;
+
+public class PriceAlertResponse {
+    private Long id;
+    private String assetSymbol;
+    private String direction;
+    private double threshold;
+    private String status;
+    private Double triggeredPrice;
+    private Instant triggeredAt;
+    private Instant createdAt;
+
+    public PriceAlertResponse() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAssetSymbol() { return assetSymbol; }
+    public void setAssetSymbol(String assetSymbol) { this.assetSymbol = assetSymbol; }
+
+    public String getDirection() { return direction; }
+    public void setDirection(String direction) { this.direction = direction; }
+
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Double getTriggeredPrice() { return triggeredPrice; }
+    public void setTriggeredPrice(Double triggeredPrice) { this.triggeredPrice = triggeredPrice; }
+
+    public Instant getTriggeredAt() { return triggeredAt; }
+    public void setTriggeredAt(Instant triggeredAt) { this.triggeredAt = triggeredAt; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
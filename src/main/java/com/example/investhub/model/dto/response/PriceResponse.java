@@ -3,6 +3,9 @@ package com.example.investhub.model.dto.response;
 public class PriceResponse {
     private String symbol;
     private double price;
+    private long version;
+    private long eventTime;
+    private long updatedAt;
 
     public PriceResponse() {}
 
@@ -11,9 +14,26 @@ public class PriceResponse {
         this.price = price;
     }
 
+    public PriceResponse(String symbol, double price, long version, long eventTime, long updatedAt) {
+        this.symbol = symbol;
+        this.price = price;
+        this.version = version;
+        this.eventTime = eventTime;
+        this.updatedAt = updatedAt;
+    }
+
     public String getSymbol() { return symbol; }
     public void setSymbol(String symbol) { this.symbol = symbol; }
 
     public double getPrice() { return price; }
     public void setPrice(double price) { this.price = price; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getEventTime() { return eventTime; }
+    public void setEventTime(long eventTime) { this.eventTime = eventTime; }
+
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.investhub.model.dto.response;
+
+import com.example.investhub.model.enumeration.BatchMode;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class TransactionBatchResponse {
+    private BatchMode mode;
+    private int filled;
+    private int rejected;
+    private BigDecimal usdBalance;
+    private List<TransactionBatchResult> results;
+
+    public TransactionBatchResponse() {}
+
+    public TransactionBatchResponse(BatchMode mode, int filled, int rejected, BigDecimal usdBalance,
+                                    List<TransactionBatchResult> results) {
+        this.mode = mode;
+        this.filled = filled;
+        this.rejected = rejected;
+        this.usdBalance = usdBalance;
+        this.results = results;
+    }
+
+    public BatchMode getMode() { return mode; }
+    public void setMode(BatchMode mode) { this.mode = mode; }
+
+    public int getFilled() { return filled; }
+    public void setFilled(int filled) { this.filled = filled; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public BigDecimal getUsdBalance() { return usdBalance; }
+    public void setUsdBalance(BigDecimal usdBalance) { this.usdBalance = usdBalance; }
+
+    public List<TransactionBatchResult> getResults() { return results; }
+    public void setResults(List<TransactionBatchResult> results) { this.results = results; }
+}
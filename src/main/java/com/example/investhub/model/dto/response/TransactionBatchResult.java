@@ -0,0 +1,43 @@
+package com.example.investhub.model.dto.response;
+
+/**
+ * Outcome of one order of a batch: the transaction it was filled as, or why it was rejected.
+ */
+public class TransactionBatchResult {
+    public static final String FILLED = "FILLED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private TransactionResponse transaction;
+    private String error;
+
+    public TransactionBatchResult() {}
+
+    public TransactionBatchResult(int index, String status, TransactionResponse transaction, String error) {
+        this.index = index;
+        this.status = status;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public static TransactionBatchResult filled(int index, TransactionResponse transaction) {
+        return new TransactionBatchResult(index, FILLED, transaction, null);
+    }
+
+    public static TransactionBatchResult rejected(int index, String error) {
+        return new TransactionBatchResult(index, REJECTED, null, error);
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public TransactionResponse getTransaction() { return transaction; }
+    public void setTransaction(TransactionResponse transaction) { this.transaction = transaction; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,11 @@
+package com.example.investhub.model.enumeration;
+
+/**
+ * Which way the price has to cross a price alert's threshold.
+ */
+public enum AlertDirection {
+    /** Fires once the price rises to the threshold or above. */
+    ABOVE,
+    /** Fires once the price falls to the threshold or below. */
+    BELOW
+}
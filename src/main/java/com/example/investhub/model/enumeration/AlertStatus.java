@@ -0,0 +1,7 @@
+package com.example.investhub.model.enumeration;
+
+public enum AlertStatus {
+    ACTIVE,
+    TRIGGERED,
+    CANCELLED
+}
@@ -0,0 +1,11 @@
+package com.example.investhub.model.enumeration;
+
+/**
+ * How a batch of orders treats an order that cannot be filled.
+ */
+public enum BatchMode {
+    /** Reject the whole batch; none of its orders is filled. */
+    ALL_OR_NOTHING,
+    /** Reject that order only and fill the others. */
+    BEST_EFFORT
+}
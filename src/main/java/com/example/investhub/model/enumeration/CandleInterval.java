@@ -0,0 +1,49 @@
+package com.example.investhub.model.enumeration;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public enum CandleInterval {
+    ONE_SECOND("1s", 1_000L),
+    ONE_MINUTE("1m", 60_000L),
+    FIVE_MINUTES("5m", 300_000L),
+    ONE_HOUR("1h", 3_600_000L),
+    ONE_DAY("1d", 86_400_000L);
+
+    private final String code;
+    private final long millis;
+
+    CandleInterval(String code, long millis) {
+        this.code = code;
+        this.millis = millis;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Start of the bar containing a timestamp; days are aligned to UTC midnight.
+     */
+    public long openTimeOf(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, millis);
+    }
+
+    /**
+     * @param code Interval code, e.g. {@code 1m}
+     * @throws IllegalArgumentException if the code is not supported
+     */
+    public static CandleInterval fromCode(String code) {
+        for (CandleInterval interval : values()) {
+            if (interval.code.equalsIgnoreCase(code)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported candle interval: " + code + ", expected one of "
+                + Arrays.stream(values()).map(CandleInterval::getCode).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.investhub.model.enumeration;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String code;
+    private final String contentType;
+
+    ExportFormat(String code, String contentType) {
+        this.code = code;
+        this.contentType = contentType;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @param code Format code, {@code csv} or {@code ndjson}
+     * @throws IllegalArgumentException if the code is not supported
+     */
+    public static ExportFormat fromCode(String code) {
+        for (ExportFormat format : values()) {
+            if (format.code.equalsIgnoreCase(code)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + code + ", expected one of "
+                + Arrays.stream(values()).map(ExportFormat::getCode).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.investhub.model.enumeration;
+
+public enum FeedConnectionState {
+    CONNECTING,
+    CONNECTED,
+    STALE,
+    DISCONNECTED,
+    STOPPED
+}
@@ -0,0 +1,8 @@
+package com.example.investhub.model.enumeration;
+
+public enum OrderStatus {
+    OPEN,
+    FILLED,
+    CANCELLED,
+    REJECTED
+}
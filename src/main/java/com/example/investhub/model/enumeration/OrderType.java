@@ -0,0 +1,15 @@
+package com.example.investhub.model.enumeration;
+
+/**
+ * How a resting order is triggered.
+ * <ul>
+ *     <li>{@code LIMIT} - buy at or below, or sell at or above, the limit price</li>
+ *     <li>{@code STOP} - buy at market once the price rises to the stop price, or sell once it falls to it</li>
+ *     <li>{@code STOP_LIMIT} - becomes a {@code LIMIT} order at the limit price once the stop price is reached</li>
+ * </ul>
+ */
+public enum OrderType {
+    LIMIT,
+    STOP,
+    STOP_LIMIT
+}
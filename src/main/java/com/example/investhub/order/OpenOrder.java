@@ -0,0 +1,20 @@
+package com.example.investhub.order;
+
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+
+/**
+ * What the order engine needs of an open order to know when it triggers.
+ *
+ * @param id Order id
+ * @param userId Id of the user who placed it
+ * @param symbol Asset symbol
+ * @param side BUY or SELL
+ * @param type LIMIT, STOP or STOP_LIMIT
+ * @param limitPrice Limit price of LIMIT and STOP_LIMIT orders
+ * @param stopPrice Stop price of STOP and STOP_LIMIT orders
+ * @param triggered Whether a STOP_LIMIT order's stop was already reached
+ */
+public record OpenOrder(Long id, Long userId, String symbol, TransactionType side, OrderType type,
+                        Double limitPrice, Double stopPrice, boolean triggered) {
+}
@@ -0,0 +1,189 @@
+package com.example.investhub.order;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Resting orders of one symbol, sorted by trigger price.
+ * <p>
+ * Orders that trigger when the price falls to their trigger (buy limits, sell stops) and orders that
+ * trigger when it rises to it (sell limits, buy stops) are kept in two trees of price levels, each
+ * level a FIFO list of orders. A price can only have crossed the levels at one end of each tree, so
+ * matching costs O(log n) to find the first crossed level plus O(k) for the k orders it triggers,
+ * however many orders rest in the book, and a price that crosses nothing costs two lookups.
+ * <p>
+ * The nearest trigger on each side is also published in volatile fields, so a tick that crosses
+ * nothing is rejected by {@link #crossedBy} with two comparisons and without taking the book's lock.
+ * Everything else is not thread-safe; the engine guards each book with its monitor.
+ */
+final class OrderBook {
+
+    /** Triggered by a price at or below the level; the highest level is reached first. */
+    private final TreeMap<Double, Level> fallTriggers = new TreeMap<>();
+    /** Triggered by a price at or above the level; the lowest level is reached first. */
+    private final TreeMap<Double, Level> riseTriggers = new TreeMap<>();
+    private int size;
+
+    private volatile double highestFall = Double.NEGATIVE_INFINITY;
+    private volatile double lowestRise = Double.POSITIVE_INFINITY;
+
+    /**
+     * Whether the price reaches any trigger in the book. Lock-free; a price NaN reaches nothing.
+     */
+    boolean crossedBy(double price) {
+        return price <= highestFall || price >= lowestRise;
+    }
+
+    /** Number of orders in the book. */
+    int size() {
+        return size;
+    }
+
+    void add(RestingOrder order) {
+        TreeMap<Double, Level> levels = order.triggersOnFall() ? fallTriggers : riseTriggers;
+        levels.computeIfAbsent(order.trigger(), Level::new).append(order);
+        size++;
+        publishBounds();
+    }
+
+    /**
+     * Take an order out of the book.
+     *
+     * @return False if it was not in the book, e.g. it was already triggered
+     */
+    boolean remove(RestingOrder order) {
+        Level level = order.level;
+        if (level == null) {
+            return false;
+        }
+        level.unlink(order);
+        if (level.isEmpty()) {
+            (order.triggersOnFall() ? fallTriggers : riseTriggers).remove(level.price);
+        }
+        size--;
+        publishBounds();
+        return true;
+    }
+
+    /**
+     * Take every order the price has reached out of the book, oldest first within a price level.
+     * Orders that fill are passed to {@code fills}. A STOP_LIMIT order whose stop was reached is
+     * marked triggered, passed to {@code stopsReached} and put back at its limit price, where the
+     * same price may fill it.
+     *
+     * @param price The latest price; NaN matches nothing
+     * @param fills Receives the orders to fill
+     * @param stopsReached Receives STOP_LIMIT orders that became limit orders
+     * @return Number of triggers, fills plus stops reached
+     */
+    int match(double price, Consumer<RestingOrder> fills, Consumer<RestingOrder> stopsReached) {
+        if (!crossedBy(price)) {
+            return 0;
+        }
+
+        int triggers = 0;
+        int converted;
+        do {
+            converted = 0;
+            Map.Entry<Double, Level> entry;
+            while ((entry = fallTriggers.lastEntry()) != null && entry.getKey() >= price) {
+                fallTriggers.pollLastEntry();
+                converted += drain(entry.getValue(), fills, stopsReached);
+                triggers += entry.getValue().count;
+            }
+            while ((entry = riseTriggers.firstEntry()) != null && entry.getKey() <= price) {
+                riseTriggers.pollFirstEntry();
+                converted += drain(entry.getValue(), fills, stopsReached);
+                triggers += entry.getValue().count;
+            }
+            // Orders just put back at their limit may already be crossed
+        } while (converted > 0);
+        publishBounds();
+        return triggers;
+    }
+
+    /**
+     * Empty a level that was taken out of its tree.
+     *
+     * @return Number of STOP_LIMIT orders put back at their limit
+     */
+    private int drain(Level level, Consumer<RestingOrder> fills, Consumer<RestingOrder> stopsReached) {
+        int converted = 0;
+        RestingOrder order = level.head;
+        while (order != null) {
+            RestingOrder next = order.next;
+            order.level = null;
+            order.prev = null;
+            order.next = null;
+            size--;
+
+            if (order.fillsOnTrigger()) {
+                fills.accept(order);
+            } else {
+                order.triggered = true;
+                stopsReached.accept(order);
+                add(order);
+                converted++;
+            }
+            order = next;
+        }
+        level.head = null;
+        level.tail = null;
+        return converted;
+    }
+
+    private void publishBounds() {
+        highestFall = fallTriggers.isEmpty() ? Double.NEGATIVE_INFINITY : fallTriggers.lastKey();
+        lowestRise = riseTriggers.isEmpty() ? Double.POSITIVE_INFINITY : riseTriggers.firstKey();
+    }
+
+    /**
+     * Orders resting at one trigger price, in arrival order.
+     */
+    static final class Level {
+
+        final double price;
+        RestingOrder head;
+        RestingOrder tail;
+        int count;
+
+        Level(Double price) {
+            this.price = price;
+        }
+
+        void append(RestingOrder order) {
+            order.level = this;
+            order.prev = tail;
+            order.next = null;
+            if (tail == null) {
+                head = order;
+            } else {
+                tail.next = order;
+            }
+            tail = order;
+            count++;
+        }
+
+        void unlink(RestingOrder order) {
+            if (order.prev == null) {
+                head = order.next;
+            } else {
+                order.prev.next = order.next;
+            }
+            if (order.next == null) {
+                tail = order.prev;
+            } else {
+                order.next.prev = order.prev;
+            }
+            order.level = null;
+            order.prev = null;
+            order.next = null;
+            count--;
+        }
+
+        boolean isEmpty() {
+            return head == null;
+        }
+    }
+}
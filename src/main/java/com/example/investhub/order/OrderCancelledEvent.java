@@ -0,0 +1,9 @@
+package com.example.investhub.order;
+
+/**
+ * Published when an open order is cancelled; the engine drops it once the cancellation commits.
+ *
+ * @param orderId The cancelled order
+ */
+public record OrderCancelledEvent(Long orderId) {
+}
@@ -0,0 +1,273 @@
+package com.example.investhub.order;
+
+import com.example.investhub.exception.InsufficientBalanceException;
+import com.example.investhub.exception.InsufficientHoldingsException;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.service.OrderService;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Triggers resting orders as prices move.
+ * <p>
+ * Open orders are held in memory in one {@link OrderBook} per {@link PriceTable} slot, sorted by
+ * trigger price. The ingest threads call {@link #onTick} for every decoded tick, before conflation,
+ * so a price that crosses a trigger and reverts within one batch still triggers it, at the price of
+ * that tick. A tick that reaches no trigger of its symbol costs two volatile reads; one that does takes
+ * the orders it reached out of that symbol's book under its lock. Triggered orders are handed to their
+ * owner's {@link TradeLanes lane} without waiting and filled there through {@link OrderService#fillOrder},
+ * in turn with the user's other trades and in parallel with other users' fills, and run again by
+ * {@link TradeRetry} if they lose a race for the account; the database row, locked for the fill, stays
+ * the authority on whether an order is still open.
+ * <p>
+ * A fill that fails for other than business reasons, e.g. the database is down, parks the order out of
+ * its book for {@code orders.fill.retry-backoff}, doubling with each failure in a row up to
+ * {@code orders.fill.max-backoff}, so an outage costs one attempt per order per backoff rather than one
+ * per tick. After {@code orders.fill.max-attempts} failures the order is dropped from memory; it stays
+ * open in the database and is watched again from the next start.
+ * <p>
+ * Open orders are loaded from the database on start, and placements and cancellations reach the
+ * books through events after commit. Orders deleted outside those paths, e.g. by an account reset,
+ * are dropped when they trigger and their row is gone.
+ */
+@Component
+public class OrderEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEngine.class);
+
+    @Value("${orders.load-batch-size:10000}")
+    private int loadBatchSize = 10_000;
+
+    @Value("${orders.fill.max-attempts:8}")
+    int maxFillAttempts = 8;
+
+    @Value("${orders.fill.retry-backoff:1s}")
+    Duration fillRetryBackoff = Duration.ofSeconds(1);
+
+    @Value("${orders.fill.max-backoff:1m}")
+    Duration fillMaxBackoff = Duration.ofMinutes(1);
+
+    private final PriceTable priceTable;
+    private final OrderService orderService;
+    private final TradeLanes tradeLanes;
+    private final TradeRetry tradeRetry;
+
+    private final OrderBook[] books;
+    private final Map<Long, RestingOrder> resting = new ConcurrentHashMap<>();
+    /** Orders waiting out the backoff after a failed fill. */
+    private final Map<Long, RestingOrder> parked = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService rearmer;
+    private volatile boolean running;
+
+    /** The order service is lazy: through the trades it reaches the feed, which calls this engine. */
+    public OrderEngine(PriceTable priceTable, @Lazy OrderService orderService, TradeLanes tradeLanes,
+                       TradeRetry tradeRetry) {
+        this.priceTable = priceTable;
+        this.orderService = orderService;
+        this.tradeLanes = tradeLanes;
+        this.tradeRetry = tradeRetry;
+        this.books = new OrderBook[priceTable.capacity()];
+        for (int i = 0; i < books.length; i++) {
+            books[i] = new OrderBook();
+        }
+    }
+
+    // ==================== Lifecycle ====================
+
+    @Override
+    public synchronized void start() {
+        if (maxFillAttempts < 1) {
+            throw new IllegalStateException("orders.fill.max-attempts must be at least 1, got " + maxFillAttempts);
+        }
+        load();
+        rearmer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-rearm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (rearmer != null) {
+            rearmer.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void load() {
+        long afterId = 0;
+        List<OpenOrder> batch;
+        do {
+            batch = orderService.findOpenOrders(afterId, loadBatchSize);
+            for (OpenOrder order : batch) {
+                add(order);
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == loadBatchSize);
+        log.info("Loaded {} open orders", resting.size());
+    }
+
+    /** Number of orders waiting for their trigger. */
+    public int restingCount() {
+        return resting.size();
+    }
+
+    /** Number of orders out of their book after a failed fill, waiting to be watched again. */
+    public int parkedCount() {
+        return parked.size();
+    }
+
+    // ==================== Placements and cancellations ====================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        add(event.order());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        parked.remove(event.orderId());
+        RestingOrder order = resting.remove(event.orderId());
+        if (order != null) {
+            OrderBook book = books[order.slot];
+            synchronized (book) {
+                book.remove(order);
+            }
+        }
+    }
+
+    /**
+     * Start watching an order. An order the latest price already reaches is triggered right away.
+     */
+    void add(OpenOrder order) {
+        int slot = priceTable.register(order.symbol());
+        RestingOrder resting = RestingOrder.of(order, slot);
+        if (this.resting.putIfAbsent(resting.id, resting) != null) {
+            // Loaded on start and announced by its placement as well
+            return;
+        }
+
+        OrderBook book = books[slot];
+        double price = priceTable.price(slot);
+        synchronized (book) {
+            book.add(resting);
+            book.match(price, triggered -> fill(triggered, price), this::stopReached);
+        }
+    }
+
+    // ==================== Ticks ====================
+
+    /**
+     * Trigger the orders of a symbol that the tick reached. Called on an ingest thread for every tick.
+     *
+     * @param id Price table id of the symbol
+     * @param price Price of the tick
+     */
+    public void onTick(int id, double price) {
+        OrderBook book = books[id];
+        if (!book.crossedBy(price)) {
+            return;
+        }
+        synchronized (book) {
+            book.match(price, triggered -> fill(triggered, price), this::stopReached);
+        }
+    }
+
+    /** Called under the book's lock with an order just taken out of it. */
+    private void fill(RestingOrder order, double price) {
+        resting.remove(order.id);
+        tradeLanes.submit(order.userId, () -> execute(order, price));
+    }
+
+    /** Called under the book's lock with a STOP_LIMIT order that now rests at its limit. */
+    private void stopReached(RestingOrder order) {
+        tradeLanes.submit(order.userId, () -> {
+            try {
+                orderService.markTriggered(order.id);
+            } catch (Exception e) {
+                log.error("Error recording the stop of order {} as reached", order.id, e);
+            }
+        });
+    }
+
+    private void execute(RestingOrder order, double price) {
+        try {
+            if (tradeRetry.run(order.userId, () -> orderService.fillOrder(order.id, price)) != null) {
+                log.info("Filled order {} at {}", order.id, price);
+            }
+            order.failedFills = 0;
+        } catch (InsufficientBalanceException | InsufficientHoldingsException e) {
+            log.info("Rejected order {}: {}", order.id, e.getMessage());
+            try {
+                orderService.rejectOrder(order.id, e.getMessage());
+            } catch (Exception rejectError) {
+                log.error("Error rejecting order {}", order.id, rejectError);
+            }
+        } catch (Exception e) {
+            // Left open in the database; watched again after a backoff, so a later price retries the fill
+            park(order, price, e);
+        }
+    }
+
+    /** Keep an order whose fill failed out of its book for a while, or drop it after too many failures. */
+    private void park(RestingOrder order, double price, Exception cause) {
+        int failures = ++order.failedFills;
+        ScheduledExecutorService rearmer = this.rearmer;
+        if (failures >= maxFillAttempts || !running || rearmer == null) {
+            log.error("Error filling order {} at {}, attempt {}; no longer watched until restart",
+                    order.id, price, failures, cause);
+            return;
+        }
+
+        long backoff = Math.min(fillRetryBackoff.toNanos() << Math.min(failures - 1, 30), fillMaxBackoff.toNanos());
+        log.error("Error filling order {} at {}, attempt {} of {}; watching it again in {} ms",
+                order.id, price, failures, maxFillAttempts, backoff / 1_000_000, cause);
+        parked.put(order.id, order);
+        try {
+            rearmer.schedule(() -> rearm(order), backoff, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Stopping; the next start loads the order again
+            parked.remove(order.id, order);
+        }
+    }
+
+    /** Put a parked order back in its book, triggering it right away if the latest price reaches it. */
+    private void rearm(RestingOrder order) {
+        if (!parked.remove(order.id, order) || resting.putIfAbsent(order.id, order) != null) {
+            // Cancelled meanwhile, or placed again by a reload
+            return;
+        }
+        OrderBook book = books[order.slot];
+        double price = priceTable.price(order.slot);
+        synchronized (book) {
+            book.add(order);
+            book.match(price, triggered -> fill(triggered, price), this::stopReached);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.investhub.order;
+
+/**
+ * Published when an order is placed; the engine starts watching it once the placing transaction commits.
+ *
+ * @param order The new order
+ */
+public record OrderPlacedEvent(OpenOrder order) {
+}
@@ -0,0 +1,68 @@
+package com.example.investhub.order;
+
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+
+/**
+ * An open order as held in an {@link OrderBook}: its trigger and its links within the price level it rests at.
+ * Guarded by the book it is in.
+ */
+final class RestingOrder {
+
+    final long id;
+    final long userId;
+    final int slot;
+    final boolean buy;
+    final OrderType type;
+    final double limitPrice;
+    final double stopPrice;
+    boolean triggered;
+    /** Fills in a row that failed for other than business reasons; written by whoever holds the order. */
+    int failedFills;
+
+    OrderBook.Level level;
+    RestingOrder prev;
+    RestingOrder next;
+
+    RestingOrder(long id, long userId, int slot, boolean buy, OrderType type, double limitPrice, double stopPrice,
+                 boolean triggered) {
+        this.id = id;
+        this.userId = userId;
+        this.slot = slot;
+        this.buy = buy;
+        this.type = type;
+        this.limitPrice = limitPrice;
+        this.stopPrice = stopPrice;
+        this.triggered = triggered;
+    }
+
+    static RestingOrder of(OpenOrder order, int slot) {
+        return new RestingOrder(order.id(), order.userId(), slot, order.side() == TransactionType.BUY, order.type(),
+                order.limitPrice() != null ? order.limitPrice() : Double.NaN,
+                order.stopPrice() != null ? order.stopPrice() : Double.NaN,
+                order.triggered());
+    }
+
+    /** Whether the order waits on its limit price: a LIMIT order or a STOP_LIMIT whose stop was reached. */
+    boolean atLimit() {
+        return type == OrderType.LIMIT || (type == OrderType.STOP_LIMIT && triggered);
+    }
+
+    /** The price that triggers the order in its current stage. */
+    double trigger() {
+        return atLimit() ? limitPrice : stopPrice;
+    }
+
+    /**
+     * Whether the order triggers when the price falls to its trigger (buy limits, sell stops) rather
+     * than when it rises to it (sell limits, buy stops).
+     */
+    boolean triggersOnFall() {
+        return atLimit() == buy;
+    }
+
+    /** Whether reaching the trigger fills the order, rather than turning a STOP_LIMIT into a limit order. */
+    boolean fillsOnTrigger() {
+        return type != OrderType.STOP_LIMIT || triggered;
+    }
+}
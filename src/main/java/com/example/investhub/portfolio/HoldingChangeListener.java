@@ -0,0 +1,38 @@
+package com.example.investhub.portfolio;
+
+import com.example.investhub.model.Holding;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Holding} that announces every write as a {@link HoldingChangedEvent},
+ * whichever code path made it.
+ */
+@Component
+public class HoldingChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public HoldingChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Holding holding) {
+        eventPublisher.publishEvent(eventOf(holding, false));
+    }
+
+    @PostRemove
+    void onRemove(Holding holding) {
+        eventPublisher.publishEvent(eventOf(holding, true));
+    }
+
+    private static HoldingChangedEvent eventOf(Holding holding, boolean removed) {
+        return new HoldingChangedEvent(holding.getUser().getId(), holding.getAsset().getId(), holding.getAssetSymbol(),
+                holding.getQuantity(), holding.getAvgBuyPrice(), removed);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.investhub.portfolio;
+
+/**
+ * Published when a holding is created, changed or deleted, carrying its state at the time of the write.
+ *
+ * @param userId Owner of the holding
+ * @param assetId Asset id
+ * @param symbol Asset symbol
+ * @param quantity Quantity held after the write
+ * @param avgBuyPrice Average buy price after the write
+ * @param removed Whether the holding was deleted
+ */
+public record HoldingChangedEvent(Long userId, Long assetId, String symbol, double quantity, double avgBuyPrice,
+                                  boolean removed) {
+}
@@ -0,0 +1,429 @@
+package com.example.investhub.portfolio;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Holding;
+import com.example.investhub.repository.HoldingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory mark-to-market of user portfolios.
+ * <p>
+ * A user's holdings are loaded the first time their portfolio is valued and kept as positions
+ * (quantity and cost basis per asset id) with totals of cost and market value. Every position is
+ * also listed under its symbol's {@link PriceTable} slot, so a price change only touches the holders
+ * of that symbol: a marker thread polls the table every {@code portfolio.mark-interval}, moves each
+ * changed slot to its new price and then recomputes the market value of every holder from its
+ * positions, once per pass however many of its symbols moved. Totals are never carried forward by
+ * deltas, so rounding cannot accumulate. Reading a valuation is then a constant-time copy of three
+ * numbers.
+ * <p>
+ * Unlike {@link com.example.investhub.order.OrderEngine}, which the ingest threads call per tick, marking
+ * is polled on purpose. A tick reaches only the triggers it crosses, but a mark has to revalue every
+ * holder of the symbol, so running it on the ingest threads would make each tick cost as much as that
+ * symbol has holders and hold back the alerts and orders behind it. Polling folds all ticks of a pass
+ * into one mark per slot and one revaluation per account, however many of its symbols moved; a pass
+ * with no tick since the last one is a single volatile read. A valuation may therefore trail the last
+ * tick by up to {@code portfolio.mark-interval}, which a portfolio view tolerates where a fill does not.
+ * <p>
+ * Holding writes reach the book through {@link HoldingChangedEvent}s after commit, so positions
+ * follow {@code holdings} whichever code path changed them. Accounts not valued for
+ * {@code portfolio.idle-expiry} are dropped on the marker thread, so only recently active users are
+ * held and marked; their next valuation loads them again.
+ * <p>
+ * Locks are taken in the order load lock, slot, account. The marker only takes slot then account,
+ * or account alone.
+ */
+@Component
+public class PortfolioBook implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioBook.class);
+    private static final Position[] NO_POSITIONS = new Position[0];
+
+    @Value("${portfolio.mark-interval:20ms}")
+    private Duration markInterval = Duration.ofMillis(20);
+
+    @Value("${portfolio.idle-expiry:10m}")
+    Duration idleExpiry = Duration.ofMinutes(10);
+
+    private final PriceTable priceTable;
+    private final HoldingRepository holdingRepository;
+
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+    private final Slot[] slots;
+
+    private ScheduledExecutorService marker;
+    /** Written by the marker thread only. */
+    private long markedVersion;
+    /** Accounts to recompute at the end of a pass; used by the marker thread only. */
+    private final List<Account> marked = new ArrayList<>();
+    private long markPass;
+    private volatile boolean running;
+
+    public PortfolioBook(PriceTable priceTable, HoldingRepository holdingRepository) {
+        this.priceTable = priceTable;
+        this.holdingRepository = holdingRepository;
+        this.slots = new Slot[priceTable.capacity()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    // ==================== Lifecycle ====================
+
+    @Override
+    public synchronized void start() {
+        if (idleExpiry.isNegative() || idleExpiry.isZero()) {
+            throw new IllegalStateException("portfolio.idle-expiry must be positive, got " + idleExpiry);
+        }
+        marker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-marker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        marker.scheduleWithFixedDelay(this::markSafely, 0, markInterval.toNanos(), TimeUnit.NANOSECONDS);
+        // An idle account is dropped between one and two expiry periods after its last valuation
+        marker.scheduleWithFixedDelay(this::expireSafely, idleExpiry.toNanos(), idleExpiry.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (marker != null) {
+            marker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * Current valuation of a user's holdings, loading them on first use.
+     *
+     * @param userId The user id
+     * @return Holdings count, cost basis and market value
+     */
+    public Valuation valuation(Long userId) {
+        Account account = account(userId);
+        synchronized (account) {
+            return new Valuation(account.positions.size(), account.invested, account.marketValue);
+        }
+    }
+
+    /** Number of users whose holdings are in memory. */
+    public int accountCount() {
+        return accounts.size();
+    }
+
+    private Account account(Long userId) {
+        while (true) {
+            Account account = accounts.computeIfAbsent(userId, Account::new);
+            account.lastUsed = System.nanoTime();
+            if (account.loaded) {
+                return account;
+            }
+            synchronized (account.loadLock) {
+                if (account.expired) {
+                    // Dropped before it was loaded; loading it would leave positions no one can expire
+                    continue;
+                }
+                if (!account.loaded) {
+                    for (Holding holding : holdingRepository.findAllWithAssetByUserId(userId)) {
+                        put(account, holding.getAsset().getId(), holding.getAssetSymbol(),
+                                holding.getQuantity(), holding.getAvgBuyPrice());
+                    }
+                    account.loaded = true;
+                }
+            }
+            return account;
+        }
+    }
+
+    // ==================== Holding changes ====================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldingChanged(HoldingChangedEvent event) {
+        Account account = accounts.get(event.userId());
+        if (account == null) {
+            // Not in memory; the first valuation loads the committed state
+            return;
+        }
+        // Waits for a load in progress, which may have read the holdings before this commit
+        synchronized (account.loadLock) {
+            if (!account.loaded || account.expired) {
+                return;
+            }
+            if (event.removed()) {
+                put(account, event.assetId(), event.symbol(), 0, 0);
+            } else {
+                put(account, event.assetId(), event.symbol(), event.quantity(), event.avgBuyPrice());
+            }
+        }
+    }
+
+    /**
+     * Set a position to the given quantity and average price; a quantity of zero or less removes it.
+     */
+    private void put(Account account, Long assetId, String symbol, double quantity, double avgBuyPrice) {
+        int id = priceTable.register(symbol);
+        Slot slot = slots[id];
+        synchronized (slot) {
+            // Bring the slot up to the latest price first, so the position enters at the current mark
+            if (mark(slot, priceTable.price(id))) {
+                for (int i = 0; i < slot.count; i++) {
+                    Account holder = slot.holders[i].account;
+                    synchronized (holder) {
+                        revalue(holder);
+                    }
+                }
+            }
+
+            synchronized (account) {
+                Position position = account.positions.get(assetId);
+                if (quantity <= 0) {
+                    if (position != null) {
+                        account.positions.remove(assetId);
+                        slot.remove(position);
+                        revalue(account);
+                    }
+                    return;
+                }
+                if (position == null) {
+                    position = new Position(account, slot);
+                    account.positions.put(assetId, position);
+                    slot.add(position);
+                }
+                position.quantity = quantity;
+                position.cost = quantity * avgBuyPrice;
+                revalue(account);
+            }
+        }
+    }
+
+    // ==================== Marking ====================
+
+    private void markSafely() {
+        try {
+            markToMarket();
+        } catch (Exception e) {
+            log.error("Error marking portfolios to market", e);
+        }
+    }
+
+    /**
+     * Revalue the holders of every symbol whose price changed since the last run.
+     * Called on the marker thread.
+     */
+    void markToMarket() {
+        if (priceTable.globalVersion() == markedVersion) {
+            return;
+        }
+
+        long pass = ++markPass;
+        PriceTable.Snapshot snapshot = priceTable.snapshot();
+        for (int id = 0; id < snapshot.size(); id++) {
+            if (snapshot.changeVersion(id) > markedVersion) {
+                Slot slot = slots[id];
+                synchronized (slot) {
+                    if (mark(slot, snapshot.price(id))) {
+                        for (int i = 0; i < slot.count; i++) {
+                            Account account = slot.holders[i].account;
+                            if (account.markedPass != pass) {
+                                account.markedPass = pass;
+                                marked.add(account);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        markedVersion = snapshot.globalVersion();
+
+        for (Account account : marked) {
+            synchronized (account) {
+                revalue(account);
+            }
+        }
+        marked.clear();
+    }
+
+    /**
+     * Move a slot to a new price. Caller holds the slot lock and revalues the holders if it moved.
+     * A price the slot has already moved past is applied as well; it is corrected on the next change.
+     *
+     * @return Whether the mark changed
+     */
+    private static boolean mark(Slot slot, double price) {
+        double mark = Double.isNaN(price) ? 0 : price;
+        if (mark == slot.markPrice) {
+            return false;
+        }
+        slot.markPrice = mark;
+        return true;
+    }
+
+    /**
+     * Recompute an account's totals from its positions at their slots' marks. Caller holds the account lock.
+     */
+    private static void revalue(Account account) {
+        double invested = 0;
+        double marketValue = 0;
+        for (Position position : account.positions.values()) {
+            invested += position.cost;
+            marketValue += position.quantity * position.slot.markPrice;
+        }
+        account.invested = invested;
+        account.marketValue = marketValue;
+    }
+
+    // ==================== Expiry ====================
+
+    private void expireSafely() {
+        try {
+            expireIdle(System.nanoTime());
+        } catch (Exception e) {
+            log.error("Error expiring idle portfolios", e);
+        }
+    }
+
+    /**
+     * Drop every account last valued more than {@code portfolio.idle-expiry} before {@code now}.
+     *
+     * @param now The current {@link System#nanoTime()}
+     * @return Number of accounts dropped
+     */
+    int expireIdle(long now) {
+        long idleNanos = idleExpiry.toNanos();
+        int expired = 0;
+        for (Account account : accounts.values()) {
+            if (now - account.lastUsed > idleNanos && expire(account, now, idleNanos)) {
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Expired {} idle portfolios, {} left", expired, accounts.size());
+        }
+        return expired;
+    }
+
+    private boolean expire(Account account, long now, long idleNanos) {
+        synchronized (account.loadLock) {
+            // Valued again since the scan read it
+            if (now - account.lastUsed <= idleNanos || !accounts.remove(account.userId, account)) {
+                return false;
+            }
+            account.expired = true;
+
+            Position[] positions;
+            synchronized (account) {
+                positions = account.positions.values().toArray(NO_POSITIONS);
+            }
+            for (Position position : positions) {
+                synchronized (position.slot) {
+                    position.slot.remove(position);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Valuation of one user's holdings.
+     *
+     * @param holdings Number of positions with a positive quantity
+     * @param invested Cost basis, the sum of quantity times average buy price
+     * @param marketValue Sum of quantity times latest price; unpriced symbols count as zero
+     */
+    public record Valuation(int holdings, double invested, double marketValue) {
+    }
+
+    /**
+     * Positions of one user. Totals and positions are guarded by {@code this}.
+     */
+    private static final class Account {
+
+        final Long userId;
+        final Object loadLock = new Object();
+        volatile boolean loaded;
+        /** Set under the load lock once the account left the map; it is then neither loaded nor updated. */
+        volatile boolean expired;
+        /** {@link System#nanoTime()} of the last valuation. */
+        volatile long lastUsed = System.nanoTime();
+        /** Last pass that queued the account for revaluation; used by the marker thread only. */
+        long markedPass;
+
+        final Map<Long, Position> positions = new HashMap<>(16);
+        double invested;
+        double marketValue;
+
+        Account(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * One holding. Quantity and cost are guarded by the account; the holder index by the slot.
+     */
+    private static final class Position {
+
+        final Account account;
+        final Slot slot;
+        double quantity;
+        double cost;
+        int index = -1;
+
+        Position(Account account, Slot slot) {
+            this.account = account;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Holders of one price table slot and the price they are marked at. Guarded by {@code this}; the
+     * mark is volatile so accounts can be revalued from it without the slot's lock.
+     */
+    private static final class Slot {
+
+        volatile double markPrice;
+        Position[] holders = NO_POSITIONS;
+        int count;
+
+        void add(Position position) {
+            if (count == holders.length) {
+                holders = Arrays.copyOf(holders, Math.max(4, count * 2));
+            }
+            position.index = count;
+            holders[count++] = position;
+        }
+
+        void remove(Position position) {
+            int last = --count;
+            Position moved = holders[last];
+            holders[position.index] = moved;
+            moved.index = position.index;
+            holders[last] = null;
+            position.index = -1;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.investhub.portfolio;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Holding;
+import com.example.investhub.model.User;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A user's balance and holdings as read together in one query, with the prices to value them at.
+ *
+ * @param user The user
+ * @param holdings Holdings with a positive quantity, assets loaded
+ * @param prices Prices taken once for the whole read, so every holding is valued at the same instant
+ */
+public record PortfolioSnapshot(User user, List<Holding> holdings, PriceTable.Snapshot prices) {
+
+    public BigDecimal balance() {
+        return user.getUsdBalance();
+    }
+
+    /**
+     * Market value of the holdings; unpriced symbols count as zero.
+     */
+    public double holdingsValue() {
+        double value = 0;
+        for (Holding holding : holdings) {
+            double price = prices.price(holding.getAssetSymbol());
+            if (!Double.isNaN(price)) {
+                value += holding.getQuantity() * price;
+            }
+        }
+        return value;
+    }
+}
@@ -2,13 +2,18 @@ package com.example.investhub.repository;
 
 import com.example.investhub.model.Asset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
     Optional<Asset> findBySymbol(String symbol);
     boolean existsBySymbol(String symbol);
+
+    @Query("SELECT a.symbol FROM Asset a")
+    List<String> findAllSymbols();
 }
 
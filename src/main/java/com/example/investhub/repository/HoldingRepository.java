@@ -2,6 +2,8 @@ package com.example.investhub.repository;
 
 import com.example.investhub.model.Holding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,11 @@ public interface HoldingRepository extends JpaRepository<Holding, Long> {
     List<Holding> findByUser_Id(Long userId);
     Optional<Holding> findByUser_IdAndAsset_Symbol(Long userId, String assetSymbol);
     void deleteByUser_Id(Long userId);
-}
\ No newline at end of file
+
+    // Fetch the owner and asset in the same statement instead of one eager select per row
+    @Query("SELECT h FROM Holding h JOIN FETCH h.user u JOIN FETCH h.asset WHERE u.username = :username")
+    List<Holding> findAllWithAssetByUsername(@Param("username") String username);
+
+    @Query("SELECT h FROM Holding h JOIN FETCH h.user u JOIN FETCH h.asset WHERE u.id = :userId")
+    List<Holding> findAllWithAssetByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,50 @@
+package com.example.investhub.repository;
+
+import com.example.investhub.alert.ActiveAlert;
+import com.example.investhub.model.PriceAlert;
+import com.example.investhub.model.enumeration.AlertStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+    void deleteByUser_Id(Long userId);
+
+    @Query("SELECT a FROM PriceAlert a JOIN FETCH a.asset WHERE a.user.id = :userId " +
+           "AND (:status IS NULL OR a.status = :status) ORDER BY a.createdAt DESC, a.id DESC")
+    List<PriceAlert> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") AlertStatus status);
+
+    // Serializes a cancel with the dispatcher recording the same alert as triggered
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PriceAlert a WHERE a.id = :id")
+    Optional<PriceAlert> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PriceAlert a WHERE a.user.id = :userId AND a.asset.id = :assetId " +
+           "AND a.status = com.example.investhub.model.enumeration.AlertStatus.ACTIVE")
+    List<PriceAlert> findActiveByUserIdAndAssetId(@Param("userId") Long userId, @Param("assetId") Long assetId);
+
+    // Active alerts in id order, one batch at a time, as the alert index loads them on startup
+    @Query("SELECT new com.example.investhub.alert.ActiveAlert(a.id, a.user.id, s.symbol, a.direction, a.threshold) " +
+           "FROM PriceAlert a JOIN a.asset s " +
+           "WHERE a.status = com.example.investhub.model.enumeration.AlertStatus.ACTIVE AND a.id > :afterId " +
+           "ORDER BY a.id")
+    List<ActiveAlert> findActiveAlerts(@Param("afterId") Long afterId, Limit limit);
+
+    // Conditional on ACTIVE, so an alert cancelled while its trigger was queued is not delivered
+    @Modifying
+    @Query("UPDATE PriceAlert a SET a.status = com.example.investhub.model.enumeration.AlertStatus.TRIGGERED, " +
+           "a.triggeredPrice = :price, a.triggeredAt = :at " +
+           "WHERE a.id = :id AND a.status = com.example.investhub.model.enumeration.AlertStatus.ACTIVE")
+    int markTriggered(@Param("id") Long id, @Param("price") double price, @Param("at") Instant at);
+}
@@ -0,0 +1,36 @@
+package com.example.investhub.repository;
+
+import com.example.investhub.model.TradeOrder;
+import com.example.investhub.model.enumeration.OrderStatus;
+import com.example.investhub.order.OpenOrder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TradeOrderRepository extends JpaRepository<TradeOrder, Long> {
+    void deleteByUser_Id(Long userId);
+
+    @Query("SELECT o FROM TradeOrder o JOIN FETCH o.asset WHERE o.user.id = :userId " +
+           "AND (:status IS NULL OR o.status = :status) ORDER BY o.createdAt DESC, o.id DESC")
+    List<TradeOrder> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") OrderStatus status);
+
+    // Serializes a fill with a concurrent cancel of the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM TradeOrder o WHERE o.id = :id")
+    Optional<TradeOrder> findByIdForUpdate(@Param("id") Long id);
+
+    // Open orders in id order, one batch at a time, as the order engine loads them on startup
+    @Query("SELECT new com.example.investhub.order.OpenOrder(o.id, o.user.id, a.symbol, o.side, o.type, " +
+           "o.limitPrice, o.stopPrice, o.triggered) FROM TradeOrder o JOIN o.asset a " +
+           "WHERE o.status = com.example.investhub.model.enumeration.OrderStatus.OPEN AND o.id > :afterId " +
+           "ORDER BY o.id")
+    List<OpenOrder> findOpenOrders(@Param("afterId") Long afterId, Limit limit);
+}
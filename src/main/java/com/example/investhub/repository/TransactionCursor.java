@@ -0,0 +1,49 @@
+package com.example.investhub.repository;
+
+import com.example.investhub.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a user's transaction history: the {@code (timestamp, id)} of a row.
+ * <p>
+ * Transactions are ordered by timestamp, then id, so a cursor identifies a position exactly even
+ * when several transactions share a timestamp. Clients receive it as an opaque URL-safe string.
+ *
+ * @param timestamp Transaction timestamp
+ * @param id Transaction id
+ */
+public record TransactionCursor(Instant timestamp, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parse a cursor received from a client.
+     *
+     * @param value The encoded cursor
+     * @param field Request parameter it came from, for the error
+     * @return The cursor
+     * @throws ValidationException if the value is not a cursor issued by {@link #encode()}
+     */
+    public static TransactionCursor decode(String value, String field) {
+        try {
+            String decoded = new String(DECODER.decode(value), StandardCharsets.US_ASCII);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new ValidationException(field, "Invalid cursor");
+            }
+            return new TransactionCursor(Instant.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException(field, "Invalid cursor");
+        }
+    }
+}
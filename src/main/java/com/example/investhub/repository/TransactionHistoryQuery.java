@@ -0,0 +1,21 @@
+package com.example.investhub.repository;
+
+import com.example.investhub.model.enumeration.TransactionType;
+
+import java.time.Instant;
+
+/**
+ * One page of a user's transaction history, newest first.
+ *
+ * @param userId Owner of the transactions
+ * @param type Only this type, or null for all
+ * @param assetId Only this asset, or null for all
+ * @param from Only transactions at or after this instant, or null
+ * @param to Only transactions before this instant, or null
+ * @param cursor Position to continue from, or null for the newest page
+ * @param newer Whether to read the rows newer than the cursor instead of older
+ * @param limit Maximum number of rows
+ */
+public record TransactionHistoryQuery(Long userId, TransactionType type, Long assetId, Instant from, Instant to,
+                                      TransactionCursor cursor, boolean newer, int limit) {
+}
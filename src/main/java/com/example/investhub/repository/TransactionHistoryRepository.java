@@ -0,0 +1,20 @@
+package com.example.investhub.repository;
+
+import com.example.investhub.model.dto.response.TransactionResponse;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated reads of transaction history, mixed into {@link TransactionRepository}.
+ */
+public interface TransactionHistoryRepository {
+
+    /**
+     * Read one page of history with every filter applied in the query.
+     *
+     * @param query Filters, position and size of the page
+     * @return Up to {@code query.limit()} rows, newest first; rows newer than the cursor are the ones
+     *         closest to it
+     */
+    List<TransactionResponse> findHistory(TransactionHistoryQuery query);
+}
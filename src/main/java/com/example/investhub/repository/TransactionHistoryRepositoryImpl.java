@@ -0,0 +1,98 @@
+package com.example.investhub.repository;
+
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.Transaction;
+import com.example.investhub.model.dto.response.TransactionResponse;
+import com.example.investhub.model.enumeration.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link TransactionHistoryRepository}.
+ * <p>
+ * Only the filters that are set become predicates, and the page is selected as columns rather than
+ * entities, so a page costs one statement bounded by its limit and no eager user or asset loads. The
+ * cursor becomes {@code (timestamp, id) < (:timestamp, :id)}, which walks the
+ * {@code (user_id, timestamp, id)} index, or {@code (user_id, asset_id, timestamp, id)} when filtered
+ * by asset, from where the previous page stopped instead of skipping over an offset.
+ */
+public class TransactionHistoryRepositoryImpl implements TransactionHistoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionResponse> findHistory(TransactionHistoryQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<Transaction> t = criteria.from(Transaction.class);
+        Join<Transaction, Asset> asset = t.join("asset");
+
+        Path<Long> id = t.get("id");
+        Path<Instant> timestamp = t.get("timestamp");
+        Path<TransactionType> type = t.get("type");
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("user").get("id"), query.userId()));
+        if (query.type() != null) {
+            where.add(cb.equal(type, query.type()));
+        }
+        if (query.assetId() != null) {
+            // The foreign key column, so the filter lands on (user_id, asset_id, timestamp, id)
+            where.add(cb.equal(t.get("asset").get("id"), query.assetId()));
+        }
+        if (query.from() != null) {
+            where.add(cb.greaterThanOrEqualTo(timestamp, query.from()));
+        }
+        if (query.to() != null) {
+            where.add(cb.lessThan(timestamp, query.to()));
+        }
+
+        TransactionCursor cursor = query.cursor();
+        if (cursor != null) {
+            where.add(query.newer()
+                    ? cb.or(cb.greaterThan(timestamp, cursor.timestamp()),
+                            cb.and(cb.equal(timestamp, cursor.timestamp()), cb.greaterThan(id, cursor.id())))
+                    : cb.or(cb.lessThan(timestamp, cursor.timestamp()),
+                            cb.and(cb.equal(timestamp, cursor.timestamp()), cb.lessThan(id, cursor.id()))));
+        }
+
+        criteria.multiselect(id, type, asset.get("symbol"), t.get("quantity"), t.get("pricePerUnit"), timestamp)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(query.newer()
+                        ? List.of(cb.asc(timestamp), cb.asc(id))
+                        : List.of(cb.desc(timestamp), cb.desc(id)));
+
+        List<Tuple> rows = entityManager.createQuery(criteria)
+                .setMaxResults(query.limit())
+                .getResultList();
+
+        List<TransactionResponse> page = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            page.add(new TransactionResponse(
+                    row.get(0, Long.class),
+                    row.get(1, TransactionType.class).name(),
+                    row.get(2, String.class),
+                    row.get(3, Double.class),
+                    row.get(4, Double.class),
+                    row.get(5, Instant.class)));
+        }
+        if (query.newer()) {
+            // Read oldest first to stay next to the cursor; return newest first like every page
+            Collections.reverse(page);
+        }
+        return page;
+    }
+}
@@ -10,4 +10,5 @@ import java.util.List;
 public interface WatchlistRepository extends JpaRepository<WatchlistEntry, Long> {
     List<WatchlistEntry> findByUser_Id(Long userId);
     void deleteByUser_Id(Long userId);
+    boolean existsByUser_IdAndAsset_Id(Long userId, Long assetId);
 }
\ No newline at end of file
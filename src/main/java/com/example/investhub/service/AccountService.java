@@ -4,6 +4,8 @@ import com.example.investhub.exception.ResourceNotFoundException;
 import com.example.investhub.model.User;
 import com.example.investhub.model.dto.response.ResetAccountResponse;
 import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
 import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.repository.WatchlistRepository;
@@ -21,17 +23,23 @@ public class AccountService {
     private final HoldingRepository holdingRepository;
     private final TransactionRepository transactionRepository;
     private final WatchlistRepository watchlistRepository;
+    private final TradeOrderRepository orderRepository;
+    private final PriceAlertRepository priceAlertRepository;
 
     public AccountService(
             UserRepository userRepository,
             HoldingRepository holdingRepository,
             TransactionRepository transactionRepository,
-            WatchlistRepository watchlistRepository
+            WatchlistRepository watchlistRepository,
+            TradeOrderRepository orderRepository,
+            PriceAlertRepository priceAlertRepository
     ) {
         this.userRepository = userRepository;
         this.holdingRepository = holdingRepository;
         this.transactionRepository = transactionRepository;
         this.watchlistRepository = watchlistRepository;
+        this.orderRepository = orderRepository;
+        this.priceAlertRepository = priceAlertRepository;
     }
 
     @Transactional
@@ -44,6 +52,8 @@ public class AccountService {
         holdingRepository.deleteByUser_Id(userId);
         transactionRepository.deleteByUser_Id(userId);
         watchlistRepository.deleteByUser_Id(userId);
+        orderRepository.deleteByUser_Id(userId);
+        priceAlertRepository.deleteByUser_Id(userId);
 
         user.setUsdBalance(START_BALANCE);
         userRepository.save(user);
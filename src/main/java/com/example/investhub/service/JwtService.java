@@ -1,13 +1,19 @@
 package com.example.investhub.service;
 
+import com.example.investhub.model.AuthenticatedUser;
+import com.example.investhub.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -16,12 +22,25 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class JwtService {
+
+    /** Claim carrying the user id, so requests can be authenticated without loading the user. */
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${security.jwt.expiration-time}")
     private long jwtExpiration;
 
+    @Value("${security.jwt.cache-size:10000}")
+    private int cacheSize = 10_000;
+
+    /** Key and parser derived from {@link #secretKey}, built once. */
+    private volatile SigningKeys signingKeys;
+
+    /** Tokens whose signature was already verified, until they expire. */
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -36,7 +55,11 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.putIfAbsent(USER_ID_CLAIM, user.getId());
+        }
+        return buildToken(claims, userDetails, jwtExpiration);
     }
 
     public long getExpirationTime() {
@@ -59,29 +82,75 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Authenticate a request token: verify its signature and expiry once, then serve it from memory
+     * until it expires.
+     *
+     * @param token The compact JWT
+     * @return Principal built from the token's claims
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public AuthenticatedUser authenticate(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached.principal();
+            }
+            verifiedTokens.remove(token, cached);
+        }
+
+        Claims claims = extractAllClaims(token);
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token has no subject or expiration");
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        AuthenticatedUser principal = new AuthenticatedUser(userId != null ? userId.longValue() : null, claims.getSubject());
+
+        remember(token, new VerifiedToken(principal, claims.getExpiration().getTime()), now);
+        return principal;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private void remember(String token, VerifiedToken verified, long now) {
+        if (verifiedTokens.size() >= cacheSize) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt() <= now);
+            // Still full of live tokens: drop an arbitrary quarter, they are re-verified on next use
+            Iterator<VerifiedToken> it = verifiedTokens.values().iterator();
+            while (verifiedTokens.size() > cacheSize * 3 / 4 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        verifiedTokens.put(token, verified);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
-                .build()
+        return signingKeys().parser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private SecretKey getSignInKey() {
+        return signingKeys().key();
+    }
+
+    private SigningKeys signingKeys() {
+        SigningKeys keys = signingKeys;
+        if (keys == null || !keys.secret().equals(secretKey)) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+            keys = new SigningKeys(secretKey, key, Jwts.parser().verifyWith(key).build());
+            signingKeys = keys;
+        }
+        return keys;
+    }
+
+    private record SigningKeys(String secret, SecretKey key, JwtParser parser) {
+    }
+
+    private record VerifiedToken(AuthenticatedUser principal, long expiresAt) {
     }
 }
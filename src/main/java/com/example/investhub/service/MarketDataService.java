@@ -1,13 +1,19 @@
 package com.example.investhub.service;
 
+import com.example.investhub.catalog.AssetCatalog;
+import com.example.investhub.catalog.AssetSearchIndex;
+import com.example.investhub.exception.MarketDataUnavailableException;
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.example.investhub.exception.ValidationException;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
 import com.example.investhub.model.Asset;
-import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.model.enumeration.CandleInterval;
 import com.example.investhub.websocket.BinanceWebSocketService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Service for managing market data and asset information.
@@ -16,21 +22,36 @@ import java.util.Map;
 @Slf4j
 public class MarketDataService {
 
+    private final PriceTable priceTable;
+    private final AssetCatalog assetCatalog;
     private final BinanceWebSocketService binanceWebSocketService;
-    private final AssetRepository assetRepository;
+    private final CandleStore candleStore;
+    private final AssetSearchIndex assetSearchIndex;
 
-    public MarketDataService(BinanceWebSocketService binanceWebSocketService, AssetRepository assetRepository) {
+    public MarketDataService(PriceTable priceTable,
+                             AssetCatalog assetCatalog,
+                             BinanceWebSocketService binanceWebSocketService,
+                             CandleStore candleStore,
+                             AssetSearchIndex assetSearchIndex) {
+        this.priceTable = priceTable;
+        this.assetCatalog = assetCatalog;
         this.binanceWebSocketService = binanceWebSocketService;
-        this.assetRepository = assetRepository;
+        this.candleStore = candleStore;
+        this.assetSearchIndex = assetSearchIndex;
     }
 
     /**
      * Get current prices for all cryptocurrencies.
      *
-     * @return Map of symbols to prices
+     * @return Read-only snapshot of the latest prices
+     * @throws MarketDataUnavailableException if the feed has not delivered any prices yet
      */
-    public Map<String, Double> getCurrentPrices() {
-        return binanceWebSocketService.getCryptoPrices();
+    public PriceTable.Snapshot getCurrentPrices() {
+        if (binanceWebSocketService.isWarmingUp()) {
+            throw warmingUp();
+        }
+
+        return priceTable.snapshot();
     }
 
     /**
@@ -38,25 +59,72 @@ public class MarketDataService {
      *
      * @param symbol The cryptocurrency symbol
      * @return The current price
+     * @throws MarketDataUnavailableException if the feed has not delivered any prices yet
      */
     public Double getPriceBySymbol(String symbol) {
-        Map<String, Double> prices = binanceWebSocketService.getCryptoPrices();
-        Double price = prices.get(symbol.toUpperCase());
+        double price = priceTable.price(symbol.toUpperCase());
 
-        if (price == null) {
-            throw new RuntimeException("Price not available for symbol: " + symbol);
+        if (Double.isNaN(price)) {
+            throw priceNotAvailable(symbol);
         }
 
         return price;
     }
 
+    /**
+     * Get the current price of a cryptocurrency with its timestamps and version.
+     *
+     * @param symbol The cryptocurrency symbol
+     * @return The quote
+     * @throws MarketDataUnavailableException if the feed has not delivered any prices yet
+     */
+    public PriceTable.Quote getQuote(String symbol) {
+        int id = priceTable.idOf(symbol.toUpperCase());
+        PriceTable.Quote quote = id < 0 ? null : priceTable.quote(id);
+
+        if (quote == null || !quote.hasPrice()) {
+            throw priceNotAvailable(symbol);
+        }
+
+        return quote;
+    }
+
+    /**
+     * Get the most recent candles of a cryptocurrency.
+     *
+     * @param symbol The cryptocurrency symbol
+     * @param interval Interval code: 1s, 1m, 5m, 1h or 1d
+     * @param limit Maximum number of candles
+     * @return Candles, oldest first; empty if no tick arrived yet
+     * @throws ValidationException if the interval or limit is invalid
+     * @throws ResourceNotFoundException if the symbol is not tracked
+     */
+    public List<CandleStore.Candle> getCandles(String symbol, String interval, int limit) {
+        CandleInterval candleInterval;
+        try {
+            candleInterval = CandleInterval.fromCode(interval);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("interval", e.getMessage());
+        }
+        if (limit <= 0 || limit > candleStore.bars()) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + candleStore.bars());
+        }
+
+        int id = priceTable.idOf(symbol.toUpperCase());
+        if (id < 0) {
+            throw new ResourceNotFoundException("Symbol", symbol);
+        }
+
+        return candleStore.candles(id, candleInterval, limit);
+    }
+
     /**
      * Get all available assets.
      *
      * @return List of all assets
      */
     public List<Asset> getAllAssets() {
-        return assetRepository.findAll();
+        return assetCatalog.findAll();
     }
 
     /**
@@ -66,7 +134,7 @@ public class MarketDataService {
      * @return The asset
      */
     public Asset getAssetBySymbol(String symbol) {
-        return assetRepository.findBySymbol(symbol.toUpperCase())
+        return assetCatalog.findBySymbol(symbol.toUpperCase())
                 .orElseThrow(() -> new RuntimeException("Asset not found: " + symbol));
     }
 
@@ -77,14 +145,18 @@ public class MarketDataService {
      * @return List of matching assets
      */
     public List<Asset> searchAssets(String query) {
-        String upperQuery = query.toUpperCase();
-
-        return assetRepository.findAll().stream()
-                .filter(asset ->
-                    asset.getSymbol().toUpperCase().contains(upperQuery) ||
-                    asset.getName().toUpperCase().contains(upperQuery)
-                )
-                .toList();
+        return assetSearchIndex.search(query);
+    }
+
+    private RuntimeException priceNotAvailable(String symbol) {
+        if (binanceWebSocketService.isWarmingUp()) {
+            return warmingUp();
+        }
+        return new RuntimeException("Price not available for symbol: " + symbol);
+    }
+
+    private MarketDataUnavailableException warmingUp() {
+        return new MarketDataUnavailableException(binanceWebSocketService.getConnectionState(), Long.MAX_VALUE);
     }
 }
 
@@ -0,0 +1,226 @@
+package com.example.investhub.service;
+
+import com.example.investhub.catalog.AssetCatalog;
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.example.investhub.exception.ValidationException;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.TradeOrder;
+import com.example.investhub.model.Transaction;
+import com.example.investhub.model.User;
+import com.example.investhub.model.enumeration.OrderStatus;
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.order.OpenOrder;
+import com.example.investhub.order.OrderCancelledEvent;
+import com.example.investhub.order.OrderPlacedEvent;
+import com.example.investhub.repository.TradeOrderRepository;
+import com.example.investhub.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service for resting LIMIT, STOP and STOP_LIMIT orders.
+ * <p>
+ * Placing an order only records it; the {@link com.example.investhub.order.OrderEngine} watches it
+ * from the commit on and calls {@link #fillOrder} once the price reaches it. The balance or holding is
+ * checked when the order fills, not when it is placed, and an order that can no longer be covered then
+ * is rejected.
+ */
+@Service
+@Slf4j
+@Transactional
+public class OrderService {
+
+    private final TradeOrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final AssetCatalog assetCatalog;
+    private final TransactionService transactionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderService(TradeOrderRepository orderRepository,
+                        UserRepository userRepository,
+                        AssetCatalog assetCatalog,
+                        TransactionService transactionService,
+                        ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.assetCatalog = assetCatalog;
+        this.transactionService = transactionService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Place a resting order.
+     *
+     * @param username The username
+     * @param side BUY or SELL
+     * @param type LIMIT, STOP or STOP_LIMIT
+     * @param assetSymbol The asset symbol
+     * @param quantity The quantity
+     * @param limitPrice Limit price; required for LIMIT and STOP_LIMIT, otherwise null
+     * @param stopPrice Stop price; required for STOP and STOP_LIMIT, otherwise null
+     * @return The open order
+     */
+    public TradeOrder placeOrder(String username, TransactionType side, OrderType type, String assetSymbol,
+                                 double quantity, Double limitPrice, Double stopPrice) {
+        if (side == null) {
+            throw new ValidationException("side", "Order side must be BUY or SELL");
+        }
+        if (type == null) {
+            throw new ValidationException("type", "Order type must be LIMIT, STOP or STOP_LIMIT");
+        }
+        if (quantity <= 0) {
+            throw new ValidationException("quantity", "Order quantity must be greater than 0");
+        }
+        if (assetSymbol == null || assetSymbol.trim().isEmpty()) {
+            throw new ValidationException("assetSymbol", "Asset symbol must be specified");
+        }
+        boolean needsLimit = type != OrderType.STOP;
+        boolean needsStop = type != OrderType.LIMIT;
+        checkPrice("limitPrice", limitPrice, needsLimit, type);
+        checkPrice("stopPrice", stopPrice, needsStop, type);
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username));
+
+        Asset asset = assetCatalog.findBySymbol(assetSymbol.trim().toUpperCase())
+                .orElseThrow(() -> new ResourceNotFoundException("Asset", assetSymbol));
+
+        TradeOrder order = new TradeOrder();
+        order.setUser(user);
+        order.setAsset(asset);
+        order.setSide(side);
+        order.setType(type);
+        order.setQuantity(quantity);
+        order.setLimitPrice(limitPrice);
+        order.setStopPrice(stopPrice);
+        order = orderRepository.save(order);
+
+        eventPublisher.publishEvent(new OrderPlacedEvent(new OpenOrder(order.getId(), user.getId(), asset.getSymbol(),
+                side, type, limitPrice, stopPrice, false)));
+        log.info("Placed {} {} order {} for {} {} of {}", type, side, order.getId(), username, quantity, asset.getSymbol());
+        return order;
+    }
+
+    private static void checkPrice(String field, Double price, boolean required, OrderType type) {
+        if (!required) {
+            if (price != null) {
+                throw new ValidationException(field, type + " orders do not take a " + field);
+            }
+            return;
+        }
+        if (price == null || !(price > 0) || price.isInfinite()) {
+            throw new ValidationException(field, type + " orders need a " + field + " greater than 0");
+        }
+    }
+
+    /**
+     * Get a user's orders, newest first.
+     *
+     * @param username The username
+     * @param status Only orders in this status, or null for all
+     * @return The orders
+     */
+    @Transactional(readOnly = true)
+    public List<TradeOrder> getOrders(String username, OrderStatus status) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username));
+        return orderRepository.findByUserIdAndStatus(user.getId(), status);
+    }
+
+    /**
+     * Cancel an open order.
+     *
+     * @param orderId The order ID
+     * @param username The username
+     * @return The cancelled order
+     * @throws ResourceNotFoundException if the user has no such order
+     * @throws ValidationException if the order is no longer open
+     */
+    public TradeOrder cancelOrder(Long orderId, String username) {
+        TradeOrder order = orderRepository.findByIdForUpdate(orderId)
+                .filter(o -> o.getUser().getUsername().equals(username))
+                .orElseThrow(() -> new ResourceNotFoundException("Order", String.valueOf(orderId)));
+        if (order.getStatus() != OrderStatus.OPEN) {
+            throw new ValidationException("orderId", "Order " + orderId + " is already " + order.getStatus());
+        }
+
+        order.setStatus(OrderStatus.CANCELLED);
+        order.setUpdatedAt(Instant.now());
+        eventPublisher.publishEvent(new OrderCancelledEvent(orderId));
+        return order;
+    }
+
+    /**
+     * Fill an order the price has reached, through the same balance and holding update as a market trade.
+     *
+     * @param orderId The order ID
+     * @param price Price per unit, the price that triggered the order
+     * @return The filled order, or null if it is no longer open, e.g. it was cancelled meanwhile
+     * @throws com.example.investhub.exception.InsufficientBalanceException if the user cannot pay for a buy
+     * @throws com.example.investhub.exception.InsufficientHoldingsException if the user no longer holds enough to sell
+     */
+    public TradeOrder fillOrder(Long orderId, double price) {
+        TradeOrder order = orderRepository.findByIdForUpdate(orderId).orElse(null);
+        if (order == null || order.getStatus() != OrderStatus.OPEN) {
+            return null;
+        }
+
+        Transaction transaction = transactionService.executeTrade(
+                order.getUser(), order.getAsset(), order.getSide(), order.getQuantity(), price);
+
+        order.setStatus(OrderStatus.FILLED);
+        order.setFillPrice(price);
+        order.setTransactionId(transaction.getId());
+        order.setUpdatedAt(Instant.now());
+        return order;
+    }
+
+    /**
+     * Close an order that could not be filled.
+     *
+     * @param orderId The order ID
+     * @param reason Why it could not be filled
+     */
+    public void rejectOrder(Long orderId, String reason) {
+        orderRepository.findByIdForUpdate(orderId)
+                .filter(order -> order.getStatus() == OrderStatus.OPEN)
+                .ifPresent(order -> {
+                    order.setStatus(OrderStatus.REJECTED);
+                    order.setRejectReason(reason);
+                    order.setUpdatedAt(Instant.now());
+                });
+    }
+
+    /**
+     * Record that a STOP_LIMIT order's stop was reached, so it is reloaded as a limit order.
+     *
+     * @param orderId The order ID
+     */
+    public void markTriggered(Long orderId) {
+        orderRepository.findByIdForUpdate(orderId)
+                .filter(order -> order.getStatus() == OrderStatus.OPEN)
+                .ifPresent(order -> {
+                    order.setTriggered(true);
+                    order.setUpdatedAt(Instant.now());
+                });
+    }
+
+    /**
+     * One batch of open orders in id order.
+     *
+     * @param afterId Only orders with a greater id
+     * @param limit Batch size
+     * @return The orders
+     */
+    @Transactional(readOnly = true)
+    public List<OpenOrder> findOpenOrders(long afterId, int limit) {
+        return orderRepository.findOpenOrders(afterId, Limit.of(limit));
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.investhub.service;
 
 import com.example.investhub.exception.InsufficientHoldingsException;
+import com.example.investhub.marketdata.PriceTable;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.Holding;
 import com.example.investhub.model.Transaction;
 import com.example.investhub.model.User;
 import com.example.investhub.model.enumeration.PerformanceStatus;
 import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.portfolio.PortfolioBook;
+import com.example.investhub.portfolio.PortfolioSnapshot;
 import com.example.investhub.repository.HoldingRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.websocket.BinanceWebSocketService;
@@ -25,13 +28,21 @@ import java.util.stream.Collectors;
 public class PortfolioService {
 
     private final UserRepository userRepository;
-    private final BinanceWebSocketService binanceWebSocketService;
+    private final PriceTable priceTable;
     private final HoldingRepository holdingRepository;
+    private final BinanceWebSocketService binanceWebSocketService;
+    private final PortfolioBook portfolioBook;
 
-    public PortfolioService(UserRepository userRepository, BinanceWebSocketService binanceWebSocketService, HoldingRepository holdingRepository) {
+    public PortfolioService(UserRepository userRepository,
+                            PriceTable priceTable,
+                            HoldingRepository holdingRepository,
+                            BinanceWebSocketService binanceWebSocketService,
+                            PortfolioBook portfolioBook) {
         this.userRepository = userRepository;
-        this.binanceWebSocketService = binanceWebSocketService;
+        this.priceTable = priceTable;
         this.holdingRepository = holdingRepository;
+        this.binanceWebSocketService = binanceWebSocketService;
+        this.portfolioBook = portfolioBook;
     }
 
     /**
@@ -41,17 +52,37 @@ public class PortfolioService {
      * @return Portfolio details
      */
     public Map<String, Object> getUserPortfolio(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        PortfolioSnapshot snapshot = readPortfolio(username);
 
         Map<String, Object> portfolio = new HashMap<>();
-        portfolio.put("balance", user.getUsdBalance());
-        portfolio.put("holdings", getUserHoldings(username));
-        portfolio.put("totalValue", calculateTotalPortfolioValue(username));
+        portfolio.put("balance", snapshot.balance());
+        portfolio.put("holdings", snapshot.holdings());
+        portfolio.put("totalValue", calculateTotalPortfolioValue(snapshot));
 
         return portfolio;
     }
 
+    /**
+     * Read a user's balance and holdings together.
+     * <p>
+     * Holdings are fetched with their user and asset in one statement; only a user without any
+     * holding row costs a second statement to read the balance.
+     *
+     * @param username The username
+     * @return Balance, holdings with a positive quantity, and a price snapshot to value them at
+     */
+    public PortfolioSnapshot readPortfolio(String username) {
+        List<Holding> rows = holdingRepository.findAllWithAssetByUsername(username);
+        User user = rows.isEmpty()
+                ? userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"))
+                : rows.get(0).getUser();
+
+        List<Holding> holdings = rows.stream()
+                .filter(h -> h.getQuantity() > 0)
+                .collect(Collectors.toList());
+        return new PortfolioSnapshot(user, holdings, priceTable.snapshot());
+    }
+
     /**
      * Get user's USD balance.
      *
@@ -72,12 +103,7 @@ public class PortfolioService {
      * @return List of holdings
      */
     public List<Holding> getUserHoldings(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return holdingRepository.findByUser_Id(user.getId()).stream()
-                .filter(h -> h.getQuantity() > 0)
-                .collect(Collectors.toList());
+        return readPortfolio(username).holdings();
     }
 
     /**
@@ -100,27 +126,20 @@ public class PortfolioService {
      *
      * @param username The username
      * @return Portfolio statistics
+     * @throws com.example.investhub.exception.MarketDataUnavailableException if holdings cannot be valued on live prices
      */
     public Map<String, Object> getPortfolioStatistics(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Holding> holdings = getUserHoldings(username);
-        Map<String, Double> currentPrices = binanceWebSocketService.getCryptoPrices();
-
-        double totalInvested = 0;
-        double currentValue = 0;
-
-        for (Holding holding : holdings) {
-            double invested = holding.getQuantity() * holding.getAvgBuyPrice();
-            totalInvested += invested;
-
-            Double currentPrice = currentPrices.get(holding.getAssetSymbol());
-            if (currentPrice != null) {
-                currentValue += holding.getQuantity() * currentPrice;
-            }
+        PortfolioBook.Valuation valuation = portfolioBook.valuation(user.getId());
+        if (valuation.holdings() > 0) {
+            binanceWebSocketService.requireLiveFeed();
         }
 
+        double totalInvested = valuation.invested();
+        double currentValue = valuation.marketValue();
+
         double netGain = currentValue - totalInvested;
         double returnPercentage = totalInvested > 0 ? (netGain / totalInvested) * 100 : 0;
 
@@ -141,7 +160,7 @@ public class PortfolioService {
         stats.put("netGain", netGain);
         stats.put("returnPercentage", returnPercentage);
         stats.put("performanceStatus", performanceStatus);
-        stats.put("holdingsCount", holdings.size());
+        stats.put("holdingsCount", valuation.holdings());
 
         return stats;
     }
@@ -149,24 +168,15 @@ public class PortfolioService {
     /**
      * Calculate total portfolio value (balance + holdings).
      *
-     * @param username The username
+     * @param snapshot The user's portfolio
      * @return Total value
      */
-    private double calculateTotalPortfolioValue(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Holding> holdings = getUserHoldings(username);
-        Map<String, Double> currentPrices = binanceWebSocketService.getCryptoPrices();
-
-        double holdingsValue = holdings.stream()
-                .mapToDouble(h -> {
-                    Double price = currentPrices.get(h.getAssetSymbol());
-                    return price != null ? h.getQuantity() * price : 0;
-                })
-                .sum();
+    private double calculateTotalPortfolioValue(PortfolioSnapshot snapshot) {
+        if (!snapshot.holdings().isEmpty()) {
+            binanceWebSocketService.requireLiveFeed();
+        }
 
-        return user.getUsdBalance().doubleValue() + holdingsValue;
+        return snapshot.balance().doubleValue() + snapshot.holdingsValue();
     }
 
     /**
@@ -0,0 +1,195 @@
+package com.example.investhub.service;
+
+import com.example.investhub.alert.ActiveAlert;
+import com.example.investhub.alert.FiredAlert;
+import com.example.investhub.alert.PriceAlertCreatedEvent;
+import com.example.investhub.alert.PriceAlertsCancelledEvent;
+import com.example.investhub.catalog.AssetCatalog;
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.example.investhub.exception.ValidationException;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.PriceAlert;
+import com.example.investhub.model.User;
+import com.example.investhub.model.enumeration.AlertDirection;
+import com.example.investhub.model.enumeration.AlertStatus;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.UserRepository;
+import com.example.investhub.repository.WatchlistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for price alerts on watchlist assets.
+ * <p>
+ * Creating an alert only records it; the {@link com.example.investhub.alert.PriceAlertIndex} watches it
+ * from the commit on and the {@link com.example.investhub.alert.AlertDispatcher} records it as
+ * triggered through {@link #recordTriggered} once a tick crosses its threshold.
+ */
+@Service
+@Slf4j
+@Transactional
+public class PriceAlertService {
+
+    private final PriceAlertRepository alertRepository;
+    private final WatchlistRepository watchlistRepository;
+    private final UserRepository userRepository;
+    private final AssetCatalog assetCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PriceAlertService(PriceAlertRepository alertRepository,
+                             WatchlistRepository watchlistRepository,
+                             UserRepository userRepository,
+                             AssetCatalog assetCatalog,
+                             ApplicationEventPublisher eventPublisher) {
+        this.alertRepository = alertRepository;
+        this.watchlistRepository = watchlistRepository;
+        this.userRepository = userRepository;
+        this.assetCatalog = assetCatalog;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Set an alert on an asset of the user's watchlist.
+     *
+     * @param username The username
+     * @param assetSymbol The asset symbol
+     * @param direction ABOVE or BELOW
+     * @param threshold The price to cross
+     * @return The active alert
+     * @throws ValidationException if the asset is not in the user's watchlist
+     */
+    public PriceAlert createAlert(String username, String assetSymbol, AlertDirection direction, double threshold) {
+        if (assetSymbol == null || assetSymbol.trim().isEmpty()) {
+            throw new ValidationException("assetSymbol", "Asset symbol must be specified");
+        }
+        if (direction == null) {
+            throw new ValidationException("direction", "Alert direction must be ABOVE or BELOW");
+        }
+        if (!(threshold > 0) || Double.isInfinite(threshold)) {
+            throw new ValidationException("threshold", "Alert threshold must be greater than 0");
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username));
+
+        Asset asset = assetCatalog.findBySymbol(assetSymbol.trim().toUpperCase())
+                .orElseThrow(() -> new ResourceNotFoundException("Asset", assetSymbol));
+
+        if (!watchlistRepository.existsByUser_IdAndAsset_Id(user.getId(), asset.getId())) {
+            throw new ValidationException("assetSymbol", asset.getSymbol() + " is not in the watchlist");
+        }
+
+        PriceAlert alert = new PriceAlert();
+        alert.setUser(user);
+        alert.setAsset(asset);
+        alert.setDirection(direction);
+        alert.setThreshold(threshold);
+        alert = alertRepository.save(alert);
+
+        eventPublisher.publishEvent(new PriceAlertCreatedEvent(
+                new ActiveAlert(alert.getId(), user.getId(), asset.getSymbol(), direction, threshold)));
+        log.info("Created {} {} alert {} for {} on {}", direction, threshold, alert.getId(), username, asset.getSymbol());
+        return alert;
+    }
+
+    /**
+     * Get a user's alerts, newest first.
+     *
+     * @param username The username
+     * @param status Only alerts in this status, or null for all
+     * @return The alerts
+     */
+    @Transactional(readOnly = true)
+    public List<PriceAlert> getAlerts(String username, AlertStatus status) {
+        return alertRepository.findByUserIdAndStatus(userIdOf(username), status);
+    }
+
+    /**
+     * Cancel an active alert.
+     *
+     * @param alertId The alert ID
+     * @param username The username
+     * @return The cancelled alert
+     * @throws ResourceNotFoundException if the user has no such alert
+     * @throws ValidationException if the alert is no longer active
+     */
+    public PriceAlert cancelAlert(Long alertId, String username) {
+        PriceAlert alert = alertRepository.findByIdForUpdate(alertId)
+                .filter(a -> a.getUser().getUsername().equals(username))
+                .orElseThrow(() -> new ResourceNotFoundException("Price alert", String.valueOf(alertId)));
+        if (alert.getStatus() != AlertStatus.ACTIVE) {
+            throw new ValidationException("alertId", "Price alert " + alertId + " is already " + alert.getStatus());
+        }
+
+        alert.setStatus(AlertStatus.CANCELLED);
+        eventPublisher.publishEvent(new PriceAlertsCancelledEvent(List.of(alertId)));
+        return alert;
+    }
+
+    /**
+     * Cancel the user's active alerts on an asset, as it leaves the watchlist.
+     *
+     * @param userId The user ID
+     * @param assetId The asset ID
+     */
+    public void cancelAlerts(Long userId, Long assetId) {
+        List<PriceAlert> alerts = alertRepository.findActiveByUserIdAndAssetId(userId, assetId);
+        if (alerts.isEmpty()) {
+            return;
+        }
+
+        List<Long> alertIds = new ArrayList<>(alerts.size());
+        for (PriceAlert alert : alerts) {
+            alert.setStatus(AlertStatus.CANCELLED);
+            alertIds.add(alert.getId());
+        }
+        eventPublisher.publishEvent(new PriceAlertsCancelledEvent(alertIds));
+    }
+
+    /**
+     * Record fired alerts as triggered.
+     *
+     * @param fired Alerts whose threshold a tick crossed
+     * @return Those that were still active, and so are to be delivered
+     */
+    public List<FiredAlert> recordTriggered(List<FiredAlert> fired) {
+        List<FiredAlert> recorded = new ArrayList<>(fired.size());
+        for (FiredAlert alert : fired) {
+            if (alertRepository.markTriggered(alert.alertId(), alert.price(),
+                    Instant.ofEpochMilli(alert.eventTime())) > 0) {
+                recorded.add(alert);
+            }
+        }
+        return recorded;
+    }
+
+    /**
+     * One batch of active alerts in id order.
+     *
+     * @param afterId Only alerts with a greater id
+     * @param limit Batch size
+     * @return The alerts
+     */
+    @Transactional(readOnly = true)
+    public List<ActiveAlert> findActiveAlerts(long afterId, int limit) {
+        return alertRepository.findActiveAlerts(afterId, Limit.of(limit));
+    }
+
+    /**
+     * @param username The username
+     * @return The user's id
+     */
+    @Transactional(readOnly = true)
+    public Long userIdOf(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username))
+                .getId();
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.investhub.service;
+
+import com.example.investhub.catalog.AssetCatalog;
+import com.example.investhub.exception.BatchRejectedException;
+import com.example.investhub.exception.InsufficientBalanceException;
+import com.example.investhub.exception.InsufficientHoldingsException;
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.example.investhub.exception.ValidationException;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.Holding;
+import com.example.investhub.model.User;
+import com.example.investhub.model.dto.request.CreateTransactionBatchRequest;
+import com.example.investhub.model.dto.request.CreateTransactionRequest;
+import com.example.investhub.model.dto.response.TransactionBatchResponse;
+import com.example.investhub.model.dto.response.TransactionBatchResult;
+import com.example.investhub.model.dto.response.TransactionResponse;
+import com.example.investhub.model.enumeration.BatchMode;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.portfolio.HoldingChangedEvent;
+import com.example.investhub.repository.UserRepository;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import com.example.investhub.websocket.BinanceWebSocketService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes many market orders of one user as a single trade.
+ * <p>
+ * The orders are checked and resolved against the asset catalog on the request thread, then run on
+ * the user's {@link TradeLanes lane} in one database transaction, which the request waits for holding
+ * no connection: every order is priced from one
+ * {@link PriceTable#snapshot() snapshot} and applied in turn to the balance and holdings read at the
+ * start, so each order sees the effect of those before it. An order that cannot be filled rejects the
+ * whole batch in {@link BatchMode#ALL_OR_NOTHING} mode, and only itself in {@link BatchMode#BEST_EFFORT}.
+ * <p>
+ * The user row is written first, as in {@link TransactionService#executeTrade}, so its version guards
+ * the whole batch. Transactions and holdings are then written with one JDBC batch per statement
+ * instead of a round-trip per row, which Hibernate cannot do for identity keys. Holdings are updated
+ * against their version like the entity would be, and a {@link HoldingChangedEvent} is published for
+ * each one, since these writes bypass the entity listener.
+ */
+@Service
+@Slf4j
+public class TransactionBatchService {
+
+    static final String SELECT_HOLDINGS_SQL =
+            "SELECT id, asset_id, quantity, avg_buy_price, version FROM holdings WHERE user_id = ?";
+    static final String INSERT_TRANSACTION_SQL = "INSERT INTO transactions "
+            + "(user_id, asset_id, type, quantity, price_per_unit, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String INSERT_HOLDING_SQL =
+            "INSERT INTO holdings (user_id, asset_id, quantity, avg_buy_price, version) VALUES (?, ?, ?, ?, 0)";
+    static final String UPDATE_HOLDING_SQL = "UPDATE holdings SET quantity = ?, avg_buy_price = ?, "
+            + "version = version + 1 WHERE id = ? AND version = ?";
+    static final String DELETE_HOLDING_SQL = "DELETE FROM holdings WHERE id = ? AND version = ?";
+
+    @Value("${transactions.batch.max-size:500}")
+    private int maxSize = 500;
+
+    private final UserRepository userRepository;
+    private final AssetCatalog assetCatalog;
+    private final PriceTable priceTable;
+    private final BinanceWebSocketService binanceWebSocketService;
+    private final TradeLanes tradeLanes;
+    private final TradeRetry tradeRetry;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate batchTransaction;
+
+    public TransactionBatchService(UserRepository userRepository,
+                                   AssetCatalog assetCatalog,
+                                   PriceTable priceTable,
+                                   BinanceWebSocketService binanceWebSocketService,
+                                   TradeLanes tradeLanes,
+                                   TradeRetry tradeRetry,
+                                   JdbcTemplate jdbcTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.assetCatalog = assetCatalog;
+        this.priceTable = priceTable;
+        this.binanceWebSocketService = binanceWebSocketService;
+        this.tradeLanes = tradeLanes;
+        this.tradeRetry = tradeRetry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Execute a batch of market orders for a user.
+     *
+     * @param request The orders, and the mode; {@link BatchMode#ALL_OR_NOTHING} if none is given
+     * @param username The username
+     * @return The outcome of every order, in the order they were given, and the balance after the batch
+     * @see #executeBatch(CreateTransactionBatchRequest, String, Long)
+     */
+    public TransactionBatchResponse executeBatch(CreateTransactionBatchRequest request, String username) {
+        return executeBatch(request, username, null);
+    }
+
+    /**
+     * Execute a batch of market orders for a user.
+     *
+     * @param request The orders, and the mode; {@link BatchMode#ALL_OR_NOTHING} if none is given
+     * @param username The username
+     * @param userId The user's id when the caller knows it, e.g. from the token, or null to look it up
+     * @return The outcome of every order, in the order they were given, and the balance after the batch
+     * @throws BatchRejectedException in all-or-nothing mode, if any order cannot be filled
+     * @throws com.example.investhub.exception.MarketDataUnavailableException if the price feed is down or stalled
+     * @throws com.example.investhub.exception.ConcurrentUpdateException if every attempt lost to a concurrent update
+     */
+    public TransactionBatchResponse executeBatch(CreateTransactionBatchRequest request, String username,
+                                                 Long userId) {
+        List<CreateTransactionRequest> orders = request.getOrders();
+        if (orders == null || orders.isEmpty()) {
+            throw new ValidationException("orders", "A batch must contain at least one order");
+        }
+        if (orders.size() > maxSize) {
+            throw new ValidationException("orders", "A batch can contain at most " + maxSize + " orders");
+        }
+        BatchMode mode = request.getMode() != null ? request.getMode() : BatchMode.ALL_OR_NOTHING;
+
+        // Looked up in a transaction of its own, which has returned its connection before the wait
+        long laneUserId = userId != null ? userId : userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username))
+                .getId();
+
+        // Orders that are malformed or name an unknown asset are rejected before anything runs
+        TransactionBatchResult[] results = new TransactionBatchResult[orders.size()];
+        List<BatchOrder> valid = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            CreateTransactionRequest order = orders.get(i);
+            try {
+                valid.add(resolve(i, order));
+            } catch (ValidationException | ResourceNotFoundException e) {
+                if (mode == BatchMode.ALL_OR_NOTHING) {
+                    throw new BatchRejectedException(i, e.getMessage());
+                }
+                results[i] = TransactionBatchResult.rejected(i, e.getMessage());
+            }
+        }
+
+        binanceWebSocketService.requireLiveFeed();
+
+        return tradeLanes.execute(laneUserId, () -> tradeRetry.run(laneUserId, () -> batchTransaction.execute(status ->
+                apply(laneUserId, username, mode, valid, results.clone()))));
+    }
+
+    private BatchOrder resolve(int index, CreateTransactionRequest order) {
+        if (order == null) {
+            throw new ValidationException("orders[" + index + "]", "Order must not be null");
+        }
+        if (order.getType() == null) {
+            throw new ValidationException("type", "Transaction type must be BUY or SELL");
+        }
+        if (order.getQuantity() <= 0) {
+            throw new ValidationException("quantity", "Transaction quantity must be greater than 0");
+        }
+        String symbol = order.getAssetSymbol();
+        if (symbol == null || symbol.trim().isEmpty()) {
+            throw new ValidationException("assetSymbol", "Asset symbol must be specified");
+        }
+        Asset asset = assetCatalog.findBySymbol(symbol.trim().toUpperCase())
+                .orElseThrow(() -> new ResourceNotFoundException("Asset", symbol));
+        return new BatchOrder(index, order.getType(), asset, order.getQuantity());
+    }
+
+    /** One attempt: price and apply every order in memory, then write what was filled. */
+    private TransactionBatchResponse apply(Long userId, String username, BatchMode mode, List<BatchOrder> orders,
+                                           TransactionBatchResult[] results) {
+        PriceTable.Snapshot prices = priceTable.snapshot();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username));
+        Map<Long, HoldingRow> holdings = loadHoldings(userId, orders);
+
+        BigDecimal balance = user.getUsdBalance();
+        List<Fill> fills = new ArrayList<>(orders.size());
+        for (BatchOrder order : orders) {
+            String symbol = order.asset.getSymbol();
+            double price = prices.price(symbol);
+            HoldingRow holding = holdings.get(order.asset.getId());
+            String rejection = null;
+
+            if (Double.isNaN(price) || price <= 0) {
+                rejection = "Price not available for symbol: " + symbol;
+            } else if (order.type == TransactionType.BUY) {
+                double total = order.quantity * price;
+                if (balance.doubleValue() < total) {
+                    rejection = new InsufficientBalanceException(total, balance.doubleValue()).getMessage();
+                } else {
+                    balance = balance.subtract(BigDecimal.valueOf(total));
+                    if (holding == null) {
+                        holding = new HoldingRow(null, order.asset, 0, 0, 0);
+                        holdings.put(order.asset.getId(), holding);
+                    }
+                    holding.buy(order.quantity, price);
+                }
+            } else {
+                double owned = holding != null ? holding.quantity : 0;
+                if (owned < order.quantity) {
+                    rejection = new InsufficientHoldingsException(symbol, owned, order.quantity).getMessage();
+                } else {
+                    balance = balance.add(BigDecimal.valueOf(order.quantity * price));
+                    holding.sell(order.quantity);
+                }
+            }
+
+            if (rejection == null) {
+                fills.add(new Fill(order, price));
+            } else if (mode == BatchMode.ALL_OR_NOTHING) {
+                // Nothing was written yet; the exception rolls the transaction back all the same
+                throw new BatchRejectedException(order.index, rejection);
+            } else {
+                results[order.index] = TransactionBatchResult.rejected(order.index, rejection);
+            }
+        }
+
+        if (!fills.isEmpty()) {
+            // Written first: the user's version guards the whole batch, as it does a single trade
+            user.setUsdBalance(balance);
+            userRepository.saveAndFlush(user);
+
+            Instant timestamp = Instant.now();
+            List<Long> ids = insertTransactions(userId, fills, timestamp);
+            for (int i = 0; i < fills.size(); i++) {
+                Fill fill = fills.get(i);
+                results[fill.order.index] = TransactionBatchResult.filled(fill.order.index, new TransactionResponse(
+                        ids.get(i), fill.order.type.name(), fill.order.asset.getSymbol(), fill.order.quantity,
+                        fill.price, timestamp));
+            }
+            writeHoldings(userId, holdings.values());
+        }
+
+        log.info("Batch of {} orders for user {} ({}): {} filled, {} rejected",
+                results.length, userId, mode, fills.size(), results.length - fills.size());
+        return new TransactionBatchResponse(mode, fills.size(), results.length - fills.size(),
+                user.getUsdBalance(), List.of(results));
+    }
+
+    /** The user's holdings in the assets the batch trades, by asset id. */
+    private Map<Long, HoldingRow> loadHoldings(Long userId, List<BatchOrder> orders) {
+        Map<Long, Asset> traded = new HashMap<>();
+        for (BatchOrder order : orders) {
+            traded.put(order.asset.getId(), order.asset);
+        }
+        Map<Long, HoldingRow> holdings = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_HOLDINGS_SQL, rs -> {
+            Asset asset = traded.get(rs.getLong("asset_id"));
+            if (asset != null) {
+                holdings.put(asset.getId(), new HoldingRow(rs.getLong("id"), asset, rs.getDouble("quantity"),
+                        rs.getDouble("avg_buy_price"), rs.getLong("version")));
+            }
+        }, userId);
+        return holdings;
+    }
+
+    /** One batched insert; returns the generated ids in the order of {@code fills}. */
+    private List<Long> insertTransactions(Long userId, List<Fill> fills, Instant timestamp) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_TRANSACTION_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Fill fill = fills.get(i);
+                        ps.setLong(1, userId);
+                        ps.setLong(2, fill.order.asset.getId());
+                        ps.setString(3, fill.order.type.name());
+                        ps.setDouble(4, fill.order.quantity);
+                        ps.setDouble(5, fill.price);
+                        ps.setObject(6, timestamp.atOffset(ZoneOffset.UTC));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return fills.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != fills.size()) {
+            throw new IllegalStateException("Expected " + fills.size() + " generated transaction ids, got "
+                    + keyList.size());
+        }
+        List<Long> ids = new ArrayList<>(keyList.size());
+        for (Map<String, Object> key : keyList) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /** Insert, update or delete every holding the batch changed, one JDBC batch per statement. */
+    private void writeHoldings(Long userId, Iterable<HoldingRow> holdings) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<HoldingRow> updated = new ArrayList<>();
+        List<HoldingRow> deleted = new ArrayList<>();
+        List<HoldingChangedEvent> events = new ArrayList<>();
+        for (HoldingRow holding : holdings) {
+            if (!holding.changed || (holding.id == null && holding.quantity <= 0)) {
+                // Untouched, or bought and sold again within the batch
+                continue;
+            }
+            if (holding.id == null) {
+                inserts.add(new Object[]{userId, holding.asset.getId(), holding.quantity, holding.avgBuyPrice});
+            } else if (holding.quantity > 0) {
+                updates.add(new Object[]{holding.quantity, holding.avgBuyPrice, holding.id, holding.version});
+                updated.add(holding);
+            } else {
+                deletes.add(new Object[]{holding.id, holding.version});
+                deleted.add(holding);
+            }
+            events.add(new HoldingChangedEvent(userId, holding.asset.getId(), holding.asset.getSymbol(),
+                    holding.quantity, holding.avgBuyPrice, holding.quantity <= 0));
+        }
+
+        if (!updates.isEmpty()) {
+            requireUnchanged(jdbcTemplate.batchUpdate(UPDATE_HOLDING_SQL, updates), updated);
+        }
+        if (!deletes.isEmpty()) {
+            requireUnchanged(jdbcTemplate.batchUpdate(DELETE_HOLDING_SQL, deletes), deleted);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HOLDING_SQL, inserts);
+        }
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    /** A row the statement did not match was written by someone else since it was read. */
+    private static void requireUnchanged(int[] counts, List<HoldingRow> rows) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new ObjectOptimisticLockingFailureException(Holding.class, rows.get(i).id);
+            }
+        }
+    }
+
+    private record BatchOrder(int index, TransactionType type, Asset asset, double quantity) {
+    }
+
+    private record Fill(BatchOrder order, double price) {
+    }
+
+    /** A holding as read at the start of the batch, changed in memory by the orders filled so far. */
+    private static final class HoldingRow {
+        final Long id;
+        final Asset asset;
+        final long version;
+        double quantity;
+        double avgBuyPrice;
+        boolean changed;
+
+        HoldingRow(Long id, Asset asset, double quantity, double avgBuyPrice, long version) {
+            this.id = id;
+            this.asset = asset;
+            this.quantity = quantity;
+            this.avgBuyPrice = avgBuyPrice;
+            this.version = version;
+        }
+
+        /** Same arithmetic as {@link PortfolioService#updateHoldingAfterTransaction}. */
+        void buy(double bought, double price) {
+            double newQuantity = quantity + bought;
+            double totalCost = (quantity * avgBuyPrice) + (bought * price);
+            quantity = newQuantity;
+            avgBuyPrice = newQuantity > 0 ? totalCost / newQuantity : 0;
+            changed = true;
+        }
+
+        void sell(double sold) {
+            quantity -= sold;
+            changed = true;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.investhub.service;
+
+import com.example.investhub.model.enumeration.ExportFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Streams a user's full transaction history as CSV or NDJSON.
+ * <p>
+ * Rows are read through a forward-only, read-only JDBC cursor with {@code transactions.export.fetch-size}
+ * rows per round-trip and written straight to the output as they arrive; no entity, DTO or list is
+ * built, so memory stays the same whether the history holds a hundred rows or millions. Output is
+ * buffered and flushed every {@code transactions.export.flush-rows} rows so the client receives
+ * it in chunks while the export is still running.
+ * <p>
+ * The read runs in one read-only transaction, which drivers such as PostgreSQL need to use a
+ * server-side cursor instead of materializing the result.
+ */
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    static final String EXPORT_SQL = "SELECT t.id, t.type, a.symbol, t.quantity, t.price_per_unit, t.timestamp "
+            + "FROM transactions t JOIN assets a ON a.id = t.asset_id "
+            + "WHERE t.user_id = ? ORDER BY t.timestamp, t.id";
+
+    private static final String CSV_HEADER = "id,type,assetSymbol,quantity,pricePerUnit,timestamp\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${transactions.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    @Value("${transactions.export.flush-rows:1000}")
+    private int flushRows = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TransactionExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write every transaction of a user, oldest first.
+     *
+     * @param userId The user id
+     * @param format Output format
+     * @param out Destination; flushed but not closed
+     * @return Number of transactions written
+     * @throws IOException if writing to the output fails, e.g. the client went away
+     */
+    public long export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long[] rows = new long[1];
+        RowCallbackHandler rowWriter = rs -> {
+            try {
+                writeRow(writer, format, rs);
+                if (++rows[0] % flushRows == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, userId);
+                return statement;
+            }, rowWriter));
+        } catch (UncheckedIOException e) {
+            log.warn("Transaction export for user {} aborted after {} rows: {}", userId, rows[0], e.getMessage());
+            throw e.getCause();
+        }
+
+        writer.flush();
+        return rows[0];
+    }
+
+    private static void writeRow(Writer writer, ExportFormat format, ResultSet rs) throws SQLException, IOException {
+        long id = rs.getLong(1);
+        String type = rs.getString(2);
+        String symbol = rs.getString(3);
+        double quantity = rs.getDouble(4);
+        double pricePerUnit = rs.getDouble(5);
+        Timestamp timestamp = rs.getTimestamp(6);
+        String instant = timestamp != null ? timestamp.toInstant().toString() : "";
+
+        if (format == ExportFormat.CSV) {
+            writer.write(Long.toString(id));
+            writer.write(',');
+            writer.write(type);
+            writer.write(',');
+            writeCsvField(writer, symbol);
+            writer.write(',');
+            writer.write(Double.toString(quantity));
+            writer.write(',');
+            writer.write(Double.toString(pricePerUnit));
+            writer.write(',');
+            writer.write(instant);
+            writer.write('\n');
+        } else {
+            writer.write("{\"id\":");
+            writer.write(Long.toString(id));
+            writer.write(",\"type\":\"");
+            writer.write(type);
+            writer.write("\",\"assetSymbol\":");
+            writeJsonString(writer, symbol);
+            writer.write(",\"quantity\":");
+            writer.write(Double.toString(quantity));
+            writer.write(",\"pricePerUnit\":");
+            writer.write(Double.toString(pricePerUnit));
+            writer.write(",\"timestamp\":\"");
+            writer.write(instant);
+            writer.write("\"}\n");
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -1,47 +1,74 @@
 package com.example.investhub.service;
 
+import com.example.investhub.catalog.AssetCatalog;
 import com.example.investhub.exception.InsufficientBalanceException;
 import com.example.investhub.exception.ResourceNotFoundException;
 import com.example.investhub.exception.ValidationException;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.Transaction;
 import com.example.investhub.model.User;
+import com.example.investhub.model.dto.response.TransactionPageResponse;
+import com.example.investhub.model.dto.response.TransactionResponse;
 import com.example.investhub.model.enumeration.TransactionType;
-import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.TransactionCursor;
+import com.example.investhub.repository.TransactionHistoryQuery;
 import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import com.example.investhub.websocket.BinanceWebSocketService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 /**
  * Service for managing transactions.
+ * <p>
+ * Reads are transactional method by method rather than for the whole class: trades wait for the
+ * user's lane, and must do so outside any transaction so that no connection is held while waiting.
  */
 @Service
 @Slf4j
-@Transactional
 public class TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final PortfolioService portfolioService;
     private final MarketDataService marketDataService;
-    private final AssetRepository assetRepository;
+    private final AssetCatalog assetCatalog;
+    private final BinanceWebSocketService binanceWebSocketService;
+    private final TradeLanes tradeLanes;
+    private final TradeRetry tradeRetry;
+    private final TransactionTemplate tradeTransaction;
 
     public TransactionService(TransactionRepository transactionRepository,
                              UserRepository userRepository,
                              @Lazy PortfolioService portfolioService,
                              MarketDataService marketDataService,
-                             AssetRepository assetRepository) {
+                             AssetCatalog assetCatalog,
+                             BinanceWebSocketService binanceWebSocketService,
+                             TradeLanes tradeLanes,
+                             TradeRetry tradeRetry,
+                             PlatformTransactionManager transactionManager) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
         this.portfolioService = portfolioService;
         this.marketDataService = marketDataService;
-        this.assetRepository = assetRepository;
+        this.assetCatalog = assetCatalog;
+        this.binanceWebSocketService = binanceWebSocketService;
+        this.tradeLanes = tradeLanes;
+        this.tradeRetry = tradeRetry;
+        this.tradeTransaction = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -50,12 +77,75 @@ public class TransactionService {
      * @param username The username
      * @return List of user's transactions
      */
+    @Transactional
     public List<Transaction> getUserTransactions(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return transactionRepository.findByUser_Id(user.getId());
     }
 
+    /**
+     * Get one page of a user's transaction history, newest first.
+     * <p>
+     * Pages are addressed by cursor rather than offset: pass the returned {@code nextCursor} as
+     * {@code before} to keep going back in time, or as {@code after} to continue towards newer rows when
+     * the page itself was read with {@code after}. A request reads at most {@code limit + 1} rows,
+     * however long the history is.
+     *
+     * @param username The username
+     * @param type Only this type, or null
+     * @param assetSymbol Only this asset, or null
+     * @param from Only transactions at or after this instant, or null
+     * @param to Only transactions before this instant, or null
+     * @param before Cursor to read older transactions from, or null
+     * @param after Cursor to read newer transactions from, or null
+     * @param limit Page size, {@value #DEFAULT_PAGE_SIZE} if null
+     * @return The page and the cursor of the next one, null when there is none
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionPage(String username, TransactionType type, String assetSymbol,
+                                                      Instant from, Instant to, String before, String after,
+                                                      Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (before != null && after != null) {
+            throw new ValidationException("after", "Only one of before and after can be given");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("to", "End of the date range must be after its start");
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username));
+
+        Long assetId = null;
+        if (assetSymbol != null && !assetSymbol.isBlank()) {
+            assetId = assetCatalog.findBySymbol(assetSymbol.trim().toUpperCase())
+                    .orElseThrow(() -> new ResourceNotFoundException("Asset", assetSymbol))
+                    .getId();
+        }
+
+        boolean newer = after != null;
+        TransactionCursor cursor = newer ? TransactionCursor.decode(after, "after")
+                : before != null ? TransactionCursor.decode(before, "before")
+                : null;
+
+        // One row more than the page tells whether another page follows
+        List<TransactionResponse> rows = transactionRepository.findHistory(
+                new TransactionHistoryQuery(user.getId(), type, assetId, from, to, cursor, newer, size + 1));
+        if (rows.size() <= size) {
+            return new TransactionPageResponse(rows, null);
+        }
+
+        // Newer pages come back newest first, so their extra row is the first one
+        List<TransactionResponse> page = newer ? rows.subList(1, rows.size()) : rows.subList(0, size);
+        TransactionResponse last = newer ? page.get(0) : page.get(page.size() - 1);
+        return new TransactionPageResponse(List.copyOf(page),
+                new TransactionCursor(last.getTimestamp(), last.getId()).encode());
+    }
+
     /**
      * Get transactions by type.
      *
@@ -63,6 +153,7 @@ public class TransactionService {
      * @param type The transaction type (BUY or SELL)
      * @return List of transactions of the specified type
      */
+    @Transactional
     public List<Transaction> getUserTransactionsByType(String username, TransactionType type) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -78,6 +169,7 @@ public class TransactionService {
      * @param type The transaction type
      * @return Total amount for the specified type
      */
+    @Transactional
     public BigDecimal getTotalAmountByType(String username, TransactionType type) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -93,6 +185,7 @@ public class TransactionService {
      * @param assetSymbol The asset symbol
      * @return Number of transactions for the asset
      */
+    @Transactional
     public Long getTransactionCountByAsset(String username, String assetSymbol) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -107,6 +200,7 @@ public class TransactionService {
      * @param username The username
      * @return The transaction
      */
+    @Transactional
     public Transaction getTransactionById(Long transactionId, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -129,8 +223,34 @@ public class TransactionService {
      * @param quantity The quantity
      * @param username The username
      * @return The created transaction
+     * @see #createTransaction(TransactionType, String, double, String, Long)
      */
     public Transaction createTransaction(TransactionType type, String assetSymbol, double quantity, String username) {
+        return createTransaction(type, assetSymbol, quantity, username, null);
+    }
+
+    /**
+     * Create a new transaction and update holdings.
+     * <p>
+     * The trade runs on the user's {@link TradeLanes lane}, in its own transaction, after every trade
+     * of the user submitted before it; the balance is read there, so concurrent orders of one user can
+     * never both spend the same balance or sell the same holding. A trade that still loses a race for the
+     * account, to another instance or a write outside the lanes, is run again by {@link TradeRetry}.
+     * <p>
+     * Not transactional: the caller waits for the lane without a transaction or connection of its own,
+     * so any number of waiting callers cannot starve the lanes of connections.
+     *
+     * @param type The transaction type
+     * @param assetSymbol The asset symbol
+     * @param quantity The quantity
+     * @param username The username
+     * @param userId The user's id when the caller knows it, e.g. from the token, or null to look it up
+     * @return The created transaction
+     * @throws com.example.investhub.exception.MarketDataUnavailableException if the price feed is down or stalled
+     * @throws com.example.investhub.exception.ConcurrentUpdateException if every attempt lost to a concurrent update
+     */
+    public Transaction createTransaction(TransactionType type, String assetSymbol, double quantity, String username,
+                                         Long userId) {
         if (quantity <= 0) {
             throw new ValidationException("quantity", "Transaction quantity must be greater than 0");
         }
@@ -138,24 +258,64 @@ public class TransactionService {
             throw new ValidationException("assetSymbol", "Asset symbol must be specified");
         }
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", username));
+        // Looked up in a transaction of its own, which has returned its connection before the wait
+        long laneUserId = userId != null ? userId : userIdOf(username);
 
-        Asset asset = assetRepository.findBySymbol(assetSymbol.toUpperCase())
+        Asset asset = assetCatalog.findBySymbol(assetSymbol.toUpperCase())
                 .orElseThrow(() -> new ResourceNotFoundException("Asset", assetSymbol));
 
-        Double currentPrice = marketDataService.getPriceBySymbol(asset.getSymbol());
-        if (currentPrice == null || currentPrice <= 0) {
-            throw new RuntimeException("Unable to fetch current price for " + asset.getSymbol());
-        }
+        binanceWebSocketService.requireLiveFeed();
 
+        return tradeLanes.execute(laneUserId, () -> tradeRetry.run(laneUserId, () -> tradeTransaction.execute(status -> {
+            Double currentPrice = marketDataService.getPriceBySymbol(asset.getSymbol());
+            if (currentPrice == null || currentPrice <= 0) {
+                throw new RuntimeException("Unable to fetch current price for " + asset.getSymbol());
+            }
+
+            // Read again in this attempt: trades queued ahead of this one, or the concurrent update that
+            // failed the previous attempt, may have changed the balance
+            User current = userRepository.findById(laneUserId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", username));
+            return executeTrade(current, asset, type, quantity, currentPrice);
+        })));
+    }
+
+    /**
+     * Resolve the id of a user, for callers that only have the username.
+     *
+     * @param username The username
+     * @return The user id
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    public Long userIdOf(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", username))
+                .getId();
+    }
+
+    /**
+     * Trade at a given price: move the user's balance, record the transaction and update the holding.
+     * Shared by market orders and by the resting orders the order engine fills; callers run it on the
+     * user's {@link TradeLanes lane}.
+     *
+     * @param user The user, managed in the current transaction
+     * @param asset The asset
+     * @param type BUY or SELL
+     * @param quantity The quantity
+     * @param price Price per unit
+     * @return The saved transaction
+     * @throws InsufficientBalanceException if a buy costs more than the balance
+     * @throws com.example.investhub.exception.InsufficientHoldingsException if a sell exceeds the holding
+     */
+    @Transactional
+    public Transaction executeTrade(User user, Asset asset, TransactionType type, double quantity, double price) {
         Transaction transaction = new Transaction();
         transaction.setType(type);
         transaction.setQuantity(quantity);
-        transaction.setPricePerUnit(currentPrice);
+        transaction.setPricePerUnit(price);
         transaction.setAsset(asset);
 
-        double transactionTotal = quantity * currentPrice;
+        double transactionTotal = quantity * price;
 
         if (type == TransactionType.BUY) {
             if (user.getUsdBalance().doubleValue() < transactionTotal) {
@@ -170,9 +330,11 @@ public class TransactionService {
             user.setUsdBalance(user.getUsdBalance().add(java.math.BigDecimal.valueOf(transactionTotal)));
         }
 
-        userRepository.save(user);
+        // Written first: the user's version guards the whole account, so a trade that lost a race with
+        // a concurrent one fails here, before touching the holding
+        userRepository.saveAndFlush(user);
 
-        transaction.setUserId(user.getId());
+        transaction.setUser(user);
 
         Transaction savedTransaction = transactionRepository.save(transaction);
 
@@ -182,19 +344,28 @@ public class TransactionService {
     }
 
     /**
-     * Get transactions filtered by asset symbol.
+     * Get one page of a user's transactions in one asset, newest first.
+     * <p>
+     * The asset filter, time range and cursor are all applied in the query, which reads the
+     * {@code (user_id, asset_id, timestamp, id)} index, so the cost of a page depends on its size and
+     * not on how many transactions the user has in other assets.
      *
      * @param symbol The asset symbol
      * @param username The username
-     * @return List of transactions for the asset
+     * @param from Only transactions at or after this instant, or null
+     * @param to Only transactions before this instant, or null
+     * @param before Cursor to read older transactions from, or null
+     * @param after Cursor to read newer transactions from, or null
+     * @param limit Page size, {@value #DEFAULT_PAGE_SIZE} if null
+     * @return The page and the cursor of the next one, null when there is none
      */
-    public List<Transaction> getTransactionsByAsset(String symbol, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return transactionRepository.findByUser_Id(user.getId()).stream()
-                .filter(t -> t.getAssetSymbol().equalsIgnoreCase(symbol))
-                .toList();
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsByAsset(String symbol, String username, Instant from, Instant to,
+                                                          String before, String after, Integer limit) {
+        if (symbol == null || symbol.isBlank()) {
+            throw new ValidationException("symbol", "Asset symbol must be specified");
+        }
+        return getTransactionPage(username, null, symbol, from, to, before, after, limit);
     }
 }
 
@@ -1,11 +1,11 @@
 package com.example.investhub.service;
 
+import com.example.investhub.catalog.AssetCatalog;
 import com.example.investhub.exception.ResourceAlreadyExistsException;
 import com.example.investhub.exception.ResourceNotFoundException;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.User;
 import com.example.investhub.model.WatchlistEntry;
-import com.example.investhub.repository.AssetRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.repository.WatchlistRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -25,14 +25,17 @@ public class WatchlistService {
 
     private final WatchlistRepository watchlistRepository;
     private final UserRepository userRepository;
-    private final AssetRepository assetRepository;
+    private final AssetCatalog assetCatalog;
+    private final PriceAlertService priceAlertService;
 
     public WatchlistService(WatchlistRepository watchlistRepository,
                            UserRepository userRepository,
-                           AssetRepository assetRepository) {
+                           AssetCatalog assetCatalog,
+                           PriceAlertService priceAlertService) {
         this.watchlistRepository = watchlistRepository;
         this.userRepository = userRepository;
-        this.assetRepository = assetRepository;
+        this.assetCatalog = assetCatalog;
+        this.priceAlertService = priceAlertService;
     }
 
     /**
@@ -61,7 +64,7 @@ public class WatchlistService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", username));
 
-        Asset asset = assetRepository.findBySymbol(assetSymbol)
+        Asset asset = assetCatalog.findBySymbol(assetSymbol)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset", assetSymbol));
 
         List<WatchlistEntry> existingEntries = watchlistRepository.findByUser_Id(user.getId());
@@ -80,7 +83,7 @@ public class WatchlistService {
     }
 
     /**
-     * Remove an asset from the user's watchlist.
+     * Remove an asset from the user's watchlist, cancelling its active price alerts.
      *
      * @param assetSymbol The asset symbol
      * @param username The username
@@ -95,6 +98,7 @@ public class WatchlistService {
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Asset not in watchlist"));
 
+        priceAlertService.cancelAlerts(user.getId(), entryToRemove.getAsset().getId());
         watchlistRepository.delete(entryToRemove);
     }
 
@@ -0,0 +1,23 @@
+package com.example.investhub.stream;
+
+import java.io.IOException;
+
+/**
+ * Transport of one price stream subscriber, e.g. an SSE response or a WebSocket session.
+ */
+public interface PriceSink {
+
+    /**
+     * Deliver one message. May block; the hub calls it on the subscriber's own virtual thread and
+     * never has more than one call in flight per subscriber.
+     *
+     * @param json JSON array of price updates
+     * @throws IOException if the client is gone
+     */
+    void send(String json) throws IOException;
+
+    /**
+     * Close the transport, e.g. because the subscriber fell too far behind.
+     */
+    void close();
+}
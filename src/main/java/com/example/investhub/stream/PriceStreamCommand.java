@@ -0,0 +1,26 @@
+package com.example.investhub.stream;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Subscription change sent by a WebSocket price stream client.
+ *
+ * @param method {@code SUBSCRIBE} or {@code UNSUBSCRIBE}
+ * @param symbols Symbols to add or remove
+ */
+public record PriceStreamCommand(String method, List<String> symbols) {
+
+    /**
+     * Split a comma separated symbol list; null or blank gives an empty list.
+     */
+    public static List<String> parseSymbols(String symbols) {
+        if (symbols == null || symbols.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(symbols.split(","))
+                .map(String::trim)
+                .filter(symbol -> !symbol.isEmpty())
+                .toList();
+    }
+}
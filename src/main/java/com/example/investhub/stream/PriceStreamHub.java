@@ -0,0 +1,349 @@
+package com.example.investhub.stream;
+
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.dto.response.PriceResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans price updates out to push subscribers (SSE and WebSocket).
+ * <p>
+ * The hub never touches the ingest path: a dispatcher thread polls the {@link PriceTable} global
+ * version every {@code market.stream.interval}, renders each changed symbol to JSON once, and
+ * marks it dirty for every subscriber that follows it. Each subscriber then gets at most one
+ * message in flight, sent on its own virtual thread, carrying the latest price of every symbol
+ * that became dirty meanwhile. A slow client therefore accumulates at most one pending entry per
+ * symbol (updates in between are conflated) and never holds up the dispatcher or anyone else;
+ * a client whose send has been stuck for {@code market.stream.send-timeout} is disconnected.
+ */
+@Component
+public class PriceStreamHub implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceStreamHub.class);
+
+    @Value("${market.stream.interval:100ms}")
+    private Duration interval = Duration.ofMillis(100);
+
+    @Value("${market.stream.send-timeout:10s}")
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    private final PriceTable priceTable;
+    private final ObjectMapper objectMapper;
+
+    /** Latest JSON of each price table slot, rendered once per change. */
+    private final AtomicReferenceArray<String> fragments;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder updatesSent = new LongAdder();
+    private final LongAdder updatesConflated = new LongAdder();
+    private final LongAdder subscribersEvicted = new LongAdder();
+
+    private ScheduledExecutorService dispatcher;
+    private long dispatchedVersion;
+    private volatile boolean running;
+
+    public PriceStreamHub(PriceTable priceTable, ObjectMapper objectMapper) {
+        this.priceTable = priceTable;
+        this.objectMapper = objectMapper;
+        this.fragments = new AtomicReferenceArray<>(priceTable.capacity());
+    }
+
+    // ==================== Lifecycle ====================
+
+    @Override
+    public synchronized void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-stream-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        dispatcher.scheduleWithFixedDelay(this::dispatchSafely, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.cancel();
+            subscription.sink.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==================== Subscriptions ====================
+
+    /**
+     * Register a subscriber. It first receives the current price of every followed symbol, then
+     * every change.
+     *
+     * @param sink Transport of the subscriber
+     * @param symbols Symbols to follow; empty follows all symbols, including later ones
+     * @return The subscription
+     * @throws ResourceNotFoundException if a symbol is not tracked
+     */
+    public Subscription subscribe(PriceSink sink, Collection<String> symbols) {
+        Subscription subscription = new Subscription(sink, symbols.isEmpty());
+        subscription.follow(symbols);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    // ==================== Dispatch ====================
+
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.error("Error dispatching price stream", e);
+        }
+    }
+
+    /**
+     * Render the symbols changed since the last run and hand them to the subscribers.
+     * Called on the dispatcher thread.
+     */
+    void dispatch() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.isStuck(now)) {
+                log.info("Disconnecting price stream subscriber stuck in a send for over {}", sendTimeout);
+                subscribersEvicted.increment();
+                subscription.cancel();
+                subscription.sink.close();
+            }
+        }
+
+        if (priceTable.globalVersion() == dispatchedVersion) {
+            return;
+        }
+
+        PriceTable.Snapshot snapshot = priceTable.snapshot();
+        BitSet changed = new BitSet(snapshot.size());
+        for (int id = 0; id < snapshot.size(); id++) {
+            if (snapshot.changeVersion(id) > dispatchedVersion) {
+                fragments.set(id, render(snapshot.symbol(id), snapshot.price(id), snapshot.changeVersion(id),
+                        snapshot.eventTime(id), snapshot.receiveTime(id)));
+                changed.set(id);
+            }
+        }
+        dispatchedVersion = snapshot.globalVersion();
+
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(changed);
+        }
+    }
+
+    private String render(String symbol, double price, long version, long eventTime, long receiveTime) {
+        try {
+            return objectMapper.writeValueAsString(new PriceResponse(symbol, price, version, eventTime, receiveTime));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render price of " + symbol, e);
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getUpdatesSent() {
+        return updatesSent.sum();
+    }
+
+    public long getUpdatesConflated() {
+        return updatesConflated.sum();
+    }
+
+    public long getSubscribersEvicted() {
+        return subscribersEvicted.sum();
+    }
+
+    /**
+     * One subscriber: the symbols it follows and those changed since its last message.
+     */
+    public final class Subscription {
+
+        private final PriceSink sink;
+        private final boolean all;
+        /** Guarded by {@code this}. */
+        private final BitSet followed = new BitSet();
+        /** Guarded by {@code this}. */
+        private BitSet dirty = new BitSet();
+        /** Guarded by {@code this}. */
+        private boolean sending;
+        private volatile long sendStartedAt;
+        private volatile boolean cancelled;
+
+        private Subscription(PriceSink sink, boolean all) {
+            this.sink = sink;
+            this.all = all;
+        }
+
+        /**
+         * Start following symbols; their current prices are sent right away.
+         *
+         * @throws ResourceNotFoundException if a symbol is not tracked
+         */
+        public void follow(Collection<String> symbols) {
+            BitSet added = new BitSet();
+            if (all) {
+                added.set(0, priceTable.size());
+            }
+            for (String symbol : symbols) {
+                int id = priceTable.idOf(symbol.toUpperCase());
+                if (id < 0) {
+                    throw new ResourceNotFoundException("Symbol", symbol);
+                }
+                added.set(id);
+            }
+
+            BitSet priced = new BitSet();
+            for (int id = added.nextSetBit(0); id >= 0; id = added.nextSetBit(id + 1)) {
+                if (fragments.get(id) == null) {
+                    PriceTable.Quote quote = priceTable.quote(id);
+                    if (quote.hasPrice()) {
+                        fragments.compareAndSet(id, null, render(quote.symbol(), quote.price(),
+                                quote.changeVersion(), quote.eventTime(), quote.receiveTime()));
+                    }
+                }
+                if (fragments.get(id) != null) {
+                    priced.set(id);
+                }
+            }
+            synchronized (this) {
+                followed.or(added);
+            }
+            offer(priced);
+        }
+
+        /**
+         * Stop following symbols. Unknown symbols are ignored.
+         */
+        public synchronized void unfollow(Collection<String> symbols) {
+            for (String symbol : symbols) {
+                int id = priceTable.idOf(symbol.toUpperCase());
+                if (id >= 0) {
+                    followed.clear(id);
+                    dirty.clear(id);
+                }
+            }
+        }
+
+        /**
+         * Stop delivering. The transport is left to its owner.
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void offer(BitSet changed) {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                BitSet relevant = (BitSet) changed.clone();
+                if (!all) {
+                    relevant.and(followed);
+                }
+                if (relevant.isEmpty()) {
+                    return;
+                }
+
+                BitSet overlap = (BitSet) relevant.clone();
+                overlap.and(dirty);
+                updatesConflated.add(overlap.cardinality());
+                dirty.or(relevant);
+
+                if (sending) {
+                    return;
+                }
+                sending = true;
+                sendStartedAt = System.nanoTime();
+            }
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (!cancelled) {
+                BitSet batch;
+                synchronized (this) {
+                    if (dirty.isEmpty()) {
+                        sending = false;
+                        return;
+                    }
+                    batch = dirty;
+                    dirty = new BitSet();
+                    sendStartedAt = System.nanoTime();
+                }
+
+                StringBuilder json = new StringBuilder(batch.cardinality() * 96).append('[');
+                int count = 0;
+                for (int id = batch.nextSetBit(0); id >= 0; id = batch.nextSetBit(id + 1)) {
+                    String fragment = fragments.get(id);
+                    if (fragment != null) {
+                        if (count++ > 0) {
+                            json.append(',');
+                        }
+                        json.append(fragment);
+                    }
+                }
+                if (count == 0) {
+                    continue;
+                }
+
+                try {
+                    sink.send(json.append(']').toString());
+                    messagesSent.increment();
+                    updatesSent.add(count);
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Price stream subscriber gone: {}", e.getMessage());
+                    cancel();
+                    sink.close();
+                }
+            }
+        }
+
+        private boolean isStuck(long now) {
+            boolean inFlight;
+            synchronized (this) {
+                inFlight = sending;
+            }
+            return inFlight && now - sendStartedAt > sendTimeout.toNanos();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.investhub.stream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the price stream fan-out counters as {@code market.stream.*} meters.
+ */
+@Component
+public class PriceStreamMetrics implements MeterBinder {
+
+    private final PriceStreamHub priceStreamHub;
+
+    public PriceStreamMetrics(PriceStreamHub priceStreamHub) {
+        this.priceStreamHub = priceStreamHub;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("market.stream.subscribers", priceStreamHub, PriceStreamHub::subscriberCount)
+                .description("Connected price stream subscribers")
+                .register(registry);
+        FunctionCounter.builder("market.stream.messages", priceStreamHub, PriceStreamHub::getMessagesSent)
+                .description("Messages sent to subscribers")
+                .register(registry);
+        FunctionCounter.builder("market.stream.updates", priceStreamHub, PriceStreamHub::getUpdatesSent)
+                .description("Price updates sent to subscribers")
+                .register(registry);
+        FunctionCounter.builder("market.stream.updates.conflated", priceStreamHub, PriceStreamHub::getUpdatesConflated)
+                .description("Price updates superseded before a slow subscriber received them")
+                .register(registry);
+        FunctionCounter.builder("market.stream.subscribers.evicted", priceStreamHub, PriceStreamHub::getSubscribersEvicted)
+                .description("Subscribers disconnected for being stuck in a send")
+                .register(registry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.investhub.stream;
+
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Price stream over WebSocket at {@code /ws/prices}.
+ * <p>
+ * The symbols to follow are taken from the {@code symbols} query parameter (comma separated; none
+ * follows all) and can be changed on the open session with
+ * {@code {"method":"SUBSCRIBE","symbols":["SOLUSDT"]}} or {@code "UNSUBSCRIBE"}.
+ */
+@Component
+public class PriceStreamWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceStreamWebSocketHandler.class);
+    private static final String SUBSCRIPTION = "priceStreamSubscription";
+
+    private final PriceStreamHub priceStreamHub;
+    private final ObjectMapper objectMapper;
+
+    public PriceStreamWebSocketHandler(PriceStreamHub priceStreamHub, ObjectMapper objectMapper) {
+        this.priceStreamHub = priceStreamHub;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        List<String> symbols = session.getUri() == null ? List.of()
+                : PriceStreamCommand.parseSymbols(UriComponentsBuilder.fromUri(session.getUri())
+                        .build().getQueryParams().getFirst("symbols"));
+        try {
+            PriceStreamHub.Subscription subscription = priceStreamHub.subscribe(new SessionSink(session), symbols);
+            session.getAttributes().put(SUBSCRIPTION, subscription);
+        } catch (ResourceNotFoundException e) {
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        PriceStreamHub.Subscription subscription = subscription(session);
+        if (subscription == null) {
+            return;
+        }
+
+        PriceStreamCommand command = objectMapper.readValue(message.getPayload(), PriceStreamCommand.class);
+        List<String> symbols = command.symbols() == null ? List.of() : command.symbols();
+        try {
+            if ("SUBSCRIBE".equalsIgnoreCase(command.method())) {
+                subscription.follow(symbols);
+            } else if ("UNSUBSCRIBE".equalsIgnoreCase(command.method())) {
+                subscription.unfollow(symbols);
+            } else {
+                session.close(CloseStatus.BAD_DATA.withReason("Unknown method: " + command.method()));
+            }
+        } catch (ResourceNotFoundException e) {
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        PriceStreamHub.Subscription subscription = subscription(session);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    private static PriceStreamHub.Subscription subscription(WebSocketSession session) {
+        return (PriceStreamHub.Subscription) session.getAttributes().get(SUBSCRIPTION);
+    }
+
+    private static class SessionSink implements PriceSink {
+
+        private final WebSocketSession session;
+
+        SessionSink(WebSocketSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void send(String json) throws IOException {
+            session.sendMessage(new TextMessage(json));
+        }
+
+        @Override
+        public void close() {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Error closing price stream session", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.investhub.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Delivers price stream messages as {@code prices} server-sent events.
+ */
+public class SsePriceSink implements PriceSink {
+
+    private final SseEmitter emitter;
+
+    public SsePriceSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(String json) throws IOException {
+        emitter.send(SseEmitter.event().name("prices").data(json, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
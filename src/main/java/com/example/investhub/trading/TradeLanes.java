@@ -0,0 +1,142 @@
+package com.example.investhub.trading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs each user's trades one at a time, in the order they were submitted, and different users'
+ * trades in parallel.
+ * <p>
+ * Users are striped over {@code trading.lanes} lanes by id. A lane is a mailbox drained by one
+ * virtual thread at a time, started when a command arrives and ending once the mailbox is empty, so
+ * an idle lane holds no thread. Every command that reads a user's balance or holdings and then writes
+ * them goes through the user's lane, so what it checked still holds when it writes, without holding
+ * row locks across the check. Two users only wait on each other when they share a lane.
+ * <p>
+ * Callers wait for a lane outside any transaction scope: a waiting caller that held a connection would
+ * keep it from the lanes, and enough of them would leave the lanes none to trade with.
+ */
+@Component
+public class TradeLanes {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeLanes.class);
+
+    /** The lane the current thread is draining, so a command may call back into its own lane. */
+    private static final ThreadLocal<Lane> DRAINING = new ThreadLocal<>();
+
+    private final Lane[] lanes;
+    private final ExecutorService drainers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TradeLanes(@Value("${trading.lanes:256}") int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("trading.lanes must be at least 1, got " + lanes);
+        }
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Run a command on the user's lane and wait for it.
+     *
+     * @param userId The user the command trades for
+     * @param command The command; it opens its own transaction if it needs one
+     * @return What the command returned
+     * @throws IllegalStateException if called inside a transaction scope, which would hold its connection
+     *                               while waiting
+     * @throws RuntimeException whatever the command threw
+     */
+    public <T> T execute(long userId, Supplier<T> command) {
+        Lane lane = laneOf(userId);
+        if (DRAINING.get() == lane) {
+            // Already running on this lane, after every command submitted before this one
+            return command.get();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Trade of user " + userId + " must not wait for its lane inside a transaction");
+        }
+
+        FutureTask<T> task = new FutureTask<>(command::get);
+        enqueue(lane, task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a trade of user " + userId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Trade of user " + userId + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Queue a command on the user's lane without waiting for it. Never blocks.
+     *
+     * @param userId The user the command trades for
+     * @param command The command; what it throws is logged
+     */
+    public void submit(long userId, Runnable command) {
+        enqueue(laneOf(userId), () -> {
+            try {
+                command.run();
+            } catch (Exception e) {
+                log.error("Error running a trade of user {}", userId, e);
+            }
+        });
+    }
+
+    /** Number of lanes users are striped over. */
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    private Lane laneOf(long userId) {
+        return lanes[(int) Math.floorMod(userId, (long) lanes.length)];
+    }
+
+    private void enqueue(Lane lane, Runnable command) {
+        lane.mailbox.add(command);
+        if (lane.draining.compareAndSet(false, true)) {
+            drainers.execute(() -> drain(lane));
+        }
+    }
+
+    private void drain(Lane lane) {
+        DRAINING.set(lane);
+        try {
+            do {
+                Runnable command;
+                while ((command = lane.mailbox.poll()) != null) {
+                    command.run();
+                }
+                lane.draining.set(false);
+                // A command queued after the last poll, while the flag was still set, is picked up here
+            } while (!lane.mailbox.isEmpty() && lane.draining.compareAndSet(false, true));
+        } finally {
+            DRAINING.remove();
+        }
+    }
+
+    private static final class Lane {
+        final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
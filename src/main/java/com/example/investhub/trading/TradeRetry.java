@@ -0,0 +1,109 @@
+package com.example.investhub.trading;
+
+import com.example.investhub.exception.ConcurrentUpdateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a trade again when it lost a race for the account.
+ * <p>
+ * {@link TradeLanes} keep one instance from racing itself, but another instance, or a write outside
+ * the lanes such as an account reset, can still update the same user or holding meanwhile. The
+ * version columns turn that into a failed commit instead of a lost update; the trade is then run
+ * again from the start, in a new transaction, after a random pause that doubles from
+ * {@code trading.retry.initial-backoff} up to {@code trading.retry.max-backoff}. After
+ * {@code trading.retry.max-attempts} attempts it gives up with a {@link ConcurrentUpdateException}.
+ */
+@Component
+public class TradeRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeRetry.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final LongAdder trades = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public TradeRetry(@Value("${trading.retry.max-attempts:5}") int maxAttempts,
+                      @Value("${trading.retry.initial-backoff:2ms}") Duration initialBackoff,
+                      @Value("${trading.retry.max-backoff:50ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("trading.retry.max-attempts must be at least 1, got " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(maxBackoff.toNanos(), initialBackoffNanos);
+    }
+
+    /**
+     * Run a trade, again while it fails on a concurrent update.
+     *
+     * @param userId The user the trade is for
+     * @param attempt One attempt; it must open and commit its own transaction
+     * @return What the successful attempt returned
+     * @throws ConcurrentUpdateException if every attempt lost to a concurrent update
+     */
+    public <T> T run(long userId, Supplier<T> attempt) {
+        trades.increment();
+        long backoff = initialBackoffNanos;
+        for (int attempts = 1; ; attempts++) {
+            try {
+                return attempt.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempts >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("Trade of user {} lost {} times in a row to concurrent updates, giving up",
+                            userId, attempts);
+                    throw new ConcurrentUpdateException(userId, attempts, e);
+                }
+                retries.increment();
+                log.debug("Trade of user {} lost to a concurrent update, attempt {} of {}",
+                        userId, attempts, maxAttempts);
+                pause(userId, attempts, backoff, e);
+                backoff = Math.min(backoff * 2, maxBackoffNanos);
+            }
+        }
+    }
+
+    /** Random pause up to {@code backoff}, so trades that collided do not collide again in step. */
+    private void pause(long userId, int attempts, long backoff, ConcurrencyFailureException cause) {
+        if (backoff <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(backoff + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exhausted.increment();
+            throw new ConcurrentUpdateException(userId, attempts, cause);
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    /** Trades run, however many attempts each took. */
+    public long getTrades() {
+        return trades.sum();
+    }
+
+    /** Attempts that lost to a concurrent update and were run again. */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /** Trades that gave up after their last attempt lost as well. */
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.investhub.trading;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the trade retry counters as {@code trading.*} meters. The rate of {@code trading.retries}
+ * against {@code trading.trades} shows how often accounts are contended.
+ */
+@Component
+public class TradeRetryMetrics implements MeterBinder {
+
+    private final TradeRetry tradeRetry;
+
+    public TradeRetryMetrics(TradeRetry tradeRetry) {
+        this.tradeRetry = tradeRetry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("trading.trades", tradeRetry, TradeRetry::getTrades)
+                .description("Trades run against the database")
+                .register(registry);
+        FunctionCounter.builder("trading.retries", tradeRetry, TradeRetry::getRetries)
+                .description("Trade attempts that lost to a concurrent update of the account and were run again")
+                .register(registry);
+        FunctionCounter.builder("trading.retries.exhausted", tradeRetry, TradeRetry::getExhausted)
+                .description("Trades that gave up after losing every attempt to concurrent updates")
+                .register(registry);
+    }
+}
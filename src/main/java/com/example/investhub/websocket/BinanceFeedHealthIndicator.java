@@ -0,0 +1,34 @@
+package com.example.investhub.websocket;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the Binance price feed, part of the readiness group.
+ * <p>
+ * Reports UP while prices are live and OUT_OF_SERVICE while the feed is warming up, reconnecting
+ * or stalled. Liveness is not affected: the feed heals itself, restarting the app would not help.
+ */
+@Component("binanceFeed")
+public class BinanceFeedHealthIndicator implements HealthIndicator {
+
+    private final BinanceWebSocketService binanceWebSocketService;
+
+    public BinanceFeedHealthIndicator(BinanceWebSocketService binanceWebSocketService) {
+        this.binanceWebSocketService = binanceWebSocketService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = binanceWebSocketService.isLive() ? Health.up() : Health.outOfService();
+
+        builder.withDetail("state", String.valueOf(binanceWebSocketService.getConnectionState()))
+                .withDetail("warmingUp", binanceWebSocketService.isWarmingUp());
+        if (!binanceWebSocketService.isWarmingUp()) {
+            builder.withDetail("millisSinceLastTick", binanceWebSocketService.getMillisSinceLastTick());
+        }
+
+        return builder.build();
+    }
+}
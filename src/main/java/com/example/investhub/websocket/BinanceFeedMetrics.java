@@ -0,0 +1,45 @@
+package com.example.investhub.websocket;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the feed's ingest counters as {@code market.feed.*} meters.
+ */
+@Component
+public class BinanceFeedMetrics implements MeterBinder {
+
+    private final BinanceWebSocketService binanceWebSocketService;
+
+    public BinanceFeedMetrics(BinanceWebSocketService binanceWebSocketService) {
+        this.binanceWebSocketService = binanceWebSocketService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("market.feed.queue.depth", binanceWebSocketService, service -> service.getIngestStats().queueDepth())
+                .description("Frames waiting for the ingest threads")
+                .register(registry);
+
+        counter(registry, "market.feed.ticks.dropped", "Frames dropped because an ingest ring was full",
+                service -> service.getIngestStats().dropped());
+        counter(registry, "market.feed.ticks.decoded", "Ticks decoded and journaled",
+                service -> service.getIngestStats().decoded());
+        counter(registry, "market.feed.ticks.conflated", "Ticks superseded by a newer price before publishing",
+                service -> service.getIngestStats().conflated());
+        counter(registry, "market.feed.ticks.published", "Prices written to the price table",
+                service -> service.getIngestStats().published());
+    }
+
+    private void counter(MeterRegistry registry, String name, String description,
+                         ToDoubleFunction<BinanceWebSocketService> value) {
+        FunctionCounter.builder(name, binanceWebSocketService, value)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -1,99 +1,503 @@
 package com.example.investhub.websocket;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.investhub.exception.MarketDataUnavailableException;
+import com.example.investhub.alert.PriceAlertIndex;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.marketdata.TickJournal;
+import com.example.investhub.marketdata.TickJournalReader;
+import com.example.investhub.model.dto.BinanceSubscribeMessage;
+import com.example.investhub.model.enumeration.FeedConnectionState;
+import com.example.investhub.order.OrderEngine;
+import com.example.investhub.repository.AssetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
-import jakarta.websocket.*;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import com.example.investhub.model.dto.BinanceSubscribeMessage;
 
 import java.net.URI;
-import java.util.Collections;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
-@ClientEndpoint
+/**
+ * Streams Binance ticker prices into the {@link PriceTable}.
+ * <p>
+ * The subscription set is the asset catalog: it is read from {@link AssetRepository} on startup,
+ * when the application is ready and then periodically, and every difference is applied as an
+ * incremental SUBSCRIBE/UNSUBSCRIBE. Streams are spread over {@link FeedShard shards} of at most
+ * {@code binance.feed.streams-per-connection} streams, each with its own connection.
+ * <p>
+ * Every connection is a {@link FeedConnection}, which reconnects with backoff after a drop and
+ * re-subscribes its shard on every open. A watchdog recycles a connection when it goes silent.
+ * Callers that must not act on frozen prices use {@link #requireLiveFeed()}.
+ * <p>
+ * The feed is started as a {@link SmartLifecycle} once the context is refreshed and connects on
+ * its own threads, so startup never waits on the handshake. Until the first tick arrives the feed
+ * is {@linkplain #isWarmingUp() warming up}.
+ * <p>
+ * Ingest is staged per shard: the socket callback only copies a frame into the shard's
+ * preallocated {@link FrameRing}, and the shard's {@link TickIngestor} thread decodes it, journals
+ * it and publishes the latest price per symbol. Queue depth and dropped and conflated ticks are
+ * reported by {@link #getIngestStats()}.
+ * <p>
+ * Every accepted tick is appended to the {@link TickJournal}, folded into the {@link CandleStore} and checked
+ * against the {@link PriceAlertIndex} and the {@link OrderEngine}. With {@code market.replay.journal}
+ * set the feed does not connect at all and instead replays that journal through the same publish
+ * path, at {@code market.replay.speed} times the recorded pace (0 replays as fast as possible).
+ * Replayed prices move the price table, the candles and the push stream only: they are historical, so
+ * they trigger resting orders and price alerts only with {@code market.replay.triggers} set.
+ */
 @Service
-public class BinanceWebSocketService {
+public class BinanceWebSocketService implements SmartLifecycle {
 
     private static final Logger log = LoggerFactory.getLogger(BinanceWebSocketService.class);
 
     @Value("${binance.websocket.url}")
     private String binanceWebSocketUrl;
 
+    @Value("${binance.feed.initial-backoff:500ms}")
+    private Duration initialBackoff;
+
+    @Value("${binance.feed.max-backoff:30s}")
+    private Duration maxBackoff;
+
+    @Value("${binance.feed.stale-after:15s}")
+    private Duration staleAfter;
+
+    @Value("${binance.feed.streams-per-connection:200}")
+    private int streamsPerConnection;
+
+    @Value("${binance.feed.catalog-refresh:30s}")
+    private Duration catalogRefresh;
+
+    @Value("${binance.feed.ring-capacity:4096}")
+    private int ringCapacity = 4096;
+
+    @Value("${binance.feed.max-frame-length:2048}")
+    private int maxFrameLength = 2048;
+
+    @Value("${market.replay.journal:}")
+    private String replayJournal;
+
+    @Value("${market.replay.speed:1.0}")
+    private double replaySpeed;
+
+    @Value("${market.replay.triggers:false}")
+    private boolean replayTriggers;
+
     private final ObjectMapper objectMapper;
-    private final Map<String, Double> cryptoPrices = new ConcurrentHashMap<>();
-    private Session session;
+    private final PriceTable priceTable;
+    private final AssetRepository assetRepository;
+    private final TickJournal tickJournal;
+    private final CandleStore candleStore;
+    private final PriceAlertIndex priceAlerts;
+    private final OrderEngine orderEngine;
+    private final AtomicInteger requestIds = new AtomicInteger();
+
+    private final List<FeedShard> shards = new CopyOnWriteArrayList<>();
 
-    public BinanceWebSocketService(ObjectMapper objectMapper) {
+    /** Shard carrying each subscribed symbol; guarded by {@code this}. */
+    private final Map<String, FeedShard> shardBySymbol = new HashMap<>();
+    private int nextShardIndex;
+
+    /** Counters of shards that were stopped, so totals never go backwards. */
+    private volatile IngestStats retired = IngestStats.EMPTY;
+
+    private ScheduledExecutorService scheduler;
+    private WebSocketContainer container;
+    private volatile long lastTickAt;
+    private volatile boolean running;
+    private volatile boolean replaying;
+
+    public BinanceWebSocketService(ObjectMapper objectMapper,
+                                   PriceTable priceTable,
+                                   AssetRepository assetRepository,
+                                   TickJournal tickJournal,
+                                   CandleStore candleStore,
+                                   PriceAlertIndex priceAlerts,
+                                   OrderEngine orderEngine) {
         this.objectMapper = objectMapper;
+        this.priceTable = priceTable;
+        this.assetRepository = assetRepository;
+        this.tickJournal = tickJournal;
+        this.candleStore = candleStore;
+        this.priceAlerts = priceAlerts;
+        this.orderEngine = orderEngine;
+    }
+
+    // ==================== Lifecycle ====================
+
+    @Override
+    public synchronized void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemon("binance-feed-catalog"));
+        running = true;
+
+        if (replayJournal != null && !replayJournal.isBlank()) {
+            replaying = true;
+            scheduler.execute(() -> replay(Path.of(replayJournal), replaySpeed));
+            return;
+        }
+
+        container = ContainerProvider.getWebSocketContainer();
+
+        scheduler.scheduleWithFixedDelay(
+                this::refreshSubscriptions, 0, catalogRefresh.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Binance feed starting in the background: {}", binanceWebSocketUrl);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (FeedShard shard : shards) {
+            stopShard(shard);
+        }
+        shards.clear();
+        shardBySymbol.clear();
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        log.info("Binance WebSocket connections closed");
     }
 
-    @PostConstruct
-    public void init() {
-        connectToBinanceWebSocket();
+    @Override
+    public boolean isRunning() {
+        return running;
     }
 
-    private void connectToBinanceWebSocket() {
+    /**
+     * Pick up assets seeded after the lifecycle start without waiting for the next refresh.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (running && !replaying) {
+            scheduler.execute(this::refreshSubscriptions);
+        }
+    }
+
+    // ==================== Subscriptions ====================
+
+    /**
+     * Reconcile the subscriptions with the asset catalog.
+     */
+    public void refreshSubscriptions() {
         try {
-            WebSocketContainer container = ContainerProvider.getWebSocketContainer();
-            session = container.connectToServer(this, new URI(binanceWebSocketUrl));
-            log.info("Connected to Binance WebSocket");
+            applyCatalog(new LinkedHashSet<>(assetRepository.findAllSymbols()));
         } catch (Exception e) {
-            log.error("Error connecting to Binance WebSocket", e);
+            log.error("Error refreshing market data subscriptions", e);
         }
     }
 
-    @PreDestroy
-    public void cleanup() {
-        if (session != null && session.isOpen()) {
-            try {
-                session.close();
-                log.info("Binance WebSocket connection closed");
-            } catch (Exception e) {
-                log.error("Error closing WebSocket session", e);
+    synchronized void applyCatalog(Set<String> catalog) {
+        if (!running || replaying) {
+            return;
+        }
+
+        Map<FeedShard, List<String>> removals = new LinkedHashMap<>();
+        for (Map.Entry<String, FeedShard> entry : shardBySymbol.entrySet()) {
+            if (!catalog.contains(entry.getKey())) {
+                removals.computeIfAbsent(entry.getValue(), shard -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        removals.forEach(this::unsubscribe);
+
+        Map<FeedShard, List<String>> additions = new LinkedHashMap<>();
+        List<FeedShard> created = new ArrayList<>();
+        for (String symbol : catalog) {
+            if (shardBySymbol.containsKey(symbol)) {
+                continue;
+            }
+
+            FeedShard shard = shardWithRoom(additions, created);
+            additions.computeIfAbsent(shard, s -> new ArrayList<>()).add(symbol);
+            shardBySymbol.put(symbol, shard);
+            priceTable.register(symbol);
+        }
+
+        additions.forEach((shard, symbols) -> {
+            shard.addAll(symbols);
+            if (!created.contains(shard)) {
+                send(shard, BinanceSubscribeMessage.subscribe(symbols, requestIds.incrementAndGet()));
             }
+            log.info("[shard-{}] +{} streams ({} total)", shard.index(), symbols.size(), shard.size());
+        });
+        created.forEach(this::startShard);
+    }
+
+    private void unsubscribe(FeedShard shard, List<String> symbols) {
+        symbols.forEach(shardBySymbol::remove);
+        shard.removeAll(symbols);
+        log.info("[shard-{}] -{} streams ({} total)", shard.index(), symbols.size(), shard.size());
+
+        if (shard.size() == 0) {
+            shards.remove(shard);
+            stopShard(shard);
+        } else {
+            send(shard, BinanceSubscribeMessage.unsubscribe(symbols, requestIds.incrementAndGet()));
         }
     }
 
-    @OnOpen
-    public void onOpen(Session session) {
-        try {
-            BinanceSubscribeMessage subscribeMessage = BinanceSubscribeMessage.createDefaultSubscription();
-            String jsonMessage = objectMapper.writeValueAsString(subscribeMessage);
-            session.getAsyncRemote().sendText(jsonMessage);
-            log.info("Subscribed to Binance ticker channel: {}", jsonMessage);
-        } catch (Exception e) {
-            log.error("Error sending subscription message", e);
+    private FeedShard shardWithRoom(Map<FeedShard, List<String>> additions, List<FeedShard> created) {
+        for (FeedShard shard : shards) {
+            int pending = additions.getOrDefault(shard, List.of()).size();
+            if (shard.size() + pending < streamsPerConnection) {
+                return shard;
+            }
         }
+
+        int index = nextShardIndex++;
+        FeedShard shard = new FeedShard(index, Executors.newSingleThreadScheduledExecutor(daemon("binance-feed-" + index)));
+        shards.add(shard);
+        created.add(shard);
+        return shard;
+    }
+
+    private void startShard(FeedShard shard) {
+        FeedConnection connection = new FeedConnection(
+                "shard-" + shard.index(),
+                URI.create(binanceWebSocketUrl),
+                container,
+                shard.thread(),
+                new FeedConnection.Settings(initialBackoff, maxBackoff, staleAfter),
+                () -> shard.size() == 0 ? null
+                        : toJson(BinanceSubscribeMessage.subscribe(shard.symbols(), requestIds.incrementAndGet())),
+                shard::offer);
+        FrameRing ring = new FrameRing(ringCapacity, maxFrameLength);
+        TickIngestor ingestor = new TickIngestor(ring, priceTable, tickJournal, candleStore, priceAlerts, orderEngine,
+                this::publish);
+        shard.attach(connection, ring, ingestor);
+        ingestor.start("binance-ingest-" + shard.index());
+
+        long checkEvery = Math.max(staleAfter.toMillis() / 4, 100);
+        shard.thread().scheduleWithFixedDelay(
+                () -> connection.checkStale(System.currentTimeMillis()), checkEvery, checkEvery, TimeUnit.MILLISECONDS);
+        shard.thread().execute(connection::start);
     }
 
-    @OnMessage
-    public void onMessage(String message) {
+    private void stopShard(FeedShard shard) {
+        if (shard.connection() != null) {
+            shard.connection().stop();
+            shard.ingestor().stop();
+            retired = retired.retire(shard);
+        }
+        shard.thread().shutdownNow();
+    }
+
+    private void send(FeedShard shard, BinanceSubscribeMessage message) {
+        String frame = toJson(message);
+        if (frame != null && shard.connection() != null && !shard.connection().send(frame)) {
+            log.debug("[shard-{}] Not connected, change is applied on the next subscribe", shard.index());
+        }
+    }
+
+    private String toJson(BinanceSubscribeMessage message) {
         try {
-            log.debug("Received message: {}", message);
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.error("Error building subscription message", e);
+            return null;
+        }
+    }
 
-            JsonNode jsonNode = objectMapper.readTree(message);
+    /**
+     * Symbols carried by each shard, in shard order.
+     */
+    public List<List<String>> getShardSubscriptions() {
+        return shards.stream().map(FeedShard::symbols).toList();
+    }
 
-            if (jsonNode.has("e") && "24hrTicker".equals(jsonNode.get("e").asText()) && jsonNode.has("s") && jsonNode.has("c")) {
-                String symbol = jsonNode.get("s").asText();
-                double price = jsonNode.get("c").asDouble();
+    // ==================== Ingest ====================
 
-                if (!symbol.isEmpty()) {
-                    cryptoPrices.put(symbol, price);
-                    log.info("Updated price for {}: {}", symbol, price);
-                }
+    private void publish(int id, double price, long eventTime, long receivedAt) {
+        priceTable.update(id, price, eventTime, receivedAt);
+        lastTickAt = receivedAt;
+    }
+
+    /**
+     * Ingest counters summed over all shards, including stopped ones.
+     */
+    public IngestStats getIngestStats() {
+        IngestStats total = retired;
+        for (FeedShard shard : shards) {
+            if (shard.ingestor() != null) {
+                total = total.plus(shard);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Ingest counters.
+     *
+     * @param queueDepth Frames waiting in the rings
+     * @param dropped Frames dropped because a ring was full or a frame did not fit a slot
+     * @param decoded Ticks decoded and journaled
+     * @param conflated Ticks superseded by a newer price of the same symbol before publishing
+     * @param published Prices written to the price table
+     */
+    public record IngestStats(int queueDepth, long dropped, long decoded, long conflated, long published) {
+
+        static final IngestStats EMPTY = new IngestStats(0, 0, 0, 0, 0);
+
+        IngestStats plus(FeedShard shard) {
+            return add(shard, shard.queueDepth());
+        }
+
+        /** Adds a stopped shard's counters; its queue is gone. */
+        IngestStats retire(FeedShard shard) {
+            return add(shard, 0);
+        }
+
+        private IngestStats add(FeedShard shard, int shardQueueDepth) {
+            TickIngestor ingestor = shard.ingestor();
+            return new IngestStats(queueDepth + shardQueueDepth, dropped + shard.dropped(),
+                    decoded + ingestor.decoded(), conflated + ingestor.conflated(), published + ingestor.published());
+        }
+    }
+
+    // ==================== Replay ====================
+
+    /**
+     * Feed a recorded journal through the publish path, paced by the recorded receive times.
+     *
+     * @param journal Journal directory
+     * @param speed Multiple of the recorded pace; 0 or less replays as fast as possible
+     */
+    void replay(Path journal, double speed) {
+        try {
+            TickJournalReader reader = new TickJournalReader(journal);
+            int[] ids = new int[reader.symbolCount()];
+            for (int journalId = 0; journalId < ids.length; journalId++) {
+                ids[journalId] = priceTable.register(reader.symbol(journalId));
             }
+
+            log.info("Replaying tick journal {} at {}", journal, speed > 0 ? speed + "x" : "full speed");
+            long startedAt = System.nanoTime();
+            long[] firstReceive = {Long.MIN_VALUE};
+
+            long count = reader.forEach((journalId, eventTime, receiveTime, price) -> {
+                if (!running) {
+                    return false;
+                }
+                if (speed > 0) {
+                    if (firstReceive[0] == Long.MIN_VALUE) {
+                        firstReceive[0] = receiveTime;
+                    }
+                    long dueAt = startedAt + (long) ((receiveTime - firstReceive[0]) * 1_000_000 / speed);
+                    long wait;
+                    while ((wait = dueAt - System.nanoTime()) > 0 && running) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                candleStore.onTick(ids[journalId], price, eventTime);
+                if (replayTriggers) {
+                    priceAlerts.onTick(ids[journalId], price, eventTime);
+                    orderEngine.onTick(ids[journalId], price);
+                }
+                publish(ids[journalId], price, eventTime, System.currentTimeMillis());
+                return true;
+            });
+
+            log.info("Replayed {} ticks in {} ms", count, (System.nanoTime() - startedAt) / 1_000_000);
         } catch (Exception e) {
-            log.error("Error processing WebSocket message", e);
+            log.error("Error replaying tick journal {}", journal, e);
+        }
+    }
+
+    // ==================== Feed health ====================
+
+    /**
+     * Whether the feed has not delivered its first price yet.
+     */
+    public boolean isWarmingUp() {
+        return lastTickAt == 0;
+    }
+
+    /**
+     * State of the feed as a whole: the worst state of any shard.
+     */
+    public FeedConnectionState getConnectionState() {
+        if (replaying) {
+            return running ? FeedConnectionState.CONNECTED : FeedConnectionState.STOPPED;
+        }
+        if (shards.isEmpty()) {
+            return running ? FeedConnectionState.CONNECTING : FeedConnectionState.DISCONNECTED;
         }
+
+        FeedConnectionState worst = FeedConnectionState.CONNECTED;
+        for (FeedShard shard : shards) {
+            FeedConnectionState state = shard.state();
+            if (severity(state) > severity(worst)) {
+                worst = state;
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * Time since the last price update.
+     *
+     * @return Milliseconds since the last tick, or {@link Long#MAX_VALUE} if none arrived yet
+     */
+    public long getMillisSinceLastTick() {
+        long last = lastTickAt;
+        return last == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - last;
+    }
+
+    /**
+     * Whether prices are fresh enough to value holdings or fill orders.
+     */
+    public boolean isLive() {
+        return getConnectionState() == FeedConnectionState.CONNECTED
+                && getMillisSinceLastTick() <= staleAfter.toMillis();
+    }
+
+    /**
+     * Guard for code paths that must not run on a dead or stalled feed.
+     *
+     * @throws MarketDataUnavailableException if the feed is not live
+     */
+    public void requireLiveFeed() {
+        if (!isLive()) {
+            throw new MarketDataUnavailableException(getConnectionState(), getMillisSinceLastTick());
+        }
+    }
+
+    private static int severity(FeedConnectionState state) {
+        return switch (state) {
+            case CONNECTED -> 0;
+            case CONNECTING -> 1;
+            case STALE -> 2;
+            case DISCONNECTED, STOPPED -> 3;
+        };
     }
 
-    public Map<String, Double> getCryptoPrices() {
-        return Collections.unmodifiableMap(cryptoPrices);
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,267 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.model.enumeration.FeedConnectionState;
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+import jakarta.websocket.WebSocketContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A single supervised WebSocket connection to the market data feed.
+ * <p>
+ * The connection re-establishes itself after a close or error using exponential backoff with
+ * jitter, re-sends its subscription on every (re)open and is recycled by {@link #checkStale(long)}
+ * when no message has arrived for too long, which catches half-open sockets that never report
+ * a close. Connects and reconnects run on the supervisor's scheduler.
+ */
+public class FeedConnection extends Endpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedConnection.class);
+
+    private final String name;
+    private final URI uri;
+    private final WebSocketContainer container;
+    private final ScheduledExecutorService scheduler;
+    private final Settings settings;
+    private final Supplier<String> subscription;
+    private final Consumer<String> messageHandler;
+
+    private final AtomicBoolean reconnectPending = new AtomicBoolean();
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+
+    private volatile FeedConnectionState state = FeedConnectionState.DISCONNECTED;
+    private volatile Session session;
+    private volatile long lastMessageAt;
+    private volatile boolean stopped;
+
+    /**
+     * @param name Label used in logs
+     * @param uri Feed endpoint
+     * @param container WebSocket client container
+     * @param scheduler Scheduler running connects, reconnects and the watchdog
+     * @param settings Backoff and staleness settings
+     * @param subscription Supplies the subscription frame sent on every open, or null for none
+     * @param messageHandler Receives every text frame
+     */
+    public FeedConnection(String name,
+                          URI uri,
+                          WebSocketContainer container,
+                          ScheduledExecutorService scheduler,
+                          Settings settings,
+                          Supplier<String> subscription,
+                          Consumer<String> messageHandler) {
+        this.name = name;
+        this.uri = uri;
+        this.container = container;
+        this.scheduler = scheduler;
+        this.settings = settings;
+        this.subscription = subscription;
+        this.messageHandler = messageHandler;
+    }
+
+    /**
+     * Connect on the calling thread; failures are retried in the background.
+     */
+    public void start() {
+        stopped = false;
+        connect();
+    }
+
+    public void stop() {
+        stopped = true;
+        state = FeedConnectionState.STOPPED;
+
+        Session current = session;
+        if (current != null && current.isOpen()) {
+            try {
+                current.close(new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, "shutdown"));
+            } catch (Exception e) {
+                log.warn("[{}] Error closing WebSocket session", name, e);
+            }
+        }
+    }
+
+    private void connect() {
+        if (stopped) {
+            return;
+        }
+
+        state = FeedConnectionState.CONNECTING;
+        try {
+            container.connectToServer(this, ClientEndpointConfig.Builder.create().build(), uri);
+        } catch (Exception e) {
+            log.warn("[{}] Could not connect to {}: {}", name, uri, e.getMessage());
+            state = FeedConnectionState.DISCONNECTED;
+            scheduleReconnect();
+        }
+    }
+
+    // ==================== Endpoint callbacks ====================
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        this.session = session;
+        this.lastMessageAt = System.currentTimeMillis();
+        failedAttempts.set(0);
+
+        session.addMessageHandler(String.class, this::onMessage);
+        state = FeedConnectionState.CONNECTED;
+        log.info("[{}] Connected to {}", name, uri);
+
+        String frame = subscription != null ? subscription.get() : null;
+        if (frame != null) {
+            session.getAsyncRemote().sendText(frame);
+            log.info("[{}] Subscribed: {}", name, frame);
+        }
+    }
+
+    private void onMessage(String message) {
+        lastMessageAt = System.currentTimeMillis();
+        messageHandler.accept(message);
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        if (session != this.session) {
+            return;
+        }
+        this.session = null;
+
+        if (stopped) {
+            state = FeedConnectionState.STOPPED;
+            log.info("[{}] Connection closed", name);
+            return;
+        }
+
+        log.warn("[{}] Connection closed: {} {}", name, closeReason.getCloseCode(), closeReason.getReasonPhrase());
+        state = FeedConnectionState.DISCONNECTED;
+        scheduleReconnect();
+    }
+
+    @Override
+    public void onError(Session session, Throwable throwable) {
+        log.warn("[{}] WebSocket error: {}", name, throwable.getMessage());
+
+        if (session == this.session && !session.isOpen()) {
+            this.session = null;
+            state = FeedConnectionState.DISCONNECTED;
+            scheduleReconnect();
+        }
+    }
+
+    // ==================== Supervision ====================
+
+    /**
+     * Recycle the connection if it has been silent for longer than the stale threshold.
+     *
+     * @param now Current time in epoch milliseconds
+     */
+    public void checkStale(long now) {
+        Session current = session;
+        if (state != FeedConnectionState.CONNECTED || current == null) {
+            return;
+        }
+
+        long silentFor = now - lastMessageAt;
+        if (silentFor <= settings.staleAfter().toMillis()) {
+            return;
+        }
+
+        log.warn("[{}] No data for {} ms, reconnecting", name, silentFor);
+        state = FeedConnectionState.STALE;
+        this.session = null;
+        try {
+            current.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "stale feed"));
+        } catch (Exception e) {
+            log.debug("[{}] Error closing stale session", name, e);
+        }
+        scheduleReconnect();
+    }
+
+    private void scheduleReconnect() {
+        if (stopped || !reconnectPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        int attempt = failedAttempts.getAndIncrement();
+        long delay = backoffMillis(attempt, settings.initialBackoff().toMillis(), settings.maxBackoff().toMillis(),
+                ThreadLocalRandom.current().nextDouble());
+
+        log.info("[{}] Reconnecting in {} ms (attempt {})", name, delay, attempt + 1);
+        scheduler.schedule(() -> {
+            reconnectPending.set(false);
+            connect();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Exponential backoff with "equal jitter": the delay for an attempt is drawn uniformly from
+     * the upper half of the capped exponential step, so reconnecting clients spread out but never
+     * retry immediately.
+     *
+     * @param attempt Zero-based number of consecutive failed attempts
+     * @param initialMillis Step for the first attempt
+     * @param maxMillis Upper bound of the step
+     * @param jitter Uniform random value in [0, 1)
+     * @return Delay in milliseconds
+     */
+    static long backoffMillis(int attempt, long initialMillis, long maxMillis, double jitter) {
+        long step = initialMillis << Math.min(attempt, 30);
+        if (step <= 0 || step > maxMillis) {
+            step = maxMillis;
+        }
+        long half = step / 2;
+        return half + (long) (jitter * (step - half));
+    }
+
+    // ==================== State ====================
+
+    public String getName() {
+        return name;
+    }
+
+    public FeedConnectionState getState() {
+        return state;
+    }
+
+    public long getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    /**
+     * Send a text frame on the open session.
+     *
+     * @return false if the connection is not open
+     */
+    public boolean send(String frame) {
+        Session current = session;
+        if (current == null || !current.isOpen()) {
+            return false;
+        }
+        current.getAsyncRemote().sendText(frame);
+        return true;
+    }
+
+    /**
+     * Reconnect and staleness settings.
+     *
+     * @param initialBackoff Backoff step of the first reconnect attempt
+     * @param maxBackoff Cap of the backoff step
+     * @param staleAfter Silence after which the connection is recycled
+     */
+    public record Settings(Duration initialBackoff, Duration maxBackoff, Duration staleAfter) {}
+}
@@ -0,0 +1,98 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.model.enumeration.FeedConnectionState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * One connection's share of the market data subscriptions.
+ * <p>
+ * A shard owns a {@link FeedConnection}, a dedicated thread for its connects, reconnects and
+ * watchdog, and its own ingest pipeline, so shards never contend with each other. The socket
+ * callback only copies each frame into the shard's {@link FrameRing}; the {@link TickIngestor}
+ * decodes and publishes on its own thread. Frames arriving while the ring is full are dropped.
+ * The symbol set is what gets re-subscribed on every (re)open; incremental changes are sent on
+ * the open session as they happen.
+ */
+class FeedShard {
+
+    private final int index;
+    private final ScheduledExecutorService thread;
+    private final Set<String> symbols = new LinkedHashSet<>();
+
+    private FeedConnection connection;
+    private FrameRing ring;
+    private TickIngestor ingestor;
+
+    /** Written by the socket callback only. */
+    private volatile long dropped;
+
+    FeedShard(int index, ScheduledExecutorService thread) {
+        this.index = index;
+        this.thread = thread;
+    }
+
+    void attach(FeedConnection connection, FrameRing ring, TickIngestor ingestor) {
+        this.connection = connection;
+        this.ring = ring;
+        this.ingestor = ingestor;
+    }
+
+    /**
+     * Hand a frame to the ingest thread. Called on the connection's I/O thread.
+     */
+    void offer(String frame) {
+        if (!ring.offer(frame, System.currentTimeMillis())) {
+            dropped++;
+        }
+    }
+
+    int index() {
+        return index;
+    }
+
+    ScheduledExecutorService thread() {
+        return thread;
+    }
+
+    FeedConnection connection() {
+        return connection;
+    }
+
+    TickIngestor ingestor() {
+        return ingestor;
+    }
+
+    int queueDepth() {
+        return ring != null ? ring.depth() : 0;
+    }
+
+    long dropped() {
+        return dropped;
+    }
+
+    FeedConnectionState state() {
+        return connection != null ? connection.getState() : FeedConnectionState.DISCONNECTED;
+    }
+
+    synchronized int size() {
+        return symbols.size();
+    }
+
+    synchronized List<String> symbols() {
+        return new ArrayList<>(symbols);
+    }
+
+    synchronized void addAll(Collection<String> added) {
+        symbols.addAll(added);
+    }
+
+    synchronized void removeAll(Collection<String> removed) {
+        symbols.removeAll(removed);
+    }
+}
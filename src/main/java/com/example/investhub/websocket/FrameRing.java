@@ -0,0 +1,150 @@
+package com.example.investhub.websocket;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer, single-consumer ring of text frames.
+ * <p>
+ * Slots are preallocated character arrays, so handing a frame from the socket callback to the
+ * ingest thread is one {@link String#getChars} copy and no allocation. The producer never blocks:
+ * when the ring is full (or a frame does not fit a slot) {@link #offer} returns false and the
+ * caller counts the frame as dropped.
+ */
+final class FrameRing {
+
+    private final char[][] frames;
+    private final int[] lengths;
+    private final long[] receivedAt;
+    private final int mask;
+    private final int maxFrameLength;
+
+    /** Next sequence to write; written by the producer only. */
+    private final AtomicLong head = new AtomicLong();
+    /** Next sequence to read; written by the consumer only. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Producer-local copy of {@link #tail}, refreshed only when the ring looks full. */
+    private long cachedTail;
+
+    private final Slice slice = new Slice();
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two
+     * @param maxFrameLength Characters per slot
+     */
+    FrameRing(int capacity, int maxFrameLength) {
+        if (capacity <= 0 || maxFrameLength <= 0) {
+            throw new IllegalArgumentException("Ring capacity and frame length must be positive");
+        }
+        int slots = Integer.highestOneBit(capacity - 1) << 1;
+        if (capacity == 1) {
+            slots = 1;
+        }
+
+        this.frames = new char[slots][maxFrameLength];
+        this.lengths = new int[slots];
+        this.receivedAt = new long[slots];
+        this.mask = slots - 1;
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    /**
+     * Copy a frame into the next free slot. Producer thread only.
+     *
+     * @param frame The frame
+     * @param receivedAtMillis Receive time, epoch millis
+     * @return false if the ring is full or the frame is longer than a slot
+     */
+    boolean offer(String frame, long receivedAtMillis) {
+        int length = frame.length();
+        if (length > maxFrameLength) {
+            return false;
+        }
+
+        long sequence = head.getPlain();
+        if (sequence - cachedTail > mask) {
+            cachedTail = tail.getAcquire();
+            if (sequence - cachedTail > mask) {
+                return false;
+            }
+        }
+
+        int slot = (int) sequence & mask;
+        frame.getChars(0, length, frames[slot], 0);
+        lengths[slot] = length;
+        receivedAt[slot] = receivedAtMillis;
+        head.setRelease(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Hand up to {@code limit} queued frames to a handler, oldest first. Consumer thread only.
+     * The handler must not keep the {@link CharSequence}: the slot is reused afterwards.
+     *
+     * @return Number of frames handed over
+     */
+    int drain(FrameHandler handler, int limit) {
+        long sequence = tail.getPlain();
+        int available = (int) Math.min(head.getAcquire() - sequence, limit);
+
+        for (int i = 0; i < available; i++) {
+            int slot = (int) (sequence + i) & mask;
+            slice.reset(frames[slot], lengths[slot]);
+            handler.onFrame(slice, receivedAt[slot]);
+        }
+
+        tail.setRelease(sequence + available);
+        return available;
+    }
+
+    /** Number of queued frames. */
+    int depth() {
+        return (int) Math.max(0, head.get() - tail.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    @FunctionalInterface
+    interface FrameHandler {
+        void onFrame(CharSequence frame, long receivedAtMillis);
+    }
+
+    /**
+     * Reusable view of a slot.
+     */
+    private static final class Slice implements CharSequence {
+
+        private char[] chars;
+        private int length;
+
+        void reset(char[] chars, int length) {
+            this.chars = chars;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.alert.PriceAlertIndex;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.marketdata.TickJournal;
+import com.example.investhub.order.OrderEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consumer side of a shard's {@link FrameRing}: decodes frames on a dedicated thread and publishes
+ * prices.
+ * <p>
+ * Frames are drained in batches. Every decoded tick is journaled, folded into the candles and checked
+ * against the price alerts and resting orders, but only the latest price of each symbol in a batch is published, so when
+ * the consumer falls behind a burst collapses into one price-table write per symbol instead of a
+ * backlog of stale ones. Superseded ticks are counted as conflated.
+ * <p>
+ * Counters are written by the ingest thread only and may be read from any thread.
+ */
+class TickIngestor implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(TickIngestor.class);
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final FrameRing ring;
+    private final PriceTable priceTable;
+    private final TickJournal tickJournal;
+    private final CandleStore candleStore;
+    private final PriceAlertIndex priceAlerts;
+    private final OrderEngine orderEngine;
+    private final TickPublisher publisher;
+    private final TickerFrameDecoder decoder = new TickerFrameDecoder();
+    private final FrameRing.FrameHandler handler = this::onFrame;
+
+    /** Latest price per price-table id within the current batch. */
+    private final double[] pendingPrice;
+    private final long[] pendingEventTime;
+    private final long[] pendingReceivedAt;
+    private final boolean[] pending;
+    private final int[] touched;
+    private int touchedCount;
+
+    private volatile long decoded;
+    private volatile long conflated;
+    private volatile long published;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    TickIngestor(FrameRing ring, PriceTable priceTable, TickJournal tickJournal, CandleStore candleStore,
+                 PriceAlertIndex priceAlerts, OrderEngine orderEngine, TickPublisher publisher) {
+        this.ring = ring;
+        this.priceTable = priceTable;
+        this.tickJournal = tickJournal;
+        this.candleStore = candleStore;
+        this.priceAlerts = priceAlerts;
+        this.orderEngine = orderEngine;
+        this.publisher = publisher;
+
+        int capacity = priceTable.capacity();
+        this.pendingPrice = new double[capacity];
+        this.pendingEventTime = new long[capacity];
+        this.pendingReceivedAt = new long[capacity];
+        this.pending = new boolean[capacity];
+        this.touched = new int[capacity];
+    }
+
+    void start(String name) {
+        running = true;
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run() {
+        int idle = 0;
+        while (running) {
+            if (drain() > 0) {
+                idle = 0;
+            } else if (++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Decode everything queued and publish the latest price of each symbol.
+     *
+     * @return Number of frames taken from the ring
+     */
+    int drain() {
+        int frames = ring.drain(handler, ring.capacity());
+
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            pending[id] = false;
+            publisher.publish(id, pendingPrice[id], pendingEventTime[id], pendingReceivedAt[id]);
+        }
+        published += touchedCount;
+        touchedCount = 0;
+
+        return frames;
+    }
+
+    private void onFrame(CharSequence frame, long receivedAt) {
+        try {
+            if (!decoder.decode(frame)) {
+                return;
+            }
+
+            int id = priceTable.idOf(frame, decoder.symbolStart(), decoder.symbolEnd());
+            if (id < 0) {
+                id = priceTable.register(decoder.symbol());
+            }
+
+            double price = decoder.price();
+            long eventTime = decoder.eventTime();
+            tickJournal.append(id, eventTime, receivedAt, price);
+            candleStore.onTick(id, price, eventTime);
+            priceAlerts.onTick(id, price, eventTime);
+            orderEngine.onTick(id, price);
+            decoded++;
+
+            if (pending[id]) {
+                conflated++;
+            } else {
+                pending[id] = true;
+                touched[touchedCount++] = id;
+            }
+            pendingPrice[id] = price;
+            pendingEventTime[id] = eventTime;
+            pendingReceivedAt[id] = receivedAt;
+        } catch (Exception e) {
+            log.error("Error processing WebSocket message", e);
+        }
+    }
+
+    long decoded() {
+        return decoded;
+    }
+
+    long conflated() {
+        return conflated;
+    }
+
+    long published() {
+        return published;
+    }
+
+    /**
+     * Receives the prices that survive conflation.
+     */
+    @FunctionalInterface
+    interface TickPublisher {
+        void publish(int id, double price, long eventTime, long receivedAt);
+    }
+}
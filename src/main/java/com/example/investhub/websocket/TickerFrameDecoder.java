@@ -0,0 +1,370 @@
+package com.example.investhub.websocket;
+
+/**
+ * Streaming decoder for Binance {@code 24hrTicker} frames.
+ * <p>
+ * The decoder scans the top-level JSON object key by key and stops as soon as it has seen the
+ * event type ({@code e}), event time ({@code E}), symbol ({@code s}) and last price ({@code c}),
+ * so the remaining fields of the frame are never looked at. No tree or intermediate strings are
+ * built: the symbol is exposed as a range of the frame and the price is parsed straight from the
+ * characters. Frames that are not ticker events (e.g. subscription acknowledgements) are rejected.
+ * <p>
+ * Instances are reusable flyweights and are not thread-safe; use one per reading thread.
+ */
+public final class TickerFrameDecoder {
+
+    private static final String TICKER_EVENT = "24hrTicker";
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Mantissas up to 2^53 and scales up to 10^22 are exact, so one division rounds correctly. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    private static final int SYMBOL_CACHE_SIZE = 256;
+
+    private final String[] symbolCache = new String[SYMBOL_CACHE_SIZE];
+
+    private CharSequence frame;
+    private int pos;
+
+    private int symbolStart;
+    private int symbolEnd;
+    private long eventTime;
+    private double price;
+
+    /**
+     * Decode a frame.
+     *
+     * @param frame The raw text frame
+     * @return true if the frame is a ticker event and symbol, event time and price were read
+     */
+    public boolean decode(CharSequence frame) {
+        this.frame = frame;
+        this.pos = 0;
+
+        boolean tickerEvent = false;
+        boolean hasEventTime = false;
+        boolean hasSymbol = false;
+        boolean hasPrice = false;
+
+        skipWhitespace();
+        if (!consume('{')) {
+            return false;
+        }
+
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                return false;
+            }
+
+            int keyStart = pos + 1;
+            int keyEnd = skipString();
+            if (keyEnd < 0) {
+                return false;
+            }
+
+            skipWhitespace();
+            if (!consume(':')) {
+                return false;
+            }
+            skipWhitespace();
+
+            char key = keyEnd - keyStart == 1 ? frame.charAt(keyStart) : 0;
+            switch (key) {
+                case 'e' -> {
+                    int valueStart = pos + 1;
+                    int valueEnd = skipString();
+                    if (valueEnd < 0 || !regionEquals(valueStart, valueEnd, TICKER_EVENT)) {
+                        return false;
+                    }
+                    tickerEvent = true;
+                }
+                case 'E' -> {
+                    long value = parseLong();
+                    if (value < 0) {
+                        return false;
+                    }
+                    eventTime = value;
+                    hasEventTime = true;
+                }
+                case 's' -> {
+                    int valueStart = pos + 1;
+                    int valueEnd = skipString();
+                    if (valueEnd <= valueStart) {
+                        return false;
+                    }
+                    symbolStart = valueStart;
+                    symbolEnd = valueEnd;
+                    hasSymbol = true;
+                }
+                case 'c' -> {
+                    double value = parseDecimal();
+                    if (Double.isNaN(value)) {
+                        return false;
+                    }
+                    price = value;
+                    hasPrice = true;
+                }
+                default -> {
+                    if (!skipValue()) {
+                        return false;
+                    }
+                }
+            }
+
+            if (tickerEvent && hasEventTime && hasSymbol && hasPrice) {
+                return true;
+            }
+
+            skipWhitespace();
+            if (!consume(',')) {
+                return false;
+            }
+        }
+    }
+
+    /** The frame passed to the last successful {@link #decode(CharSequence)}. */
+    public CharSequence frame() {
+        return frame;
+    }
+
+    public int symbolStart() {
+        return symbolStart;
+    }
+
+    public int symbolEnd() {
+        return symbolEnd;
+    }
+
+    public long eventTime() {
+        return eventTime;
+    }
+
+    public double price() {
+        return price;
+    }
+
+    /**
+     * The decoded symbol as a String. Recently seen symbols are served from a small cache, so
+     * steady-state decoding of a fixed set of symbols does not allocate.
+     */
+    public String symbol() {
+        int index = hash(frame, symbolStart, symbolEnd) & (SYMBOL_CACHE_SIZE - 1);
+        String cached = symbolCache[index];
+        if (cached != null && regionEquals(symbolStart, symbolEnd, cached)) {
+            return cached;
+        }
+
+        String symbol = frame.subSequence(symbolStart, symbolEnd).toString();
+        symbolCache[index] = symbol;
+        return symbol;
+    }
+
+    /**
+     * Hash of a character range, identical to {@link String#hashCode()} of the same characters.
+     */
+    static int hash(CharSequence chars, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return h;
+    }
+
+    // ==================== Scanning ====================
+
+    private char peek() {
+        return pos < frame.length() ? frame.charAt(pos) : 0;
+    }
+
+    private boolean consume(char expected) {
+        if (peek() == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        int length = frame.length();
+        while (pos < length) {
+            char c = frame.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Skip a string starting at the current position.
+     *
+     * @return index of the closing quote, or -1 if there is no well-formed string here
+     */
+    private int skipString() {
+        if (!consume('"')) {
+            return -1;
+        }
+
+        int length = frame.length();
+        while (pos < length) {
+            char c = frame.charAt(pos);
+            if (c == '\\') {
+                pos += 2;
+            } else if (c == '"') {
+                return pos++;
+            } else {
+                pos++;
+            }
+        }
+        return -1;
+    }
+
+    private boolean skipValue() {
+        char c = peek();
+        if (c == '"') {
+            return skipString() >= 0;
+        }
+        if (c == '{' || c == '[') {
+            return skipContainer();
+        }
+
+        int length = frame.length();
+        int start = pos;
+        while (pos < length) {
+            char ch = frame.charAt(pos);
+            if (ch == ',' || ch == '}' || ch == ']' || ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos > start;
+    }
+
+    private boolean skipContainer() {
+        int depth = 0;
+        int length = frame.length();
+        while (pos < length) {
+            char c = frame.charAt(pos);
+            if (c == '"') {
+                if (skipString() < 0) {
+                    return false;
+                }
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth == 0) {
+                    pos++;
+                    return true;
+                }
+            }
+            pos++;
+        }
+        return false;
+    }
+
+    private boolean regionEquals(int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (frame.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ==================== Numbers ====================
+
+    /**
+     * Parse a non-negative integer, quoted or bare.
+     *
+     * @return the value, or -1 if there is no integer at the current position
+     */
+    private long parseLong() {
+        boolean quoted = consume('"');
+        int length = frame.length();
+        int start = pos;
+        long value = 0;
+
+        while (pos < length) {
+            char c = frame.charAt(pos);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + (c - '0');
+            pos++;
+        }
+
+        if (pos == start || pos - start > MAX_MANTISSA_DIGITS || (quoted && !consume('"'))) {
+            return -1;
+        }
+        return value;
+    }
+
+    /**
+     * Parse a decimal number, quoted (as Binance sends prices) or bare.
+     * <p>
+     * Plain decimals whose digits fit in an exactly representable mantissa take the fast path
+     * (one exact division by a power of ten, which rounds correctly); anything else, such as
+     * exponents or very long fractions, falls back to {@link Double#parseDouble(String)}.
+     *
+     * @return the value, or NaN if there is no number at the current position
+     */
+    private double parseDecimal() {
+        boolean quoted = consume('"');
+        int length = frame.length();
+        int start = pos;
+
+        boolean negative = consume('-');
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        boolean exact = true;
+
+        while (pos < length) {
+            char c = frame.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                if (digits > MAX_MANTISSA_DIGITS) {
+                    exact = false;
+                } else {
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (inFraction) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !inFraction) {
+                inFraction = true;
+            } else if (c == 'e' || c == 'E' || c == '+' || (c == '-' && pos > start)) {
+                exact = false;
+            } else {
+                break;
+            }
+            pos++;
+        }
+
+        int end = pos;
+        if (end == start || (negative && end == start + 1) || (quoted && !consume('"'))) {
+            return Double.NaN;
+        }
+
+        if (exact && mantissa <= MAX_EXACT_MANTISSA && fractionDigits < POWERS_OF_TEN.length) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(frame.subSequence(start, end).toString());
+    }
+}
@@ -0,0 +1,53 @@
+-- Tables as mapped by the JPA entities.
+-- Foreign keys on user_id are added once an index leading with user_id exists: H2 backs a key with an
+-- existing index when it can and otherwise creates a single-column one of its own, which the planner
+-- would then prefer over the composite indexes the queries are written for. The holdings and watchlist
+-- keys use their unique constraints, below; the transactions key follows its indexes in V2.
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(255)   NOT NULL,
+    password    VARCHAR(255)   NOT NULL,
+    usd_balance DECIMAL(19, 8) DEFAULT 30000 NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE assets (
+    id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    symbol VARCHAR(255) NOT NULL,
+    name   VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_assets_symbol UNIQUE (symbol)
+);
+
+CREATE TABLE holdings (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT           NOT NULL,
+    asset_id      BIGINT           NOT NULL,
+    quantity      DOUBLE PRECISION NOT NULL,
+    avg_buy_price DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uk_holdings_user_asset UNIQUE (user_id, asset_id),
+    CONSTRAINT fk_holdings_asset FOREIGN KEY (asset_id) REFERENCES assets (id)
+);
+
+CREATE TABLE transactions (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT                   NOT NULL,
+    asset_id       BIGINT                   NOT NULL,
+    type           VARCHAR(16)              NOT NULL,
+    quantity       DOUBLE PRECISION         NOT NULL,
+    price_per_unit DOUBLE PRECISION         NOT NULL,
+    timestamp      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_transactions_asset FOREIGN KEY (asset_id) REFERENCES assets (id)
+);
+
+CREATE TABLE watchlist (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id  BIGINT NOT NULL,
+    asset_id BIGINT NOT NULL,
+    CONSTRAINT uk_watchlist_user_asset UNIQUE (user_id, asset_id),
+    CONSTRAINT fk_watchlist_asset FOREIGN KEY (asset_id) REFERENCES assets (id)
+);
+
+ALTER TABLE holdings ADD CONSTRAINT fk_holdings_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+ALTER TABLE watchlist ADD CONSTRAINT fk_watchlist_user FOREIGN KEY (user_id) REFERENCES users (id);
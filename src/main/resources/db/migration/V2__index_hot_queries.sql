@@ -0,0 +1,18 @@
+-- Secondary indexes for the repository queries. The unique constraints of V1 already serve
+-- users.username, assets.symbol and every holdings / watchlist lookup by (user_id[, asset_id]).
+
+-- findByUser_Id, deleteByUser_Id, history pages and exports: WHERE user_id = ? ORDER BY timestamp, id
+CREATE INDEX idx_transactions_user_time
+    ON transactions (user_id, timestamp, id);
+
+-- Per-asset history pages and countTransactionsByUserAndAsset: WHERE user_id = ? AND asset_id = ?
+CREATE INDEX idx_transactions_user_asset_time
+    ON transactions (user_id, asset_id, timestamp, id);
+
+-- findByUserIdAndType (ordered by timestamp) and calculateTotalAmountByUserAndType, which it covers
+CREATE INDEX idx_transactions_user_type_time
+    ON transactions (user_id, type, timestamp, quantity, price_per_unit);
+
+-- Declared after the indexes so that one of them backs it (see V1)
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id);
+
@@ -0,0 +1,29 @@
+-- Resting LIMIT / STOP / STOP_LIMIT orders, reloaded into the order engine on startup.
+
+CREATE TABLE orders (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT                      NOT NULL,
+    asset_id       BIGINT                      NOT NULL,
+    side           VARCHAR(16)                 NOT NULL,
+    type           VARCHAR(16)                 NOT NULL,
+    quantity       DOUBLE PRECISION            NOT NULL,
+    limit_price    DOUBLE PRECISION,
+    stop_price     DOUBLE PRECISION,
+    triggered      BOOLEAN DEFAULT FALSE       NOT NULL,
+    status         VARCHAR(16)                 NOT NULL,
+    fill_price     DOUBLE PRECISION,
+    transaction_id BIGINT,
+    reject_reason  VARCHAR(255),
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_orders_asset FOREIGN KEY (asset_id) REFERENCES assets (id)
+);
+
+-- Startup load of open orders in id batches: WHERE status = 'OPEN' AND id > ? ORDER BY id
+CREATE INDEX idx_orders_status_id ON orders (status, id);
+
+-- A user's orders, newest first
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at, id);
+
+-- Declared after the index so that it backs the key (see V1)
+ALTER TABLE orders ADD CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id);
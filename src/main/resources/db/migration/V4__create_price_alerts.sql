@@ -0,0 +1,23 @@
+-- One-shot price alerts on watchlist assets, reloaded into the alert index on startup.
+
+CREATE TABLE price_alerts (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT                      NOT NULL,
+    asset_id        BIGINT                      NOT NULL,
+    direction       VARCHAR(16)                 NOT NULL,
+    threshold       DOUBLE PRECISION            NOT NULL,
+    status          VARCHAR(16)                 NOT NULL,
+    triggered_price DOUBLE PRECISION,
+    triggered_at    TIMESTAMP(6) WITH TIME ZONE,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_price_alerts_asset FOREIGN KEY (asset_id) REFERENCES assets (id)
+);
+
+-- Startup load of active alerts in id batches: WHERE status = 'ACTIVE' AND id > ? ORDER BY id
+CREATE INDEX idx_price_alerts_status_id ON price_alerts (status, id);
+
+-- A user's alerts, and the active alerts cancelled when an asset leaves the watchlist
+CREATE INDEX idx_price_alerts_user_asset ON price_alerts (user_id, asset_id, status);
+
+-- Declared after the index so that it backs the key (see V1)
+ALTER TABLE price_alerts ADD CONSTRAINT fk_price_alerts_user FOREIGN KEY (user_id) REFERENCES users (id);
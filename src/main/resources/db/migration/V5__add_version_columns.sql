@@ -0,0 +1,6 @@
+-- Optimistic locking: every update of a user's balance or a holding bumps its version and fails if
+-- another transaction bumped it first.
+
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE holdings ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
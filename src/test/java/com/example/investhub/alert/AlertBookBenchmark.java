@@ -0,0 +1,105 @@
+package com.example.investhub.alert;
+
+import com.example.investhub.support.MicroBenchmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Holds 1,000,000 active alerts across 200 symbol books and drives each symbol's price on a random
+ * walk, checking every tick the way {@link PriceAlertIndex#onTick} does. Every fired alert is re-armed
+ * around the new price, so the books stay at 1,000,000 alerts while the benchmark reports ticks and
+ * alerts fired per second, and the cost of a tick that crosses nothing against a scan of the symbol's
+ * alerts. Run with {@code mvn test -Pbenchmark -Dtest=AlertBookBenchmark}.
+ */
+class AlertBookBenchmark {
+
+    private static final int ALERTS = 1_000_000;
+    private static final int SYMBOLS = 200;
+
+    @Test
+    void ticksPerSecond_withAMillionActiveAlerts() {
+        Random random = new Random(42);
+        AlertBook[] books = new AlertBook[SYMBOLS];
+        double[] prices = new double[SYMBOLS];
+        List<List<ArmedAlert>> bySymbol = new ArrayList<>(SYMBOLS);
+        for (int s = 0; s < SYMBOLS; s++) {
+            books[s] = new AlertBook();
+            prices[s] = 100.0;
+            bySymbol.add(new ArrayList<>());
+        }
+        for (long id = 0; id < ALERTS; id++) {
+            int s = (int) (id % SYMBOLS);
+            ArmedAlert alert = around(id, s, prices[s], random);
+            books[s].add(alert);
+            bySymbol.get(s).add(alert);
+        }
+
+        List<ArmedAlert> fired = new ArrayList<>();
+        long[] fires = new long[1];
+        int warmup = 20_000;
+        int measured = 200_000;
+        MicroBenchmark.Result ticks = MicroBenchmark.run("tick + fire (random walk)", warmup, measured, i -> {
+            int s = i % SYMBOLS;
+            prices[s] = Math.max(1.0, prices[s] + (random.nextDouble() - 0.5) * 0.2);
+            AlertBook book = books[s];
+            if (book.crossedBy(prices[s])) {
+                fires[0] += book.match(prices[s], fired::add);
+                // Re-arm fired alerts so the book keeps its size
+                for (ArmedAlert alert : fired) {
+                    book.add(around(alert.id, s, prices[s], random));
+                }
+                fired.clear();
+            }
+            return 0;
+        });
+
+        int total = 0;
+        for (AlertBook book : books) {
+            total += book.size();
+        }
+        assertEquals(ALERTS, total);
+
+        // The last price of a symbol crosses nothing left in its book
+        int quiet = 7;
+        double quietPrice = prices[quiet];
+        assertFalse(books[quiet].crossedBy(quietPrice));
+        MicroBenchmark.Result noCross = MicroBenchmark.run("tick crossing nothing", 100_000, 1_000_000,
+                i -> books[quiet].crossedBy(quietPrice) ? 1 : 0);
+        MicroBenchmark.Result scan = MicroBenchmark.run("scan of the symbol's alerts", 100, 1_000,
+                i -> scan(bySymbol.get(quiet), quietPrice));
+
+        double firesPerSecond = fires[0] * ticks.opsPerSecond() / (warmup + measured);
+        System.out.printf("%,d active alerts over %d symbols: %,.0f ticks/s, %,.0f alerts fired/s, "
+                        + "%.1f ns per quiet tick (scan of %,d alerts: %,.0f ns)%n",
+                ALERTS, SYMBOLS, ticks.opsPerSecond(), firesPerSecond, noCross.nanosPerOp(),
+                bySymbol.get(quiet).size(), scan.nanosPerOp());
+
+        assertTrue(fires[0] > 0);
+        assertTrue(noCross.nanosPerOp() * 100 < scan.nanosPerOp(), "a quiet tick should not cost a scan");
+    }
+
+    /** An ABOVE or BELOW alert 0.05 to 5.05 away from {@code price}, on the side it waits for. */
+    private static ArmedAlert around(long id, int slot, double price, Random random) {
+        boolean above = random.nextBoolean();
+        double offset = 0.05 + random.nextDouble() * 5;
+        return new ArmedAlert(id, id % 1_000, slot, above, above ? price + offset : price - offset);
+    }
+
+    /** What a tick would cost checking every alert of the symbol. */
+    private static int scan(List<ArmedAlert> alerts, double price) {
+        int crossed = 0;
+        for (ArmedAlert alert : alerts) {
+            if (alert.above ? alert.threshold <= price : alert.threshold >= price) {
+                crossed++;
+            }
+        }
+        return crossed;
+    }
+}
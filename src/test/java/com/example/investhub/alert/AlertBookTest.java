@@ -0,0 +1,93 @@
+package com.example.investhub.alert;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertBookTest {
+
+    private AlertBook book;
+    private List<Long> fired;
+
+    @BeforeEach
+    void setUp() {
+        book = new AlertBook();
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void emptyBook_isCrossedByNothing() {
+        assertFalse(book.crossedBy(0.0));
+        assertFalse(book.crossedBy(Double.MAX_VALUE));
+        assertEquals(0, match(100.0));
+    }
+
+    @Test
+    void risingPrice_firesTheAboveAlertsItPassed_lowestFirst() {
+        book.add(alert(1, true, 110.0));
+        book.add(alert(2, true, 105.0));
+        book.add(alert(3, true, 120.0));
+        book.add(alert(4, false, 90.0));
+
+        assertFalse(book.crossedBy(104.9));
+        assertEquals(2, match(110.0));
+
+        assertEquals(List.of(2L, 1L), fired);
+        assertEquals(2, book.size());
+    }
+
+    @Test
+    void fallingPrice_firesTheBelowAlertsItPassed_highestFirst_andFifoWithinALevel() {
+        book.add(alert(1, false, 90.0));
+        book.add(alert(2, false, 95.0));
+        book.add(alert(3, false, 95.0));
+        book.add(alert(4, true, 110.0));
+
+        assertEquals(3, match(89.0));
+
+        assertEquals(List.of(2L, 3L, 1L), fired);
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    void crossedBy_followsTheNearestThresholdOnEachSide() {
+        ArmedAlert above = alert(1, true, 110.0);
+        book.add(above);
+        book.add(alert(2, false, 90.0));
+
+        assertTrue(book.crossedBy(110.0));
+        assertTrue(book.crossedBy(90.0));
+        assertFalse(book.crossedBy(100.0));
+        assertFalse(book.crossedBy(Double.NaN));
+
+        assertTrue(book.remove(above));
+        assertFalse(book.remove(above));
+        assertFalse(book.crossedBy(200.0));
+        assertEquals(0, match(200.0));
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    void firedAlert_isNotFiredAgain() {
+        ArmedAlert alert = alert(1, true, 110.0);
+        book.add(alert);
+
+        assertEquals(1, match(111.0));
+        assertEquals(0, match(112.0));
+
+        assertEquals(List.of(1L), fired);
+        assertFalse(book.remove(alert));
+    }
+
+    private int match(double price) {
+        return book.match(price, alert -> fired.add(alert.id));
+    }
+
+    private static ArmedAlert alert(long id, boolean above, double threshold) {
+        return new ArmedAlert(id, 1L, 0, above, threshold);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.investhub.catalog;
+
+import com.example.investhub.model.Asset;
+import com.example.investhub.repository.AssetRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssetCatalogTest {
+
+    @Mock private AssetRepository assetRepository;
+
+    @InjectMocks private AssetCatalog assetCatalog;
+
+    @Test
+    void findBySymbol_andFindById_shouldBeServedFromMemoryAfterLoad() {
+        when(assetRepository.findAll()).thenReturn(List.of(asset(1L, "BTCUSDT", "Bitcoin"), asset(2L, "ETHUSDT", "Ethereum")));
+
+        assetCatalog.load();
+
+        assertEquals("Bitcoin", assetCatalog.findBySymbol("BTCUSDT").orElseThrow().getName());
+        assertEquals("ETHUSDT", assetCatalog.findById(2L).orElseThrow().getSymbol());
+        assertEquals(List.of(1L, 2L), assetCatalog.findAll().stream().map(Asset::getId).toList());
+        assertEquals(2, assetCatalog.getHits());
+        assertEquals(0, assetCatalog.getMisses());
+        verify(assetRepository).findAll();
+        verifyNoMoreInteractions(assetRepository);
+    }
+
+    @Test
+    void findBySymbol_whenNotCached_shouldReadThroughAndCache() {
+        when(assetRepository.findAll()).thenReturn(List.of());
+        when(assetRepository.findBySymbol("SOLUSDT")).thenReturn(Optional.of(asset(3L, "SOLUSDT", "Solana")));
+
+        assertEquals(3L, assetCatalog.findBySymbol("SOLUSDT").orElseThrow().getId());
+        assertEquals(3L, assetCatalog.findBySymbol("SOLUSDT").orElseThrow().getId());
+
+        assertEquals(1, assetCatalog.getHits());
+        assertEquals(1, assetCatalog.getMisses());
+        verify(assetRepository, times(1)).findBySymbol("SOLUSDT");
+    }
+
+    @Test
+    void findBySymbol_whenUnknown_shouldReturnEmpty() {
+        when(assetRepository.findAll()).thenReturn(List.of());
+        when(assetRepository.findBySymbol("NOPE")).thenReturn(Optional.empty());
+
+        assertTrue(assetCatalog.findBySymbol("NOPE").isEmpty());
+        assertEquals(1, assetCatalog.getMisses());
+    }
+
+    @Test
+    void onCatalogChanged_shouldCopyOnWrite() {
+        when(assetRepository.findAll()).thenReturn(List.of(asset(1L, "BTCUSDT", "Bitcoin")));
+        AssetCatalog.Snapshot before = assetCatalog.snapshot();
+
+        assetCatalog.onCatalogChanged(new AssetCatalogChangedEvent(2L, "ETHUSDT", "Ethereum", false));
+        assetCatalog.onCatalogChanged(new AssetCatalogChangedEvent(1L, "BTCUSDT", "Bitcoin Core", false));
+
+        assertEquals(1, before.size());
+        assertEquals("Bitcoin", before.assets().get(0).getName());
+        assertEquals(before.version() + 2, assetCatalog.snapshot().version());
+        assertEquals("Bitcoin Core", assetCatalog.findBySymbol("BTCUSDT").orElseThrow().getName());
+        assertEquals("Ethereum", assetCatalog.findById(2L).orElseThrow().getName());
+
+        assetCatalog.onCatalogChanged(new AssetCatalogChangedEvent(2L, "ETHUSDT", "Ethereum", true));
+
+        assertEquals(List.of("BTCUSDT"), assetCatalog.findAll().stream().map(Asset::getSymbol).toList());
+        verify(assetRepository).findAll();
+    }
+
+    @Test
+    void onCatalogChanged_beforeLoad_shouldBeLeftToTheLoad() {
+        assetCatalog.onCatalogChanged(new AssetCatalogChangedEvent(1L, "BTCUSDT", "Bitcoin", false));
+        verifyNoInteractions(assetRepository);
+
+        when(assetRepository.findAll()).thenReturn(List.of(asset(1L, "BTCUSDT", "Bitcoin")));
+        assertEquals(1, assetCatalog.snapshot().size());
+    }
+
+    private static Asset asset(Long id, String symbol, String name) {
+        Asset asset = new Asset();
+        asset.setId(id);
+        asset.setSymbol(symbol);
+        asset.setName(name);
+        return asset;
+    }
+}
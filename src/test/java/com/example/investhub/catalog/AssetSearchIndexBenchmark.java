@@ -0,0 +1,92 @@
+package com.example.investhub.catalog;
+
+import com.example.investhub.model.Asset;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.support.MicroBenchmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares {@link AssetSearchIndex} with the previous full scan of the catalog on 10,000 assets.
+ * Run with {@code mvn test -Pbenchmark -Dtest=AssetSearchIndexBenchmark}.
+ */
+class AssetSearchIndexBenchmark {
+
+    private static final int ASSETS = 10_000;
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 200_000;
+
+    private static final String[] QUOTES = {"USDT", "BTC", "ETH", "EUR"};
+    private static final String[] WORDS = {"Coin", "Token", "Network", "Protocol", "Finance", "Chain", "Swap", "Labs"};
+
+    @Test
+    void searchIndex_vsScan() {
+        Random random = new Random(42);
+        List<Asset> catalog = new ArrayList<>(ASSETS);
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < ASSETS; i++) {
+            String base = randomLetters(random, 3 + random.nextInt(3));
+            Asset asset = new Asset();
+            asset.setId((long) i + 1);
+            asset.setSymbol(base + QUOTES[i % QUOTES.length]);
+            asset.setName(capitalize(randomLetters(random, 4 + random.nextInt(6))) + " " + WORDS[random.nextInt(WORDS.length)]);
+            catalog.add(asset);
+            if (i % 1_000 == 0) {
+                queries.add(base.toLowerCase());
+                queries.add(asset.getName().substring(0, 4));
+                queries.add(base.substring(1, 3));
+            }
+        }
+        queries.addAll(List.of("BTC", "usdt", "e", "network", "xyzzy"));
+        String[] q = queries.toArray(String[]::new);
+
+        AssetRepository assetRepository = mock(AssetRepository.class);
+        when(assetRepository.findAll()).thenReturn(catalog);
+        AssetSearchIndex index = new AssetSearchIndex(new AssetCatalog(assetRepository));
+
+        for (String query : q) {
+            assertEquals(scan(catalog, query).size(), index.search(query).size(), query);
+        }
+
+        MicroBenchmark.Result scan = MicroBenchmark.run("full scan", WARMUP, MEASURED,
+                i -> scan(catalog, q[i % q.length]).size());
+        MicroBenchmark.Result indexed = MicroBenchmark.run("AssetSearchIndex", WARMUP, MEASURED,
+                i -> index.search(q[i % q.length]).size());
+
+        System.out.printf("%,d assets, %d queries: speedup %.1fx, allocation %.0f -> %.0f B/query%n",
+                ASSETS, q.length, indexed.opsPerSecond() / scan.opsPerSecond(), scan.bytesPerOp(), indexed.bytesPerOp());
+
+        assertTrue(indexed.opsPerSecond() > scan.opsPerSecond());
+    }
+
+    /** The search as it was before the index. */
+    private static List<Asset> scan(List<Asset> catalog, String query) {
+        String upperQuery = query.toUpperCase();
+        return catalog.stream()
+                .filter(asset ->
+                    asset.getSymbol().toUpperCase().contains(upperQuery) ||
+                    asset.getName().toUpperCase().contains(upperQuery)
+                )
+                .toList();
+    }
+
+    private static String randomLetters(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('A' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private static String capitalize(String word) {
+        return word.charAt(0) + word.substring(1).toLowerCase();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.investhub.catalog;
+
+import com.example.investhub.model.Asset;
+import com.example.investhub.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssetSearchIndexTest {
+
+    @Mock private AssetRepository assetRepository;
+
+    private AssetCatalog assetCatalog;
+    private AssetSearchIndex assetSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        assetCatalog = new AssetCatalog(assetRepository);
+        assetSearchIndex = new AssetSearchIndex(assetCatalog);
+    }
+
+    @Test
+    void search_shouldMatchBySymbolOrName_caseInsensitive() {
+        when(assetRepository.findAll()).thenReturn(List.of(
+                asset("BTCUSDT", "Bitcoin"), asset("ETHUSDT", "Ethereum")));
+
+        assertEquals(List.of("BTCUSDT"), symbols(assetSearchIndex.search("btc")));
+        assertEquals(List.of("ETHUSDT"), symbols(assetSearchIndex.search("ETHERE")));
+        assertEquals(List.of("BTCUSDT"), symbols(assetSearchIndex.search("itcoi")));
+        assertEquals(List.of("BTCUSDT", "ETHUSDT"), symbols(assetSearchIndex.search("usdt")));
+        verify(assetRepository).findAll();
+    }
+
+    @Test
+    void search_whenNoMatch_shouldReturnEmptyList() {
+        when(assetRepository.findAll()).thenReturn(List.of(asset("BTCUSDT", "Bitcoin")));
+
+        assertTrue(assetSearchIndex.search("XRP").isEmpty());
+        assertTrue(assetSearchIndex.search("BITCOINS").isEmpty());
+        assertTrue(assetSearchIndex.search("Z").isEmpty());
+    }
+
+    @Test
+    void search_shouldRankExactSymbolThenPrefixesThenSubstrings() {
+        when(assetRepository.findAll()).thenReturn(List.of(
+                asset("WBTCUSDT", "Wrapped Bitcoin"),
+                asset("BTCDOWN", "BTC Down"),
+                asset("XBTC", "Btc Bridge"),
+                asset("BTC", "Bitcoin"),
+                asset("BTCUSDT", "Bitcoin")));
+
+        assertEquals(List.of("BTC", "BTCDOWN", "BTCUSDT", "XBTC", "WBTCUSDT"),
+                symbols(assetSearchIndex.search("btc")));
+    }
+
+    @Test
+    void search_withShortOrBlankQuery() {
+        when(assetRepository.findAll()).thenReturn(List.of(
+                asset("ETHUSDT", "Ethereum"), asset("BTCUSDT", "Bitcoin")));
+
+        assertEquals(List.of("BTCUSDT", "ETHUSDT"), symbols(assetSearchIndex.search("t")));
+        assertEquals(List.of("ETHUSDT"), symbols(assetSearchIndex.search("er")));
+        assertEquals(List.of("BTCUSDT", "ETHUSDT"), symbols(assetSearchIndex.search("  ")));
+    }
+
+    @Test
+    void search_afterCatalogChange_shouldRebuildFromCatalog() {
+        when(assetRepository.findAll()).thenReturn(List.of(asset("BTCUSDT", "Bitcoin")));
+
+        assertTrue(assetSearchIndex.search("sol").isEmpty());
+        assertTrue(assetSearchIndex.search("solana").isEmpty());
+
+        assetCatalog.onCatalogChanged(new AssetCatalogChangedEvent(99L, "SOLUSDT", "Solana", false));
+
+        assertEquals(List.of("SOLUSDT"), symbols(assetSearchIndex.search("solana")));
+        assertEquals(2, assetSearchIndex.size());
+        verify(assetRepository, times(1)).findAll();
+    }
+
+    private static Asset asset(String symbol, String name) {
+        Asset asset = new Asset();
+        asset.setId((long) symbol.hashCode());
+        asset.setSymbol(symbol);
+        asset.setName(name);
+        return asset;
+    }
+
+    private static List<String> symbols(List<Asset> assets) {
+        return assets.stream().map(Asset::getSymbol).toList();
+    }
+}
@@ -8,6 +8,8 @@ import com.example.investhub.model.WatchlistEntry;
 import com.example.investhub.model.enumeration.TransactionType;
 import com.example.investhub.repository.AssetRepository;
 import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
 import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.repository.WatchlistRepository;
@@ -46,6 +48,8 @@ class AccountControllerIT {
     @Autowired private HoldingRepository holdingRepository;
     @Autowired private TransactionRepository transactionRepository;
     @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private TradeOrderRepository orderRepository;
 
     private String token;
     private User user;
@@ -53,6 +57,8 @@ class AccountControllerIT {
     @BeforeEach
     void setUp() {
         // clean
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
         watchlistRepository.deleteAll();
         transactionRepository.deleteAll();
         holdingRepository.deleteAll();
@@ -82,7 +88,7 @@ class AccountControllerIT {
 
         // seed transaction
         Transaction t = new Transaction();
-        t.setUserId(user.getId());
+        t.setUser(user);
         t.setAsset(btc);
         t.setType(TransactionType.BUY);
         t.setQuantity(2.0);
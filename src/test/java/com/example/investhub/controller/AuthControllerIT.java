@@ -1,7 +1,13 @@
 package com.example.investhub.controller;
 
 import com.example.investhub.model.User;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
+import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
+import com.example.investhub.repository.WatchlistRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,10 +37,22 @@ class AuthControllerIT {
     @Autowired private MockMvc mockMvc;
 
     @Autowired private UserRepository userRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private TradeOrderRepository orderRepository;
+    @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private HoldingRepository holdingRepository;
+    @Autowired private AssetRepository assetRepository;
     @Autowired private PasswordEncoder passwordEncoder;
 
     @BeforeEach
     void setUp() {
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
+        watchlistRepository.deleteAll();
+        transactionRepository.deleteAll();
+        holdingRepository.deleteAll();
+        assetRepository.deleteAll();
         userRepository.deleteAll();
     }
 
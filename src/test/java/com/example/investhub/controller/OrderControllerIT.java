@@ -0,0 +1,260 @@
+package com.example.investhub.controller;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.Holding;
+import com.example.investhub.model.TradeOrder;
+import com.example.investhub.model.User;
+import com.example.investhub.model.enumeration.OrderStatus;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
+import com.example.investhub.repository.TransactionRepository;
+import com.example.investhub.repository.UserRepository;
+import com.example.investhub.repository.WatchlistRepository;
+import com.example.investhub.service.JwtService;
+import com.example.investhub.websocket.BinanceWebSocketService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Places resting orders over HTTP, moves the price in the {@link PriceTable} and waits for the
+ * order engine to fill them.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderControllerIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private AssetRepository assetRepository;
+    @Autowired private HoldingRepository holdingRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private TradeOrderRepository orderRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private PriceTable priceTable;
+
+    @SuppressWarnings("deprecation")
+    @MockBean private BinanceWebSocketService binanceWebSocketService;
+
+    private String token;
+    private User user;
+    private Asset btc;
+
+    @BeforeEach
+    void setUp() {
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
+        watchlistRepository.deleteAll();
+        transactionRepository.deleteAll();
+        holdingRepository.deleteAll();
+        assetRepository.deleteAll();
+        userRepository.deleteAll();
+
+        priceTable.update("BTCUSDT", 10000.0);
+
+        user = new User();
+        user.setUsername("orderuser");
+        user.setPassword("pass");
+        user.setUsdBalance(new BigDecimal("30000.00"));
+        user = userRepository.save(user);
+
+        btc = new Asset();
+        btc.setSymbol("BTCUSDT");
+        btc.setName("Bitcoin");
+        btc = assetRepository.save(btc);
+
+        token = jwtService.generateToken(user);
+    }
+
+    /** Orders reference users, which the other integration tests delete without knowing of orders. */
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    private String bearer() {
+        return "Bearer " + token;
+    }
+
+    @Test
+    void limitBuy_restsUntilThePriceFallsToIt_thenFillsAtThatPrice() throws Exception {
+        long orderId = place("""
+                {
+                  "side": "BUY",
+                  "type": "LIMIT",
+                  "assetSymbol": "BTCUSDT",
+                  "quantity": 1.0,
+                  "limitPrice": 9000.0
+                }
+                """);
+
+        priceTable.update("BTCUSDT", 9500.0);
+        Thread.sleep(100);
+        assertEquals(OrderStatus.OPEN, orderRepository.findById(orderId).orElseThrow().getStatus());
+
+        priceTable.update("BTCUSDT", 8900.0);
+        TradeOrder filled = awaitStatus(orderId, OrderStatus.FILLED);
+        assertEquals(8900.0, filled.getFillPrice(), 1e-9);
+
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(0, updated.getUsdBalance().compareTo(new BigDecimal("21100.00")));
+        Holding holding = holdingRepository.findByUser_IdAndAsset_Symbol(user.getId(), "BTCUSDT").orElseThrow();
+        assertEquals(1.0, holding.getQuantity(), 1e-9);
+
+        mockMvc.perform(get("/api/orders")
+                        .param("status", "FILLED")
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is((int) orderId)))
+                .andExpect(jsonPath("$[0].transactionId", is(filled.getTransactionId().intValue())));
+    }
+
+    @Test
+    void stopSell_firesWhenThePriceFallsThroughTheStop() throws Exception {
+        Holding holding = new Holding();
+        holding.setUser(user);
+        holding.setAsset(btc);
+        holding.setQuantity(2.0);
+        holding.setAvgBuyPrice(10000.0);
+        holdingRepository.save(holding);
+
+        long orderId = place("""
+                {
+                  "side": "SELL",
+                  "type": "STOP",
+                  "assetSymbol": "BTCUSDT",
+                  "quantity": 2.0,
+                  "stopPrice": 9000.0
+                }
+                """);
+
+        priceTable.update("BTCUSDT", 8800.0);
+        TradeOrder filled = awaitStatus(orderId, OrderStatus.FILLED);
+
+        assertEquals(8800.0, filled.getFillPrice(), 1e-9);
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(0, updated.getUsdBalance().compareTo(new BigDecimal("47600.00")));
+    }
+
+    @Test
+    void limitBuy_thatTheBalanceNoLongerCovers_isRejectedWhenTriggered() throws Exception {
+        long orderId = place("""
+                {
+                  "side": "BUY",
+                  "type": "LIMIT",
+                  "assetSymbol": "BTCUSDT",
+                  "quantity": 10.0,
+                  "limitPrice": 9000.0
+                }
+                """);
+
+        priceTable.update("BTCUSDT", 8000.0);
+        TradeOrder rejected = awaitStatus(orderId, OrderStatus.REJECTED);
+
+        assertEquals(0, userRepository.findById(user.getId()).orElseThrow()
+                .getUsdBalance().compareTo(new BigDecimal("30000.00")));
+        assertEquals(0, transactionRepository.count());
+        assertNotNull(rejected.getRejectReason());
+    }
+
+    @Test
+    void cancelOrder_stopsItFromFilling_andCannotBeRepeated() throws Exception {
+        long orderId = place("""
+                {
+                  "side": "BUY",
+                  "type": "LIMIT",
+                  "assetSymbol": "BTCUSDT",
+                  "quantity": 1.0,
+                  "limitPrice": 5000.0
+                }
+                """);
+
+        mockMvc.perform(delete("/api/orders/" + orderId)
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CANCELLED")));
+
+        priceTable.update("BTCUSDT", 4000.0);
+        Thread.sleep(100);
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertEquals(0, transactionRepository.count());
+
+        mockMvc.perform(delete("/api/orders/" + orderId)
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
+    @Test
+    void placeOrder_withoutTheRequiredPrice_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "side": "BUY",
+                                  "type": "STOP_LIMIT",
+                                  "assetSymbol": "BTCUSDT",
+                                  "quantity": 1.0,
+                                  "limitPrice": 9000.0
+                                }
+                                """)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+
+        assertEquals(0, orderRepository.count());
+    }
+
+    private long place(String body) throws Exception {
+        String response = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("OPEN")))
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    /** Fills happen on the engine's threads; poll the row until it reaches the status. */
+    private TradeOrder awaitStatus(long orderId, OrderStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        TradeOrder order;
+        while ((order = orderRepository.findById(orderId).orElseThrow()).getStatus() != status) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("order " + orderId + " still " + order.getStatus() + ", expected " + status);
+            }
+            Thread.sleep(10);
+        }
+        return order;
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.investhub.controller;
 
+import com.example.investhub.marketdata.PriceTable;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.Holding;
 import com.example.investhub.model.User;
 import com.example.investhub.repository.AssetRepository;
 import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
+import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
+import com.example.investhub.repository.WatchlistRepository;
 import com.example.investhub.service.JwtService;
 import com.example.investhub.websocket.BinanceWebSocketService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,11 +27,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
-import java.util.Map;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,6 +46,12 @@ class PortfolioControllerIT {
     @Autowired private UserRepository userRepository;
     @Autowired private AssetRepository assetRepository;
     @Autowired private HoldingRepository holdingRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private TradeOrderRepository orderRepository;
+    @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PriceTable priceTable;
+    @Autowired private EntityManagerFactory entityManagerFactory;
 
     @MockBean private BinanceWebSocketService binanceWebSocketService;
 
@@ -48,15 +62,17 @@ class PortfolioControllerIT {
 
     @BeforeEach
     void setUp() {
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
+        watchlistRepository.deleteAll();
+        transactionRepository.deleteAll();
         holdingRepository.deleteAll();
         assetRepository.deleteAll();
         userRepository.deleteAll();
 
-        // mock prices used by PortfolioService stats + total value
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(Map.of(
-                "BTCUSDT", 10000.0,
-                "ETHUSDT", 2000.0
-        ));
+        // prices used by PortfolioService stats + total value
+        priceTable.update("BTCUSDT", 10000.0);
+        priceTable.update("ETHUSDT", 2000.0);
 
         user = new User();
         user.setUsername("testuser");
@@ -188,6 +204,40 @@ class PortfolioControllerIT {
                 .andExpect(jsonPath("$.stats.performanceStatus", notNullValue()));
     }
 
+    @Test
+    void endpoints_issueAtMostTwoStatements() throws Exception {
+        List<String> endpoints = List.of("/api/portfolio", "/api/portfolio/balance", "/api/portfolio/holdings",
+                "/api/portfolio/stats");
+
+        // Without holdings, then with two
+        assertStatementsPerRequest(endpoints, 2);
+
+        for (Asset asset : List.of(btc, eth)) {
+            Holding h = new Holding();
+            h.setUser(user);
+            h.setAsset(asset);
+            h.setQuantity(1.0);
+            h.setAvgBuyPrice(1000.0);
+            holdingRepository.save(h);
+        }
+        assertStatementsPerRequest(endpoints, 2);
+        assertStatementsPerRequest(List.of("/api/portfolio/holdings/BTCUSDT"), 2);
+    }
+
+    private void assertStatementsPerRequest(List<String> endpoints, long max) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String endpoint : endpoints) {
+            statistics.clear();
+            mockMvc.perform(get(endpoint)
+                            .header("Authorization", bearer())
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+
+            long statements = statistics.getPrepareStatementCount();
+            assertTrue(statements <= max, endpoint + " issued " + statements + " statements");
+        }
+    }
+
     @Test
     void endpoints_withoutToken_shouldBeRejected() throws Exception {
         mockMvc.perform(get("/api/portfolio").accept(MediaType.APPLICATION_JSON))
@@ -0,0 +1,240 @@
+package com.example.investhub.controller;
+
+import com.example.investhub.alert.PriceAlertIndex;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.PriceAlert;
+import com.example.investhub.model.User;
+import com.example.investhub.model.WatchlistEntry;
+import com.example.investhub.model.enumeration.AlertStatus;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
+import com.example.investhub.repository.TransactionRepository;
+import com.example.investhub.repository.UserRepository;
+import com.example.investhub.repository.WatchlistRepository;
+import com.example.investhub.service.JwtService;
+import com.example.investhub.websocket.BinanceWebSocketService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Sets price alerts over HTTP and feeds ticks to the {@link PriceAlertIndex} as the ingest threads do.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class PriceAlertControllerIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private AssetRepository assetRepository;
+    @Autowired private HoldingRepository holdingRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private TradeOrderRepository orderRepository;
+    @Autowired private PriceAlertIndex priceAlertIndex;
+    @Autowired private PriceTable priceTable;
+
+    @SuppressWarnings("deprecation")
+    @MockBean private BinanceWebSocketService binanceWebSocketService;
+
+    private String token;
+    private int btcSlot;
+
+    @BeforeEach
+    void setUp() {
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
+        watchlistRepository.deleteAll();
+        transactionRepository.deleteAll();
+        holdingRepository.deleteAll();
+        assetRepository.deleteAll();
+        userRepository.deleteAll();
+
+        priceTable.update("BTCUSDT", 10000.0);
+        btcSlot = priceTable.idOf("BTCUSDT");
+
+        User user = new User();
+        user.setUsername("alertuser");
+        user.setPassword("pass");
+        user.setUsdBalance(new BigDecimal("30000.00"));
+        user = userRepository.save(user);
+
+        Asset btc = new Asset();
+        btc.setSymbol("BTCUSDT");
+        btc.setName("Bitcoin");
+        btc = assetRepository.save(btc);
+
+        Asset eth = new Asset();
+        eth.setSymbol("ETHUSDT");
+        eth.setName("Ethereum");
+        assetRepository.save(eth);
+
+        WatchlistEntry entry = new WatchlistEntry();
+        entry.setUser(user);
+        entry.setAsset(btc);
+        watchlistRepository.save(entry);
+
+        token = jwtService.generateToken(user);
+    }
+
+    /** Alerts reference users, which the other integration tests delete without knowing of alerts. */
+    @AfterEach
+    void tearDown() {
+        priceAlertRepository.deleteAll();
+    }
+
+    private String bearer() {
+        return "Bearer " + token;
+    }
+
+    @Test
+    void alertAbove_firesOnTheFirstTickAtOrAboveItsThreshold_andIsStreamed() throws Exception {
+        MockHttpServletResponse stream = mockMvc.perform(get("/api/watchlist/alerts/stream")
+                        .header("Authorization", bearer()))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        long alertId = create("BTCUSDT", "ABOVE", 11000.0);
+
+        long now = System.currentTimeMillis();
+        priceAlertIndex.onTick(btcSlot, 10900.0, now);
+        Thread.sleep(100);
+        assertEquals(AlertStatus.ACTIVE, priceAlertRepository.findById(alertId).orElseThrow().getStatus());
+
+        priceAlertIndex.onTick(btcSlot, 11050.0, now + 1);
+        PriceAlert triggered = awaitStatus(alertId, AlertStatus.TRIGGERED);
+        assertEquals(11050.0, triggered.getTriggeredPrice(), 1e-9);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!stream.getContentAsString().contains("\"alertId\":" + alertId) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String events = stream.getContentAsString();
+        assertTrue(events.contains("event:alert"), events);
+        assertTrue(events.contains("\"price\":11050.0"), events);
+
+        mockMvc.perform(get("/api/watchlist/alerts")
+                        .param("status", "TRIGGERED")
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is((int) alertId)))
+                .andExpect(jsonPath("$[0].triggeredPrice", is(11050.0)));
+    }
+
+    @Test
+    void alertBelow_firesWhenThePriceFallsThroughIt() throws Exception {
+        long alertId = create("BTCUSDT", "BELOW", 9000.0);
+
+        priceAlertIndex.onTick(btcSlot, 8990.0, System.currentTimeMillis());
+
+        assertEquals(8990.0, awaitStatus(alertId, AlertStatus.TRIGGERED).getTriggeredPrice(), 1e-9);
+    }
+
+    @Test
+    void cancelAlert_stopsItFiring_andCannotBeRepeated() throws Exception {
+        long alertId = create("BTCUSDT", "ABOVE", 12000.0);
+
+        mockMvc.perform(delete("/api/watchlist/alerts/" + alertId)
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CANCELLED")));
+
+        priceAlertIndex.onTick(btcSlot, 12500.0, System.currentTimeMillis());
+        Thread.sleep(100);
+        assertEquals(AlertStatus.CANCELLED, priceAlertRepository.findById(alertId).orElseThrow().getStatus());
+
+        mockMvc.perform(delete("/api/watchlist/alerts/" + alertId)
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
+    @Test
+    void removingTheAssetFromTheWatchlist_cancelsItsAlerts() throws Exception {
+        long alertId = create("BTCUSDT", "BELOW", 9500.0);
+
+        mockMvc.perform(delete("/api/watchlist/BTCUSDT")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isNoContent());
+
+        assertEquals(AlertStatus.CANCELLED, priceAlertRepository.findById(alertId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void createAlert_onAnAssetOutsideTheWatchlist_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/watchlist/alerts")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "assetSymbol": "ETHUSDT",
+                                  "direction": "ABOVE",
+                                  "threshold": 3000.0
+                                }
+                                """)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+
+        assertEquals(0, priceAlertRepository.count());
+    }
+
+    private long create(String symbol, String direction, double threshold) throws Exception {
+        String response = mockMvc.perform(post("/api/watchlist/alerts")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "assetSymbol": "%s",
+                                  "direction": "%s",
+                                  "threshold": %s
+                                }
+                                """.formatted(symbol, direction, threshold))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("ACTIVE")))
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    /** Alerts are recorded on the dispatcher thread; poll the row until it reaches the status. */
+    private PriceAlert awaitStatus(long alertId, AlertStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        PriceAlert alert;
+        while ((alert = priceAlertRepository.findById(alertId).orElseThrow()).getStatus() != status) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("alert " + alertId + " still " + alert.getStatus() + ", expected " + status);
+            }
+            Thread.sleep(10);
+        }
+        return alert;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.investhub.controller;
 
+import com.example.investhub.marketdata.PriceTable;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.Holding;
 import com.example.investhub.model.Transaction;
@@ -7,10 +8,17 @@ import com.example.investhub.model.User;
 import com.example.investhub.model.enumeration.TransactionType;
 import com.example.investhub.repository.AssetRepository;
 import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
 import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
+import com.example.investhub.repository.WatchlistRepository;
 import com.example.investhub.service.JwtService;
 import com.example.investhub.websocket.BinanceWebSocketService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,11 +30,13 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
-import java.util.Map;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,6 +56,11 @@ class TransactionControllerIT {
     @Autowired private AssetRepository assetRepository;
     @Autowired private HoldingRepository holdingRepository;
     @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private TradeOrderRepository orderRepository;
+    @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private PriceTable priceTable;
+    @Autowired private EntityManagerFactory entityManagerFactory;
 
     @SuppressWarnings("deprecation")
     @MockBean private BinanceWebSocketService binanceWebSocketService;
@@ -56,16 +71,17 @@ class TransactionControllerIT {
 
     @BeforeEach
     void setUp() {
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
+        watchlistRepository.deleteAll();
         transactionRepository.deleteAll();
         holdingRepository.deleteAll();
         assetRepository.deleteAll();
         userRepository.deleteAll();
 
-        // Mock prices (MarketDataService -> BinanceWebSocketService)
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(Map.of(
-                "BTCUSDT", 10000.0,
-                "ETHUSDT", 2000.0
-        ));
+        // Seed prices (MarketDataService -> PriceTable)
+        priceTable.update("BTCUSDT", 10000.0);
+        priceTable.update("ETHUSDT", 2000.0);
 
         // Seed user
         user = new User();
@@ -94,7 +110,8 @@ class TransactionControllerIT {
                         .header("Authorization", bearer())
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", is(empty())));
+                .andExpect(jsonPath("$.transactions", is(empty())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
     }
 
     @Test
@@ -132,9 +149,35 @@ class TransactionControllerIT {
                         .header("Authorization", bearer())
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].type", is("BUY")))
-                .andExpect(jsonPath("$[0].assetSymbol", is("BTCUSDT")));
+                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.transactions[0].type", is("BUY")))
+                .andExpect(jsonPath("$.transactions[0].assetSymbol", is("BTCUSDT")));
+    }
+
+    @Test
+    void createTransaction_shouldResolveAssetFromCatalogWithoutQueryingAssets() throws Exception {
+        String body = """
+                {
+                  "type": "BUY",
+                  "assetSymbol": "btcusdt",
+                  "quantity": 0.5
+                }
+                """;
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assetSymbol", is("BTCUSDT")));
+
+        // The catalog's asset is detached, so any read of the assets table would load an Asset
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+        assertEquals(0, statistics.getEntityStatistics(Asset.class.getName()).getLoadCount(),
+                "order path loaded an asset from the database");
     }
 
     @Test
@@ -204,7 +247,7 @@ class TransactionControllerIT {
         eth = assetRepository.save(eth);
 
         Transaction t1 = new Transaction();
-        t1.setUserId(user.getId());
+        t1.setUser(user);
         t1.setType(TransactionType.BUY);
         t1.setAsset(btc);
         t1.setQuantity(1.0);
@@ -212,7 +255,7 @@ class TransactionControllerIT {
         transactionRepository.save(t1);
 
         Transaction t2 = new Transaction();
-        t2.setUserId(user.getId());
+        t2.setUser(user);
         t2.setType(TransactionType.BUY);
         t2.setAsset(eth);
         t2.setQuantity(2.0);
@@ -223,14 +266,14 @@ class TransactionControllerIT {
                         .header("Authorization", bearer())
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].assetSymbol", is("BTCUSDT")));
+                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.transactions[0].assetSymbol", is("BTCUSDT")));
     }
 
     @Test
     void getTransactionById_shouldReturnTransaction_whenOwnedByUser() throws Exception {
         Transaction t = new Transaction();
-        t.setUserId(user.getId());
+        t.setUser(user);
         t.setType(TransactionType.BUY);
         t.setAsset(btc);
         t.setQuantity(1.0);
@@ -255,7 +298,7 @@ class TransactionControllerIT {
     void getTransactionsByType_shouldReturnOnlyBuyTransactions() throws Exception {
         // Seed BUY and SELL transactions
         Transaction buyTx = new Transaction();
-        buyTx.setUserId(user.getId());
+        buyTx.setUser(user);
         buyTx.setType(TransactionType.BUY);
         buyTx.setAsset(btc);
         buyTx.setQuantity(1.0);
@@ -263,7 +306,7 @@ class TransactionControllerIT {
         transactionRepository.save(buyTx);
 
         Transaction sellTx = new Transaction();
-        sellTx.setUserId(user.getId());
+        sellTx.setUser(user);
         sellTx.setType(TransactionType.SELL);
         sellTx.setAsset(btc);
         sellTx.setQuantity(0.5);
@@ -275,25 +318,25 @@ class TransactionControllerIT {
                         .header("Authorization", bearer())
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].type", is("BUY")))
-                .andExpect(jsonPath("$[0].quantity", is(1.0)));
+                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.transactions[0].type", is("BUY")))
+                .andExpect(jsonPath("$.transactions[0].quantity", is(1.0)));
 
         // Get only SELL transactions
         mockMvc.perform(get("/api/transactions?type=SELL")
                         .header("Authorization", bearer())
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].type", is("SELL")))
-                .andExpect(jsonPath("$[0].quantity", is(0.5)));
+                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.transactions[0].type", is("SELL")))
+                .andExpect(jsonPath("$.transactions[0].quantity", is(0.5)));
     }
 
     @Test
     void getTotalAmountByType_shouldReturnCorrectTotals() throws Exception {
         // Seed multiple BUY transactions
         Transaction buy1 = new Transaction();
-        buy1.setUserId(user.getId());
+        buy1.setUser(user);
         buy1.setType(TransactionType.BUY);
         buy1.setAsset(btc);
         buy1.setQuantity(1.0);
@@ -301,7 +344,7 @@ class TransactionControllerIT {
         transactionRepository.save(buy1);
 
         Transaction buy2 = new Transaction();
-        buy2.setUserId(user.getId());
+        buy2.setUser(user);
         buy2.setType(TransactionType.BUY);
         buy2.setAsset(btc);
         buy2.setQuantity(0.5);
@@ -322,7 +365,7 @@ class TransactionControllerIT {
         // Seed multiple transactions for BTC
         for (int i = 0; i < 3; i++) {
             Transaction tx = new Transaction();
-            tx.setUserId(user.getId());
+            tx.setUser(user);
             tx.setType(TransactionType.BUY);
             tx.setAsset(btc);
             tx.setQuantity(0.1);
@@ -356,4 +399,334 @@ class TransactionControllerIT {
                                 """))
                 .andExpect(status().is(anyOf(is(401), is(403))));
     }
+
+    @Test
+    void getUserTransactions_pagesByCursor_newestFirst_withoutGapsOrDuplicates() throws Exception {
+        Instant base = Instant.parse("2026-01-15T10:00:00Z");
+        // Two rows share a timestamp, so only the id tells them apart
+        List<Long> ids = new ArrayList<>();
+        for (Instant at : List.of(base, base.plusSeconds(1), base.plusSeconds(1), base.plusSeconds(2), base.plusSeconds(3))) {
+            ids.add(saveTransaction(TransactionType.BUY, btc, at).getId());
+        }
+        List<Long> newestFirst = List.of(ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/transactions?limit=2" + (cursor != null ? "&before=" + cursor : "");
+            String body = mockMvc.perform(get(url)
+                            .header("Authorization", bearer())
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transactions", hasSize(lessThanOrEqualTo(2))))
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> page = JsonPath.read(body, "$.transactions[*].id");
+            page.forEach(id -> seen.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(newestFirst, seen);
+
+        // Walking back towards newer rows from the oldest one
+        String oldest = mockMvc.perform(get("/api/transactions?limit=4")
+                        .header("Authorization", bearer()))
+                .andReturn().getResponse().getContentAsString();
+        String afterCursor = JsonPath.read(oldest, "$.nextCursor");
+        mockMvc.perform(get("/api/transactions?limit=2&after=" + afterCursor)
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[*].id", contains(ids.get(3).intValue(), ids.get(2).intValue())))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()));
+    }
+
+    @Test
+    void getUserTransactions_appliesTypeAssetAndDateFilters() throws Exception {
+        Asset eth = new Asset();
+        eth.setSymbol("ETHUSDT");
+        eth.setName("Ethereum");
+        eth = assetRepository.save(eth);
+
+        Instant base = Instant.parse("2026-01-15T10:00:00Z");
+        saveTransaction(TransactionType.BUY, btc, base);
+        Transaction match = saveTransaction(TransactionType.SELL, btc, base.plusSeconds(60));
+        saveTransaction(TransactionType.SELL, eth, base.plusSeconds(60));
+        saveTransaction(TransactionType.SELL, btc, base.plusSeconds(120));
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("type", "SELL")
+                        .param("asset", "btcusdt")
+                        .param("from", base.plusSeconds(30).toString())
+                        .param("to", base.plusSeconds(120).toString())
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.transactions[0].id", is(match.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void getUserTransactions_rejectsBadPagingParameters() throws Exception {
+        mockMvc.perform(get("/api/transactions?limit=0").header("Authorization", bearer()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/transactions?limit=501").header("Authorization", bearer()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/transactions?before=not-a-cursor").header("Authorization", bearer()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportTransactions_streamsNdjsonAndCsv_oldestFirst() throws Exception {
+        Instant base = Instant.parse("2026-01-15T10:00:00Z");
+        Transaction first = saveTransaction(TransactionType.BUY, btc, base);
+        Transaction second = saveTransaction(TransactionType.SELL, btc, base.plusSeconds(1));
+
+        String ndjson = mockMvc.perform(get("/api/transactions/export?format=ndjson")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("transactions.ndjson")))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first.getId().intValue(), (int) JsonPath.read(lines[0], "$.id"));
+        assertEquals("BUY", JsonPath.read(lines[0], "$.type"));
+        assertEquals("BTCUSDT", JsonPath.read(lines[0], "$.assetSymbol"));
+        assertEquals("2026-01-15T10:00:00Z", JsonPath.read(lines[0], "$.timestamp"));
+        assertEquals(second.getId().intValue(), (int) JsonPath.read(lines[1], "$.id"));
+
+        mockMvc.perform(get("/api/transactions/export?format=csv")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(
+                        "id,type,assetSymbol,quantity,pricePerUnit,timestamp\n"
+                                + first.getId() + ",BUY,BTCUSDT,1.0,10000.0,2026-01-15T10:00:00Z\n"
+                                + second.getId() + ",SELL,BTCUSDT,1.0,10000.0,2026-01-15T10:00:01Z\n"));
+    }
+
+    @Test
+    void exportTransactions_takesTheUserFromTheToken_withoutLoadingIt() throws Exception {
+        saveTransaction(TransactionType.BUY, btc, Instant.parse("2026-01-15T10:00:00Z"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/transactions/export?format=csv")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk());
+
+        // The rows are read through JDBC, so Hibernate prepares nothing unless the user is looked up
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void exportTransactions_unknownFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/transactions/export?format=xml").header("Authorization", bearer()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTransactionsByAsset_pagesWithinTimeRange() throws Exception {
+        Asset eth = new Asset();
+        eth.setSymbol("ETHUSDT");
+        eth.setName("Ethereum");
+        eth = assetRepository.save(eth);
+
+        Instant base = Instant.parse("2026-01-15T10:00:00Z");
+        List<Long> btcIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            btcIds.add(saveTransaction(TransactionType.BUY, btc, base.plusSeconds(i)).getId());
+            saveTransaction(TransactionType.BUY, eth, base.plusSeconds(i));
+        }
+
+        String body = mockMvc.perform(get("/api/transactions/asset/btcusdt")
+                        .param("from", base.plusSeconds(1).toString())
+                        .param("to", base.plusSeconds(4).toString())
+                        .param("limit", "2")
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[*].id", contains(btcIds.get(3).intValue(), btcIds.get(2).intValue())))
+                .andExpect(jsonPath("$.transactions[*].assetSymbol", everyItem(is("BTCUSDT"))))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = JsonPath.read(body, "$.nextCursor");
+        mockMvc.perform(get("/api/transactions/asset/BTCUSDT")
+                        .param("from", base.plusSeconds(1).toString())
+                        .param("to", base.plusSeconds(4).toString())
+                        .param("limit", "2")
+                        .param("before", cursor)
+                        .header("Authorization", bearer())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[*].id", contains(btcIds.get(1).intValue())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        mockMvc.perform(get("/api/transactions/asset/NOPEUSDT").header("Authorization", bearer()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createTransactionBatch_fillsEveryOrderInTurn_andWritesTheLedger() throws Exception {
+        String body = """
+                {
+                  "orders": [
+                    {"type": "BUY", "assetSymbol": "BTCUSDT", "quantity": 1.0},
+                    {"type": "BUY", "assetSymbol": "btcusdt", "quantity": 1.0},
+                    {"type": "SELL", "assetSymbol": "BTCUSDT", "quantity": 0.5}
+                  ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode", is("ALL_OR_NOTHING")))
+                .andExpect(jsonPath("$.filled", is(3)))
+                .andExpect(jsonPath("$.rejected", is(0)))
+                .andExpect(jsonPath("$.usdBalance", is(15000.0)))
+                .andExpect(jsonPath("$.results[*].status", everyItem(is("FILLED"))))
+                .andExpect(jsonPath("$.results[*].index", contains(0, 1, 2)))
+                .andExpect(jsonPath("$.results[2].transaction.type", is("SELL")))
+                .andExpect(jsonPath("$.results[2].transaction.assetSymbol", is("BTCUSDT")))
+                .andExpect(jsonPath("$.results[2].transaction.pricePerUnit", is(10000.0)))
+                .andExpect(jsonPath("$.results[2].transaction.id", notNullValue()));
+
+        // 30000 - 10000 - 10000 + 5000
+        assertEquals(0, userRepository.findById(user.getId()).orElseThrow()
+                .getUsdBalance().compareTo(new BigDecimal("15000.00")));
+        Holding holding = holdingRepository.findByUser_IdAndAsset_Symbol(user.getId(), "BTCUSDT").orElseThrow();
+        assertEquals(1.5, holding.getQuantity(), 1e-9);
+        assertEquals(10000.0, holding.getAvgBuyPrice(), 1e-9);
+        assertEquals(3, transactionRepository.findByUser_Id(user.getId()).size());
+
+        // Rows written by the batch are picked up by the single-order path, versions included
+        mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type":"SELL","assetSymbol":"BTCUSDT","quantity":1.5}
+                                """))
+                .andExpect(status().isOk());
+        assertTrue(holdingRepository.findByUser_IdAndAsset_Symbol(user.getId(), "BTCUSDT").isEmpty());
+    }
+
+    @Test
+    void createTransactionBatch_allOrNothing_withAnUnfillableOrder_fillsNone() throws Exception {
+        // The second buy needs 50000 of the 20000 left after the first
+        String body = """
+                {
+                  "mode": "ALL_OR_NOTHING",
+                  "orders": [
+                    {"type": "BUY", "assetSymbol": "BTCUSDT", "quantity": 1.0},
+                    {"type": "BUY", "assetSymbol": "BTCUSDT", "quantity": 5.0}
+                  ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Batch rejected")))
+                .andExpect(jsonPath("$.details.index", is(1)));
+
+        assertEquals(0, userRepository.findById(user.getId()).orElseThrow()
+                .getUsdBalance().compareTo(new BigDecimal("30000.00")));
+        assertTrue(holdingRepository.findByUser_IdAndAsset_Symbol(user.getId(), "BTCUSDT").isEmpty());
+        assertTrue(transactionRepository.findByUser_Id(user.getId()).isEmpty());
+    }
+
+    @Test
+    void createTransactionBatch_bestEffort_rejectsOnlyTheUnfillableOrders() throws Exception {
+        String body = """
+                {
+                  "mode": "BEST_EFFORT",
+                  "orders": [
+                    {"type": "BUY", "assetSymbol": "BTCUSDT", "quantity": 2.0},
+                    {"type": "SELL", "assetSymbol": "BTCUSDT", "quantity": 3.0},
+                    {"type": "BUY", "assetSymbol": "BTCUSDT", "quantity": 2.0},
+                    {"type": "SELL", "assetSymbol": "BTCUSDT", "quantity": 2.0},
+                    {"type": "BUY", "assetSymbol": "NOPEUSDT", "quantity": 1.0},
+                    {"type": "BUY", "assetSymbol": "BTCUSDT", "quantity": 1.0}
+                  ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filled", is(3)))
+                .andExpect(jsonPath("$.rejected", is(3)))
+                .andExpect(jsonPath("$.results[*].status",
+                        contains("FILLED", "REJECTED", "REJECTED", "FILLED", "REJECTED", "FILLED")))
+                .andExpect(jsonPath("$.results[1].error", containsString("Insufficient holdings")))
+                .andExpect(jsonPath("$.results[2].error", containsString("Insufficient balance")))
+                .andExpect(jsonPath("$.results[4].error", containsString("NOPEUSDT")))
+                .andExpect(jsonPath("$.results[4].transaction", nullValue()));
+
+        assertEquals(0, userRepository.findById(user.getId()).orElseThrow()
+                .getUsdBalance().compareTo(new BigDecimal("20000.00")));
+        Holding holding = holdingRepository.findByUser_IdAndAsset_Symbol(user.getId(), "BTCUSDT").orElseThrow();
+        assertEquals(1.0, holding.getQuantity(), 1e-9);
+        assertEquals(3, transactionRepository.findByUser_Id(user.getId()).size());
+    }
+
+    @Test
+    void createTransactionBatch_sellingAWholeHolding_deletesIt() throws Exception {
+        Holding h = new Holding();
+        h.setUser(user);
+        h.setAsset(btc);
+        h.setQuantity(2.0);
+        h.setAvgBuyPrice(9000.0);
+        holdingRepository.save(h);
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"orders": [
+                                  {"type": "SELL", "assetSymbol": "BTCUSDT", "quantity": 1.5},
+                                  {"type": "SELL", "assetSymbol": "BTCUSDT", "quantity": 0.5}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filled", is(2)));
+
+        assertTrue(holdingRepository.findByUser_IdAndAsset_Symbol(user.getId(), "BTCUSDT").isEmpty());
+        assertEquals(0, userRepository.findById(user.getId()).orElseThrow()
+                .getUsdBalance().compareTo(new BigDecimal("50000.00")));
+    }
+
+    @Test
+    void createTransactionBatch_rejectsAnEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/transactions/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"orders": []}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Validation error")));
+    }
+
+    private Transaction saveTransaction(TransactionType type, Asset asset, Instant timestamp) {
+        Transaction tx = new Transaction();
+        tx.setUser(user);
+        tx.setType(type);
+        tx.setAsset(asset);
+        tx.setQuantity(1.0);
+        tx.setPricePerUnit(10000.0);
+        tx.setTimestamp(timestamp);
+        return transactionRepository.save(tx);
+    }
 }
\ No newline at end of file
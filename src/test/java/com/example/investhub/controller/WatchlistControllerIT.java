@@ -4,6 +4,8 @@ import com.example.investhub.model.Asset;
 import com.example.investhub.model.User;
 import com.example.investhub.repository.AssetRepository;
 import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
 import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.repository.WatchlistRepository;
@@ -41,19 +43,21 @@ class WatchlistControllerIT {
     @Autowired private WatchlistRepository watchlistRepository;
     @Autowired private HoldingRepository holdingRepository;
     @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private TradeOrderRepository orderRepository;
 
     private String token;
     private User user;
 
     @BeforeEach
     void setUp() {
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
         watchlistRepository.deleteAll();
         transactionRepository.deleteAll();
         holdingRepository.deleteAll();
-
-        userRepository.deleteAll();
-
         assetRepository.deleteAll();
+        userRepository.deleteAll();
 
         // Seed user
         user = new User();
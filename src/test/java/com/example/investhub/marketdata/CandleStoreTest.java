@@ -0,0 +1,80 @@
+package com.example.investhub.marketdata;
+
+import com.example.investhub.model.enumeration.CandleInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleStoreTest {
+
+    private static final long MINUTE = 60_000;
+    /** 2023-11-14T22:00:00Z */
+    private static final long T0 = 1_699_999_200_000L;
+
+    private PriceTable priceTable;
+    private CandleStore candleStore;
+
+    @BeforeEach
+    void setUp() {
+        priceTable = new PriceTable(16);
+        candleStore = new CandleStore(priceTable, 4);
+    }
+
+    @Test
+    void onTick_foldsTicksIntoOpenHighLowClose() {
+        int btc = priceTable.register("BTCUSDT");
+
+        candleStore.onTick(btc, 100.0, T0 + 1_000);
+        candleStore.onTick(btc, 105.0, T0 + 2_000);
+        candleStore.onTick(btc, 98.0, T0 + 3_000);
+        candleStore.onTick(btc, 101.0, T0 + MINUTE + 500);
+
+        List<CandleStore.Candle> minutes = candleStore.candles(btc, CandleInterval.ONE_MINUTE, 10);
+        assertEquals(List.of(
+                new CandleStore.Candle(T0, 100.0, 105.0, 98.0, 98.0, 3),
+                new CandleStore.Candle(T0 + MINUTE, 101.0, 101.0, 101.0, 101.0, 1)), minutes);
+
+        List<CandleStore.Candle> hours = candleStore.candles("BTCUSDT", CandleInterval.ONE_HOUR, 10);
+        assertEquals(List.of(new CandleStore.Candle(T0, 100.0, 105.0, 98.0, 101.0, 4)), hours);
+        assertEquals(4, candleStore.candles(btc, CandleInterval.ONE_SECOND, 10).size());
+    }
+
+    @Test
+    void candles_keepsOnlyTheMostRecentBars() {
+        int btc = priceTable.register("BTCUSDT");
+        for (int i = 0; i < 10; i++) {
+            candleStore.onTick(btc, i, T0 + i * MINUTE);
+        }
+
+        List<CandleStore.Candle> all = candleStore.candles(btc, CandleInterval.ONE_MINUTE, 100);
+        assertEquals(4, all.size());
+        assertEquals(T0 + 6 * MINUTE, all.get(0).openTime());
+        assertEquals(9.0, all.get(3).close());
+
+        List<CandleStore.Candle> latest = candleStore.candles(btc, CandleInterval.ONE_MINUTE, 2);
+        assertEquals(List.of(8.0, 9.0), latest.stream().map(CandleStore.Candle::open).toList());
+    }
+
+    @Test
+    void onTick_olderThanCurrentBar_isIgnoredForThatInterval() {
+        int btc = priceTable.register("BTCUSDT");
+
+        candleStore.onTick(btc, 100.0, T0 + MINUTE);
+        candleStore.onTick(btc, 50.0, T0 + 1_000);
+
+        List<CandleStore.Candle> minutes = candleStore.candles(btc, CandleInterval.ONE_MINUTE, 10);
+        assertEquals(List.of(new CandleStore.Candle(T0 + MINUTE, 100.0, 100.0, 100.0, 100.0, 1)), minutes);
+        assertEquals(50.0, candleStore.candles(btc, CandleInterval.ONE_HOUR, 1).get(0).low());
+    }
+
+    @Test
+    void candles_withoutTicks_isEmpty() {
+        priceTable.register("BTCUSDT");
+
+        assertTrue(candleStore.candles("BTCUSDT", CandleInterval.ONE_MINUTE, 10).isEmpty());
+        assertTrue(candleStore.candles("UNKNOWN", CandleInterval.ONE_MINUTE, 10).isEmpty());
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.investhub.marketdata;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceTableTest {
+
+    private PriceTable priceTable;
+
+    @BeforeEach
+    void setUp() {
+        priceTable = new PriceTable(4);
+    }
+
+    @Test
+    void register_assignsDenseIds_andIsIdempotent() {
+        assertEquals(0, priceTable.register("BTCUSDT"));
+        assertEquals(1, priceTable.register("ETHUSDT"));
+        assertEquals(0, priceTable.register("BTCUSDT"));
+
+        assertEquals(2, priceTable.size());
+        assertEquals("ETHUSDT", priceTable.symbol(1));
+    }
+
+    @Test
+    void register_whenFull_throws() {
+        priceTable.register("A");
+        priceTable.register("B");
+        priceTable.register("C");
+        priceTable.register("D");
+
+        assertThrows(IllegalStateException.class, () -> priceTable.register("E"));
+    }
+
+    @Test
+    void idOf_characterRange_matchesRegisteredSymbol() {
+        int id = priceTable.register("BTCUSDT");
+        String frame = "{\"s\":\"BTCUSDT\"}";
+
+        assertEquals(id, priceTable.idOf(frame, 6, 13));
+        assertEquals(-1, priceTable.idOf(frame, 6, 12));
+        assertEquals(-1, priceTable.idOf("ETHUSDT"));
+    }
+
+    @Test
+    void price_beforeFirstUpdate_isNaN_andVersionZero() {
+        int id = priceTable.register("BTCUSDT");
+
+        assertTrue(Double.isNaN(priceTable.price(id)));
+        assertTrue(Double.isNaN(priceTable.price("UNKNOWN")));
+        assertEquals(0, priceTable.version(id));
+    }
+
+    @Test
+    void update_publishesPrice_andAdvancesVersion() {
+        int id = priceTable.register("BTCUSDT");
+
+        priceTable.update(id, 100.0);
+        priceTable.update(id, 101.5);
+
+        assertEquals(101.5, priceTable.price(id));
+        assertEquals(101.5, priceTable.price("BTCUSDT"));
+        assertEquals(2, priceTable.version(id));
+    }
+
+    @Test
+    void update_unknownId_throws() {
+        assertThrows(IndexOutOfBoundsException.class, () -> priceTable.update(0, 1.0));
+    }
+
+    @Test
+    void snapshot_containsOnlyPricedSymbols_andIsDetached() {
+        priceTable.update("BTCUSDT", 100.0);
+        priceTable.register("ETHUSDT");
+
+        PriceTable.Snapshot snapshot = priceTable.snapshot();
+        priceTable.update("BTCUSDT", 200.0);
+
+        List<String> symbols = new ArrayList<>();
+        snapshot.forEach((symbol, price) -> symbols.add(symbol + "=" + price));
+
+        assertEquals(List.of("BTCUSDT=100.0"), symbols);
+        assertEquals(2, snapshot.size());
+        assertFalse(snapshot.hasPrice(1));
+        assertEquals(1, snapshot.version(0));
+        assertTrue(Double.isNaN(snapshot.price("ETHUSDT")));
+    }
+
+    @Test
+    void update_stampsSlotWithGlobalVersionAndTimestamps() {
+        int btc = priceTable.register("BTCUSDT");
+        int eth = priceTable.register("ETHUSDT");
+
+        priceTable.update(btc, 100.0, 1_000, 1_005);
+        priceTable.update(eth, 2000.0, 1_010, 1_012);
+        priceTable.update(btc, 101.0, 1_020, 1_021);
+
+        assertEquals(3, priceTable.globalVersion());
+        assertEquals(new PriceTable.Quote("BTCUSDT", 101.0, 1_020, 1_021, 3), priceTable.quote(btc));
+
+        PriceTable.Snapshot snapshot = priceTable.snapshot();
+        assertEquals(3, snapshot.globalVersion());
+        assertEquals(2, snapshot.changeVersion(eth));
+        assertEquals(1_010, snapshot.eventTime(eth));
+        assertEquals(1_012, snapshot.receiveTime(eth));
+    }
+
+    @Test
+    void quote_beforeFirstUpdate_hasNoPrice() {
+        int id = priceTable.register("BTCUSDT");
+
+        PriceTable.Quote quote = priceTable.quote(id);
+
+        assertFalse(quote.hasPrice());
+        assertTrue(Double.isNaN(quote.price()));
+    }
+
+    @Test
+    void concurrentReaders_alwaysSeePriceMatchingItsVersion() throws Exception {
+        int id = priceTable.register("BTCUSDT");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                PriceTable.Snapshot snapshot = priceTable.snapshot();
+                long version = snapshot.version(id);
+                if (version > 0 && snapshot.price(id) != version) {
+                    failure.set("version " + version + " with price " + snapshot.price(id));
+                }
+            }
+        });
+        reader.start();
+
+        // price n is always written as update number n
+        for (int n = 1; n <= 2_000_000; n++) {
+            priceTable.update(id, n);
+        }
+        running.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(2_000_000.0, priceTable.price(id));
+    }
+
+    @Test
+    void concurrentReaders_ofSymbolsBeingRegistered_neverFail() throws Exception {
+        PriceTable table = new PriceTable(100_000);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            int n = 0;
+            while (running.get()) {
+                try {
+                    table.price("SYM" + n);
+                    int id = table.idOf("SYM" + n);
+                    if (id >= 0) {
+                        table.quote(id);
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                    return;
+                }
+                n = (n + 1) % 100_000;
+            }
+        });
+        reader.start();
+
+        for (int n = 0; n < 100_000; n++) {
+            table.register("SYM" + n);
+        }
+        running.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.investhub.marketdata;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private PriceTable priceTable;
+
+    @BeforeEach
+    void setUp() {
+        priceTable = new PriceTable(16);
+    }
+
+    @Test
+    void append_thenRead_returnsRecordsInOrder() throws Exception {
+        TickJournal journal = new TickJournal(priceTable, directory, TickJournal.RECORD_SIZE * 64, true);
+        int btc = priceTable.register("BTCUSDT");
+        int eth = priceTable.register("ETHUSDT");
+
+        journal.append(btc, 100, 101, 43250.12);
+        journal.append(eth, 102, 104, 2251.37);
+        journal.append(btc, 105, 106, 43251.0);
+
+        TickJournalReader reader = new TickJournalReader(directory);
+        List<String> records = new ArrayList<>();
+        long count = reader.forEach((journalId, eventTime, receiveTime, price) ->
+                records.add(reader.symbol(journalId) + " " + eventTime + " " + receiveTime + " " + price));
+
+        assertEquals(3, count);
+        assertEquals(List.of("BTCUSDT 100 101 43250.12", "ETHUSDT 102 104 2251.37", "BTCUSDT 105 106 43251.0"), records);
+    }
+
+    @Test
+    void append_whenDisabled_writesNothing() {
+        TickJournal journal = new TickJournal(priceTable, directory.resolve("off"), TickJournal.RECORD_SIZE * 64, false);
+
+        journal.append(priceTable.register("BTCUSDT"), 1, 2, 3.0);
+
+        assertEquals(0, journal.size());
+        assertFalse(Files.exists(directory.resolve("off")));
+    }
+
+    @Test
+    void append_rollsOverSegments() throws Exception {
+        TickJournal journal = new TickJournal(priceTable, directory, TickJournal.RECORD_SIZE * 4, true);
+        int btc = priceTable.register("BTCUSDT");
+
+        for (int i = 0; i < 10; i++) {
+            journal.append(btc, i, i, i);
+        }
+
+        assertEquals(2, TickJournalReader.lastSegment(directory));
+        AtomicLong sum = new AtomicLong();
+        assertEquals(10, new TickJournalReader(directory).forEach((journalId, eventTime, receiveTime, price) -> {
+            sum.addAndGet(eventTime);
+            return true;
+        }));
+        assertEquals(45, sum.get());
+    }
+
+    @Test
+    void append_withMaxSegments_deletesTheOldestSegments() throws Exception {
+        TickJournal journal = new TickJournal(priceTable, directory, TickJournal.RECORD_SIZE * 4, true);
+        journal.maxSegments = 2;
+        int btc = priceTable.register("BTCUSDT");
+
+        // 5 segments of 4 records, the last one half full
+        for (int i = 0; i < 18; i++) {
+            journal.append(btc, i, i, i);
+        }
+
+        assertEquals(4, TickJournalReader.lastSegment(directory));
+        for (long index = 0; index < 3; index++) {
+            assertFalse(Files.exists(TickJournalReader.segmentFile(directory, index)), "segment " + index);
+        }
+        List<Long> kept = new ArrayList<>();
+        new TickJournalReader(directory).forEach((journalId, eventTime, receiveTime, price) -> kept.add(eventTime));
+        assertEquals(List.of(12L, 13L, 14L, 15L, 16L, 17L), kept);
+    }
+
+    @Test
+    void append_concurrentWritersAcrossSegmentBoundaries_loseNoRecords() throws Exception {
+        // Four records per segment, so writers race over a rollover every few appends
+        TickJournal journal = new TickJournal(priceTable, directory, TickJournal.RECORD_SIZE * 4, true);
+        int writers = 8;
+        int perWriter = 2_000;
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[writers];
+        for (int w = 0; w < writers; w++) {
+            int id = priceTable.register("SYM" + w);
+            threads[w] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 1; i <= perWriter; i++) {
+                    journal.append(id, i, i, i);
+                }
+            });
+            threads[w].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) writers * perWriter / 4 - 1, TickJournalReader.lastSegment(directory));
+        long[] sums = new long[writers];
+        TickJournalReader reader = new TickJournalReader(directory);
+        long count = reader.forEach((journalId, eventTime, receiveTime, price) -> {
+            // Every field of a record comes from the same append
+            assertEquals(eventTime, receiveTime);
+            assertEquals((double) eventTime, price);
+            sums[journalId] += eventTime;
+            return true;
+        });
+
+        assertEquals((long) writers * perWriter, count);
+        for (long sum : sums) {
+            assertEquals((long) perWriter * (perWriter + 1) / 2, sum);
+        }
+    }
+
+    @Test
+    void reopen_continuesAfterLastRecordWithStableSymbolIds() throws Exception {
+        TickJournal first = new TickJournal(priceTable, directory, TickJournal.RECORD_SIZE * 4, true);
+        first.append(priceTable.register("BTCUSDT"), 1, 1, 1.0);
+        first.append(priceTable.register("ETHUSDT"), 2, 2, 2.0);
+        first.force();
+
+        // A later run registers the symbols in a different order
+        PriceTable nextRun = new PriceTable(16);
+        TickJournal second = new TickJournal(nextRun, directory, TickJournal.RECORD_SIZE * 4, true);
+        second.append(nextRun.register("ETHUSDT"), 3, 3, 3.0);
+        second.append(nextRun.register("BTCUSDT"), 4, 4, 4.0);
+
+        assertEquals(4, second.size());
+
+        TickJournalReader reader = new TickJournalReader(directory);
+        List<String> records = new ArrayList<>();
+        reader.forEach((journalId, eventTime, receiveTime, price) -> records.add(reader.symbol(journalId) + "@" + eventTime));
+
+        assertEquals(List.of("BTCUSDT@1", "ETHUSDT@2", "ETHUSDT@3", "BTCUSDT@4"), records);
+        assertEquals(2, reader.symbolCount());
+    }
+
+    @Test
+    void append_concurrentWriters_loseNoRecords() throws Exception {
+        TickJournal journal = new TickJournal(priceTable, directory, TickJournal.RECORD_SIZE * 1024, true);
+        int writers = 4;
+        int perWriter = 5_000;
+
+        Thread[] threads = new Thread[writers];
+        for (int w = 0; w < writers; w++) {
+            int id = priceTable.register("SYM" + w);
+            threads[w] = new Thread(() -> {
+                for (int i = 1; i <= perWriter; i++) {
+                    journal.append(id, i, i, i);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] sums = new long[writers];
+        TickJournalReader reader = new TickJournalReader(directory);
+        long count = reader.forEach((journalId, eventTime, receiveTime, price) -> {
+            sums[journalId] += eventTime;
+            return true;
+        });
+
+        assertEquals((long) writers * perWriter, count);
+        for (long sum : sums) {
+            assertEquals((long) perWriter * (perWriter + 1) / 2, sum);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.investhub.order;
+
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.support.MicroBenchmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rests 1,000,000 LIMIT, STOP and STOP_LIMIT orders across 200 symbol books and drives each symbol's
+ * price on a random walk. Every triggered order is put back around the new price, so the books stay at
+ * 1,000,000 orders while the benchmark reports triggers processed per second, the cost of a tick that
+ * crosses nothing, and the same tick against a scan of the symbol's orders.
+ * Run with {@code mvn test -Pbenchmark -Dtest=OrderBookBenchmark}.
+ */
+class OrderBookBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int SYMBOLS = 200;
+    private static final OrderType[] TYPES = OrderType.values();
+
+    @Test
+    void triggersPerSecond_withAMillionRestingOrders() {
+        Random random = new Random(42);
+        OrderBook[] books = new OrderBook[SYMBOLS];
+        double[] prices = new double[SYMBOLS];
+        List<List<RestingOrder>> bySymbol = new ArrayList<>(SYMBOLS);
+        for (int s = 0; s < SYMBOLS; s++) {
+            books[s] = new OrderBook();
+            prices[s] = 100.0;
+            bySymbol.add(new ArrayList<>());
+        }
+        for (long id = 0; id < ORDERS; id++) {
+            int s = (int) (id % SYMBOLS);
+            RestingOrder order = around(id, s, prices[s], random);
+            books[s].add(order);
+            bySymbol.get(s).add(order);
+        }
+
+        List<RestingOrder> fired = new ArrayList<>();
+        long[] triggers = new long[1];
+        MicroBenchmark.Result ticks = MicroBenchmark.run("tick + match (random walk)", 20_000, 200_000, i -> {
+            int s = i % SYMBOLS;
+            prices[s] = Math.max(1.0, prices[s] + (random.nextDouble() - 0.5));
+            triggers[0] += books[s].match(prices[s], fired::add, order -> { });
+            // Replace fired orders so the book keeps its size
+            for (RestingOrder order : fired) {
+                books[s].add(around(order.id, s, prices[s], random));
+            }
+            fired.clear();
+            return 0;
+        });
+
+        int total = 0;
+        for (OrderBook book : books) {
+            total += book.size();
+        }
+        assertEquals(ORDERS, total);
+
+        // A price inside every book's spread crosses nothing; the previous tick's price does that
+        int quiet = 7;
+        double quietPrice = prices[quiet];
+        assertEquals(0, books[quiet].match(quietPrice, fired::add, order -> { }));
+        MicroBenchmark.Result noCross = MicroBenchmark.run("tick crossing nothing", 100_000, 1_000_000,
+                i -> books[quiet].match(quietPrice, fired::add, order -> { }));
+        MicroBenchmark.Result scan = MicroBenchmark.run("scan of the symbol's orders", 100, 1_000,
+                i -> scan(bySymbol.get(quiet), quietPrice));
+
+        double triggersPerSecond = triggers[0] * ticks.opsPerSecond() / (20_000 + 200_000);
+        System.out.printf("%,d resting orders over %d symbols: %,.0f triggers/s, %.0f ns per quiet tick "
+                        + "(scan of %,d orders: %.0f ns)%n",
+                ORDERS, SYMBOLS, triggersPerSecond, noCross.nanosPerOp(),
+                bySymbol.get(quiet).size(), scan.nanosPerOp());
+
+        assertTrue(triggers[0] > 0);
+        assertTrue(noCross.nanosPerOp() * 100 < scan.nanosPerOp(), "a quiet tick should not cost a scan");
+    }
+
+    /** An order of a random kind and side triggering 0.5 to 10.5 away from {@code price}, on the side it waits for. */
+    private static RestingOrder around(long id, int slot, double price, Random random) {
+        boolean buy = random.nextBoolean();
+        OrderType type = TYPES[random.nextInt(TYPES.length)];
+        double offset = 0.5 + random.nextDouble() * 10;
+        // Limits wait for a better price; stops for the price to move against the position
+        double below = price - offset;
+        double above = price + offset;
+        return switch (type) {
+            case LIMIT -> new RestingOrder(id, id % 1_000, slot, buy, type, buy ? below : above, Double.NaN, false);
+            case STOP -> new RestingOrder(id, id % 1_000, slot, buy, type, Double.NaN, buy ? above : below, false);
+            case STOP_LIMIT -> {
+                double stop = buy ? above : below;
+                yield new RestingOrder(id, id % 1_000, slot, buy, type, buy ? stop + 1 : stop - 1, stop, false);
+            }
+        };
+    }
+
+    /** What a tick would cost checking every resting order of the symbol. */
+    private static int scan(List<RestingOrder> orders, double price) {
+        int crossed = 0;
+        for (RestingOrder order : orders) {
+            double trigger = order.trigger();
+            if (order.triggersOnFall() ? trigger >= price : trigger <= price) {
+                crossed++;
+            }
+        }
+        return crossed;
+    }
+}
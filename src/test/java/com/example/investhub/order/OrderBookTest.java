@@ -0,0 +1,150 @@
+package com.example.investhub.order;
+
+import com.example.investhub.model.enumeration.OrderType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookTest {
+
+    private OrderBook book;
+    private List<Long> filled;
+    private List<Long> stopsReached;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook();
+        filled = new ArrayList<>();
+        stopsReached = new ArrayList<>();
+    }
+
+    @Test
+    void limitBuy_fillsAtOrBelowItsLimit() {
+        book.add(order(1, true, OrderType.LIMIT, 100.0, Double.NaN));
+
+        assertEquals(0, match(100.5));
+        assertEquals(1, match(100.0));
+
+        assertEquals(List.of(1L), filled);
+        assertEquals(0, book.size());
+    }
+
+    @Test
+    void limitSell_fillsAtOrAboveItsLimit() {
+        book.add(order(1, false, OrderType.LIMIT, 100.0, Double.NaN));
+
+        assertEquals(0, match(99.5));
+        assertEquals(1, match(101.0));
+
+        assertEquals(List.of(1L), filled);
+    }
+
+    @Test
+    void stops_fillWhenThePriceMovesThroughThem() {
+        book.add(order(1, false, OrderType.STOP, Double.NaN, 90.0));
+        book.add(order(2, true, OrderType.STOP, Double.NaN, 110.0));
+
+        assertEquals(0, match(100.0));
+        assertEquals(1, match(89.0));
+        assertEquals(List.of(1L), filled);
+
+        assertEquals(1, match(115.0));
+        assertEquals(List.of(1L, 2L), filled);
+    }
+
+    @Test
+    void match_takesEveryCrossedLevel_nearestFirst_andFifoWithinALevel() {
+        book.add(order(1, true, OrderType.LIMIT, 98.0, Double.NaN));
+        book.add(order(2, true, OrderType.LIMIT, 100.0, Double.NaN));
+        book.add(order(3, true, OrderType.LIMIT, 100.0, Double.NaN));
+        book.add(order(4, true, OrderType.LIMIT, 95.0, Double.NaN));
+
+        assertEquals(3, match(97.0));
+
+        assertEquals(List.of(2L, 3L, 1L), filled);
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    void stopLimit_restsAtItsLimitOnceTheStopIsReached() {
+        // The stop at 90 turns it into a sell limit at 92, which the stop price itself does not reach
+        RestingOrder order = order(1, false, OrderType.STOP_LIMIT, 92.0, 90.0);
+        book.add(order);
+
+        assertEquals(1, match(89.0));
+
+        assertEquals(List.of(1L), stopsReached);
+        assertTrue(filled.isEmpty());
+        assertTrue(order.triggered);
+        assertEquals(1, book.size());
+
+        assertEquals(1, match(92.5));
+        assertEquals(List.of(1L), filled);
+        assertEquals(0, book.size());
+    }
+
+    @Test
+    void stopLimit_fillsOnTheSamePriceWhenItAlsoReachesTheLimit() {
+        book.add(order(1, true, OrderType.STOP_LIMIT, 112.0, 110.0));
+
+        assertEquals(2, match(111.0));
+
+        assertEquals(List.of(1L), stopsReached);
+        assertEquals(List.of(1L), filled);
+        assertEquals(0, book.size());
+    }
+
+    @Test
+    void remove_takesTheOrderOutOfItsLevel() {
+        RestingOrder first = order(1, true, OrderType.LIMIT, 100.0, Double.NaN);
+        RestingOrder second = order(2, true, OrderType.LIMIT, 100.0, Double.NaN);
+        book.add(first);
+        book.add(second);
+
+        assertTrue(book.remove(first));
+        assertFalse(book.remove(first));
+        assertEquals(1, book.size());
+
+        match(99.0);
+        assertEquals(List.of(2L), filled);
+        assertFalse(book.remove(second));
+    }
+
+    @Test
+    void match_ignoresMissingPrices() {
+        book.add(order(1, true, OrderType.LIMIT, 100.0, Double.NaN));
+        book.add(order(2, false, OrderType.LIMIT, 100.0, Double.NaN));
+
+        assertEquals(0, match(Double.NaN));
+        assertEquals(2, book.size());
+    }
+
+    @Test
+    void crossedBy_tracksTheNearestTriggerOnEachSide() {
+        assertFalse(book.crossedBy(100.0));
+
+        book.add(order(1, true, OrderType.LIMIT, 95.0, Double.NaN));
+        book.add(order(2, false, OrderType.LIMIT, 105.0, Double.NaN));
+
+        assertFalse(book.crossedBy(100.0));
+        assertFalse(book.crossedBy(Double.NaN));
+        assertTrue(book.crossedBy(95.0));
+        assertTrue(book.crossedBy(106.0));
+
+        match(94.0);
+        assertFalse(book.crossedBy(94.0));
+        assertTrue(book.crossedBy(105.0));
+    }
+
+    private int match(double price) {
+        return book.match(price, o -> filled.add(o.id), o -> stopsReached.add(o.id));
+    }
+
+    private static RestingOrder order(long id, boolean buy, OrderType type, double limitPrice, double stopPrice) {
+        return new RestingOrder(id, 1L, 0, buy, type, limitPrice, stopPrice, false);
+    }
+}
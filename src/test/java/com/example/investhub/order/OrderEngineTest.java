@@ -0,0 +1,104 @@
+package com.example.investhub.order;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.service.OrderService;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderEngineTest {
+
+    private PriceTable priceTable;
+    private OrderService orderService;
+    private OrderEngine engine;
+    private int btc;
+
+    @BeforeEach
+    void setUp() {
+        priceTable = new PriceTable(16);
+        orderService = mock(OrderService.class);
+        engine = new OrderEngine(priceTable, orderService, new TradeLanes(2), new TradeRetry(1, Duration.ZERO, Duration.ZERO));
+        engine.maxFillAttempts = 3;
+        engine.fillRetryBackoff = Duration.ofMillis(20);
+        engine.fillMaxBackoff = Duration.ofMillis(40);
+        engine.start();
+        btc = priceTable.register("BTCUSDT");
+        priceTable.update("BTCUSDT", 101.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    void fillThatKeepsFailing_isRetriedWithBackoff_notOnEveryTick() throws InterruptedException {
+        when(orderService.fillOrder(eq(9L), anyDouble())).thenThrow(new IllegalStateException("database down"));
+        engine.onOrderPlaced(new OrderPlacedEvent(buyLimit(9L, 100.0)));
+        priceTable.update("BTCUSDT", 99.0);
+
+        // A continuous stream of crossing ticks for well past every backoff
+        int ticks = 0;
+        long deadline = System.nanoTime() + Duration.ofMillis(300).toNanos();
+        while (System.nanoTime() < deadline) {
+            engine.onTick(btc, 99.0);
+            ticks++;
+            Thread.sleep(1);
+        }
+
+        assertTrue(ticks > 100, "only " + ticks + " ticks");
+        verify(orderService, after(200).times(3)).fillOrder(9L, 99.0);
+        assertEquals(0, engine.restingCount());
+        assertEquals(0, engine.parkedCount());
+    }
+
+    @Test
+    void parkedOrder_cancelledDuringItsBackoff_isNotWatchedAgain() {
+        when(orderService.fillOrder(eq(9L), anyDouble())).thenThrow(new IllegalStateException("database down"));
+        engine.onOrderPlaced(new OrderPlacedEvent(buyLimit(9L, 100.0)));
+
+        engine.onTick(btc, 99.0);
+        verify(orderService, timeout(1_000)).fillOrder(9L, 99.0);
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (engine.parkedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, engine.parkedCount());
+
+        engine.onOrderCancelled(new OrderCancelledEvent(9L));
+        priceTable.update("BTCUSDT", 99.0);
+
+        verify(orderService, after(200).times(1)).fillOrder(9L, 99.0);
+        assertEquals(0, engine.restingCount());
+        assertEquals(0, engine.parkedCount());
+    }
+
+    @Test
+    void fillThatSucceedsAfterAFailure_isNotRetriedAgain() {
+        when(orderService.fillOrder(eq(9L), anyDouble()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(null);
+        engine.onOrderPlaced(new OrderPlacedEvent(buyLimit(9L, 100.0)));
+        priceTable.update("BTCUSDT", 99.0);
+
+        engine.onTick(btc, 99.0);
+
+        // The retry is triggered by the latest price when the order is watched again
+        verify(orderService, after(300).times(2)).fillOrder(9L, 99.0);
+        assertEquals(0, engine.restingCount());
+        assertEquals(0, engine.parkedCount());
+    }
+
+    private static OpenOrder buyLimit(long id, double limit) {
+        return new OpenOrder(id, 2L, "BTCUSDT", TransactionType.BUY, OrderType.LIMIT, limit, null, false);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.investhub.portfolio;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.Holding;
+import com.example.investhub.model.User;
+import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.support.MicroBenchmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Marks 100,000 portfolios of 10 holdings each across 200 symbols, and compares reading a
+ * valuation from {@link PortfolioBook} with the previous loop over the user's holdings.
+ * Run with {@code mvn test -Pbenchmark -Dtest=PortfolioBookBenchmark}.
+ */
+class PortfolioBookBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int HOLDINGS_PER_USER = 10;
+    private static final int SYMBOLS = 200;
+
+    @Test
+    void markToMarket_andValuation_vsPerRequestLoop() {
+        Random random = new Random(42);
+        PriceTable priceTable = new PriceTable(256);
+        Asset[] assets = new Asset[SYMBOLS];
+        int[] slots = new int[SYMBOLS];
+        for (int s = 0; s < SYMBOLS; s++) {
+            assets[s] = new Asset();
+            assets[s].setId((long) s + 1);
+            assets[s].setSymbol("SYM" + s + "USDT");
+            slots[s] = priceTable.register(assets[s].getSymbol());
+            priceTable.update(slots[s], 100.0 + s);
+        }
+
+        List<List<Holding>> portfolios = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setId((long) u);
+            List<Holding> holdings = new ArrayList<>(HOLDINGS_PER_USER);
+            int first = random.nextInt(SYMBOLS);
+            for (int h = 0; h < HOLDINGS_PER_USER; h++) {
+                Holding holding = new Holding();
+                holding.setUser(user);
+                holding.setAsset(assets[(first + h * 7) % SYMBOLS]);
+                holding.setQuantity(1 + random.nextInt(100) / 10.0);
+                holding.setAvgBuyPrice(50 + random.nextInt(100));
+                holdings.add(holding);
+            }
+            portfolios.add(holdings);
+        }
+
+        HoldingRepository holdingRepository = mock(HoldingRepository.class);
+        when(holdingRepository.findAllWithAssetByUserId(anyLong()))
+                .thenAnswer(invocation -> portfolios.get(((Long) invocation.getArgument(0)).intValue()));
+        PortfolioBook book = new PortfolioBook(priceTable, holdingRepository);
+        for (long u = 0; u < USERS; u++) {
+            book.valuation(u);
+        }
+
+        // Every symbol ticks, so every one of the 1,000,000 positions is revalued per run
+        MicroBenchmark.Result mark = MicroBenchmark.run("tick all symbols + markToMarket", 5, 50, i -> {
+            for (int s = 0; s < SYMBOLS; s++) {
+                priceTable.update(slots[s], 100.0 + s + (i % 10));
+            }
+            book.markToMarket();
+            return 0;
+        });
+
+        for (int u = 0; u < USERS; u += 997) {
+            assertEquals(loop(priceTable, portfolios.get(u)), book.valuation((long) u).marketValue(), 1e-6);
+        }
+
+        MicroBenchmark.Result looped = MicroBenchmark.run("per-request loop", 100_000, 1_000_000,
+                i -> loop(priceTable, portfolios.get(i % USERS)));
+        MicroBenchmark.Result booked = MicroBenchmark.run("PortfolioBook.valuation", 100_000, 1_000_000,
+                i -> book.valuation((long) (i % USERS)).marketValue());
+
+        System.out.printf("%,d users x %d holdings: %.0f positions revalued/s; valuation speedup %.1fx%n",
+                USERS, HOLDINGS_PER_USER, mark.opsPerSecond() * USERS * HOLDINGS_PER_USER,
+                booked.opsPerSecond() / looped.opsPerSecond());
+
+        assertTrue(booked.opsPerSecond() > looped.opsPerSecond());
+    }
+
+    /** The valuation as it was computed per request before the book. */
+    private static double loop(PriceTable priceTable, List<Holding> holdings) {
+        double value = 0;
+        for (Holding holding : holdings) {
+            double price = priceTable.price(holding.getAssetSymbol());
+            if (!Double.isNaN(price)) {
+                value += holding.getQuantity() * price;
+            }
+        }
+        return value;
+    }
+}
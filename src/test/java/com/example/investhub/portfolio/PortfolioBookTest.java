@@ -0,0 +1,202 @@
+package com.example.investhub.portfolio;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.Holding;
+import com.example.investhub.model.User;
+import com.example.investhub.repository.HoldingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PortfolioBookTest {
+
+    private PriceTable priceTable;
+    private HoldingRepository holdingRepository;
+    private PortfolioBook book;
+
+    private User user;
+    private Asset btc;
+    private Asset eth;
+
+    @BeforeEach
+    void setUp() {
+        priceTable = new PriceTable(16);
+        holdingRepository = mock(HoldingRepository.class);
+        book = new PortfolioBook(priceTable, holdingRepository);
+
+        user = new User();
+        user.setId(1L);
+        btc = asset(10L, "BTCUSDT");
+        eth = asset(11L, "ETHUSDT");
+    }
+
+    @Test
+    void valuation_loadsHoldingsOnce_atCurrentPrices() {
+        priceTable.update("BTCUSDT", 200.0);
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(
+                holding(btc, 2.0, 100.0),
+                holding(eth, 0.0, 50.0)));
+
+        PortfolioBook.Valuation first = book.valuation(1L);
+        PortfolioBook.Valuation second = book.valuation(1L);
+
+        assertEquals(new PortfolioBook.Valuation(1, 200.0, 400.0), first);
+        assertEquals(first, second);
+        verify(holdingRepository, times(1)).findAllWithAssetByUserId(1L);
+        assertEquals(1, book.accountCount());
+    }
+
+    @Test
+    void markToMarket_revaluesHoldersOfChangedSymbolsOnly() {
+        priceTable.update("BTCUSDT", 200.0);
+        priceTable.update("ETHUSDT", 10.0);
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(holding(btc, 2.0, 100.0)));
+        when(holdingRepository.findAllWithAssetByUserId(2L)).thenReturn(List.of(holding(eth, 3.0, 10.0)));
+        book.valuation(1L);
+        book.valuation(2L);
+
+        priceTable.update("BTCUSDT", 250.0);
+        assertEquals(400.0, book.valuation(1L).marketValue(), 1e-9, "not marked before the marker runs");
+
+        book.markToMarket();
+
+        assertEquals(500.0, book.valuation(1L).marketValue(), 1e-9);
+        assertEquals(30.0, book.valuation(2L).marketValue(), 1e-9);
+        assertEquals(200.0, book.valuation(1L).invested(), 1e-9);
+    }
+
+    @Test
+    void unpricedSymbol_countsAsZeroUntilFirstTick() {
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(holding(btc, 2.0, 100.0)));
+
+        assertEquals(new PortfolioBook.Valuation(1, 200.0, 0.0), book.valuation(1L));
+
+        priceTable.update("BTCUSDT", 150.0);
+        book.markToMarket();
+
+        assertEquals(300.0, book.valuation(1L).marketValue(), 1e-9);
+    }
+
+    @Test
+    void holdingChanges_applyToLoadedAccount() {
+        priceTable.update("BTCUSDT", 200.0);
+        priceTable.update("ETHUSDT", 10.0);
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(holding(btc, 2.0, 100.0)));
+        book.valuation(1L);
+
+        // Buy 1 BTC at 200: 3 @ 133.33
+        book.onHoldingChanged(new HoldingChangedEvent(1L, 10L, "BTCUSDT", 3.0, 400.0 / 3.0, false));
+        assertEquals(new PortfolioBook.Valuation(1, 400.0, 600.0), round(book.valuation(1L)));
+
+        // New position
+        book.onHoldingChanged(new HoldingChangedEvent(1L, 11L, "ETHUSDT", 5.0, 8.0, false));
+        assertEquals(new PortfolioBook.Valuation(2, 440.0, 650.0), round(book.valuation(1L)));
+
+        // Sold out of BTC
+        book.onHoldingChanged(new HoldingChangedEvent(1L, 10L, "BTCUSDT", 3.0, 400.0 / 3.0, true));
+        assertEquals(new PortfolioBook.Valuation(1, 40.0, 50.0), round(book.valuation(1L)));
+
+        // Removed holders are no longer marked
+        priceTable.update("BTCUSDT", 1_000.0);
+        book.markToMarket();
+        assertEquals(50.0, book.valuation(1L).marketValue(), 1e-9);
+    }
+
+    @Test
+    void holdingChanges_forAccountsNotInMemory_areLeftToTheLoad() {
+        book.onHoldingChanged(new HoldingChangedEvent(1L, 10L, "BTCUSDT", 2.0, 100.0, false));
+        assertEquals(0, book.accountCount());
+
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(holding(btc, 2.0, 100.0)));
+        assertEquals(1, book.valuation(1L).holdings());
+    }
+
+    @Test
+    void newPosition_entersAtLatestPrice_evenBeforeTheMarkerRuns() {
+        priceTable.update("BTCUSDT", 200.0);
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of());
+        when(holdingRepository.findAllWithAssetByUserId(2L)).thenReturn(List.of(holding(btc, 1.0, 200.0)));
+        book.valuation(1L);
+        book.valuation(2L);
+
+        priceTable.update("BTCUSDT", 300.0);
+        book.onHoldingChanged(new HoldingChangedEvent(1L, 10L, "BTCUSDT", 1.0, 300.0, false));
+
+        assertEquals(300.0, book.valuation(1L).marketValue(), 1e-9);
+        // Catching up the slot revalued the existing holder as well
+        assertEquals(300.0, book.valuation(2L).marketValue(), 1e-9);
+
+        book.markToMarket();
+        assertEquals(300.0, book.valuation(1L).marketValue(), 1e-9);
+        assertEquals(300.0, book.valuation(2L).marketValue(), 1e-9);
+    }
+
+    @Test
+    void markToMarket_recomputesFromPositions_soRepeatedMarksDoNotDrift() {
+        priceTable.update("BTCUSDT", 0.1);
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(holding(btc, 0.3, 0.1)));
+        book.valuation(1L);
+
+        for (int i = 0; i < 10_000; i++) {
+            priceTable.update("BTCUSDT", i % 2 == 0 ? 0.7 : 0.1);
+            book.markToMarket();
+        }
+
+        // Exact: the value is quantity times the last mark, not a sum of ten thousand deltas
+        assertEquals(0.3 * 0.1, book.valuation(1L).marketValue(), 0.0);
+    }
+
+    @Test
+    void expireIdle_dropsAccountsNotValuedWithinTheExpiry_andStopsMarkingThem() throws InterruptedException {
+        priceTable.update("BTCUSDT", 200.0);
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(holding(btc, 2.0, 100.0)));
+        when(holdingRepository.findAllWithAssetByUserId(2L)).thenReturn(List.of(holding(btc, 1.0, 100.0)));
+        book.valuation(1L);
+        assertEquals(0, book.expireIdle(System.nanoTime()));
+
+        // User 1 was last valued before this point, user 2 after it
+        Thread.sleep(1);
+        long later = System.nanoTime() + book.idleExpiry.toNanos();
+        book.valuation(2L);
+        assertEquals(1, book.expireIdle(later));
+        assertEquals(1, book.accountCount());
+
+        // Holding changes of a dropped account are left to its next load
+        book.onHoldingChanged(new HoldingChangedEvent(1L, 10L, "BTCUSDT", 5.0, 100.0, false));
+        assertEquals(1, book.accountCount());
+
+        priceTable.update("BTCUSDT", 300.0);
+        book.markToMarket();
+        assertEquals(300.0, book.valuation(2L).marketValue(), 1e-9);
+
+        assertEquals(new PortfolioBook.Valuation(1, 200.0, 600.0), book.valuation(1L));
+        verify(holdingRepository, times(2)).findAllWithAssetByUserId(1L);
+    }
+
+    private static PortfolioBook.Valuation round(PortfolioBook.Valuation valuation) {
+        return new PortfolioBook.Valuation(valuation.holdings(),
+                Math.round(valuation.invested() * 1e6) / 1e6,
+                Math.round(valuation.marketValue() * 1e6) / 1e6);
+    }
+
+    private Holding holding(Asset asset, double quantity, double avgBuyPrice) {
+        Holding holding = new Holding();
+        holding.setUser(user);
+        holding.setAsset(asset);
+        holding.setQuantity(quantity);
+        holding.setAvgBuyPrice(avgBuyPrice);
+        return holding;
+    }
+
+    private static Asset asset(Long id, String symbol) {
+        Asset asset = new Asset();
+        asset.setId(id);
+        asset.setSymbol(symbol);
+        return asset;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.investhub.repository;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.Holding;
+import com.example.investhub.model.Transaction;
+import com.example.investhub.model.User;
+import com.example.investhub.model.WatchlistEntry;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.websocket.BinanceWebSocketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot repository queries against the migrated schema, captures the SQL Hibernate issues for
+ * each and checks H2's {@code EXPLAIN} plan reads through an index rather than scanning the table.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class QueryPlanIT {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private AssetRepository assetRepository;
+    @Autowired private HoldingRepository holdingRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private TradeOrderRepository orderRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @SuppressWarnings("deprecation")
+    @MockBean private BinanceWebSocketService binanceWebSocketService;
+
+    private User user;
+    private Asset btc;
+
+    @BeforeEach
+    void setUp() {
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
+        watchlistRepository.deleteAll();
+        transactionRepository.deleteAll();
+        holdingRepository.deleteAll();
+        assetRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = new User();
+        user.setUsername("planuser");
+        user.setPassword("pass");
+        user = userRepository.save(user);
+
+        btc = new Asset();
+        btc.setSymbol("BTCUSDT");
+        btc.setName("Bitcoin");
+        btc = assetRepository.save(btc);
+
+        Holding holding = new Holding();
+        holding.setUser(user);
+        holding.setAsset(btc);
+        holding.setQuantity(1.0);
+        holding.setAvgBuyPrice(100.0);
+        holdingRepository.save(holding);
+
+        WatchlistEntry entry = new WatchlistEntry();
+        entry.setUser(user);
+        entry.setAsset(btc);
+        watchlistRepository.save(entry);
+
+        for (TransactionType type : TransactionType.values()) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setAsset(btc);
+            transaction.setType(type);
+            transaction.setQuantity(1.0);
+            transaction.setPricePerUnit(100.0);
+            transactionRepository.save(transaction);
+        }
+    }
+
+    @Test
+    void transactionQueries_useTransactionIndexes() {
+        Long userId = user.getId();
+
+        assertPlanUses("IDX_TRANSACTIONS_USER_",
+                captureFirst(() -> transactionRepository.findByUser_Id(userId)), userId);
+        assertPlanUses("IDX_TRANSACTIONS_USER_TYPE_TIME",
+                captureFirst(() -> transactionRepository.findByUserIdAndType(userId, TransactionType.BUY)),
+                userId, "BUY");
+        assertPlanUses("IDX_TRANSACTIONS_USER_TYPE_TIME",
+                captureFirst(() -> transactionRepository.calculateTotalAmountByUserAndType(userId, TransactionType.BUY)),
+                userId, "BUY");
+        assertPlanUses("IDX_TRANSACTIONS_USER_ASSET_TIME",
+                captureFirst(() -> transactionRepository.countTransactionsByUserAndAsset(userId, "BTCUSDT")),
+                userId, "BTCUSDT");
+        assertPlanUses("IDX_TRANSACTIONS_USER_ASSET_TIME",
+                captureFirst(() -> transactionRepository.findHistory(new TransactionHistoryQuery(
+                        userId, null, btc.getId(), null, null, null, false, 11))),
+                userId, btc.getId(), 11);
+        Instant now = Instant.now();
+        // The cursor binds its timestamp twice: (timestamp < ?) OR (timestamp = ? AND id < ?)
+        assertPlanUses("IDX_TRANSACTIONS_USER_",
+                captureFirst(() -> transactionRepository.findHistory(new TransactionHistoryQuery(
+                        userId, null, null, null, null, new TransactionCursor(now, Long.MAX_VALUE), false, 11))),
+                userId, now, now, Long.MAX_VALUE, 11);
+    }
+
+    @Test
+    void holdingAndWatchlistQueries_useUniqueKeyIndexes() {
+        Long userId = user.getId();
+
+        assertPlanUses("UK_HOLDINGS_USER_ASSET",
+                captureFirst(() -> holdingRepository.findByUser_Id(userId)), userId);
+        assertPlanUses("UK_HOLDINGS_USER_ASSET",
+                captureFirst(() -> holdingRepository.findByUser_IdAndAsset_Symbol(userId, "BTCUSDT")),
+                userId, "BTCUSDT");
+        assertPlanUses("UK_HOLDINGS_USER_ASSET",
+                captureFirst(() -> holdingRepository.findAllWithAssetByUserId(userId)), userId);
+        assertPlanUses("UK_USERS_USERNAME",
+                captureFirst(() -> holdingRepository.findAllWithAssetByUsername("planuser")), "planuser");
+        assertPlanUses("UK_WATCHLIST_USER_ASSET",
+                captureFirst(() -> watchlistRepository.findByUser_Id(userId)), userId);
+    }
+
+    /**
+     * The first statement a repository call issues; later ones are eager loads of its rows. Read from
+     * Hibernate's {@code org.hibernate.SQL} log, switched on for the call only.
+     */
+    private static String captureFirst(Runnable query) {
+        Logger sqlLog = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+        Level level = sqlLog.getLevel();
+        boolean additive = sqlLog.isAdditive();
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        sqlLog.addAppender(appender);
+        sqlLog.setAdditive(false);
+        sqlLog.setLevel(Level.DEBUG);
+        try {
+            query.run();
+        } finally {
+            sqlLog.setLevel(level);
+            sqlLog.setAdditive(additive);
+            sqlLog.detachAppender(appender);
+            appender.stop();
+        }
+        List<String> statements = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertFalse(statements.isEmpty(), "no statement issued");
+        return statements.get(0);
+    }
+
+    private void assertPlanUses(String index, String sql, Object... parameters) {
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), "parameters of " + sql);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        assertFalse(plan.contains("tableScan"), "table scan in\n" + plan);
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(index), "expected " + index + " in\n" + plan);
+    }
+}
@@ -3,6 +3,8 @@ package com.example.investhub.service;
 import com.example.investhub.exception.ResourceNotFoundException;
 import com.example.investhub.model.User;
 import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
 import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.repository.WatchlistRepository;
@@ -25,6 +27,8 @@ class AccountServiceTest {
     @Mock private HoldingRepository holdingRepository;
     @Mock private TransactionRepository transactionRepository;
     @Mock private WatchlistRepository watchlistRepository;
+    @Mock private TradeOrderRepository orderRepository;
+    @Mock private PriceAlertRepository priceAlertRepository;
 
     @InjectMocks private AccountService accountService;
 
@@ -42,6 +46,8 @@ class AccountServiceTest {
         verify(holdingRepository).deleteByUser_Id(10L);
         verify(transactionRepository).deleteByUser_Id(10L);
         verify(watchlistRepository).deleteByUser_Id(10L);
+        verify(orderRepository).deleteByUser_Id(10L);
+        verify(priceAlertRepository).deleteByUser_Id(10L);
         verify(userRepository).save(user);
 
         assertEquals(new BigDecimal("30000.00"), user.getUsdBalance());
@@ -50,7 +56,7 @@ class AccountServiceTest {
         assertEquals(new BigDecimal("30000.00"), response.getUsdBalance());
         assertEquals("Account reset successful", response.getMessage());
 
-        verifyNoMoreInteractions(holdingRepository, transactionRepository, watchlistRepository);
+        verifyNoMoreInteractions(holdingRepository, transactionRepository, watchlistRepository, orderRepository, priceAlertRepository);
     }
 
     @Test
@@ -65,7 +71,7 @@ class AccountServiceTest {
         assertEquals("User", ex.getResourceType());
         assertEquals("missing", ex.getIdentifier());
 
-        verifyNoInteractions(holdingRepository, transactionRepository, watchlistRepository);
+        verifyNoInteractions(holdingRepository, transactionRepository, watchlistRepository, orderRepository, priceAlertRepository);
         verify(userRepository, never()).save(any());
     }
 }
\ No newline at end of file
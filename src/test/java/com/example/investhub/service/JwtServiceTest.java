@@ -1,5 +1,6 @@
 package com.example.investhub.service;
 
+import com.example.investhub.model.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
@@ -108,4 +109,68 @@ class JwtServiceTest {
 
         assertThrows(Exception.class, () -> otherJwtService.extractUsername(token));
     }
+
+    @Test
+    void authenticate_shouldBuildPrincipalFromClaims() {
+        com.example.investhub.model.User user = new com.example.investhub.model.User();
+        user.setId(42L);
+        user.setUsername("test1");
+        user.setPassword("x");
+
+        AuthenticatedUser principal = jwtService.authenticate(jwtService.generateToken(user));
+
+        assertEquals(42L, principal.id());
+        assertEquals("test1", principal.getUsername());
+    }
+
+    @Test
+    void authenticate_withoutUserIdClaim_shouldLeaveIdEmpty() {
+        AuthenticatedUser principal = jwtService.authenticate(jwtService.generateToken(userDetails));
+
+        assertNull(principal.id());
+        assertEquals("test1", principal.getUsername());
+    }
+
+    @Test
+    void authenticate_shouldServeRepeatedTokensFromCache() {
+        String token = jwtService.generateToken(userDetails);
+
+        AuthenticatedUser first = jwtService.authenticate(token);
+        AuthenticatedUser second = jwtService.authenticate(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void authenticate_shouldRejectExpiredToken_evenAfterCaching() throws InterruptedException {
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1_000L);
+        String token = jwtService.generateToken(userDetails);
+        jwtService.authenticate(token);
+
+        Thread.sleep(1_100);
+
+        assertThrows(Exception.class, () -> jwtService.authenticate(token));
+    }
+
+    @Test
+    void authenticate_shouldRejectTokenSignedWithOtherKey() {
+        JwtService otherJwtService = new JwtService();
+        byte[] otherRawKey = "another_test_secret_key_with_32+_bytes!".getBytes(StandardCharsets.UTF_8);
+        ReflectionTestUtils.setField(otherJwtService, "secretKey", Base64.getEncoder().encodeToString(otherRawKey));
+        ReflectionTestUtils.setField(otherJwtService, "jwtExpiration", 60_000L);
+
+        String forged = otherJwtService.generateToken(userDetails);
+
+        assertThrows(Exception.class, () -> jwtService.authenticate(forged));
+    }
+
+    @Test
+    void authenticate_whenCacheIsFull_shouldStillAuthenticate() {
+        ReflectionTestUtils.setField(jwtService, "cacheSize", 4);
+
+        for (int i = 0; i < 20; i++) {
+            String token = jwtService.generateToken(Map.of("n", i), userDetails);
+            assertEquals("test1", jwtService.authenticate(token).getUsername());
+        }
+    }
 }
\ No newline at end of file
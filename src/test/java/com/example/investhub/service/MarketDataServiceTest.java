@@ -1,16 +1,24 @@
 package com.example.investhub.service;
 
+import com.example.investhub.catalog.AssetCatalog;
+import com.example.investhub.catalog.AssetSearchIndex;
+import com.example.investhub.exception.MarketDataUnavailableException;
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.example.investhub.exception.ValidationException;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
 import com.example.investhub.model.Asset;
-import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.model.enumeration.CandleInterval;
+import com.example.investhub.model.enumeration.FeedConnectionState;
 import com.example.investhub.websocket.BinanceWebSocketService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,119 +27,181 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class MarketDataServiceTest {
 
+    @Spy private PriceTable priceTable = new PriceTable(16);
+    @Mock private AssetCatalog assetCatalog;
     @Mock private BinanceWebSocketService binanceWebSocketService;
-    @Mock private AssetRepository assetRepository;
+    @Mock private CandleStore candleStore;
+    @Mock private AssetSearchIndex assetSearchIndex;
 
     @InjectMocks private MarketDataService marketDataService;
 
     @Test
-    void getCurrentPrices_shouldReturnPricesFromWebSocketService() {
-        Map<String, Double> prices = Map.of("BTCUSDT", 50000.0, "ETHUSDT", 2500.0);
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(prices);
+    void getCurrentPrices_shouldReturnSnapshotOfPriceTable() {
+        priceTable.update("BTCUSDT", 50000.0);
+        priceTable.update("ETHUSDT", 2500.0);
 
-        Map<String, Double> result = marketDataService.getCurrentPrices();
+        PriceTable.Snapshot result = marketDataService.getCurrentPrices();
 
-        assertEquals(prices, result);
-        verify(binanceWebSocketService).getCryptoPrices();
-        verifyNoInteractions(assetRepository);
+        assertEquals(2, result.size());
+        assertEquals(50000.0, result.price("BTCUSDT"));
+        assertEquals(2500.0, result.price("ETHUSDT"));
+        verify(priceTable).snapshot();
+        verifyNoInteractions(assetCatalog);
+    }
+
+    @Test
+    void getCurrentPrices_snapshotIsNotAffectedByLaterUpdates() {
+        priceTable.update("BTCUSDT", 50000.0);
+
+        PriceTable.Snapshot result = marketDataService.getCurrentPrices();
+        priceTable.update("BTCUSDT", 51000.0);
+
+        assertEquals(50000.0, result.price("BTCUSDT"));
     }
 
     @Test
     void getPriceBySymbol_shouldReturnPrice_caseInsensitive() {
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(Map.of("BTCUSDT", 123.45));
+        priceTable.update("BTCUSDT", 123.45);
 
         Double price = marketDataService.getPriceBySymbol("btcusdt");
 
         assertEquals(123.45, price);
-        verify(binanceWebSocketService).getCryptoPrices();
-        verifyNoInteractions(assetRepository);
+        verify(priceTable).price("BTCUSDT");
+        verifyNoInteractions(assetCatalog);
+    }
+
+    @Test
+    void getQuote_shouldReturnPriceWithVersion_caseInsensitive() {
+        priceTable.update("ETHUSDT", 2000.0);
+        priceTable.update("BTCUSDT", 123.45);
+
+        PriceTable.Quote quote = marketDataService.getQuote("btcusdt");
+
+        assertEquals("BTCUSDT", quote.symbol());
+        assertEquals(123.45, quote.price());
+        assertEquals(2, quote.changeVersion());
     }
 
     @Test
     void getPriceBySymbol_whenMissing_shouldThrow() {
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(Map.of("ETHUSDT", 2000.0));
+        priceTable.update("ETHUSDT", 2000.0);
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> marketDataService.getPriceBySymbol("BTCUSDT"));
 
         assertTrue(ex.getMessage().toLowerCase().contains("price not available"));
-        verify(binanceWebSocketService).getCryptoPrices();
-        verifyNoInteractions(assetRepository);
+        verify(priceTable).price("BTCUSDT");
+        verifyNoInteractions(assetCatalog);
+    }
+
+    @Test
+    void getPriceBySymbol_whenFeedWarmingUp_shouldThrowMarketDataUnavailable() {
+        when(binanceWebSocketService.isWarmingUp()).thenReturn(true);
+        when(binanceWebSocketService.getConnectionState()).thenReturn(FeedConnectionState.CONNECTING);
+
+        MarketDataUnavailableException ex = assertThrows(MarketDataUnavailableException.class,
+                () -> marketDataService.getPriceBySymbol("BTCUSDT"));
+
+        assertTrue(ex.isWarmingUp());
+        assertEquals(FeedConnectionState.CONNECTING, ex.getFeedState());
+        assertTrue(ex.getMessage().contains("warming up"));
+    }
+
+    @Test
+    void getCurrentPrices_whenFeedWarmingUp_shouldThrowMarketDataUnavailable() {
+        when(binanceWebSocketService.isWarmingUp()).thenReturn(true);
+
+        assertThrows(MarketDataUnavailableException.class, () -> marketDataService.getCurrentPrices());
+        verify(priceTable, never()).snapshot();
+    }
+
+    @Test
+    void getCandles_shouldResolveSymbolAndInterval() {
+        int btc = priceTable.register("BTCUSDT");
+        List<CandleStore.Candle> candles = List.of(new CandleStore.Candle(60_000, 1.0, 2.0, 0.5, 1.5, 3));
+        when(candleStore.bars()).thenReturn(720);
+        when(candleStore.candles(btc, CandleInterval.FIVE_MINUTES, 50)).thenReturn(candles);
+
+        List<CandleStore.Candle> result = marketDataService.getCandles("btcusdt", "5m", 50);
+
+        assertSame(candles, result);
     }
 
     @Test
-    void getAllAssets_shouldReturnRepositoryFindAll() {
+    void getCandles_withUnsupportedInterval_shouldThrowValidation() {
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> marketDataService.getCandles("BTCUSDT", "2m", 10));
+
+        assertEquals("interval", ex.getField());
+        verifyNoInteractions(candleStore);
+    }
+
+    @Test
+    void getCandles_withLimitAboveRing_shouldThrowValidation() {
+        when(candleStore.bars()).thenReturn(720);
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> marketDataService.getCandles("BTCUSDT", "1m", 721));
+
+        assertEquals("limit", ex.getField());
+    }
+
+    @Test
+    void getCandles_forUntrackedSymbol_shouldThrowNotFound() {
+        when(candleStore.bars()).thenReturn(720);
+
+        assertThrows(ResourceNotFoundException.class, () -> marketDataService.getCandles("NOPE", "1m", 10));
+    }
+
+    @Test
+    void getAllAssets_shouldReturnCatalog() {
         Asset a1 = new Asset();
         Asset a2 = new Asset();
-        when(assetRepository.findAll()).thenReturn(List.of(a1, a2));
+        when(assetCatalog.findAll()).thenReturn(List.of(a1, a2));
 
         List<Asset> result = marketDataService.getAllAssets();
 
         assertEquals(2, result.size());
-        verify(assetRepository).findAll();
-        verifyNoInteractions(binanceWebSocketService);
+        verify(assetCatalog).findAll();
+        verifyNoInteractions(priceTable);
     }
 
     @Test
     void getAssetBySymbol_shouldUppercaseSymbolAndReturnAsset() {
         Asset btc = new Asset();
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(btc));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(btc));
 
         Asset result = marketDataService.getAssetBySymbol("btcusdt");
 
         assertSame(btc, result);
-        verify(assetRepository).findBySymbol("BTCUSDT");
-        verifyNoInteractions(binanceWebSocketService);
+        verify(assetCatalog).findBySymbol("BTCUSDT");
+        verifyNoInteractions(priceTable);
     }
 
     @Test
     void getAssetBySymbol_whenMissing_shouldThrow() {
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.empty());
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.empty());
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> marketDataService.getAssetBySymbol("btcusdt"));
 
         assertTrue(ex.getMessage().toLowerCase().contains("asset not found"));
-        verify(assetRepository).findBySymbol("BTCUSDT");
-        verifyNoInteractions(binanceWebSocketService);
-    }
-
-    @Test
-    void searchAssets_shouldMatchBySymbolOrName_caseInsensitive() {
-        Asset btc = new Asset();
-        btc.setSymbol("BTCUSDT");
-        btc.setName("Bitcoin");
-
-        Asset eth = new Asset();
-        eth.setSymbol("ETHUSDT");
-        eth.setName("Ethereum");
-
-        when(assetRepository.findAll()).thenReturn(List.of(btc, eth));
-
-        List<Asset> result1 = marketDataService.searchAssets("btc");
-        assertEquals(1, result1.size());
-        assertEquals("BTCUSDT", result1.get(0).getSymbol());
-
-        List<Asset> result2 = marketDataService.searchAssets("ETHERE");
-        assertEquals(1, result2.size());
-        assertEquals("ETHUSDT", result2.get(0).getSymbol());
-
-        verify(assetRepository, times(2)).findAll();
-        verifyNoInteractions(binanceWebSocketService);
+        verify(assetCatalog).findBySymbol("BTCUSDT");
+        verifyNoInteractions(priceTable);
     }
 
     @Test
-    void searchAssets_whenNoMatch_shouldReturnEmptyList() {
+    void searchAssets_shouldDelegateToSearchIndex() {
         Asset btc = new Asset();
         btc.setSymbol("BTCUSDT");
         btc.setName("Bitcoin");
 
-        when(assetRepository.findAll()).thenReturn(List.of(btc));
+        when(assetSearchIndex.search("btc")).thenReturn(List.of(btc));
 
-        List<Asset> result = marketDataService.searchAssets("XRP");
+        List<Asset> result = marketDataService.searchAssets("btc");
 
-        assertTrue(result.isEmpty());
-        verify(assetRepository).findAll();
-        verifyNoInteractions(binanceWebSocketService);
+        assertEquals(List.of(btc), result);
+        verify(assetSearchIndex).search("btc");
+        verifyNoInteractions(assetCatalog, priceTable);
     }
 }
\ No newline at end of file
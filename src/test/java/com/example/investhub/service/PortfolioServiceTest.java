@@ -1,12 +1,17 @@
 package com.example.investhub.service;
 
 import com.example.investhub.exception.InsufficientHoldingsException;
+import com.example.investhub.exception.MarketDataUnavailableException;
+import com.example.investhub.marketdata.PriceTable;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.Holding;
 import com.example.investhub.model.Transaction;
 import com.example.investhub.model.User;
+import com.example.investhub.model.enumeration.FeedConnectionState;
 import com.example.investhub.model.enumeration.PerformanceStatus;
 import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.portfolio.PortfolioBook;
+import com.example.investhub.portfolio.PortfolioSnapshot;
 import com.example.investhub.repository.HoldingRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.websocket.BinanceWebSocketService;
@@ -14,8 +19,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -32,13 +37,15 @@ class PortfolioServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private BinanceWebSocketService binanceWebSocketService;
+    @Spy
+    private PriceTable priceTable = new PriceTable(16);
 
     @Mock
     private HoldingRepository holdingRepository;
 
-    @InjectMocks
+    @Mock
+    private BinanceWebSocketService binanceWebSocketService;
+
     private PortfolioService portfolioService;
 
     private User user;
@@ -46,6 +53,9 @@ class PortfolioServiceTest {
 
     @BeforeEach
     void setup() {
+        PortfolioBook portfolioBook = new PortfolioBook(priceTable, holdingRepository);
+        portfolioService = new PortfolioService(userRepository, priceTable, holdingRepository, binanceWebSocketService, portfolioBook);
+
         user = new User();
         user.setId(1L);
         user.setUsername("test1");
@@ -83,12 +93,10 @@ class PortfolioServiceTest {
 
     @Test
     void getUserHoldings_filtersZeroQuantity() {
-        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-
         Holding h1 = holding(100L, user, btc, 2.0, 100.0); // keep
         Holding h2 = holding(101L, user, btc, 0.0, 100.0); // filter out
 
-        when(holdingRepository.findByUser_Id(1L)).thenReturn(List.of(h1, h2));
+        when(holdingRepository.findAllWithAssetByUsername("test1")).thenReturn(List.of(h1, h2));
 
         List<Holding> result = portfolioService.getUserHoldings("test1");
 
@@ -100,10 +108,8 @@ class PortfolioServiceTest {
 
     @Test
     void getHoldingBySymbol_findsHoldingIgnoringCase() {
-        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-
         Holding h1 = holding(100L, user, btc, 2.0, 100.0);
-        when(holdingRepository.findByUser_Id(1L)).thenReturn(List.of(h1));
+        when(holdingRepository.findAllWithAssetByUsername("test1")).thenReturn(List.of(h1));
 
         Holding found = portfolioService.getHoldingBySymbol("btcusdt", "test1");
 
@@ -114,7 +120,7 @@ class PortfolioServiceTest {
     @Test
     void getHoldingBySymbol_notFound_throwsRuntime() {
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(holdingRepository.findByUser_Id(1L)).thenReturn(List.of());
+        when(holdingRepository.findAllWithAssetByUsername("test1")).thenReturn(List.of());
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> portfolioService.getHoldingBySymbol("BTCUSDT", "test1"));
@@ -126,13 +132,11 @@ class PortfolioServiceTest {
 
     @Test
     void getUserPortfolio_returnsBalanceHoldingsAndTotalValue() {
-        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-
         Holding h1 = holding(100L, user, btc, 2.0, 100.0);
-        when(holdingRepository.findByUser_Id(1L)).thenReturn(List.of(h1));
+        when(holdingRepository.findAllWithAssetByUsername("test1")).thenReturn(List.of(h1));
 
-        // price for BTC in websocket map
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(Map.of("BTCUSDT", 200.0));
+        // price for BTC in the price table
+        priceTable.update("BTCUSDT", 200.0);
 
         Map<String, Object> portfolio = portfolioService.getUserPortfolio("test1");
 
@@ -151,6 +155,44 @@ class PortfolioServiceTest {
         assertEquals(30400.0, totalValue, 0.0001);
     }
 
+    // ---------------- readPortfolio ----------------
+
+    @Test
+    void readPortfolio_withHoldings_takesUserFromTheHoldingRows() {
+        when(holdingRepository.findAllWithAssetByUsername("test1"))
+                .thenReturn(List.of(holding(100L, user, btc, 2.0, 100.0)));
+        priceTable.update("BTCUSDT", 250.0);
+
+        PortfolioSnapshot snapshot = portfolioService.readPortfolio("test1");
+
+        assertEquals(new BigDecimal("30000.00"), snapshot.balance());
+        assertEquals(1, snapshot.holdings().size());
+        assertEquals(500.0, snapshot.holdingsValue(), 0.0001);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void readPortfolio_withoutHoldings_readsUser() {
+        when(holdingRepository.findAllWithAssetByUsername("test1")).thenReturn(List.of());
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+
+        PortfolioSnapshot snapshot = portfolioService.readPortfolio("test1");
+
+        assertEquals(new BigDecimal("30000.00"), snapshot.balance());
+        assertTrue(snapshot.holdings().isEmpty());
+    }
+
+    @Test
+    void readPortfolio_userNotFound_throwsRuntime() {
+        when(holdingRepository.findAllWithAssetByUsername("missing")).thenReturn(List.of());
+        when(userRepository.findByUsername("missing")).thenReturn(Optional.empty());
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> portfolioService.readPortfolio("missing"));
+
+        assertEquals("User not found", ex.getMessage());
+    }
+
     // ---------------- getPortfolioStatistics ----------------
 
     @Test
@@ -159,10 +201,10 @@ class PortfolioServiceTest {
 
         // invested = 2 * 100 = 200
         Holding h1 = holding(100L, user, btc, 2.0, 100.0);
-        when(holdingRepository.findByUser_Id(1L)).thenReturn(List.of(h1));
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(h1));
 
         // currentValue = 2 * 200 = 400
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(Map.of("BTCUSDT", 200.0));
+        priceTable.update("BTCUSDT", 200.0);
 
         Map<String, Object> stats = portfolioService.getPortfolioStatistics("test1");
 
@@ -182,8 +224,7 @@ class PortfolioServiceTest {
     @Test
     void getPortfolioStatistics_breakEvenWhenNoHoldings() {
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(holdingRepository.findByUser_Id(1L)).thenReturn(List.of());
-        when(binanceWebSocketService.getCryptoPrices()).thenReturn(Map.of());
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of());
 
         Map<String, Object> stats = portfolioService.getPortfolioStatistics("test1");
 
@@ -193,6 +234,22 @@ class PortfolioServiceTest {
         assertEquals(0.0, (double) stats.get("returnPercentage"), 0.0001);
         assertEquals(PerformanceStatus.BREAK_EVEN, stats.get("performanceStatus"));
         assertEquals(30000.0, (double) stats.get("totalPortfolioValue"), 0.0001);
+        verifyNoInteractions(binanceWebSocketService);
+    }
+
+    @Test
+    void getPortfolioStatistics_whenFeedStale_refusesToValueHoldings() {
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        when(holdingRepository.findAllWithAssetByUserId(1L)).thenReturn(List.of(holding(100L, user, btc, 2.0, 100.0)));
+        priceTable.update("BTCUSDT", 200.0);
+        doThrow(new MarketDataUnavailableException(FeedConnectionState.STALE, 45_000))
+                .when(binanceWebSocketService).requireLiveFeed();
+
+        MarketDataUnavailableException ex = assertThrows(MarketDataUnavailableException.class,
+                () -> portfolioService.getPortfolioStatistics("test1"));
+
+        assertEquals(FeedConnectionState.STALE, ex.getFeedState());
+        assertEquals(45_000, ex.getMillisSinceLastTick());
     }
 
     // ---------------- validateUserCanSell ----------------
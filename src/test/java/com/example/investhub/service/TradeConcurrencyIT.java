@@ -0,0 +1,290 @@
+package com.example.investhub.service;
+
+import com.example.investhub.exception.ConcurrentUpdateException;
+import com.example.investhub.exception.InsufficientBalanceException;
+import com.example.investhub.exception.InsufficientHoldingsException;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.Holding;
+import com.example.investhub.model.Transaction;
+import com.example.investhub.model.User;
+import com.example.investhub.model.dto.request.CreateTransactionBatchRequest;
+import com.example.investhub.model.dto.request.CreateTransactionRequest;
+import com.example.investhub.model.enumeration.BatchMode;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.HoldingRepository;
+import com.example.investhub.repository.PriceAlertRepository;
+import com.example.investhub.repository.TradeOrderRepository;
+import com.example.investhub.repository.TransactionRepository;
+import com.example.investhub.repository.UserRepository;
+import com.example.investhub.repository.WatchlistRepository;
+import com.example.investhub.trading.TradeRetry;
+import com.example.investhub.websocket.BinanceWebSocketService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test: many threads trade for the same users at once, and every balance and holding must end
+ * where the recorded transactions say, never below zero. Trades go through the user's lane, or around
+ * it the way another instance would, leaving the version columns and retries to keep them consistent.
+ * Every race runs on more threads than the pool has connections, so a caller that held one while
+ * waiting for its lane would starve the lanes.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class TradeConcurrencyIT {
+
+    private static final double PRICE = 1000.0;
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private TransactionBatchService transactionBatchService;
+    @Autowired private TradeRetry tradeRetry;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private DataSource dataSource;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private AssetRepository assetRepository;
+    @Autowired private HoldingRepository holdingRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private WatchlistRepository watchlistRepository;
+    @Autowired private TradeOrderRepository orderRepository;
+    @Autowired private PriceAlertRepository priceAlertRepository;
+    @Autowired private PriceTable priceTable;
+
+    @SuppressWarnings("deprecation")
+    @MockBean private BinanceWebSocketService binanceWebSocketService;
+
+    private Asset btc;
+    private int threads;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        threads = 3 * dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+
+        priceAlertRepository.deleteAll();
+        orderRepository.deleteAll();
+        watchlistRepository.deleteAll();
+        transactionRepository.deleteAll();
+        holdingRepository.deleteAll();
+        assetRepository.deleteAll();
+        userRepository.deleteAll();
+
+        priceTable.update("BTCUSDT", PRICE);
+
+        btc = new Asset();
+        btc.setSymbol("BTCUSDT");
+        btc.setName("Bitcoin");
+        btc = assetRepository.save(btc);
+    }
+
+    @Test
+    void concurrentBuys_ofOneUser_spendTheBalanceOnlyOnce() throws InterruptedException {
+        User user = user("buyer");
+
+        // One buy of 10000 per thread against 30000: exactly three fit
+        Outcome outcome = race(threads, i -> transactionService.createTransaction(
+                TransactionType.BUY, "BTCUSDT", 10, "buyer"));
+
+        assertEquals(3, outcome.filled.get());
+        assertEquals(threads - 3, outcome.rejected.get());
+        assertEquals(List.of(), outcome.errors);
+        assertEquals(0, outcome.gaveUp.get());
+        assertEquals(0, balanceOf(user).compareTo(BigDecimal.ZERO), "balance " + balanceOf(user));
+        assertEquals(30.0, holdingOf(user), 1e-9);
+        assertLedgerMatches(user);
+    }
+
+    @Test
+    void concurrentSells_ofOneUser_sellTheHoldingOnlyOnce() throws InterruptedException {
+        User user = user("seller");
+        transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 3, "seller");
+
+        Outcome outcome = race(threads, i -> transactionService.createTransaction(
+                TransactionType.SELL, "BTCUSDT", 1, "seller"));
+
+        assertEquals(3, outcome.filled.get());
+        assertEquals(threads - 3, outcome.rejected.get());
+        assertEquals(List.of(), outcome.errors);
+        assertEquals(0, outcome.gaveUp.get());
+        assertEquals(0.0, holdingOf(user));
+        assertEquals(0, balanceOf(user).compareTo(new BigDecimal("30000")), "balance " + balanceOf(user));
+        assertLedgerMatches(user);
+    }
+
+    @Test
+    void concurrentBatches_ofOneUser_spendTheBalanceOnlyOnce() throws InterruptedException {
+        User user = user("batcher");
+        CreateTransactionRequest order = new CreateTransactionRequest();
+        order.setType(TransactionType.BUY);
+        order.setAssetSymbol("BTCUSDT");
+        order.setQuantity(10);
+        CreateTransactionBatchRequest batch = new CreateTransactionBatchRequest();
+        batch.setMode(BatchMode.BEST_EFFORT);
+        batch.setOrders(List.of(order, order));
+
+        // Two buys of 10000 per batch against 30000: exactly three fit over all batches
+        AtomicInteger filled = new AtomicInteger();
+        Outcome outcome = race(threads, i -> filled.addAndGet(
+                transactionBatchService.executeBatch(batch, "batcher", i % 2 == 0 ? user.getId() : null).getFilled()));
+
+        assertEquals(List.of(), outcome.errors);
+        assertEquals(0, outcome.gaveUp.get());
+        assertEquals(3, filled.get());
+        assertEquals(0, balanceOf(user).compareTo(BigDecimal.ZERO), "balance " + balanceOf(user));
+        assertEquals(30.0, holdingOf(user), 1e-9);
+        assertLedgerMatches(user);
+    }
+
+    @Test
+    void concurrentBuysAndSells_ofManyUsers_keepEveryBalanceAndHoldingConsistent() throws InterruptedException {
+        int users = 8;
+        List<User> traders = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            traders.add(user("trader" + u));
+        }
+
+        // 25 trades per thread over 8 users, each of 1 to 5 BTC at random; many buys exceed the balance
+        // and many sells exceed the holding while other threads of the same user are mid-trade
+        Outcome outcome = race(threads * 25, i -> {
+            Random random = new Random(i);
+            TransactionType type = random.nextBoolean() ? TransactionType.BUY : TransactionType.SELL;
+            User trader = traders.get(i % users);
+            // Half carry the id the way the token does, half have it looked up
+            transactionService.createTransaction(type, "BTCUSDT", 1 + random.nextInt(5), trader.getUsername(),
+                    (i / users) % 2 == 0 ? trader.getId() : null);
+        });
+
+        assertEquals(List.of(), outcome.errors);
+        assertTrue(outcome.filled.get() > 0);
+        assertTrue(outcome.rejected.get() > 0);
+        assertEquals(outcome.filled.get(), transactionRepository.count());
+        for (User trader : traders) {
+            assertTrue(balanceOf(trader).signum() >= 0, trader.getUsername() + " balance " + balanceOf(trader));
+            assertTrue(holdingOf(trader) >= 0, trader.getUsername() + " holding " + holdingOf(trader));
+            assertLedgerMatches(trader);
+        }
+    }
+
+    @Test
+    void concurrentBuysAndSells_aroundTheLane_areRetriedOnVersionConflicts_andNoneIsLost() throws InterruptedException {
+        User user = user("hot");
+        transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 10, "hot");
+        long retriesBefore = tradeRetry.getRetries();
+        long exhaustedBefore = tradeRetry.getExhausted();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // What another instance's lane would run: read the account, trade, commit, with no lane in between
+        Outcome outcome = race(threads * 25, i -> {
+            Random random = new Random(i);
+            TransactionType type = random.nextBoolean() ? TransactionType.BUY : TransactionType.SELL;
+            double quantity = 1 + random.nextInt(3);
+            tradeRetry.run(user.getId(), () -> transaction.execute(status -> transactionService.executeTrade(
+                    userRepository.findById(user.getId()).orElseThrow(), btc, type, quantity, PRICE)));
+        });
+
+        assertEquals(List.of(), outcome.errors);
+        assertTrue(outcome.filled.get() > 0);
+        assertTrue(tradeRetry.getRetries() > retriesBefore, "no version conflict in " + outcome.filled + " fills");
+        assertEquals(outcome.gaveUp.get(), tradeRetry.getExhausted() - exhaustedBefore);
+        assertEquals(outcome.filled.get() + 1, transactionRepository.findByUser_Id(user.getId()).size());
+        assertTrue(balanceOf(user).signum() >= 0, "balance " + balanceOf(user));
+        assertTrue(holdingOf(user) >= 0, "holding " + holdingOf(user));
+        assertLedgerMatches(user);
+    }
+
+    // ==================== Helpers ====================
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("pass");
+        user.setUsdBalance(new BigDecimal("30000.00"));
+        return userRepository.save(user);
+    }
+
+    private BigDecimal balanceOf(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getUsdBalance();
+    }
+
+    private double holdingOf(User user) {
+        return holdingRepository.findByUser_IdAndAsset_Symbol(user.getId(), "BTCUSDT")
+                .map(Holding::getQuantity)
+                .orElse(0.0);
+    }
+
+    /** The balance and holding are exactly what the user's recorded transactions add up to. */
+    private void assertLedgerMatches(User user) {
+        double cash = 30000.0;
+        double quantity = 0;
+        for (Transaction transaction : transactionRepository.findByUser_Id(user.getId())) {
+            double total = transaction.getQuantity() * transaction.getPricePerUnit();
+            if (transaction.getType() == TransactionType.BUY) {
+                cash -= total;
+                quantity += transaction.getQuantity();
+            } else {
+                cash += total;
+                quantity -= transaction.getQuantity();
+            }
+        }
+        assertEquals(cash, balanceOf(user).doubleValue(), 1e-6, user.getUsername() + " balance");
+        assertEquals(quantity, holdingOf(user), 1e-9, user.getUsername() + " holding");
+    }
+
+    private interface Trade {
+        void run(int i);
+    }
+
+    private record Outcome(AtomicInteger filled, AtomicInteger rejected, AtomicInteger gaveUp, List<Throwable> errors) {
+    }
+
+    /** Release {@code trades} trades on {@link #threads} threads at once and wait for all of them. */
+    private Outcome race(int trades, Trade trade) throws InterruptedException {
+        Outcome outcome = new Outcome(new AtomicInteger(), new AtomicInteger(), new AtomicInteger(),
+                Collections.synchronizedList(new ArrayList<>()));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < trades; i++) {
+            int n = i;
+            threads.execute(() -> {
+                try {
+                    start.await();
+                    trade.run(n);
+                    outcome.filled.incrementAndGet();
+                } catch (InsufficientBalanceException | InsufficientHoldingsException e) {
+                    outcome.rejected.incrementAndGet();
+                } catch (ConcurrentUpdateException e) {
+                    outcome.gaveUp.incrementAndGet();
+                } catch (Throwable e) {
+                    outcome.errors.add(e);
+                }
+            });
+        }
+        start.countDown();
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(60, TimeUnit.SECONDS));
+        return outcome;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.investhub.service;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.User;
+import com.example.investhub.model.dto.request.CreateTransactionBatchRequest;
+import com.example.investhub.model.dto.request.CreateTransactionRequest;
+import com.example.investhub.model.enumeration.BatchMode;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.UserRepository;
+import com.example.investhub.support.MicroBenchmark;
+import com.example.investhub.websocket.BinanceWebSocketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Orders per second submitted one by one through {@link TransactionService#createTransaction} against
+ * the same orders submitted in batches of 10, 50 and 500 through {@link TransactionBatchService}.
+ * Run with {@code mvn test -Pbenchmark -Dtest=TransactionBatchBenchmark}.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class TransactionBatchBenchmark {
+
+    private static final int ORDERS = 20_000;
+    private static final int[] BATCH_SIZES = {10, 50, 500};
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private TransactionBatchService transactionBatchService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AssetRepository assetRepository;
+    @Autowired private PriceTable priceTable;
+
+    @SuppressWarnings("deprecation")
+    @MockBean private BinanceWebSocketService binanceWebSocketService;
+
+    @Test
+    void batchedOrders_outperformSingleOrders() {
+        priceTable.update("BTCUSDT", 100.0);
+        Asset btc = new Asset();
+        btc.setSymbol("BTCUSDT");
+        btc.setName("Bitcoin");
+        assetRepository.save(btc);
+
+        String single = user("bench-single");
+        MicroBenchmark.Result singles = MicroBenchmark.run("single orders", 2_000, ORDERS,
+                i -> transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 1, single).getQuantity());
+        double singleRate = singles.opsPerSecond();
+        System.out.printf("single: %,.0f orders/s%n", singleRate);
+
+        double bestRate = 0;
+        for (int size : BATCH_SIZES) {
+            String username = user("bench-batch-" + size);
+            CreateTransactionBatchRequest batch = batch(size);
+            assertEquals(size, transactionBatchService.executeBatch(batch, username).getFilled());
+
+            MicroBenchmark.Result batches = MicroBenchmark.run("batches of " + size, 2_000 / size, ORDERS / size,
+                    i -> transactionBatchService.executeBatch(batch, username).getFilled());
+            double rate = batches.opsPerSecond() * size;
+            bestRate = Math.max(bestRate, rate);
+            System.out.printf("batch of %d: %,.0f orders/s (%.1fx single)%n", size, rate, rate / singleRate);
+        }
+
+        assertTrue(bestRate > singleRate * 2, "batching did not pay off: " + bestRate + " vs " + singleRate);
+    }
+
+    /** A user whose balance never runs out over the run. */
+    private String user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("pass");
+        user.setUsdBalance(new BigDecimal("1000000000"));
+        return userRepository.save(user).getUsername();
+    }
+
+    private static CreateTransactionBatchRequest batch(int size) {
+        List<CreateTransactionRequest> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Every order buys the same asset, so each batch also updates the one holding
+            CreateTransactionRequest order = new CreateTransactionRequest();
+            order.setType(TransactionType.BUY);
+            order.setAssetSymbol("BTCUSDT");
+            order.setQuantity(1);
+            orders.add(order);
+        }
+        CreateTransactionBatchRequest request = new CreateTransactionBatchRequest();
+        request.setMode(BatchMode.ALL_OR_NOTHING);
+        request.setOrders(orders);
+        return request;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.investhub.service;
+
+import com.example.investhub.model.enumeration.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports 5,000,000 transactions of one user from a file-based H2 database in a separate JVM capped
+ * at {@value #HEAP} of heap; the export only completes if memory does not grow with the row count.
+ * Run with {@code mvn test -Pbenchmark -Dtest=TransactionExportBenchmark}.
+ */
+class TransactionExportBenchmark {
+
+    private static final int ROWS = 5_000_000;
+    private static final String HEAP = "48m";
+
+    @Test
+    void export_5MRows_inSmallFixedHeap(@TempDir Path dir) throws Exception {
+        String url = "jdbc:h2:file:" + dir.resolve("export").toAbsolutePath() + ";CACHE_SIZE=8192";
+        seed(url);
+
+        for (ExportFormat format : ExportFormat.values()) {
+            Process process = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Xmx" + HEAP,
+                    "-cp", System.getProperty("java.class.path"),
+                    TransactionExportBenchmark.class.getName(), url, format.name())
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(process.waitFor(10, TimeUnit.MINUTES), "export did not finish");
+            System.out.print(output);
+
+            assertEquals(0, process.exitValue(), output);
+            assertTrue(output.contains("rows=" + ROWS + " "), output);
+        }
+    }
+
+    /**
+     * Child JVM: export every row of user 1 and report what was written.
+     */
+    public static void main(String[] args) throws IOException {
+        ExportFormat format = ExportFormat.valueOf(args[1]);
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(args[0], "sa", "", true);
+        TransactionExportService exporter = new TransactionExportService(
+                new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+
+        CountingOutputStream out = new CountingOutputStream();
+        long start = System.nanoTime();
+        long rows = exporter.export(1L, format, out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%s: rows=%d bytes=%,d chunks=%,d in %.1f s (%,.0f rows/s), heap max %d MB%n",
+                format, rows, out.bytes, out.flushes, seconds, rows / seconds, runtime.maxMemory() >> 20);
+        dataSource.destroy();
+    }
+
+    private static void seed(String url) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE assets (id BIGINT PRIMARY KEY, symbol VARCHAR(255) NOT NULL, name VARCHAR(255))");
+            statement.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                    + "asset_id BIGINT NOT NULL, type VARCHAR(8) NOT NULL, quantity DOUBLE PRECISION NOT NULL, "
+                    + "price_per_unit DOUBLE PRECISION NOT NULL, timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL)");
+            statement.execute("INSERT INTO assets SELECT X, 'SYM' || X || 'USDT', 'Asset ' || X FROM SYSTEM_RANGE(1, 20)");
+            statement.execute("INSERT INTO transactions SELECT X, 1, MOD(X, 20) + 1, "
+                    + "CASE WHEN MOD(X, 3) = 0 THEN 'SELL' ELSE 'BUY' END, 0.5, 100 + MOD(X, 1000), "
+                    + "DATEADD(SECOND, X, TIMESTAMP WITH TIME ZONE '2020-01-01 00:00:00+00') "
+                    + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            statement.execute("CREATE INDEX idx_transactions_user_time ON transactions (user_id, timestamp, id)");
+        }
+    }
+
+    /** Discards the export, counting bytes and flushes. */
+    private static final class CountingOutputStream extends OutputStream {
+
+        long bytes;
+        long flushes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -1,21 +1,37 @@
 package com.example.investhub.service;
 
+import com.example.investhub.catalog.AssetCatalog;
+import com.example.investhub.exception.ConcurrentUpdateException;
 import com.example.investhub.exception.InsufficientBalanceException;
+import com.example.investhub.exception.MarketDataUnavailableException;
 import com.example.investhub.exception.ResourceNotFoundException;
 import com.example.investhub.exception.ValidationException;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.Transaction;
 import com.example.investhub.model.User;
+import com.example.investhub.model.enumeration.FeedConnectionState;
+import com.example.investhub.model.dto.response.TransactionPageResponse;
+import com.example.investhub.model.dto.response.TransactionResponse;
 import com.example.investhub.model.enumeration.TransactionType;
-import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.TransactionCursor;
+import com.example.investhub.repository.TransactionHistoryQuery;
 import com.example.investhub.repository.TransactionRepository;
 import com.example.investhub.repository.UserRepository;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import com.example.investhub.websocket.BinanceWebSocketService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +44,11 @@ class TransactionServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private PortfolioService portfolioService;
     @Mock private MarketDataService marketDataService;
-    @Mock private AssetRepository assetRepository;
+    @Mock private AssetCatalog assetCatalog;
+    @Mock private BinanceWebSocketService binanceWebSocketService;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Spy private TradeLanes tradeLanes = new TradeLanes(4);
+    @Spy private TradeRetry tradeRetry = new TradeRetry(3, Duration.ZERO, Duration.ZERO);
 
     @InjectMocks private TransactionService transactionService;
 
@@ -40,7 +60,7 @@ class TransactionServiceTest {
             transactionService.createTransaction(TransactionType.BUY, "   ", 1, "test1");
         });
 
-        verifyNoInteractions(userRepository, assetRepository, marketDataService, transactionRepository, portfolioService);
+        verifyNoInteractions(userRepository, assetCatalog, marketDataService, transactionRepository, portfolioService);
     }
 
     @Test
@@ -49,7 +69,7 @@ class TransactionServiceTest {
                 transactionService.createTransaction(TransactionType.BUY, "   ", 1, "test1")
         );
 
-        verifyNoInteractions(userRepository, assetRepository, marketDataService, transactionRepository, portfolioService);
+        verifyNoInteractions(userRepository, assetCatalog, marketDataService, transactionRepository, portfolioService);
     }
 
     // ---------- Not found / price tests ----------
@@ -65,7 +85,7 @@ class TransactionServiceTest {
 
         verify(userRepository).findByUsername("missing");
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(assetRepository, marketDataService, transactionRepository, portfolioService);
+        verifyNoInteractions(assetCatalog, marketDataService, transactionRepository, portfolioService);
     }
 
     @Test
@@ -78,7 +98,7 @@ class TransactionServiceTest {
         when(userRepository.findByUsername("test1"))
                 .thenReturn(Optional.of(user));
 
-        when(assetRepository.findBySymbol("BTCUSDT"))
+        when(assetCatalog.findBySymbol("BTCUSDT"))
                 .thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
@@ -86,7 +106,32 @@ class TransactionServiceTest {
         );
 
         verify(userRepository).findByUsername("test1");
-        verify(assetRepository).findBySymbol("BTCUSDT");
+        verify(assetCatalog).findBySymbol("BTCUSDT");
+        verifyNoInteractions(marketDataService, transactionRepository, portfolioService);
+    }
+
+    @Test
+    void createTransaction_whenFeedDown_shouldThrowMarketDataUnavailableAndNotFill() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("test1");
+        user.setUsdBalance(new BigDecimal("30000.00"));
+
+        Asset asset = new Asset();
+        asset.setId(10L);
+        asset.setSymbol("BTCUSDT");
+        asset.setName("Bitcoin");
+
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        doThrow(new MarketDataUnavailableException(FeedConnectionState.DISCONNECTED, 60_000))
+                .when(binanceWebSocketService).requireLiveFeed();
+
+        assertThrows(MarketDataUnavailableException.class, () ->
+                transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 1, "test1")
+        );
+
+        verify(userRepository, never()).saveAndFlush(any());
         verifyNoInteractions(marketDataService, transactionRepository, portfolioService);
     }
 
@@ -103,7 +148,7 @@ class TransactionServiceTest {
         asset.setName("Bitcoin");
 
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
         when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(null);
 
         RuntimeException ex = assertThrows(RuntimeException.class, () ->
@@ -127,7 +172,7 @@ class TransactionServiceTest {
         asset.setName("Bitcoin");
 
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
         when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(0.0);
 
         RuntimeException ex = assertThrows(RuntimeException.class, () ->
@@ -153,14 +198,15 @@ class TransactionServiceTest {
         asset.setName("Bitcoin");
 
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
         when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(1000.0); // 1 * 1000 > 100
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         assertThrows(InsufficientBalanceException.class, () ->
                 transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 1, "test1")
         );
 
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
         verify(transactionRepository, never()).save(any());
         verify(portfolioService, never()).updateHoldingAfterTransaction(any(), any());
         verify(portfolioService, never()).validateUserCanSell(anyLong(), anyString(), anyDouble());
@@ -179,8 +225,9 @@ class TransactionServiceTest {
         asset.setName("Bitcoin");
 
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
         when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(1000.0); // total = 2000
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         // mock save to return same transaction (simulate DB save)
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -190,7 +237,7 @@ class TransactionServiceTest {
         // balance = 30000 - 2000 = 28000
         assertEquals(new BigDecimal("28000.00"), user.getUsdBalance());
 
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
 
         ArgumentCaptor<Transaction> txCaptor = ArgumentCaptor.forClass(Transaction.class);
         verify(transactionRepository).save(txCaptor.capture());
@@ -210,6 +257,29 @@ class TransactionServiceTest {
         assertEquals(TransactionType.BUY, result.getType());
     }
 
+    @Test
+    void createTransaction_withUserIdFromTheToken_shouldNotLookTheUserUpBeforeTheLane() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("test1");
+        user.setUsdBalance(new BigDecimal("30000.00"));
+
+        Asset asset = new Asset();
+        asset.setId(10L);
+        asset.setSymbol("BTCUSDT");
+        asset.setName("Bitcoin");
+
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(1000.0);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 1, "test1", 1L);
+
+        assertEquals(new BigDecimal("29000.00"), user.getUsdBalance());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
     // ---------- SELL tests ----------
 
     @Test
@@ -225,8 +295,9 @@ class TransactionServiceTest {
         asset.setName("Bitcoin");
 
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
         when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(1000.0); // total = 1500
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -238,7 +309,7 @@ class TransactionServiceTest {
         // balance = 30000 + 1500 = 31500
         assertEquals(new BigDecimal("31500.00"), user.getUsdBalance());
 
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
         verify(transactionRepository).save(any(Transaction.class));
         verify(portfolioService).updateHoldingAfterTransaction(any(Transaction.class), eq(user));
 
@@ -248,4 +319,180 @@ class TransactionServiceTest {
         assertEquals(1000.0, result.getPricePerUnit());
         assertEquals(1L, result.getUserId());
     }
+
+    // ---------- Concurrent updates ----------
+
+    @Test
+    void createTransaction_whenTheAccountWasUpdatedConcurrently_rereadsItAndTradesAgain() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("test1");
+
+        Asset asset = new Asset();
+        asset.setId(10L);
+        asset.setSymbol("BTCUSDT");
+
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(1000.0);
+        // Each attempt reads the account afresh; the first one finds it changed when it writes
+        when(userRepository.findById(1L)).thenAnswer(inv -> Optional.of(account(new BigDecimal("30000.00"))));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L))
+                .thenAnswer(inv -> inv.getArgument(0));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Transaction result = transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 2, "test1");
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository, times(2)).saveAndFlush(saved.capture());
+        assertEquals(new BigDecimal("28000.00"), saved.getAllValues().get(1).getUsdBalance());
+        verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1, tradeRetry.getRetries());
+        assertEquals(2.0, result.getQuantity());
+    }
+
+    @Test
+    void createTransaction_whenEveryAttemptLosesToAConcurrentUpdate_throwsConcurrentUpdateException() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("test1");
+
+        Asset asset = new Asset();
+        asset.setId(10L);
+        asset.setSymbol("BTCUSDT");
+
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        when(marketDataService.getPriceBySymbol("BTCUSDT")).thenReturn(1000.0);
+        when(userRepository.findById(1L)).thenAnswer(inv -> Optional.of(account(new BigDecimal("30000.00"))));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+        ConcurrentUpdateException e = assertThrows(ConcurrentUpdateException.class, () ->
+                transactionService.createTransaction(TransactionType.BUY, "BTCUSDT", 2, "test1")
+        );
+
+        assertEquals(3, e.getAttempts());
+        verify(userRepository, times(3)).saveAndFlush(any(User.class));
+        verify(transactionRepository, never()).save(any());
+        assertEquals(1, tradeRetry.getExhausted());
+    }
+
+    private static User account(BigDecimal balance) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("test1");
+        user.setUsdBalance(balance);
+        return user;
+    }
+
+    // ---------- History pages ----------
+
+    @Test
+    void getTransactionPage_readsOneRowMoreThanTheLimit_andReturnsCursorOfLastRow() {
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        Instant at = Instant.parse("2026-01-15T10:00:00Z");
+        when(transactionRepository.findHistory(any())).thenReturn(new ArrayList<>(List.of(
+                response(3L, at.plusSeconds(2)), response(2L, at.plusSeconds(1)), response(1L, at))));
+
+        TransactionPageResponse page = transactionService.getTransactionPage("test1", TransactionType.BUY, null,
+                null, null, null, null, 2);
+
+        ArgumentCaptor<TransactionHistoryQuery> query = ArgumentCaptor.forClass(TransactionHistoryQuery.class);
+        verify(transactionRepository).findHistory(query.capture());
+        assertEquals(3, query.getValue().limit());
+        assertEquals(TransactionType.BUY, query.getValue().type());
+        assertNull(query.getValue().cursor());
+
+        assertEquals(List.of(3L, 2L), page.getTransactions().stream().map(TransactionResponse::getId).toList());
+        assertEquals(new TransactionCursor(at.plusSeconds(1), 2L),
+                TransactionCursor.decode(page.getNextCursor(), "before"));
+    }
+
+    @Test
+    void getTransactionPage_after_dropsTheNewestExtraRow() {
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        Instant at = Instant.parse("2026-01-15T10:00:00Z");
+        String after = new TransactionCursor(at, 1L).encode();
+        when(transactionRepository.findHistory(any())).thenReturn(new ArrayList<>(List.of(
+                response(4L, at.plusSeconds(3)), response(3L, at.plusSeconds(2)), response(2L, at.plusSeconds(1)))));
+
+        TransactionPageResponse page = transactionService.getTransactionPage("test1", null, null,
+                null, null, null, after, 2);
+
+        ArgumentCaptor<TransactionHistoryQuery> query = ArgumentCaptor.forClass(TransactionHistoryQuery.class);
+        verify(transactionRepository).findHistory(query.capture());
+        assertTrue(query.getValue().newer());
+        assertEquals(new TransactionCursor(at, 1L), query.getValue().cursor());
+
+        assertEquals(List.of(3L, 2L), page.getTransactions().stream().map(TransactionResponse::getId).toList());
+        assertEquals(new TransactionCursor(at.plusSeconds(2), 3L),
+                TransactionCursor.decode(page.getNextCursor(), "after"));
+    }
+
+    @Test
+    void getTransactionPage_lastPage_hasNoCursor() {
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        when(transactionRepository.findHistory(any())).thenReturn(List.of(response(1L, Instant.now())));
+
+        TransactionPageResponse page = transactionService.getTransactionPage("test1", null, null,
+                null, null, null, null, null);
+
+        assertEquals(1, page.getTransactions().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getTransactionPage_rejectsInvalidParameters_beforeQuerying() {
+        String cursor = new TransactionCursor(Instant.now(), 1L).encode();
+        Instant now = Instant.now();
+
+        assertThrows(ValidationException.class, () -> transactionService.getTransactionPage(
+                "test1", null, null, null, null, null, null, TransactionService.MAX_PAGE_SIZE + 1));
+        assertThrows(ValidationException.class, () -> transactionService.getTransactionPage(
+                "test1", null, null, null, null, cursor, cursor, null));
+        assertThrows(ValidationException.class, () -> transactionService.getTransactionPage(
+                "test1", null, null, now, now, null, null, null));
+
+        verifyNoInteractions(userRepository, transactionRepository);
+    }
+
+    @Test
+    void getTransactionsByAsset_filtersByAssetIdInTheQuery() {
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
+        Asset asset = new Asset();
+        asset.setId(10L);
+        asset.setSymbol("BTCUSDT");
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(asset));
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        when(transactionRepository.findHistory(any())).thenReturn(List.of(response(1L, from.plusSeconds(1))));
+
+        TransactionPageResponse page = transactionService.getTransactionsByAsset("btcusdt", "test1",
+                from, null, null, null, 10);
+
+        ArgumentCaptor<TransactionHistoryQuery> query = ArgumentCaptor.forClass(TransactionHistoryQuery.class);
+        verify(transactionRepository).findHistory(query.capture());
+        assertEquals(10L, query.getValue().assetId());
+        assertEquals(from, query.getValue().from());
+        assertEquals(11, query.getValue().limit());
+        verify(transactionRepository, never()).findByUser_Id(any());
+
+        assertEquals(1, page.getTransactions().size());
+        assertNull(page.getNextCursor());
+    }
+
+    private static TransactionResponse response(Long id, Instant timestamp) {
+        return new TransactionResponse(id, "BUY", "BTCUSDT", 1.0, 100.0, timestamp);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.investhub.service;
+
+import com.example.investhub.model.Asset;
+import com.example.investhub.model.User;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.repository.TransactionRepository;
+import com.example.investhub.repository.UserRepository;
+import com.example.investhub.support.MicroBenchmark;
+import com.example.investhub.websocket.BinanceWebSocketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads the newest page of one asset's transactions for users whose histories hold 1,000, 100,000
+ * and 1,000,000 transactions, 500 of them in that asset, and compares it with the previous load of the
+ * whole history filtered in Java. Run with {@code mvn test -Pbenchmark -Dtest=TransactionsByAssetBenchmark}.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class TransactionsByAssetBenchmark {
+
+    private static final int[] HISTORY_SIZES = {1_000, 100_000, 1_000_000};
+    private static final int IN_ASSET = 500;
+    private static final int PAGE = 50;
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AssetRepository assetRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @SuppressWarnings("deprecation")
+    @MockBean private BinanceWebSocketService binanceWebSocketService;
+
+    @Test
+    void pageLatency_isIndependentOfHistorySize() {
+        Asset btc = asset("BTCUSDT");
+        Asset eth = asset("ETHUSDT");
+
+        Map<Integer, MicroBenchmark.Result> indexed = new LinkedHashMap<>();
+        for (int size : HISTORY_SIZES) {
+            User user = new User();
+            user.setUsername("bench" + size);
+            user.setPassword("pass");
+            user = userRepository.save(user);
+            seed(user.getId(), size, btc.getId(), eth.getId());
+            String username = user.getUsername();
+
+            assertEquals(PAGE, transactionService.getTransactionsByAsset("BTCUSDT", username,
+                    null, null, null, null, PAGE).getTransactions().size());
+
+            indexed.put(size, MicroBenchmark.run("by asset, history of " + size, 200, 2_000,
+                    i -> transactionService.getTransactionsByAsset("BTCUSDT", username,
+                            null, null, null, null, PAGE).getTransactions().size()));
+
+            if (size <= 100_000) {
+                Long userId = user.getId();
+                MicroBenchmark.run("load + filter, history of " + size, 2, size <= 1_000 ? 200 : 5,
+                        i -> transactionRepository.findByUser_Id(userId).stream()
+                                .filter(t -> t.getAssetSymbol().equalsIgnoreCase("BTCUSDT"))
+                                .count());
+            }
+        }
+
+        double smallest = indexed.get(HISTORY_SIZES[0]).nanosPerOp();
+        double largest = indexed.get(HISTORY_SIZES[HISTORY_SIZES.length - 1]).nanosPerOp();
+        System.out.printf("page of %d: %.0f us at %,d rows, %.0f us at %,d rows%n", PAGE,
+                smallest / 1_000, HISTORY_SIZES[0], largest / 1_000, HISTORY_SIZES[HISTORY_SIZES.length - 1]);
+
+        assertTrue(largest < smallest * 3, "page latency grew with the history size");
+    }
+
+    private Asset asset(String symbol) {
+        Asset asset = new Asset();
+        asset.setSymbol(symbol);
+        asset.setName(symbol);
+        return assetRepository.save(asset);
+    }
+
+    /** {@code size} transactions, one second apart, every (size / IN_ASSET)th one in the measured asset. */
+    private void seed(Long userId, int size, Long assetId, Long otherAssetId) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, asset_id, type, quantity, price_per_unit, timestamp) "
+                        + "SELECT ?, CASE WHEN MOD(X, ?) = 0 THEN ? ELSE ? END, 'BUY', 1.0, 100.0, "
+                        + "DATEADD(SECOND, X, TIMESTAMP WITH TIME ZONE '2026-01-01 00:00:00+00') "
+                        + "FROM SYSTEM_RANGE(1, ?)",
+                userId, size / IN_ASSET, assetId, otherAssetId, size);
+    }
+}
@@ -1,11 +1,11 @@
 package com.example.investhub.service;
 
+import com.example.investhub.catalog.AssetCatalog;
 import com.example.investhub.exception.ResourceAlreadyExistsException;
 import com.example.investhub.exception.ResourceNotFoundException;
 import com.example.investhub.model.Asset;
 import com.example.investhub.model.User;
 import com.example.investhub.model.WatchlistEntry;
-import com.example.investhub.repository.AssetRepository;
 import com.example.investhub.repository.UserRepository;
 import com.example.investhub.repository.WatchlistRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,7 +32,10 @@ class WatchlistServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private AssetRepository assetRepository;
+    private AssetCatalog assetCatalog;
+
+    @Mock
+    private PriceAlertService priceAlertService;
 
     @InjectMocks
     private WatchlistService watchlistService;
@@ -92,7 +95,7 @@ class WatchlistServiceTest {
     @Test
     void addToWatchlist_createsNewEntry() {
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(btc));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(btc));
 
         when(watchlistRepository.findByUser_Id(1L)).thenReturn(List.of()); // empty watchlist
         when(watchlistRepository.save(any(WatchlistEntry.class)))
@@ -121,14 +124,14 @@ class WatchlistServiceTest {
 
         assertEquals("User", ex.getResourceType());
         assertEquals("missing", ex.getIdentifier());
-        verify(assetRepository, never()).findBySymbol(anyString());
+        verify(assetCatalog, never()).findBySymbol(anyString());
         verify(watchlistRepository, never()).save(any());
     }
 
     @Test
     void addToWatchlist_assetMissing_throwsResourceNotFound() {
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.empty());
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
                 () -> watchlistService.addToWatchlist("BTCUSDT", "test1"));
@@ -141,7 +144,7 @@ class WatchlistServiceTest {
     @Test
     void addToWatchlist_whenAlreadyExists_throwsResourceAlreadyExists() {
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
-        when(assetRepository.findBySymbol("BTCUSDT")).thenReturn(Optional.of(btc));
+        when(assetCatalog.findBySymbol("BTCUSDT")).thenReturn(Optional.of(btc));
 
         WatchlistEntry existing = entry(100L, user, btc);
         when(watchlistRepository.findByUser_Id(1L)).thenReturn(List.of(existing));
@@ -157,7 +160,7 @@ class WatchlistServiceTest {
     // ---------------- removeFromWatchlist ----------------
 
     @Test
-    void removeFromWatchlist_deletesEntry() {
+    void removeFromWatchlist_deletesEntry_andCancelsItsAlerts() {
         when(userRepository.findByUsername("test1")).thenReturn(Optional.of(user));
 
         WatchlistEntry existing = entry(100L, user, btc);
@@ -165,6 +168,7 @@ class WatchlistServiceTest {
 
         watchlistService.removeFromWatchlist("BTCUSDT", "test1");
 
+        verify(priceAlertService).cancelAlerts(1L, 10L);
         verify(watchlistRepository).delete(existing);
     }
 
@@ -191,6 +195,7 @@ class WatchlistServiceTest {
 
         assertEquals("Asset not in watchlist", ex.getMessage());
         verify(watchlistRepository, never()).delete(any());
+        verifyNoInteractions(priceAlertService);
     }
 
     // ---------------- isInWatchlist ----------------
@@ -0,0 +1,170 @@
+package com.example.investhub.stream;
+
+import com.example.investhub.marketdata.PriceTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fan-out of {@link PriceStreamHub}: thousands of subscribers following a few symbols each, fed by
+ * a writer publishing ticks at a fixed rate, with a group of deliberately slow subscribers mixed in.
+ * Reports delivered updates per second and the latency from the tick's receive time to delivery
+ * at the sink, i.e. everything but the socket write.
+ * Run with {@code mvn test -Pbenchmark -Dtest=PriceStreamFanOutBenchmark}.
+ */
+class PriceStreamFanOutBenchmark {
+
+    private static final int SYMBOLS = 200;
+    private static final int SUBSCRIBERS = 5_000;
+    private static final int SLOW_SUBSCRIBERS = 50;
+    private static final int SYMBOLS_PER_SUBSCRIBER = 10;
+    private static final int TICKS_PER_SECOND = 50_000;
+    private static final Duration INTERVAL = Duration.ofMillis(20);
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURED = Duration.ofSeconds(10);
+
+    @Test
+    void fanOut_fiveThousandSubscribers() throws Exception {
+        PriceTable priceTable = new PriceTable(SYMBOLS);
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < SYMBOLS; i++) {
+            symbols.add("SYM" + i + "USDT");
+            priceTable.update(symbols.get(i), 100.0);
+        }
+
+        PriceStreamHub hub = new PriceStreamHub(priceTable, new ObjectMapper());
+        ReflectionTestUtils.setField(hub, "interval", INTERVAL);
+
+        Random random = new Random(42);
+        LatencySink fast = new LatencySink(0);
+        LatencySink slow = new LatencySink(200);
+        for (int i = 0; i < SUBSCRIBERS + SLOW_SUBSCRIBERS; i++) {
+            List<String> followed = new ArrayList<>();
+            for (int j = 0; j < SYMBOLS_PER_SUBSCRIBER; j++) {
+                followed.add(symbols.get(random.nextInt(SYMBOLS)));
+            }
+            hub.subscribe(i < SUBSCRIBERS ? fast.forSubscriber() : slow.forSubscriber(), followed);
+        }
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            Random ticks = new Random(7);
+            long periodNanos = 1_000_000_000L / TICKS_PER_SECOND;
+            long next = System.nanoTime();
+            while (writing.get()) {
+                long now = System.currentTimeMillis();
+                priceTable.update(ticks.nextInt(SYMBOLS), 100 + ticks.nextDouble(), now, now);
+                next += periodNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        }, "tick-writer");
+
+        hub.start();
+        writer.start();
+        try {
+            Thread.sleep(WARMUP.toMillis());
+            fast.reset();
+            slow.reset();
+            long conflatedBefore = hub.getUpdatesConflated();
+            long start = System.nanoTime();
+            Thread.sleep(MEASURED.toMillis());
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%,d subscribers x %d symbols, %,d ticks/s, dispatch every %d ms%n",
+                    SUBSCRIBERS, SYMBOLS_PER_SUBSCRIBER, TICKS_PER_SECOND, INTERVAL.toMillis());
+            fast.print("fast subscribers", seconds);
+            slow.print("slow subscribers (200 ms/send)", seconds);
+            System.out.printf("%-32s %,14d%n", "conflated updates", hub.getUpdatesConflated() - conflatedBefore);
+
+            assertTrue(fast.percentile(0.99) < 1_000, "fast subscribers should not be held up by slow ones");
+        } finally {
+            writing.set(false);
+            writer.join();
+            hub.stop();
+        }
+    }
+
+    /**
+     * Counts delivered updates of a group of subscribers and their latency in a 1 ms histogram.
+     */
+    private static class LatencySink {
+
+        private static final String UPDATED_AT = "\"updatedAt\":";
+
+        private final long sendMillis;
+        private final LongAdder updates = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(10_001);
+
+        LatencySink(long sendMillis) {
+            this.sendMillis = sendMillis;
+        }
+
+        PriceSink forSubscriber() {
+            return new PriceSink() {
+                @Override
+                public void send(String json) {
+                    long now = System.currentTimeMillis();
+                    for (int at = json.indexOf(UPDATED_AT); at >= 0; at = json.indexOf(UPDATED_AT, at + 1)) {
+                        int start = at + UPDATED_AT.length();
+                        int end = start;
+                        while (end < json.length() && Character.isDigit(json.charAt(end))) {
+                            end++;
+                        }
+                        long latency = now - Long.parseLong(json, start, end, 10);
+                        histogram.incrementAndGet((int) Math.min(Math.max(latency, 0), histogram.length() - 1));
+                        updates.increment();
+                    }
+                    if (sendMillis > 0) {
+                        LockSupport.parkNanos(sendMillis * 1_000_000);
+                    }
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        void reset() {
+            updates.reset();
+            for (int i = 0; i < histogram.length(); i++) {
+                histogram.set(i, 0);
+            }
+        }
+
+        long percentile(double p) {
+            long total = 0;
+            for (int i = 0; i < histogram.length(); i++) {
+                total += histogram.get(i);
+            }
+            long rank = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < histogram.length(); i++) {
+                seen += histogram.get(i);
+                if (seen >= rank && seen > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        void print(String name, double seconds) {
+            System.out.printf("%-32s %,14.0f updates/s delivered   latency p50 %4d ms  p99 %4d ms  p99.9 %4d ms%n",
+                    name, updates.sum() / seconds, percentile(0.5), percentile(0.99), percentile(0.999));
+        }
+    }
+}
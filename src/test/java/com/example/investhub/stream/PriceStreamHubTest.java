@@ -0,0 +1,148 @@
+package com.example.investhub.stream;
+
+import com.example.investhub.exception.ResourceNotFoundException;
+import com.example.investhub.marketdata.PriceTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceStreamHubTest {
+
+    private PriceTable priceTable;
+    private PriceStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        priceTable = new PriceTable(16);
+        priceTable.register("BTCUSDT");
+        priceTable.register("ETHUSDT");
+        hub = new PriceStreamHub(priceTable, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void subscribe_sendsCurrentPricesThenOnlyFollowedChanges() throws Exception {
+        priceTable.update("BTCUSDT", 100.0);
+        RecordingSink sink = new RecordingSink();
+
+        hub.subscribe(sink, List.of("btcusdt"));
+        String initial = sink.next();
+        assertTrue(initial.contains("\"symbol\":\"BTCUSDT\"") && initial.contains("\"price\":100.0"), initial);
+
+        priceTable.update("ETHUSDT", 2000.0);
+        priceTable.update("BTCUSDT", 101.0);
+        hub.dispatch();
+
+        String update = sink.next();
+        assertTrue(update.contains("\"price\":101.0"), update);
+        assertFalse(update.contains("ETHUSDT"), update);
+    }
+
+    @Test
+    void subscribe_withoutSymbols_followsAll() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(sink, List.of());
+
+        priceTable.update("ETHUSDT", 2000.0);
+        priceTable.update("SOLUSDT", 150.0);
+        hub.dispatch();
+
+        String update = sink.next();
+        assertTrue(update.contains("ETHUSDT") && update.contains("SOLUSDT"), update);
+    }
+
+    @Test
+    void slowSubscriber_getsLatestPriceOnly_andDoesNotHoldUpOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(release);
+        RecordingSink fast = new RecordingSink();
+        hub.subscribe(slow, List.of("BTCUSDT"));
+        hub.subscribe(fast, List.of("BTCUSDT"));
+
+        for (int i = 1; i <= 3; i++) {
+            priceTable.update("BTCUSDT", i);
+            hub.dispatch();
+            assertTrue(fast.next().contains("\"price\":" + i + ".0"));
+        }
+        release.countDown();
+
+        assertTrue(slow.next().contains("\"price\":1.0"));
+        String latest = slow.next();
+        assertTrue(latest.contains("\"price\":3.0"), latest);
+        assertNull(slow.messages.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, hub.getUpdatesConflated());
+    }
+
+    @Test
+    void subscriberStuckInSend_isDisconnected() throws Exception {
+        ReflectionTestUtils.setField(hub, "sendTimeout", Duration.ofMillis(10));
+        RecordingSink stuck = new RecordingSink(new CountDownLatch(1));
+        hub.subscribe(stuck, List.of("BTCUSDT"));
+
+        priceTable.update("BTCUSDT", 1.0);
+        hub.dispatch();
+        Thread.sleep(50);
+        hub.dispatch();
+
+        assertTrue(stuck.closed);
+        assertEquals(0, hub.subscriberCount());
+        assertEquals(1, hub.getSubscribersEvicted());
+    }
+
+    @Test
+    void subscribe_unknownSymbol_throws() {
+        assertThrows(ResourceNotFoundException.class, () -> hub.subscribe(new RecordingSink(), List.of("NOPE")));
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    private static class RecordingSink implements PriceSink {
+
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        final CountDownLatch gate;
+        volatile boolean closed;
+
+        RecordingSink() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingSink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(String json) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(json);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        String next() throws InterruptedException {
+            String message = messages.poll(2, TimeUnit.SECONDS);
+            assertNotNull(message, "no message delivered");
+            return message;
+        }
+    }
+}
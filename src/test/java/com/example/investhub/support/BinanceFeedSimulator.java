@@ -0,0 +1,547 @@
+package com.example.investhub.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Embeddable stand-in for the Binance market data WebSocket.
+ * <p>
+ * Speaks the SUBSCRIBE/UNSUBSCRIBE protocol on {@code ws://127.0.0.1:<port>/ws} and emits
+ * {@code 24hrTicker} frames for a configurable symbol universe. Prices follow a seeded geometric
+ * random walk, so runs are repeatable; the total tick rate is paced by a single emitter thread and
+ * can be raised periodically by a burst factor. Point {@code binance.websocket.url} at
+ * {@link #url()} to run the application, tests or benchmarks without network access.
+ * <p>
+ * Run standalone with {@link #main(String[])}: {@code [port] [symbols] [ticksPerSecond]}.
+ */
+public final class BinanceFeedSimulator implements AutoCloseable {
+
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final int requestedPort;
+    private final List<String> symbols;
+    private final int ticksPerSecond;
+    private final double volatility;
+    private final long seed;
+    private final Duration burstEvery;
+    private final Duration burstLength;
+    private final double burstFactor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final AtomicLong framesSent = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+    private Thread emitter;
+    private volatile boolean running;
+
+    private BinanceFeedSimulator(Builder builder) {
+        this.requestedPort = builder.port;
+        this.symbols = List.copyOf(builder.symbols);
+        this.ticksPerSecond = builder.ticksPerSecond;
+        this.volatility = builder.volatility;
+        this.seed = builder.seed;
+        this.burstEvery = builder.burstEvery;
+        this.burstLength = builder.burstLength;
+        this.burstFactor = builder.burstFactor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ==================== Lifecycle ====================
+
+    public BinanceFeedSimulator start() throws IOException {
+        serverSocket = new ServerSocket(requestedPort, 128, InetAddress.getLoopbackAddress());
+        running = true;
+
+        acceptor = Thread.ofPlatform().daemon().name("feed-simulator-accept").start(this::acceptLoop);
+        emitter = Thread.ofPlatform().daemon().name("feed-simulator-emit").start(this::emitLoop);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+        dropConnections();
+        LockSupport.unpark(emitter);
+    }
+
+    /**
+     * Abruptly close every client connection, e.g. to exercise reconnects.
+     */
+    public void dropConnections() {
+        for (Client client : clients) {
+            client.close();
+        }
+    }
+
+    public String url() {
+        return "ws://127.0.0.1:" + serverSocket.getLocalPort() + "/ws";
+    }
+
+    public List<String> symbols() {
+        return symbols;
+    }
+
+    /** Number of ticker frames written to clients so far. */
+    public long framesSent() {
+        return framesSent.get();
+    }
+
+    public int connectedClients() {
+        return clients.size();
+    }
+
+    /** Symbols subscribed by each connected client. */
+    public List<Set<String>> subscriptions() {
+        return clients.stream().map(client -> Set.copyOf(client.subscribed)).toList();
+    }
+
+    // ==================== Server ====================
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread.ofPlatform().daemon().name("feed-simulator-client").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Feed simulator accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Client client = null;
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+
+            String key = readHandshake(in);
+            out.write(("HTTP/1.1 101 Switching Protocols\r\n"
+                    + "Upgrade: websocket\r\n"
+                    + "Connection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            client = new Client(socket, out);
+            clients.add(client);
+
+            while (running && !socket.isClosed()) {
+                Frame frame = readFrame(in);
+                switch (frame.opcode) {
+                    case 0x1 -> onText(client, new String(frame.payload, StandardCharsets.UTF_8));
+                    case 0x8 -> {
+                        client.write(0x8, frame.payload);
+                        client.close();
+                    }
+                    case 0x9 -> client.write(0xA, frame.payload);
+                    default -> { }
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        } finally {
+            if (client != null) {
+                clients.remove(client);
+                client.close();
+            } else {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void onText(Client client, String text) throws IOException {
+        JsonNode request = objectMapper.readTree(text);
+        String method = request.path("method").asText();
+
+        for (JsonNode param : request.path("params")) {
+            String stream = param.asText();
+            int at = stream.indexOf('@');
+            String symbol = (at < 0 ? stream : stream.substring(0, at)).toUpperCase(Locale.ROOT);
+
+            if ("SUBSCRIBE".equals(method)) {
+                client.subscribed.add(symbol);
+            } else if ("UNSUBSCRIBE".equals(method)) {
+                client.subscribed.remove(symbol);
+            }
+        }
+
+        client.write(0x1, ("{\"result\":null,\"id\":" + request.path("id").asLong() + "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==================== Emitter ====================
+
+    private void emitLoop() {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] prices = new double[symbols.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 0.01 * Math.pow(10, random.nextDouble(0, 7));
+        }
+
+        StringBuilder frame = new StringBuilder(512);
+        long startedAt = System.nanoTime();
+        long emitted = 0;
+        double due = 0;
+        long lastCheck = startedAt;
+        int next = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            due += (now - lastCheck) / 1e9 * currentRate(now - startedAt);
+            lastCheck = now;
+
+            while (due >= 1 && running) {
+                due -= 1;
+                int id = next;
+                next = next + 1 == prices.length ? 0 : next + 1;
+
+                prices[id] *= Math.exp(volatility * gaussian(random));
+                String symbol = symbols.get(id);
+
+                byte[] payload = null;
+                for (Client client : clients) {
+                    if (client.subscribed.contains(symbol)) {
+                        if (payload == null) {
+                            payload = tickerFrame(frame, symbol, prices[id], ++emitted).getBytes(StandardCharsets.US_ASCII);
+                        }
+                        client.writeBuffered(payload);
+                    }
+                }
+            }
+
+            for (Client client : clients) {
+                client.flush();
+            }
+            LockSupport.parkNanos(200_000);
+        }
+    }
+
+    private double currentRate(long elapsedNanos) {
+        if (burstEvery == null || burstFactor == 1) {
+            return ticksPerSecond;
+        }
+        long intoCycle = elapsedNanos % burstEvery.toNanos();
+        return intoCycle < burstLength.toNanos() ? ticksPerSecond * burstFactor : ticksPerSecond;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; the second value is discarded to keep the walk simple and seed-stable
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private String tickerFrame(StringBuilder sb, String symbol, double price, long tradeId) {
+        long eventTime = System.currentTimeMillis();
+        sb.setLength(0);
+        sb.append("{\"e\":\"24hrTicker\",\"E\":").append(eventTime)
+                .append(",\"s\":\"").append(symbol)
+                .append("\",\"p\":\"0.00000000\",\"P\":\"0.000\",\"w\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"x\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"c\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"Q\":\"0.00100000\",\"b\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"B\":\"1.00000000\",\"a\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"A\":\"1.00000000\",\"o\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"h\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"l\":\"");
+        appendFixed8(sb, price);
+        sb.append("\",\"v\":\"1000.00000000\",\"q\":\"1000.00000000\",\"O\":").append(eventTime - 86_400_000)
+                .append(",\"C\":").append(eventTime)
+                .append(",\"F\":0,\"L\":").append(tradeId)
+                .append(",\"n\":").append(tradeId + 1)
+                .append('}');
+        return sb.toString();
+    }
+
+    /** Binance renders prices with eight decimals. */
+    private static void appendFixed8(StringBuilder sb, double value) {
+        long scaled = Math.round(value * 100_000_000L);
+        sb.append(scaled / 100_000_000L).append('.');
+        String fraction = Long.toString(scaled % 100_000_000L);
+        for (int i = fraction.length(); i < 8; i++) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    // ==================== WebSocket framing ====================
+
+    private static String readHandshake(DataInputStream in) throws IOException {
+        String key = null;
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+        if (key == null) {
+            throw new IOException("Not a WebSocket handshake");
+        }
+        return key;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Frame readFrame(DataInputStream in) throws IOException {
+        int b0 = in.readUnsignedByte();
+        int b1 = in.readUnsignedByte();
+
+        long length = b1 & 0x7F;
+        if (length == 126) {
+            length = in.readUnsignedShort();
+        } else if (length == 127) {
+            length = in.readLong();
+        }
+        if (length > 1 << 20) {
+            throw new IOException("Frame too large: " + length);
+        }
+
+        byte[] mask = new byte[4];
+        boolean masked = (b1 & 0x80) != 0;
+        if (masked) {
+            in.readFully(mask);
+        }
+
+        byte[] payload = new byte[(int) length];
+        in.readFully(payload);
+        if (masked) {
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] ^= mask[i & 3];
+            }
+        }
+        return new Frame(b0 & 0x0F, payload);
+    }
+
+    private static void writeHeader(OutputStream out, int opcode, int length) throws IOException {
+        out.write(0x80 | opcode);
+        if (length < 126) {
+            out.write(length);
+        } else if (length < 65_536) {
+            out.write(126);
+            out.write(length >>> 8);
+            out.write(length);
+        } else {
+            out.write(127);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) ((long) length >>> shift));
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+
+    private record Frame(int opcode, byte[] payload) {}
+
+    private final class Client {
+
+        private final Socket socket;
+        private final OutputStream out;
+        private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+
+        Client(Socket socket, OutputStream out) {
+            this.socket = socket;
+            this.out = out;
+        }
+
+        synchronized void write(int opcode, byte[] payload) throws IOException {
+            writeHeader(out, opcode, payload.length);
+            out.write(payload);
+            out.flush();
+        }
+
+        synchronized void writeBuffered(byte[] payload) {
+            if (socket.isClosed()) {
+                return;
+            }
+            try {
+                writeHeader(out, 0x1, payload.length);
+                out.write(payload);
+                framesSent.incrementAndGet();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        synchronized void flush() {
+            if (socket.isClosed()) {
+                return;
+            }
+            try {
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            clients.remove(this);
+            closeQuietly(socket);
+        }
+    }
+
+    // ==================== Builder ====================
+
+    public static final class Builder {
+
+        private int port;
+        private List<String> symbols = generatedSymbols(10);
+        private int ticksPerSecond = 1_000;
+        private double volatility = 0.0005;
+        private long seed = 42;
+        private Duration burstEvery;
+        private Duration burstLength = Duration.ZERO;
+        private double burstFactor = 1;
+
+        private Builder() {}
+
+        /** Listen port; 0 (default) picks a free one. */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /** Simulate {@code count} synthetic USDT pairs. */
+        public Builder symbols(int count) {
+            this.symbols = generatedSymbols(count);
+            return this;
+        }
+
+        public Builder symbols(List<String> symbols) {
+            this.symbols = List.copyOf(symbols);
+            return this;
+        }
+
+        /** Total ticker frames per second across all symbols, up to ~100k on a laptop. */
+        public Builder ticksPerSecond(int ticksPerSecond) {
+            if (ticksPerSecond <= 0) {
+                throw new IllegalArgumentException("ticksPerSecond must be positive");
+            }
+            this.ticksPerSecond = ticksPerSecond;
+            return this;
+        }
+
+        /** Standard deviation of the log-return of a single tick. */
+        public Builder volatility(double volatility) {
+            this.volatility = volatility;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Multiply the tick rate by {@code factor} for {@code length} at the start of every
+         * {@code every} period.
+         */
+        public Builder burst(Duration every, Duration length, double factor) {
+            this.burstEvery = every;
+            this.burstLength = length;
+            this.burstFactor = factor;
+            return this;
+        }
+
+        public BinanceFeedSimulator build() {
+            return new BinanceFeedSimulator(this);
+        }
+
+        private static List<String> generatedSymbols(int count) {
+            List<String> generated = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                generated.add(String.format("SIM%04dUSDT", i));
+            }
+            return generated;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9443;
+        int symbolCount = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int rate = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        try (BinanceFeedSimulator simulator = builder().port(port).symbols(symbolCount).ticksPerSecond(rate).build().start()) {
+            System.out.printf("Feed simulator on %s (%d symbols, %,d ticks/s)%n", simulator.url(), symbolCount, rate);
+            long lastFrames = 0;
+            while (true) {
+                Thread.sleep(1_000);
+                long frames = simulator.framesSent();
+                System.out.printf("%d clients, %,d frames/s%n", simulator.connectedClients(), frames - lastFrames);
+                lastFrames = frames;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.investhub.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Minimal single-threaded benchmark harness used by the {@code *Benchmark} tests.
+ * <p>
+ * Runs an operation for a warmup phase, then measures wall time and the bytes allocated by the
+ * calling thread over the measured phase. Benchmarks only run with {@code mvn test -Pbenchmark}.
+ */
+public final class MicroBenchmark {
+
+    private static volatile double sink;
+
+    private MicroBenchmark() {}
+
+    /**
+     * Run an operation and report throughput and allocation.
+     *
+     * @param name Label printed with the result
+     * @param warmupOps Number of unmeasured invocations
+     * @param measuredOps Number of measured invocations
+     * @param operation The operation; receives the invocation index, its result is consumed
+     * @return The measurement
+     */
+    public static Result run(String name, int warmupOps, int measuredOps, IntToDoubleFunction operation) {
+        double acc = 0;
+        for (int i = 0; i < warmupOps; i++) {
+            acc += operation.applyAsDouble(i);
+        }
+
+        long allocatedBefore = currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < measuredOps; i++) {
+            acc += operation.applyAsDouble(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = currentThreadAllocatedBytes() - allocatedBefore;
+
+        sink = acc;
+
+        Result result = new Result(name, measuredOps, elapsed, allocated);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread, or -1 if the JVM does not support it.
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    public record Result(String name, long operations, long elapsedNanos, long allocatedBytes) {
+
+        public double opsPerSecond() {
+            return operations * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double nanosPerOp() {
+            return (double) elapsedNanos / operations;
+        }
+
+        public double bytesPerOp() {
+            return (double) allocatedBytes / operations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %,14.0f ops/s %,10.1f ns/op %,10.1f B/op",
+                    name, opsPerSecond(), nanosPerOp(), bytesPerOp());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.investhub.trading;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeLanesTest {
+
+    private final TradeLanes lanes = new TradeLanes(4);
+
+    @Test
+    void oneUsersCommands_runOneAtATime_inTheOrderTheyWereSubmitted() {
+        List<Integer> ran = new ArrayList<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            int command = i;
+            lanes.submit(7L, () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                ran.add(command);
+                inFlight.decrementAndGet();
+            });
+        }
+
+        // Queued behind all of them
+        int size = lanes.execute(7L, ran::size);
+
+        assertEquals(1_000, size);
+        assertEquals(IntStream.range(0, 1_000).boxed().toList(), ran);
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void oneUsersCommands_fromManyThreads_neverOverlap() throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        int[] counter = new int[1];
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 2_000; i++) {
+            callers.execute(() -> lanes.execute(3L, () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                // Unsynchronized on purpose: only the lane keeps the increments from racing
+                counter[0]++;
+                return inFlight.decrementAndGet();
+            }));
+        }
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(2_000, lanes.execute(3L, () -> counter[0]));
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void differentUsers_runInParallel() {
+        CountDownLatch otherUserRan = new CountDownLatch(1);
+
+        // User 0 waits for user 1, which would never run if they shared a thread
+        lanes.submit(0L, () -> {
+            try {
+                otherUserRan.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        boolean ran = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> lanes.execute(1L, () -> {
+            otherUserRan.countDown();
+            return true;
+        }));
+
+        assertTrue(ran);
+        assertEquals(0, otherUserRan.getCount());
+    }
+
+    @Test
+    void execute_rethrowsWhatTheCommandThrew_andTheLaneCarriesOn() {
+        IllegalStateException failure = new IllegalStateException("no");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> lanes.execute(5L, () -> {
+                    throw failure;
+                }));
+        assertSame(failure, thrown);
+
+        lanes.submit(5L, () -> {
+            throw new IllegalArgumentException("logged");
+        });
+        assertEquals("after", lanes.execute(5L, () -> "after"));
+    }
+
+    @Test
+    void execute_fromACommandOnTheSameLane_runsInline() {
+        int result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> lanes.execute(2L, () -> lanes.execute(2L, () -> 42)));
+
+        assertEquals(42, result);
+    }
+
+    @Test
+    void execute_insideATransaction_refusesToWait() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThrows(IllegalStateException.class, () -> lanes.execute(6L, () -> 1));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, lanes.execute(6L, () -> 1));
+    }
+
+    @Test
+    void laneCount_mustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new TradeLanes(0));
+        assertEquals(4, lanes.laneCount());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.investhub.trading;
+
+import com.example.investhub.exception.ConcurrentUpdateException;
+import com.example.investhub.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeRetryTest {
+
+    private final TradeRetry retry = new TradeRetry(3, Duration.ofNanos(1), Duration.ofMillis(1));
+
+    @Test
+    void attemptThatLosesToAConcurrentUpdate_isRunAgain() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.run(1L, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(User.class, 1L);
+            }
+            return "filled";
+        });
+
+        assertEquals("filled", result);
+        assertEquals(3, attempts.get());
+        assertEquals(1, retry.getTrades());
+        assertEquals(2, retry.getRetries());
+        assertEquals(0, retry.getExhausted());
+    }
+
+    @Test
+    void afterTheLastAttempt_givesUpWithConcurrentUpdateException() {
+        AtomicInteger attempts = new AtomicInteger();
+        ObjectOptimisticLockingFailureException conflict = new ObjectOptimisticLockingFailureException(User.class, 1L);
+
+        ConcurrentUpdateException e = assertThrows(ConcurrentUpdateException.class, () -> retry.run(7L, () -> {
+            attempts.incrementAndGet();
+            throw conflict;
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(3, e.getAttempts());
+        assertEquals(7L, e.getUserId());
+        assertSame(conflict, e.getCause());
+        assertEquals(2, retry.getRetries());
+        assertEquals(1, retry.getExhausted());
+    }
+
+    @Test
+    void otherFailures_areNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> retry.run(1L, () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, retry.getRetries());
+        assertEquals(0, retry.getExhausted());
+    }
+
+    @Test
+    void maxAttempts_mustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new TradeRetry(0, Duration.ZERO, Duration.ZERO));
+    }
+}
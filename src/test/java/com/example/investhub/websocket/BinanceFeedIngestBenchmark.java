@@ -0,0 +1,90 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.alert.AlertDispatcher;
+import com.example.investhub.alert.PriceAlertIndex;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.marketdata.TickJournal;
+import com.example.investhub.order.OrderEngine;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.service.OrderService;
+import com.example.investhub.service.PriceAlertService;
+import com.example.investhub.support.BinanceFeedSimulator;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * End-to-end ingest throughput of {@link BinanceWebSocketService} against the local feed simulator:
+ * frames are framed, sent over loopback, queued in the shard rings, decoded and published to the price table.
+ * Run with {@code mvn test -Pbenchmark -Dtest=BinanceFeedIngestBenchmark}.
+ */
+class BinanceFeedIngestBenchmark {
+
+    private static final int SYMBOLS = 500;
+    private static final int TICKS_PER_SECOND = 100_000;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURED = Duration.ofSeconds(10);
+
+    @Test
+    void ingest_oneConnection_vsFiveShards() throws Exception {
+        double single = run("1 connection", SYMBOLS);
+        double sharded = run("5 shards", SYMBOLS / 5);
+
+        System.out.printf("sharding: %.2fx%n", sharded / single);
+        assertTrue(sharded > 0.9 * TICKS_PER_SECOND, "sharded feed should keep up with the simulator");
+    }
+
+    private double run(String name, int streamsPerConnection) throws Exception {
+        try (BinanceFeedSimulator simulator = BinanceFeedSimulator.builder()
+                .symbols(SYMBOLS)
+                .ticksPerSecond(TICKS_PER_SECOND)
+                .build()
+                .start()) {
+
+            AssetRepository assetRepository = mock(AssetRepository.class);
+            when(assetRepository.findAllSymbols()).thenReturn(simulator.symbols());
+
+            PriceTable priceTable = new PriceTable(SYMBOLS);
+            BinanceWebSocketService service = new BinanceWebSocketService(new ObjectMapper(), priceTable, assetRepository,
+                new TickJournal(priceTable, Path.of("target/journal"), TickJournal.RECORD_SIZE * 1024, false),
+                new CandleStore(priceTable, 16),
+                new PriceAlertIndex(priceTable, mock(PriceAlertService.class), mock(AlertDispatcher.class)),
+                new OrderEngine(priceTable, mock(OrderService.class), mock(TradeLanes.class), mock(TradeRetry.class)));
+            ReflectionTestUtils.setField(service, "binanceWebSocketUrl", simulator.url());
+            ReflectionTestUtils.setField(service, "initialBackoff", Duration.ofMillis(50));
+            ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofSeconds(1));
+            ReflectionTestUtils.setField(service, "staleAfter", Duration.ofSeconds(5));
+            ReflectionTestUtils.setField(service, "streamsPerConnection", streamsPerConnection);
+            ReflectionTestUtils.setField(service, "catalogRefresh", Duration.ofHours(1));
+
+            service.start();
+            try {
+                Thread.sleep(WARMUP.toMillis());
+
+                BinanceWebSocketService.IngestStats before = service.getIngestStats();
+                long sentBefore = simulator.framesSent();
+                long start = System.nanoTime();
+                Thread.sleep(MEASURED.toMillis());
+                long elapsed = System.nanoTime() - start;
+
+                BinanceWebSocketService.IngestStats after = service.getIngestStats();
+                double ingested = (after.decoded() - before.decoded()) * 1e9 / elapsed;
+                double sent = (simulator.framesSent() - sentBefore) * 1e9 / elapsed;
+                System.out.printf("%-40s %,14.0f ticks/s ingested %,14.0f frames/s sent %,12d conflated %,10d dropped%n",
+                        name, ingested, sent, after.conflated() - before.conflated(), after.dropped() - before.dropped());
+                return ingested;
+            } finally {
+                service.stop();
+            }
+        }
+    }
+}
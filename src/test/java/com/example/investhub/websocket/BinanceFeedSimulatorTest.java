@@ -0,0 +1,124 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.alert.AlertDispatcher;
+import com.example.investhub.alert.PriceAlertIndex;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.marketdata.TickJournal;
+import com.example.investhub.order.OrderEngine;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.service.OrderService;
+import com.example.investhub.service.PriceAlertService;
+import com.example.investhub.support.BinanceFeedSimulator;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the real feed client against the local {@link BinanceFeedSimulator}.
+ */
+class BinanceFeedSimulatorTest {
+
+    private static final List<String> SYMBOLS = List.of("BTCUSDT", "ETHUSDT", "SOLUSDT");
+
+    private BinanceFeedSimulator simulator;
+    private PriceTable priceTable;
+    private BinanceWebSocketService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        simulator = BinanceFeedSimulator.builder()
+                .symbols(SYMBOLS)
+                .ticksPerSecond(300)
+                .build()
+                .start();
+
+        AssetRepository assetRepository = mock(AssetRepository.class);
+        when(assetRepository.findAllSymbols()).thenReturn(SYMBOLS);
+
+        priceTable = new PriceTable(16);
+        service = new BinanceWebSocketService(new ObjectMapper(), priceTable, assetRepository,
+                new TickJournal(priceTable, Path.of("target/journal"), TickJournal.RECORD_SIZE * 1024, false),
+                new CandleStore(priceTable, 16),
+                new PriceAlertIndex(priceTable, mock(PriceAlertService.class), mock(AlertDispatcher.class)),
+                new OrderEngine(priceTable, mock(OrderService.class), mock(TradeLanes.class), mock(TradeRetry.class)));
+        ReflectionTestUtils.setField(service, "binanceWebSocketUrl", simulator.url());
+        ReflectionTestUtils.setField(service, "initialBackoff", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(service, "staleAfter", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(service, "streamsPerConnection", 2);
+        ReflectionTestUtils.setField(service, "catalogRefresh", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+        simulator.close();
+    }
+
+    @Test
+    void feed_subscribesShardsAndPricesEverySymbol() {
+        service.start();
+
+        await(() -> SYMBOLS.stream().allMatch(symbol -> !Double.isNaN(priceTable.price(symbol))));
+
+        assertTrue(service.isLive());
+        assertEquals(2, simulator.connectedClients());
+        assertEquals(Set.of("BTCUSDT", "ETHUSDT", "SOLUSDT"),
+                simulator.subscriptions().stream().flatMap(Set::stream).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void feed_reconnectsAndResubscribesAfterDrop() {
+        service.start();
+        await(service::isLive);
+
+        simulator.dropConnections();
+        await(() -> !service.isLive());
+
+        int btc = priceTable.idOf("BTCUSDT");
+        long versionAfterDrop = priceTable.version(btc);
+        await(() -> service.isLive() && priceTable.version(btc) > versionAfterDrop);
+    }
+
+    @Test
+    void feed_unsubscribesRemovedAssets() {
+        service.start();
+        await(() -> simulator.connectedClients() == 2 && simulator.subscriptions().stream().mapToInt(Set::size).sum() == 3);
+
+        service.applyCatalog(new LinkedHashSet<>(List.of("BTCUSDT", "ETHUSDT")));
+
+        await(() -> simulator.connectedClients() == 1);
+        assertEquals(List.of(Set.of("BTCUSDT", "ETHUSDT")), simulator.subscriptions());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 10 s");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.alert.AlertDispatcher;
+import com.example.investhub.alert.PriceAlertIndex;
+import com.example.investhub.exception.MarketDataUnavailableException;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.marketdata.TickJournal;
+import com.example.investhub.model.enumeration.FeedConnectionState;
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.order.OpenOrder;
+import com.example.investhub.order.OrderEngine;
+import com.example.investhub.order.OrderPlacedEvent;
+import com.example.investhub.repository.AssetRepository;
+import com.example.investhub.service.OrderService;
+import com.example.investhub.service.PriceAlertService;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BinanceWebSocketServiceTest {
+
+    private PriceTable priceTable;
+    private AssetRepository assetRepository;
+    private AlertDispatcher alertDispatcher;
+    private TradeLanes tradeLanes;
+    private OrderEngine orderEngine;
+    private BinanceWebSocketService service;
+
+    /** Accepts TCP connections at the kernel level but never answers the handshake. */
+    private ServerSocket silentServer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        silentServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        priceTable = new PriceTable(16);
+        assetRepository = mock(AssetRepository.class);
+        when(assetRepository.findAllSymbols()).thenReturn(List.of("BTCUSDT", "ETHUSDT"));
+
+        alertDispatcher = mock(AlertDispatcher.class);
+        tradeLanes = mock(TradeLanes.class);
+        orderEngine = new OrderEngine(priceTable, mock(OrderService.class), tradeLanes, mock(TradeRetry.class));
+        service = new BinanceWebSocketService(new ObjectMapper(), priceTable, assetRepository,
+                new TickJournal(priceTable, Path.of("target/journal"), TickJournal.RECORD_SIZE * 1024, false),
+                new CandleStore(priceTable, 16),
+                new PriceAlertIndex(priceTable, mock(PriceAlertService.class), alertDispatcher),
+                orderEngine);
+        ReflectionTestUtils.setField(service, "binanceWebSocketUrl", "ws://127.0.0.1:" + silentServer.getLocalPort() + "/ws");
+        ReflectionTestUtils.setField(service, "initialBackoff", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(service, "staleAfter", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(service, "streamsPerConnection", 2);
+        ReflectionTestUtils.setField(service, "catalogRefresh", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.stop();
+        silentServer.close();
+    }
+
+    @Test
+    void start_doesNotWaitForHandshake() {
+        long startedAt = System.nanoTime();
+        service.start();
+        long startupMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        System.out.printf("BinanceWebSocketService.start() returned in %d ms with a hanging handshake%n", startupMillis);
+        assertTrue(startupMillis < 500, "start() blocked for " + startupMillis + " ms");
+        assertTrue(service.isRunning());
+        assertTrue(service.isWarmingUp());
+        assertFalse(service.isLive());
+    }
+
+    @Test
+    void requireLiveFeed_whenWarmingUp_throwsWarmingUp() {
+        service.start();
+
+        MarketDataUnavailableException ex = assertThrows(MarketDataUnavailableException.class,
+                () -> service.requireLiveFeed());
+
+        assertTrue(ex.isWarmingUp());
+        assertNotEquals(FeedConnectionState.CONNECTED, ex.getFeedState());
+    }
+
+    @Test
+    void applyCatalog_shardsStreamsAndAppliesIncrementalChanges() throws Exception {
+        service.start();
+        awaitSubscriptions(List.of(List.of("BTCUSDT", "ETHUSDT")));
+
+        service.applyCatalog(new LinkedHashSet<>(List.of("BTCUSDT", "ETHUSDT", "SOLUSDT")));
+        assertEquals(List.of(List.of("BTCUSDT", "ETHUSDT"), List.of("SOLUSDT")), service.getShardSubscriptions());
+        assertTrue(priceTable.idOf("SOLUSDT") >= 0);
+
+        service.applyCatalog(new LinkedHashSet<>(List.of("ETHUSDT", "SOLUSDT", "ADAUSDT")));
+        assertEquals(List.of(List.of("ETHUSDT", "ADAUSDT"), List.of("SOLUSDT")), service.getShardSubscriptions());
+
+        service.applyCatalog(new LinkedHashSet<>(List.of("ETHUSDT", "ADAUSDT")));
+        assertEquals(List.of(List.of("ETHUSDT", "ADAUSDT")), service.getShardSubscriptions());
+    }
+
+    @Test
+    void start_withReplayJournal_publishesRecordedTicksWithoutConnecting(@TempDir Path journalDir) throws Exception {
+        PriceTable recorded = new PriceTable(16);
+        TickJournal journal = new TickJournal(recorded, journalDir, TickJournal.RECORD_SIZE * 1024, true);
+        int btc = recorded.register("BTCUSDT");
+        int eth = recorded.register("ETHUSDT");
+        journal.append(btc, 1_000, 1_005, 43000.0);
+        journal.append(eth, 1_010, 1_015, 2200.0);
+        journal.append(btc, 1_020, 1_025, 43100.5);
+        journal.force();
+
+        ReflectionTestUtils.setField(service, "replayJournal", journalDir.toString());
+        ReflectionTestUtils.setField(service, "replaySpeed", 0.0);
+        service.start();
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (priceTable.price("BTCUSDT") != 43100.5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(43100.5, priceTable.price("BTCUSDT"));
+        assertEquals(2200.0, priceTable.price("ETHUSDT"));
+        assertTrue(service.isLive());
+        verifyNoInteractions(assetRepository);
+    }
+
+    @Test
+    void replay_leavesOpenOrdersOpen(@TempDir Path journalDir) throws Exception {
+        recordCrossingOfBuyLimit(journalDir);
+
+        ReflectionTestUtils.setField(service, "replayJournal", journalDir.toString());
+        ReflectionTestUtils.setField(service, "replaySpeed", 0.0);
+        service.start();
+        awaitPrice("BTCUSDT", 43100.0);
+
+        assertEquals(1, orderEngine.restingCount());
+        verifyNoInteractions(tradeLanes, alertDispatcher);
+    }
+
+    @Test
+    void replay_withTriggers_fillsOrdersReachedByRecordedPrices(@TempDir Path journalDir) throws Exception {
+        recordCrossingOfBuyLimit(journalDir);
+
+        ReflectionTestUtils.setField(service, "replayJournal", journalDir.toString());
+        ReflectionTestUtils.setField(service, "replaySpeed", 0.0);
+        ReflectionTestUtils.setField(service, "replayTriggers", true);
+        service.start();
+        awaitPrice("BTCUSDT", 43100.0);
+
+        assertEquals(0, orderEngine.restingCount());
+        verify(tradeLanes).submit(eq(2L), any(Runnable.class));
+    }
+
+    /** A buy limit at 42900 resting in the engine, and a journal whose prices dip through it and recover. */
+    private void recordCrossingOfBuyLimit(Path journalDir) {
+        orderEngine.onOrderPlaced(new OrderPlacedEvent(
+                new OpenOrder(9L, 2L, "BTCUSDT", TransactionType.BUY, OrderType.LIMIT, 42900.0, null, false)));
+
+        PriceTable recorded = new PriceTable(16);
+        TickJournal journal = new TickJournal(recorded, journalDir, TickJournal.RECORD_SIZE * 1024, true);
+        int btc = recorded.register("BTCUSDT");
+        journal.append(btc, 1_000, 1_005, 43000.0);
+        journal.append(btc, 1_010, 1_015, 42800.0);
+        journal.append(btc, 1_020, 1_025, 43100.0);
+        journal.force();
+    }
+
+    private void awaitPrice(String symbol, double price) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (priceTable.price(symbol) != price && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(price, priceTable.price(symbol));
+    }
+
+    private void awaitSubscriptions(List<List<String>> expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!expected.equals(service.getShardSubscriptions()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, service.getShardSubscriptions());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.model.enumeration.FeedConnectionState;
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.Session;
+import jakarta.websocket.WebSocketContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedConnectionTest {
+
+    private static final URI FEED = URI.create("wss://feed.test/ws");
+    private static final FeedConnection.Settings SETTINGS =
+            new FeedConnection.Settings(Duration.ofMillis(100), Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+    @Mock private WebSocketContainer container;
+    @Mock private ScheduledExecutorService scheduler;
+    @Mock private Session session;
+    @Mock private RemoteEndpoint.Async remote;
+
+    private final List<String> received = new ArrayList<>();
+    private FeedConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        connection = new FeedConnection("test", FEED, container, scheduler, SETTINGS,
+                () -> "{\"method\":\"SUBSCRIBE\"}", received::add);
+    }
+
+    // ---------------- backoff ----------------
+
+    @Test
+    void backoffMillis_growsExponentiallyWithinUpperHalfOfStep() {
+        assertEquals(50, FeedConnection.backoffMillis(0, 100, 5000, 0.0));
+        assertEquals(99, FeedConnection.backoffMillis(0, 100, 5000, 0.999));
+        assertEquals(200, FeedConnection.backoffMillis(2, 100, 5000, 0.0));
+        assertEquals(400, FeedConnection.backoffMillis(3, 100, 5000, 0.0));
+    }
+
+    @Test
+    void backoffMillis_isCappedAndDoesNotOverflow() {
+        assertEquals(2500, FeedConnection.backoffMillis(10, 100, 5000, 0.0));
+        assertEquals(2500, FeedConnection.backoffMillis(Integer.MAX_VALUE, 100, 5000, 0.0));
+    }
+
+    // ---------------- lifecycle ----------------
+
+    @Test
+    void onOpen_subscribesAndDeliversMessages() {
+        when(session.getAsyncRemote()).thenReturn(remote);
+
+        connection.onOpen(session, null);
+
+        assertEquals(FeedConnectionState.CONNECTED, connection.getState());
+        verify(remote).sendText("{\"method\":\"SUBSCRIBE\"}");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<MessageHandler.Whole<String>> handler = ArgumentCaptor.forClass(MessageHandler.Whole.class);
+        verify(session).addMessageHandler(eq(String.class), handler.capture());
+        handler.getValue().onMessage("tick");
+
+        assertEquals(List.of("tick"), received);
+    }
+
+    @Test
+    void start_whenConnectFails_schedulesReconnect() throws Exception {
+        when(container.connectToServer(any(FeedConnection.class), any(ClientEndpointConfig.class), eq(FEED)))
+                .thenThrow(new IOException("refused"));
+
+        connection.start();
+
+        assertEquals(FeedConnectionState.DISCONNECTED, connection.getState());
+        verify(scheduler).schedule(any(Runnable.class), longThat(delay -> delay >= 50 && delay < 100), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void onClose_unexpected_schedulesSingleReconnect() {
+        when(session.getAsyncRemote()).thenReturn(remote);
+        connection.onOpen(session, null);
+
+        connection.onClose(session, new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY, "drop"));
+        connection.onError(session, new IOException("broken pipe"));
+
+        assertEquals(FeedConnectionState.DISCONNECTED, connection.getState());
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void onClose_afterStop_doesNotReconnect() {
+        when(session.getAsyncRemote()).thenReturn(remote);
+        connection.onOpen(session, null);
+
+        connection.stop();
+        connection.onClose(session, new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, "shutdown"));
+
+        assertEquals(FeedConnectionState.STOPPED, connection.getState());
+        verifyNoInteractions(scheduler);
+    }
+
+    // ---------------- watchdog ----------------
+
+    @Test
+    void checkStale_whenSilentTooLong_closesSessionAndReconnects() throws Exception {
+        when(session.getAsyncRemote()).thenReturn(remote);
+        connection.onOpen(session, null);
+        long openedAt = connection.getLastMessageAt();
+
+        connection.checkStale(openedAt + 5_000);
+        verify(session, never()).close(any(CloseReason.class));
+
+        connection.checkStale(openedAt + 10_001);
+
+        assertEquals(FeedConnectionState.STALE, connection.getState());
+        verify(session).close(any(CloseReason.class));
+        verify(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.alert.ActiveAlert;
+import com.example.investhub.alert.AlertDispatcher;
+import com.example.investhub.alert.FiredAlert;
+import com.example.investhub.alert.PriceAlertCreatedEvent;
+import com.example.investhub.alert.PriceAlertIndex;
+import com.example.investhub.marketdata.CandleStore;
+import com.example.investhub.marketdata.PriceTable;
+import com.example.investhub.marketdata.TickJournal;
+import com.example.investhub.model.enumeration.AlertDirection;
+import com.example.investhub.model.enumeration.CandleInterval;
+import com.example.investhub.model.enumeration.OrderType;
+import com.example.investhub.model.enumeration.TransactionType;
+import com.example.investhub.order.OpenOrder;
+import com.example.investhub.order.OrderEngine;
+import com.example.investhub.order.OrderPlacedEvent;
+import com.example.investhub.service.OrderService;
+import com.example.investhub.service.PriceAlertService;
+import com.example.investhub.trading.TradeLanes;
+import com.example.investhub.trading.TradeRetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TickIngestorTest {
+
+    private PriceTable priceTable;
+    private CandleStore candleStore;
+    private FrameRing ring;
+    private AlertDispatcher alertDispatcher;
+    private PriceAlertIndex priceAlerts;
+    private TradeLanes tradeLanes;
+    private OrderEngine orderEngine;
+    private TickIngestor ingestor;
+    private List<String> published;
+
+    @BeforeEach
+    void setUp() {
+        priceTable = new PriceTable(16);
+        candleStore = new CandleStore(priceTable, 16);
+        ring = new FrameRing(8, 256);
+        published = new ArrayList<>();
+        alertDispatcher = mock(AlertDispatcher.class);
+        priceAlerts = new PriceAlertIndex(priceTable, mock(PriceAlertService.class), alertDispatcher);
+        tradeLanes = mock(TradeLanes.class);
+        orderEngine = new OrderEngine(priceTable, mock(OrderService.class), tradeLanes, mock(TradeRetry.class));
+        ingestor = new TickIngestor(ring, priceTable,
+                new TickJournal(priceTable, Path.of("target/journal"), TickJournal.RECORD_SIZE * 1024, false),
+                candleStore,
+                priceAlerts,
+                orderEngine,
+                (id, price, eventTime, receivedAt) -> {
+                    priceTable.update(id, price, eventTime, receivedAt);
+                    published.add(priceTable.symbol(id) + "=" + price);
+                });
+    }
+
+    @Test
+    void drain_tickerFrame_publishesPrice() {
+        assertTrue(ring.offer(ticker("BTCUSDT", "43250.12000000"), 1_000));
+
+        assertEquals(1, ingestor.drain());
+
+        assertEquals(43250.12, priceTable.price("BTCUSDT"));
+        assertEquals(List.of("BTCUSDT=43250.12"), published);
+        assertEquals(0, ring.depth());
+    }
+
+    @Test
+    void drain_burst_publishesLatestPricePerSymbol() {
+        ring.offer(ticker("BTCUSDT", "43000.0"), 1_000);
+        ring.offer(ticker("ETHUSDT", "2200.0"), 1_001);
+        ring.offer(ticker("BTCUSDT", "43100.0"), 1_002);
+        ring.offer(ticker("BTCUSDT", "43200.0"), 1_003);
+        assertEquals(4, ring.depth());
+
+        assertEquals(4, ingestor.drain());
+
+        assertEquals(List.of("BTCUSDT=43200.0", "ETHUSDT=2200.0"), published);
+        assertEquals(4, ingestor.decoded());
+        assertEquals(2, ingestor.conflated());
+        assertEquals(2, ingestor.published());
+
+        CandleStore.Candle bar = candleStore.candles("BTCUSDT", CandleInterval.ONE_MINUTE, 1).get(0);
+        assertEquals(43000.0, bar.open());
+        assertEquals(43200.0, bar.close());
+        assertEquals(3, bar.ticks());
+    }
+
+    @Test
+    void drain_checksEveryTickAgainstPriceAlerts_includingConflatedOnes() {
+        priceAlerts.onAlertCreated(new PriceAlertCreatedEvent(
+                new ActiveAlert(7L, 1L, "BTCUSDT", AlertDirection.ABOVE, 43100.0)));
+
+        ring.offer(ticker("BTCUSDT", "43000.0"), 1_000);
+        ring.offer(ticker("BTCUSDT", "43150.0"), 1_001);
+        ring.offer(ticker("BTCUSDT", "43050.0"), 1_002);
+        ingestor.drain();
+
+        assertEquals(List.of("BTCUSDT=43050.0"), published);
+        ArgumentCaptor<FiredAlert> fired = ArgumentCaptor.forClass(FiredAlert.class);
+        verify(alertDispatcher).offer(fired.capture());
+        assertEquals(7L, fired.getValue().alertId());
+        assertEquals(43150.0, fired.getValue().price());
+        assertEquals(0, priceAlerts.activeCount());
+    }
+
+    @Test
+    void drain_checksEveryTickAgainstRestingOrders_includingConflatedOnes() {
+        orderEngine.onOrderPlaced(new OrderPlacedEvent(
+                new OpenOrder(9L, 2L, "BTCUSDT", TransactionType.BUY, OrderType.LIMIT, 42900.0, null, false)));
+
+        ring.offer(ticker("BTCUSDT", "43000.0"), 1_000);
+        ring.offer(ticker("BTCUSDT", "42850.0"), 1_001);
+        ring.offer(ticker("BTCUSDT", "43050.0"), 1_002);
+        ingestor.drain();
+
+        assertEquals(List.of("BTCUSDT=43050.0"), published);
+        verify(tradeLanes).submit(eq(2L), any(Runnable.class));
+        assertEquals(0, orderEngine.restingCount());
+    }
+
+    @Test
+    void drain_nonTickerFrame_isIgnored() {
+        ring.offer("{\"result\":null,\"id\":1}", 1_000);
+
+        assertEquals(1, ingestor.drain());
+
+        assertEquals(0, priceTable.size());
+        assertTrue(published.isEmpty());
+        assertEquals(0, ingestor.decoded());
+    }
+
+    @Test
+    void offer_fullRingOrOversizedFrame_isRejected() {
+        for (int i = 0; i < ring.capacity(); i++) {
+            assertTrue(ring.offer(ticker("BTCUSDT", i + ".0"), i));
+        }
+        assertFalse(ring.offer(ticker("BTCUSDT", "99.0"), 99));
+        assertFalse(new FrameRing(8, 16).offer(ticker("BTCUSDT", "1.0"), 0));
+
+        ingestor.drain();
+        assertTrue(ring.offer(ticker("BTCUSDT", "100.0"), 100));
+        ingestor.drain();
+        assertEquals(100.0, priceTable.price("BTCUSDT"));
+    }
+
+    @Test
+    void start_consumesFramesOnItsOwnThread() throws Exception {
+        ingestor.start("test-ingest");
+        try {
+            ring.offer(ticker("SOLUSDT", "101.5"), 1_000);
+
+            long deadline = System.currentTimeMillis() + 2_000;
+            while (Double.isNaN(priceTable.price("SOLUSDT")) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(101.5, priceTable.price("SOLUSDT"));
+        } finally {
+            ingestor.stop();
+        }
+    }
+
+    private static String ticker(String symbol, String price) {
+        return "{\"e\":\"24hrTicker\",\"E\":1700000000123,\"s\":\"" + symbol + "\",\"c\":\"" + price + "\"}";
+    }
+}
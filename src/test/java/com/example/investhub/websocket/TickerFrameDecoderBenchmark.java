@@ -0,0 +1,56 @@
+package com.example.investhub.websocket;
+
+import com.example.investhub.support.MicroBenchmark;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the streaming ticker decoder with the previous {@code ObjectMapper.readTree} path.
+ * Run with {@code mvn test -Pbenchmark -Dtest=TickerFrameDecoderBenchmark}.
+ */
+class TickerFrameDecoderBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int MEASURED = 2_000_000;
+
+    private static final String[] FRAMES = {
+            TickerFrameDecoderTest.TICKER_FRAME,
+            TickerFrameDecoderTest.TICKER_FRAME.replace("BTCUSDT", "ETHUSDT").replace("43250.12000000", "2251.37000000"),
+            TickerFrameDecoderTest.TICKER_FRAME.replace("BTCUSDT", "DOGEUSDT").replace("43250.12000000", "0.08123000"),
+            TickerFrameDecoderTest.TICKER_FRAME.replace("BTCUSDT", "SOLUSDT").replace("43250.12000000", "98.41000000")
+    };
+
+    @Test
+    void streamingDecoder_vsReadTree() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TickerFrameDecoder decoder = new TickerFrameDecoder();
+
+        MicroBenchmark.Result tree = MicroBenchmark.run("ObjectMapper.readTree", WARMUP, MEASURED, i -> {
+            try {
+                JsonNode node = objectMapper.readTree(FRAMES[i & 3]);
+                if (node.has("e") && "24hrTicker".equals(node.get("e").asText()) && node.has("s") && node.has("c")) {
+                    return node.get("s").asText().length() + node.get("c").asDouble();
+                }
+                return 0;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        MicroBenchmark.Result streaming = MicroBenchmark.run("TickerFrameDecoder", WARMUP, MEASURED, i -> {
+            if (decoder.decode(FRAMES[i & 3])) {
+                return decoder.symbol().length() + decoder.price();
+            }
+            return 0;
+        });
+
+        System.out.printf("speedup: %.1fx, allocation: %.1f -> %.1f B/msg%n",
+                streaming.opsPerSecond() / tree.opsPerSecond(), tree.bytesPerOp(), streaming.bytesPerOp());
+
+        assertTrue(streaming.opsPerSecond() > tree.opsPerSecond());
+        assertTrue(streaming.bytesPerOp() < 1.0, "steady-state decoding should not allocate");
+    }
+}
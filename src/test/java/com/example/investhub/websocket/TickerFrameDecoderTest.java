@@ -0,0 +1,101 @@
+package com.example.investhub.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickerFrameDecoderTest {
+
+    static final String TICKER_FRAME = "{\"e\":\"24hrTicker\",\"E\":1700000000123,\"s\":\"BTCUSDT\","
+            + "\"p\":\"-150.10000000\",\"P\":\"-0.345\",\"w\":\"43310.11000000\",\"x\":\"43400.00000000\","
+            + "\"c\":\"43250.12000000\",\"Q\":\"0.00120000\",\"b\":\"43250.11000000\",\"B\":\"1.20000000\","
+            + "\"a\":\"43250.12000000\",\"A\":\"0.50000000\",\"o\":\"43400.22000000\",\"h\":\"43800.00000000\","
+            + "\"l\":\"42900.00000000\",\"v\":\"25000.12345000\",\"q\":\"1081000000.12000000\","
+            + "\"O\":1699913600123,\"C\":1700000000123,\"F\":3300000000,\"L\":3301000000,\"n\":1000001}";
+
+    private TickerFrameDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new TickerFrameDecoder();
+    }
+
+    @Test
+    void decode_tickerFrame_readsSymbolPriceAndEventTime() {
+        assertTrue(decoder.decode(TICKER_FRAME));
+
+        assertEquals("BTCUSDT", decoder.symbol());
+        assertEquals(43250.12, decoder.price());
+        assertEquals(1700000000123L, decoder.eventTime());
+    }
+
+    @Test
+    void decode_smallPrices_matchDoubleParse() {
+        String[] prices = {"0.00002500", "0.08123000", "1.00000000", "0.1", "123456789.12345678", "7"};
+
+        for (String price : prices) {
+            String frame = "{\"e\":\"24hrTicker\",\"E\":1,\"s\":\"DOGEUSDT\",\"c\":\"" + price + "\"}";
+
+            assertTrue(decoder.decode(frame), price);
+            assertEquals(Double.parseDouble(price), decoder.price(), price);
+        }
+    }
+
+    @Test
+    void decode_exponentOrLongFraction_fallsBackToDoubleParse() {
+        assertTrue(decoder.decode("{\"e\":\"24hrTicker\",\"E\":1,\"s\":\"XRPUSDT\",\"c\":\"1.5E-3\"}"));
+        assertEquals(0.0015, decoder.price());
+
+        assertTrue(decoder.decode("{\"e\":\"24hrTicker\",\"E\":1,\"s\":\"XRPUSDT\",\"c\":\"0.1234567890123456789012\"}"));
+        assertEquals(Double.parseDouble("0.1234567890123456789012"), decoder.price());
+    }
+
+    @Test
+    void decode_fieldsInAnyOrder_withWhitespaceAndNestedValues() {
+        String frame = "{ \"x\" : {\"a\":[1,2,{\"c\":\"9\"}]}, \"c\" : \"2.5\" , \"s\":\"ETHUSDT\", "
+                + "\"E\": 42, \"e\" : \"24hrTicker\" }";
+
+        assertTrue(decoder.decode(frame));
+        assertEquals("ETHUSDT", decoder.symbol());
+        assertEquals(2.5, decoder.price());
+        assertEquals(42L, decoder.eventTime());
+    }
+
+    @Test
+    void decode_subscriptionAck_isRejected() {
+        assertFalse(decoder.decode("{\"result\":null,\"id\":1}"));
+    }
+
+    @Test
+    void decode_otherEventType_isRejected() {
+        assertFalse(decoder.decode("{\"e\":\"trade\",\"E\":1,\"s\":\"BTCUSDT\",\"c\":\"1.0\"}"));
+    }
+
+    @Test
+    void decode_missingPrice_orMalformed_isRejected() {
+        assertFalse(decoder.decode("{\"e\":\"24hrTicker\",\"E\":1,\"s\":\"BTCUSDT\"}"));
+        assertFalse(decoder.decode("{\"e\":\"24hrTicker\",\"E\":1,\"s\":\"BTCUSDT\",\"c\":\"\"}"));
+        assertFalse(decoder.decode("{\"e\":\"24hrTicker\",\"E\":1,\"s\":\"BTCUSDT\",\"c\":\"1.0"));
+        assertFalse(decoder.decode("not json"));
+        assertFalse(decoder.decode(""));
+    }
+
+    @Test
+    void symbol_isCachedAcrossFrames() {
+        assertTrue(decoder.decode(TICKER_FRAME));
+        String first = decoder.symbol();
+
+        assertTrue(decoder.decode(TICKER_FRAME.replace("43250.12000000", "43251.00000000")));
+
+        assertSame(first, decoder.symbol());
+        assertEquals(43251.0, decoder.price());
+    }
+
+    @Test
+    void hash_matchesStringHashCode() {
+        String frame = "xxBTCUSDTyy";
+
+        assertEquals("BTCUSDT".hashCode(), TickerFrameDecoder.hash(frame, 2, 9));
+    }
+}